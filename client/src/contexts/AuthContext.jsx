@@ -49,7 +49,7 @@ export const AuthProvider = ({ children }) => {
     setLoading(true)
     try {
       const response = await authService.login(username, password)
-      authService.setAuthToken(response.token)
+      authService.setAuthToken(response.token, response.refreshToken)
       setUser(response)
       setAppUser(response)
       return response
@@ -65,7 +65,7 @@ export const AuthProvider = ({ children }) => {
     setLoading(true)
     try {
       const response = await authService.register(userData)
-      authService.setAuthToken(response.token)
+      authService.setAuthToken(response.token, response.refreshToken)
       setUser(response)
       setAppUser(response)
       return response
@@ -94,7 +94,7 @@ export const AuthProvider = ({ children }) => {
       }
       
       const response = await authService.googleLogin(token)
-      authService.setAuthToken(response.token)
+      authService.setAuthToken(response.token, response.refreshToken)
       setUser(response.user)
       setAppUser(response.user)
       return response
@@ -124,7 +124,12 @@ export const AuthProvider = ({ children }) => {
 
   const changePassword = async (passwordData) => {
     try {
-      return await authService.changePassword(passwordData)
+      const response = await authService.changePassword(passwordData)
+      // Every session was signed out; this one continues on the tokens issued with the change
+      if (response?.token) {
+        authService.setAuthToken(response.token, response.refreshToken)
+      }
+      return response
     } catch (error) {
       console.error('Change password error:', error)
       throw error
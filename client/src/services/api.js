@@ -23,13 +23,49 @@ api.interceptors.request.use(
   }
 )
 
+// Access tokens are short-lived. On a 401, trade the refresh token for a new pair
+// once and replay the request; concurrent 401s share the same refresh call.
+// Tabs share the tokens in localStorage, so if another tab has already refreshed
+// since the request went out, just replay it with the token that tab stored.
+let refreshRequest = null
+
+const refreshAccessToken = () => {
+  if (!refreshRequest) {
+    refreshRequest = axios
+      .post(`${api.defaults.baseURL}/auth/refresh`, { refreshToken: localStorage.getItem('refreshToken') })
+      .then((res) => {
+        localStorage.setItem('token', res.data.token)
+        localStorage.setItem('refreshToken', res.data.refreshToken)
+        return res.data.token
+      })
+      .finally(() => {
+        refreshRequest = null
+      })
+  }
+  return refreshRequest
+}
+
 // Response interceptor for error handling
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    const original = error.config
+    if (error.response?.status === 401 && original && !original._retried && localStorage.getItem('refreshToken')) {
+      original._retried = true
+      try {
+        const sentToken = String(original.headers?.Authorization || '').replace(/^Bearer /, '')
+        const storedToken = localStorage.getItem('token')
+        const token = storedToken && storedToken !== sentToken ? storedToken : await refreshAccessToken()
+        original.headers.Authorization = `Bearer ${token}`
+        return api(original)
+      } catch (refreshError) {
+        // Fall through and treat the session as over
+      }
+    }
     if (error.response?.status === 401) {
       // Token expired or invalid
       localStorage.removeItem('token')
+      localStorage.removeItem('refreshToken')
       window.location.href = '/'
     }
     return Promise.reject(error)
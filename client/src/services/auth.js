@@ -17,10 +17,6 @@ export const authService = {
   getDashboard: () => 
     api.get('/secure/dashboard').then(res => res.data),
   
-  // Get team details (if authorized)
-  getTeamDetails: (teamId) => 
-    api.get(`/secure/teams/${teamId}`).then(res => res.data),
-  
   // Get player details (if authorized)
   getPlayerDetails: (playerId) => 
     api.get(`/secure/players/${playerId}`).then(res => res.data),
@@ -33,14 +29,18 @@ export const authService = {
   verifyToken: (idToken) => 
     api.post('/auth/firebase-login', { idToken }).then(res => res.data),
   
-  // Set auth token in headers
-  setAuthToken: (token) => {
+  // Set auth token in headers; the refresh token is kept only when one is given
+  setAuthToken: (token, refreshToken) => {
     if (token) {
       api.defaults.headers.common['Authorization'] = `Bearer ${token}`
       localStorage.setItem('token', token)
+      if (refreshToken) {
+        localStorage.setItem('refreshToken', refreshToken)
+      }
     } else {
       delete api.defaults.headers.common['Authorization']
       localStorage.removeItem('token')
+      localStorage.removeItem('refreshToken')
     }
   },
   
@@ -62,9 +62,12 @@ export const authService = {
     return Promise.resolve({ url: '/api/files/profile-pictures/' + Date.now() + '.jpg' })
   },
   
-  // Logout
+  // Logout: revoke the session server-side, then forget it locally either way
   logout: () => {
-    authService.setAuthToken(null)
-    return Promise.resolve()
+    const refreshToken = localStorage.getItem('refreshToken')
+    const revoke = authService.getToken() || refreshToken
+      ? api.post('/auth/logout', { refreshToken }).catch(() => {})
+      : Promise.resolve()
+    return revoke.then(() => authService.setAuthToken(null))
   }
 }
\ No newline at end of file
@@ -73,30 +73,31 @@ public class DataInitializer implements CommandLineRunner {
                 .build();
         userRepository.save(admin);
 
-        // Create regular users/players
+        // Create regular users/players; they share a password, so hash it once
+        String playerPasswordHash = passwordEncoder.encode("player123");
         List<User> players = List.of(
-            createUser("jdoe", "john.doe@email.com", "John", "Doe", "555-0101"),
-            createUser("msmith", "mike.smith@email.com", "Mike", "Smith", "555-0102"),
-            createUser("sjones", "sarah.jones@email.com", "Sarah", "Jones", "555-0103"),
-            createUser("bwilson", "bob.wilson@email.com", "Bob", "Wilson", "555-0104"),
-            createUser("ljohnson", "lisa.johnson@email.com", "Lisa", "Johnson", "555-0105"),
-            createUser("dbrook", "david.brook@email.com", "David", "Brook", "555-0106"),
-            createUser("amartin", "anna.martin@email.com", "Anna", "Martin", "555-0107"),
-            createUser("cgarcia", "carlos.garcia@email.com", "Carlos", "Garcia", "555-0108"),
-            createUser("jlee", "jenny.lee@email.com", "Jenny", "Lee", "555-0109"),
-            createUser("rthomas", "robert.thomas@email.com", "Robert", "Thomas", "555-0110"),
-            createUser("kwhite", "karen.white@email.com", "Karen", "White", "555-0111"),
-            createUser("mdavis", "mark.davis@email.com", "Mark", "Davis", "555-0112")
+            createUser("jdoe", playerPasswordHash, "john.doe@email.com", "John", "Doe", "555-0101"),
+            createUser("msmith", playerPasswordHash, "mike.smith@email.com", "Mike", "Smith", "555-0102"),
+            createUser("sjones", playerPasswordHash, "sarah.jones@email.com", "Sarah", "Jones", "555-0103"),
+            createUser("bwilson", playerPasswordHash, "bob.wilson@email.com", "Bob", "Wilson", "555-0104"),
+            createUser("ljohnson", playerPasswordHash, "lisa.johnson@email.com", "Lisa", "Johnson", "555-0105"),
+            createUser("dbrook", playerPasswordHash, "david.brook@email.com", "David", "Brook", "555-0106"),
+            createUser("amartin", playerPasswordHash, "anna.martin@email.com", "Anna", "Martin", "555-0107"),
+            createUser("cgarcia", playerPasswordHash, "carlos.garcia@email.com", "Carlos", "Garcia", "555-0108"),
+            createUser("jlee", playerPasswordHash, "jenny.lee@email.com", "Jenny", "Lee", "555-0109"),
+            createUser("rthomas", playerPasswordHash, "robert.thomas@email.com", "Robert", "Thomas", "555-0110"),
+            createUser("kwhite", playerPasswordHash, "karen.white@email.com", "Karen", "White", "555-0111"),
+            createUser("mdavis", playerPasswordHash, "mark.davis@email.com", "Mark", "Davis", "555-0112")
         );
         userRepository.saveAll(players);
         
         log.info("Created {} users", players.size() + 1);
     }
 
-    private User createUser(String username, String email, String firstName, String lastName, String phone) {
+    private User createUser(String username, String passwordHash, String email, String firstName, String lastName, String phone) {
         return User.builder()
                 .username(username)
-                .passwordHash(passwordEncoder.encode("player123"))
+                .passwordHash(passwordHash)
                 .email(email)
                 .firstName(firstName)
                 .lastName(lastName)
@@ -0,0 +1,76 @@
+package cammossleague.config;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replaces the SMTP sender with an in-process stand-in when {@code app.email.log-only}
+ * is set, so the outbox and dispatcher can be exercised locally without a mail server.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.email.log-only", havingValue = "true")
+public class LocalMailConfig {
+
+    @Bean
+    public JavaMailSender javaMailSender() {
+        return new RecordingMailSender();
+    }
+
+    /**
+     * Accepts every message, logs it and keeps the most recent ones in memory.
+     */
+    public static class RecordingMailSender extends JavaMailSenderImpl {
+
+        private static final Logger logger = LoggerFactory.getLogger(RecordingMailSender.class);
+        private static final int MAX_RECORDED = 200;
+
+        private final List<MimeMessage> sent = new ArrayList<>();
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+            for (MimeMessage message : mimeMessages) {
+                logger.info("Stand-in mail sender accepted message to {}: {}", recipients(message), subject(message));
+                record(message);
+            }
+        }
+
+        public synchronized List<MimeMessage> getSentMessages() {
+            return List.copyOf(sent);
+        }
+
+        protected synchronized void record(MimeMessage message) {
+            if (sent.size() == MAX_RECORDED) {
+                sent.remove(0);
+            }
+            sent.add(message);
+        }
+
+        private static String recipients(MimeMessage message) {
+            try {
+                return message.getAllRecipients() != null ? Arrays.toString(message.getAllRecipients()) : "[]";
+            } catch (MessagingException e) {
+                return "[unknown]";
+            }
+        }
+
+        private static String subject(MimeMessage message) {
+            try {
+                return message.getSubject();
+            } catch (MessagingException e) {
+                return "";
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package cammossleague.config;
+
+import cammossleague.security.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+    
+    // Keyed by normalized email: stops one inbox being flooded with reset links
+    @Bean
+    public TokenBucketRateLimiter forgotPasswordEmailLimiter(
+            @Value("${app.rate-limit.forgot-password.per-email.burst:3}") int burst,
+            @Value("${app.rate-limit.forgot-password.per-email.per-minute:0.2}") double perMinute) {
+        return new TokenBucketRateLimiter(burst, perMinute);
+    }
+    
+    // Keyed by client IP: stops one client cycling through many addresses
+    @Bean
+    public TokenBucketRateLimiter forgotPasswordIpLimiter(
+            @Value("${app.rate-limit.forgot-password.per-ip.burst:10}") int burst,
+            @Value("${app.rate-limit.forgot-password.per-ip.per-minute:2}") double perMinute) {
+        return new TokenBucketRateLimiter(burst, perMinute);
+    }
+    
+    // Keyed by normalized username: caps guesses against one account from any number of addresses
+    @Bean
+    public TokenBucketRateLimiter loginUsernameLimiter(
+            @Value("${app.rate-limit.login.per-username.burst:5}") int burst,
+            @Value("${app.rate-limit.login.per-username.per-minute:1}") double perMinute) {
+        return new TokenBucketRateLimiter(burst, perMinute);
+    }
+    
+    // Keyed by client IP: caps one client spraying passwords across many accounts
+    @Bean
+    public TokenBucketRateLimiter loginIpLimiter(
+            @Value("${app.rate-limit.login.per-ip.burst:20}") int burst,
+            @Value("${app.rate-limit.login.per-ip.per-minute:10}") double perMinute) {
+        return new TokenBucketRateLimiter(burst, perMinute);
+    }
+}
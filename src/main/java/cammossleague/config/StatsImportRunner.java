@@ -0,0 +1,46 @@
+package cammossleague.config;
+
+import cammossleague.service.StatsImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports a stats file at startup when {@code app.import.stats-file} is set, e.g.
+ * {@code java -jar app.jar --app.import.stats-file=/data/box-scores.csv}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty("app.import.stats-file")
+public class StatsImportRunner implements CommandLineRunner {
+
+    private final StatsImportService statsImportService;
+
+    @Value("${app.import.stats-file}")
+    private String statsFile;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path path = Path.of(statsFile);
+        StatsImportService.Format format = path.getFileName().toString().toLowerCase().endsWith(".csv")
+                ? StatsImportService.Format.CSV
+                : StatsImportService.Format.JSON;
+
+        log.info("Importing player stats from {} as {}", path, format);
+        try (InputStream input = Files.newInputStream(path)) {
+            StatsImportService.ImportReport report = statsImportService.importStats(input, format);
+            report.getErrors().forEach(error -> log.warn("Row {}: {}", error.getRow(), error.getMessage()));
+            if (report.isErrorsTruncated()) {
+                log.warn("{} rejected rows not listed", report.getRowsRejected() - report.getErrors().size());
+            }
+        }
+    }
+}
@@ -7,15 +7,24 @@ import cammossleague.dto.PasswordResetRequestDTO;
 import cammossleague.dto.PasswordResetConfirmDTO;
 import cammossleague.dto.UpdateProfileRequest;
 import cammossleague.dto.ChangePasswordRequest;
+import cammossleague.event.UserProfileChangedEvent;
 import cammossleague.model.Player;
 import cammossleague.model.User;
 import cammossleague.repository.PlayerRepository;
 import cammossleague.repository.UserRepository;
+import cammossleague.security.BoundedPasswordEncoder;
 import cammossleague.security.JwtUtil;
+import cammossleague.security.TokenBucketRateLimiter;
+import cammossleague.security.TokenRevocationList;
 import cammossleague.service.GoogleOAuthService;
 import cammossleague.service.PasswordResetService;
+import cammossleague.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -54,8 +63,40 @@ public class AuthController {
     @Autowired
     private PasswordResetService passwordResetService;
     
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private TokenRevocationList revocationList;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TokenBucketRateLimiter forgotPasswordEmailLimiter;
+    
+    @Autowired
+    private TokenBucketRateLimiter forgotPasswordIpLimiter;
+    
+    @Autowired
+    private TokenBucketRateLimiter loginUsernameLimiter;
+    
+    @Autowired
+    private TokenBucketRateLimiter loginIpLimiter;
+    
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest,
+                                   HttpServletRequest httpRequest) {
+        // Throttle before authenticating so rejected attempts never reach the database or BCrypt.
+        // The IP bucket is per client: getRemoteAddr is resolved from the trusted proxy's X-Forwarded-For.
+        String username = loginRequest.getUsername() == null ? "" : loginRequest.getUsername().trim().toLowerCase();
+        if (!loginIpLimiter.tryAcquire(httpRequest.getRemoteAddr())
+                || !loginUsernameLimiter.tryAcquire(username)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of(
+                "message", "Too many login attempts. Please try again later."
+            ));
+        }
+        
         try {
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -90,6 +131,7 @@ public class AuthController {
             
             AuthResponse authResponse = AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshTokenService.issue(user))
                 .userId(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
@@ -110,6 +152,8 @@ public class AuthController {
             
             return ResponseEntity.ok(authResponse);
             
+        } catch (BoundedPasswordEncoder.HashingBusyException e) {
+            return hashingBusy();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid username or password");
         }
@@ -141,6 +185,7 @@ public class AuthController {
             );
             
             user = userRepository.save(user);
+            eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId()));
             
             String token = jwtUtil.generateToken(
                 user.getUsername(), 
@@ -150,6 +195,7 @@ public class AuthController {
             
             AuthResponse authResponse = AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshTokenService.issue(user))
                 .userId(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
@@ -168,6 +214,8 @@ public class AuthController {
             
             return ResponseEntity.ok(authResponse);
             
+        } catch (BoundedPasswordEncoder.HashingBusyException e) {
+            return hashingBusy();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Registration failed: " + e.getMessage());
         }
@@ -233,8 +281,64 @@ public class AuthController {
         }
     }
     
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token; the
+     * presented refresh token stops working.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(request.get("refreshToken"));
+        if (rotation.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                "message", "Session expired. Please sign in again."
+            ));
+        }
+        
+        User user = rotation.get().getUser();
+        String subject = user.getUsername() != null ? user.getUsername() : user.getEmail();
+        String token = jwtUtil.generateToken(subject, user.getId(), user.getRole().name());
+        
+        return ResponseEntity.ok(Map.of(
+            "token", token,
+            "refreshToken", rotation.get().getRefreshToken(),
+            "type", "Bearer"
+        ));
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) Map<String, String> request,
+                                    HttpServletRequest httpRequest) {
+        if (request != null) {
+            refreshTokenService.revoke(request.get("refreshToken"));
+        }
+        
+        // Also stop the access token still held by the client, rather than waiting for it to expire
+        String bearerToken = httpRequest.getHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            Claims claims = jwtUtil.parseToken(bearerToken.substring(7));
+            if (claims != null && claims.getExpiration() != null) {
+                revocationList.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+            }
+        }
+        
+        return ResponseEntity.ok().body(Map.of(
+            "message", "Logged out successfully"
+        ));
+    }
+    
     @PostMapping("/forgot-password")
-    public ResponseEntity<?> forgotPassword(@Valid @RequestBody PasswordResetRequestDTO request) {
+    public ResponseEntity<?> forgotPassword(@Valid @RequestBody PasswordResetRequestDTO request,
+                                            HttpServletRequest httpRequest) {
+        // Check the IP first so a client cycling through addresses can't drain other users' email buckets
+        // getRemoteAddr is the client behind the proxy (server.forward-headers-strategy), not the proxy itself
+        String email = request.getEmail() == null ? "" : request.getEmail().trim().toLowerCase();
+        if (!forgotPasswordIpLimiter.tryAcquire(httpRequest.getRemoteAddr())
+                || !forgotPasswordEmailLimiter.tryAcquire(email)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of(
+                "message", "Too many password reset requests. Please try again later."
+            ));
+        }
+        
         try {
             passwordResetService.initiatePasswordReset(request.getEmail());
             // Always return success for security (don't reveal if email exists)
@@ -357,6 +461,7 @@ public class AuthController {
             }
             
             User updatedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserProfileChangedEvent(updatedUser.getId()));
             
             // Return updated auth response
             AuthResponse authResponse = AuthResponse.builder()
@@ -418,12 +523,27 @@ public class AuthController {
             user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
             userRepository.save(user);
             
+            // Sign out every session and reject access tokens in flight, as a reset does;
+            // this one continues with the fresh tokens below
+            refreshTokenService.endAllSessions(user.getId());
+            String subject = user.getUsername() != null ? user.getUsername() : user.getEmail();
+            
             return ResponseEntity.ok().body(Map.of(
-                "message", "Password changed successfully"
+                "message", "Password changed successfully",
+                "token", jwtUtil.generateToken(subject, user.getId(), user.getRole().name()),
+                "refreshToken", refreshTokenService.issue(user),
+                "type", "Bearer"
             ));
             
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Password change failed: " + e.getMessage());
         }
     }
+    
+    // Every hashing thread is busy and the queue is full; the client should retry shortly
+    private ResponseEntity<?> hashingBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body(Map.of("message", "Too many sign-in attempts right now. Please try again in a moment."));
+    }
 }
\ No newline at end of file
@@ -4,7 +4,10 @@ import cammossleague.model.Player;
 import cammossleague.model.Team;
 import cammossleague.model.Season;
 import cammossleague.model.Game;
+import cammossleague.service.LeaderboardService;
 import cammossleague.service.PlayerService;
+import cammossleague.service.TeamMetricsService;
+import cammossleague.service.TeamRatingService;
 import cammossleague.repository.TeamRepository;
 import cammossleague.repository.SeasonRepository;
 import cammossleague.repository.GameRepository;
@@ -28,6 +31,9 @@ public class LeagueStatsController {
     private final TeamRepository teamRepository;
     private final SeasonRepository seasonRepository;
     private final GameRepository gameRepository;
+    private final TeamRatingService teamRatingService;
+    private final TeamMetricsService teamMetricsService;
+    private final LeaderboardService leaderboardService;
     
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getLeagueStats(
@@ -115,30 +121,41 @@ public class LeagueStatsController {
             ));
             
             // Top scorers
-            stats.put("topScorers", players.stream()
-                .sorted((a, b) -> Double.compare(b.getPointsPerGame(), a.getPointsPerGame()))
-                .limit(5)
-                .map(player -> Map.of(
-                    "id", player.getId(),
-                    "name", player.getDisplayName(),
-                    "position", player.getPosition().getDisplayName(),
-                    "pointsPerGame", player.getPointsPerGame(),
-                    "totalPoints", player.getStatsPoints(),
-                    "gamesPlayed", player.getStatsGamesPlayed()
+            stats.put("topScorers", leaderboardService
+                .getLeaders(season.getId(), LeaderboardService.Stat.POINTS_PER_GAME, 0, 5).stream()
+                .map(leader -> Map.of(
+                    "id", leader.getPlayerId(),
+                    "name", leader.getName(),
+                    "position", leader.getPosition(),
+                    "pointsPerGame", leader.getPointsPerGame(),
+                    "totalPoints", leader.getPoints(),
+                    "gamesPlayed", leader.getGamesPlayed()
                 ))
                 .collect(Collectors.toList()));
             
             // Top rebounders
-            stats.put("topRebounders", players.stream()
-                .sorted((a, b) -> Double.compare(b.getReboundsPerGame(), a.getReboundsPerGame()))
-                .limit(5)
-                .map(player -> Map.of(
-                    "id", player.getId(),
-                    "name", player.getDisplayName(),
-                    "position", player.getPosition().getDisplayName(),
-                    "reboundsPerGame", player.getReboundsPerGame(),
-                    "totalRebounds", player.getStatsRebounds(),
-                    "gamesPlayed", player.getStatsGamesPlayed()
+            stats.put("topRebounders", leaderboardService
+                .getLeaders(season.getId(), LeaderboardService.Stat.REBOUNDS_PER_GAME, 0, 5).stream()
+                .map(leader -> Map.of(
+                    "id", leader.getPlayerId(),
+                    "name", leader.getName(),
+                    "position", leader.getPosition(),
+                    "reboundsPerGame", leader.getReboundsPerGame(),
+                    "totalRebounds", leader.getRebounds(),
+                    "gamesPlayed", leader.getGamesPlayed()
+                ))
+                .collect(Collectors.toList()));
+            
+            // Top passers
+            stats.put("topAssisters", leaderboardService
+                .getLeaders(season.getId(), LeaderboardService.Stat.ASSISTS_PER_GAME, 0, 5).stream()
+                .map(leader -> Map.of(
+                    "id", leader.getPlayerId(),
+                    "name", leader.getName(),
+                    "position", leader.getPosition(),
+                    "assistsPerGame", leader.getAssistsPerGame(),
+                    "totalAssists", leader.getAssists(),
+                    "gamesPlayed", leader.getGamesPlayed()
                 ))
                 .collect(Collectors.toList()));
         }
@@ -151,6 +168,54 @@ public class LeagueStatsController {
         return getLeagueStats(seasonId, null);
     }
     
+    @GetMapping("/season/{seasonId}/power-rankings")
+    public ResponseEntity<Map<String, Object>> getPowerRankings(@PathVariable Long seasonId) {
+        Season season = seasonRepository.findById(seasonId)
+                .orElseThrow(() -> new RuntimeException("Season not found with id: " + seasonId));
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("seasonId", season.getId());
+        response.put("seasonName", season.getName());
+        response.put("rankings", teamRatingService.getPowerRankings(seasonId));
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/season/{seasonId}/team-metrics")
+    public ResponseEntity<Map<String, Object>> getTeamMetrics(@PathVariable Long seasonId) {
+        Season season = seasonRepository.findById(seasonId)
+                .orElseThrow(() -> new RuntimeException("Season not found with id: " + seasonId));
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("seasonId", season.getId());
+        response.put("seasonName", season.getName());
+        response.put("teams", teamMetricsService.getSeasonMetrics(seasonId));
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/season/{seasonId}/leaders/{stat}")
+    public ResponseEntity<Map<String, Object>> getLeaders(
+            @PathVariable Long seasonId,
+            @PathVariable String stat,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        LeaderboardService.Stat leaderStat;
+        try {
+            leaderStat = LeaderboardService.Stat.fromPath(stat);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown stat: " + stat));
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("seasonId", seasonId);
+        response.put("stat", leaderStat);
+        response.put("offset", offset);
+        response.put("limit", limit);
+        response.put("total", leaderboardService.getBoardSize(seasonId, leaderStat));
+        response.put("leaders", leaderboardService.getLeaders(seasonId, leaderStat, Math.max(offset, 0), Math.min(Math.max(limit, 0), 100)));
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/year/{year}/stats")
     public ResponseEntity<Map<String, Object>> getYearStats(@PathVariable Integer year) {
         return getLeagueStats(null, year);
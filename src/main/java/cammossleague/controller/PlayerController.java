@@ -1,6 +1,7 @@
 package cammossleague.controller;
 
 import cammossleague.model.Player;
+import cammossleague.service.FreeAgentSearchService;
 import cammossleague.service.PlayerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -8,6 +9,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +20,7 @@ import java.util.Map;
 public class PlayerController {
     
     private final PlayerService playerService;
+    private final FreeAgentSearchService freeAgentSearchService;
     
     @GetMapping
     public ResponseEntity<List<Player>> getAllPlayers(
@@ -105,6 +109,53 @@ public class PlayerController {
         return ResponseEntity.ok(freeAgents);
     }
     
+    @GetMapping("/free-agents/search")
+    public ResponseEntity<List<FreeAgentSearchService.FreeAgentMatch>> searchFreeAgents(
+            @RequestParam(required = false) Long seasonId,
+            @RequestParam(required = false) List<String> position,
+            @RequestParam(required = false) Integer minHeight,
+            @RequestParam(required = false) Integer maxHeight,
+            @RequestParam(required = false) Integer minExperience,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        EnumSet<Player.Position> positions = EnumSet.noneOf(Player.Position.class);
+        if (position != null) {
+            for (String value : position) {
+                try {
+                    positions.add(Player.Position.valueOf(value.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().build();
+                }
+            }
+        }
+        
+        List<FreeAgentSearchService.FreeAgentMatch> matches = freeAgentSearchService.search(
+            seasonId, positions, minHeight, maxHeight, minExperience, Math.min(Math.max(limit, 1), 100));
+        return ResponseEntity.ok(matches);
+    }
+    
+    @GetMapping("/free-agents/recommendations/{teamId}")
+    public ResponseEntity<List<FreeAgentSearchService.FreeAgentMatch>> recommendFreeAgents(
+            @PathVariable Long teamId,
+            @RequestParam(required = false) List<String> need,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        List<FreeAgentSearchService.RosterNeed> needs = new ArrayList<>();
+        if (need != null) {
+            for (String value : need) {
+                try {
+                    needs.add(FreeAgentSearchService.RosterNeed.parse(value));
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().build();
+                }
+            }
+        }
+        
+        List<FreeAgentSearchService.FreeAgentMatch> matches =
+            freeAgentSearchService.recommendForTeam(teamId, needs, Math.min(Math.max(limit, 1), 100));
+        return ResponseEntity.ok(matches);
+    }
+    
     @GetMapping("/{id}/stats")
     public ResponseEntity<Player> getPlayerStats(@PathVariable Long id) {
         return playerService.getPlayerById(id)
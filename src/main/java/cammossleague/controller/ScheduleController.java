@@ -4,13 +4,20 @@ import cammossleague.model.Game;
 import cammossleague.repository.GameRepository;
 import cammossleague.repository.SeasonRepository;
 import cammossleague.repository.TeamRepository;
+import cammossleague.service.CalendarFeedService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/schedule")
@@ -21,6 +28,7 @@ public class ScheduleController {
     private final GameRepository gameRepository;
     private final SeasonRepository seasonRepository;
     private final TeamRepository teamRepository;
+    private final CalendarFeedService calendarFeedService;
     
     @GetMapping
     public ResponseEntity<List<Game>> getAllGames() {
@@ -103,5 +111,31 @@ public class ScheduleController {
         
         return ResponseEntity.ok(stats);
     }
+    
+    @GetMapping("/team/{teamId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getTeamCalendar(@PathVariable Long teamId, WebRequest request) {
+        return calendarResponse(calendarFeedService.getTeamFeed(teamId), "team-" + teamId, request);
+    }
+    
+    @GetMapping("/season/{seasonId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getSeasonCalendar(@PathVariable Long seasonId, WebRequest request) {
+        return calendarResponse(calendarFeedService.getSeasonFeed(seasonId), "season-" + seasonId, request);
+    }
+    
+    @GetMapping("/player/{playerId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getPlayerCalendar(@PathVariable Long playerId, WebRequest request) {
+        return calendarResponse(calendarFeedService.getPlayerFeed(playerId), "player-" + playerId, request);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> calendarResponse(CalendarFeedService.Feed feed, String fileName, WebRequest request) {
+        // Sets the 304 status and validators itself when the client's copy is current
+        if (request.checkNotModified(feed.getETag(), feed.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .header("Content-Disposition", "inline; filename=\"" + fileName + ".ics\"")
+                .body(feed::writeTo);
+    }
 }
-
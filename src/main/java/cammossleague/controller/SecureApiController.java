@@ -1,12 +1,14 @@
 package cammossleague.controller;
 
 import cammossleague.dto.AuthResponse;
+import cammossleague.dto.RosterEntryDTO;
 import cammossleague.model.Player;
 import cammossleague.model.Team;
 import cammossleague.model.User;
 import cammossleague.repository.PlayerRepository;
 import cammossleague.repository.SeasonRepository;
 import cammossleague.repository.TeamRepository;
+import cammossleague.service.TeamService;
 import cammossleague.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +34,9 @@ public class SecureApiController {
     @Autowired
     private SeasonRepository seasonRepository;
     
+    @Autowired
+    private TeamService teamService;
+    
     @GetMapping("/dashboard")
     public ResponseEntity<?> getDashboardData(Authentication authentication) {
         Optional<User> currentUser = userService.getCurrentUser();
@@ -104,7 +109,7 @@ public class SecureApiController {
             return ResponseEntity.notFound().build();
         }
         
-        List<Player> teamPlayers = playerRepository.findByPlayerTeamsTeamId(teamId);
+        List<RosterEntryDTO> teamPlayers = teamService.getRoster(teamId);
         
         return ResponseEntity.ok(new TeamDetails(team.get(), teamPlayers));
     }
@@ -127,7 +132,7 @@ public class SecureApiController {
             return ResponseEntity.badRequest().body("User is not on a team");
         }
         
-        List<Player> teamPlayers = playerRepository.findByPlayerTeamsTeamId(userTeam.get().getId());
+        List<RosterEntryDTO> teamPlayers = teamService.getRoster(userTeam.get().getId());
         
         return ResponseEntity.ok(new TeamDetails(userTeam.get(), teamPlayers));
     }
@@ -171,9 +176,9 @@ public class SecureApiController {
     
     public static class TeamDetails {
         public Team team;
-        public List<Player> players;
+        public List<RosterEntryDTO> players;
         
-        public TeamDetails(Team team, List<Player> players) {
+        public TeamDetails(Team team, List<RosterEntryDTO> players) {
             this.team = team;
             this.players = players;
         }
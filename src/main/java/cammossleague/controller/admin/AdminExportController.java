@@ -0,0 +1,66 @@
+package cammossleague.controller.admin;
+
+import cammossleague.service.DataExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminExportController {
+    
+    private final DataExportService dataExportService;
+    
+    /**
+     * Streams a dataset (seasons, teams, players, games, player-game-stats or
+     * playoff-matches) as CSV or NDJSON, optionally gzipped.
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long seasonId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        DataExportService.Dataset exportDataset;
+        DataExportService.Format exportFormat;
+        try {
+            exportDataset = DataExportService.Dataset.fromPath(dataset);
+            exportFormat = DataExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String extension = exportFormat == DataExportService.Format.CSV ? ".csv" : ".ndjson";
+        String fileName = exportDataset.fileName() + (seasonId != null ? "-season-" + seasonId : "") + extension;
+        
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output, 8192)) {
+                    dataExportService.export(exportDataset, seasonId, exportFormat, gzipOutput);
+                }
+            } else {
+                dataExportService.export(exportDataset, seasonId, exportFormat, output);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            response.contentType(new MediaType("application", "gzip"));
+        } else {
+            response.contentType(exportFormat == DataExportService.Format.CSV
+                    ? new MediaType("text", "csv")
+                    : new MediaType("application", "x-ndjson"));
+        }
+        return response.body(body);
+    }
+}
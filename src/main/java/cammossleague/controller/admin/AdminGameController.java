@@ -1,16 +1,32 @@
 package cammossleague.controller.admin;
 
+import cammossleague.dto.GameBoxScoreDTO;
 import cammossleague.dto.GameDTO;
+import cammossleague.dto.ReschedulePlanDTO;
+import cammossleague.dto.RescheduleRequestDTO;
+import cammossleague.service.BoxScoreService;
 import cammossleague.service.GameService;
+import cammossleague.service.RescheduleService;
+import cammossleague.service.ScheduleConflictService;
+import cammossleague.service.ScheduleImportService;
+import cammossleague.service.StatsImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,6 +36,11 @@ import java.util.Map;
 public class AdminGameController {
     
     private final GameService gameService;
+    private final BoxScoreService boxScoreService;
+    private final StatsImportService statsImportService;
+    private final ScheduleImportService scheduleImportService;
+    private final ScheduleConflictService scheduleConflictService;
+    private final RescheduleService rescheduleService;
     
     @GetMapping
     public ResponseEntity<Page<GameDTO>> getAllGames(
@@ -74,6 +95,87 @@ public class AdminGameController {
         return ResponseEntity.ok(completedGame);
     }
     
+    @GetMapping("/{id}/box-scores")
+    public ResponseEntity<GameBoxScoreDTO> getBoxScore(@PathVariable Long id) {
+        return ResponseEntity.ok(boxScoreService.getBoxScore(id));
+    }
+    
+    @PutMapping("/{id}/box-scores")
+    public ResponseEntity<GameBoxScoreDTO> replaceBoxScore(
+            @PathVariable Long id,
+            @Valid @RequestBody GameBoxScoreDTO boxScore) {
+        
+        try {
+            GameBoxScoreDTO saved = boxScoreService.replaceBoxScore(id, boxScore.getLines());
+            return ResponseEntity.ok(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<String> rebuildPlayerTotals() {
+        int updated = boxScoreService.rebuildPlayerTotals();
+        return ResponseEntity.ok("Rebuilt season totals for " + updated + " players");
+    }
+    
+    @PostMapping(value = "/stats/import", consumes = { "text/csv", "application/json", "application/x-ndjson", "text/plain" })
+    public ResponseEntity<StatsImportService.ImportReport> importStats(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        
+        StatsImportService.Format importFormat;
+        try {
+            importFormat = StatsImportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        // Read the body as a stream so large files are never buffered whole
+        return ResponseEntity.ok(statsImportService.importStats(request.getInputStream(), importFormat));
+    }
+    
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<ScheduleConflictService.FreeSlot>> findFreeSlots(
+            @RequestParam Long seasonId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String courtNumber,
+            @RequestParam(required = false) List<Long> teamIds,
+            @RequestParam(defaultValue = "18:00") @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime dayStart,
+            @RequestParam(defaultValue = "22:00") @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime dayEnd,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        return ResponseEntity.ok(scheduleConflictService.findFreeSlots(
+                seasonId, from, to, location, courtNumber, teamIds, dayStart, dayEnd, limit));
+    }
+    
+    @PostMapping("/reschedule/plan")
+    public ResponseEntity<ReschedulePlanDTO> planReschedule(@Valid @RequestBody RescheduleRequestDTO request) {
+        return ResponseEntity.ok(rescheduleService.plan(request));
+    }
+    
+    @PostMapping("/reschedule/apply")
+    public ResponseEntity<List<GameDTO>> applyReschedule(@Valid @RequestBody ReschedulePlanDTO plan) {
+        return ResponseEntity.ok(rescheduleService.apply(plan));
+    }
+    
+    @PostMapping(value = "/schedule/import", consumes = "application/json")
+    public ResponseEntity<ScheduleImportService.ImportReport> importSchedule(
+            @RequestParam Long seasonId,
+            HttpServletRequest request) throws IOException {
+        
+        return ResponseEntity.ok(scheduleImportService.importSchedule(seasonId, request.getInputStream()));
+    }
+    
+    @PostMapping("/schedule/import/bundled")
+    public ResponseEntity<ScheduleImportService.ImportReport> importBundledSchedule(@RequestParam Long seasonId) throws IOException {
+        try (InputStream input = new ClassPathResource("schedule.json").getInputStream()) {
+            return ResponseEntity.ok(scheduleImportService.importSchedule(seasonId, input));
+        }
+    }
+    
     @PostMapping("/bulk")
     public ResponseEntity<String> createBulkGames(@RequestBody Map<String, Object> bulkGameData) {
         Long seasonId = Long.valueOf(bulkGameData.get("seasonId").toString());
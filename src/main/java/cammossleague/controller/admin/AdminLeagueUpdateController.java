@@ -0,0 +1,37 @@
+package cammossleague.controller.admin;
+
+import cammossleague.model.LeagueUpdate;
+import cammossleague.service.LeagueUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/league-updates")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminLeagueUpdateController {
+    
+    private final LeagueUpdateService leagueUpdateService;
+    
+    @PostMapping("/{id}/publish")
+    public ResponseEntity<Map<String, Object>> publish(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "true") boolean notify) {
+        
+        LeagueUpdate update = leagueUpdateService.publish(id, notify);
+        
+        // Plain map so the lazy author and season are never serialized
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", update.getId());
+        response.put("title", update.getTitle());
+        response.put("isPublished", update.getIsPublished());
+        response.put("publishedAt", update.getPublishedAt());
+        response.put("emailQueued", notify);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,6 +2,7 @@ package cammossleague.controller.admin;
 
 import cammossleague.dto.PlayoffBracketDTO;
 import cammossleague.dto.PlayoffMatchDTO;
+import cammossleague.dto.PlayoffRoundResultsDTO;
 import cammossleague.service.PlayoffService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -70,6 +71,12 @@ public class AdminPlayoffController {
         return ResponseEntity.ok(updatedMatches);
     }
     
+    @PostMapping("/brackets/{bracketId}/advance")
+    public ResponseEntity<PlayoffBracketDTO> advanceRound(@PathVariable Long bracketId, @Valid @RequestBody PlayoffRoundResultsDTO roundResults) {
+        PlayoffBracketDTO bracket = playoffService.advanceRound(bracketId, roundResults.getResults());
+        return ResponseEntity.ok(bracket);
+    }
+    
     @GetMapping("/brackets/{id}/matches")
     public ResponseEntity<List<PlayoffMatchDTO>> getBracketMatches(@PathVariable Long id) {
         List<PlayoffMatchDTO> matches = playoffService.getBracketMatches(id);
@@ -0,0 +1,84 @@
+package cammossleague.controller.admin;
+
+import cammossleague.dto.RefereeDTO;
+import cammossleague.dto.UnavailabilityDTO;
+import cammossleague.service.RefereeAssignmentService;
+import cammossleague.service.RefereeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/referees")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminRefereeController {
+    
+    private final RefereeService refereeService;
+    private final RefereeAssignmentService refereeAssignmentService;
+    
+    @GetMapping
+    public ResponseEntity<List<RefereeDTO>> getReferees() {
+        return ResponseEntity.ok(refereeService.getActiveReferees());
+    }
+    
+    @PostMapping
+    public ResponseEntity<RefereeDTO> createReferee(
+            @Valid @RequestBody RefereeDTO referee,
+            @RequestParam(required = false) Long userId) {
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(refereeService.createReferee(referee, userId));
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<RefereeDTO> updateReferee(
+            @PathVariable Long id,
+            @Valid @RequestBody RefereeDTO referee,
+            @RequestParam(required = false) Long userId) {
+        
+        return ResponseEntity.ok(refereeService.updateReferee(id, referee, userId));
+    }
+    
+    @GetMapping("/{id}/unavailability")
+    public ResponseEntity<List<UnavailabilityDTO>> getUnavailability(@PathVariable Long id) {
+        return ResponseEntity.ok(refereeService.getUnavailability(id));
+    }
+    
+    @PostMapping("/{id}/unavailability")
+    public ResponseEntity<UnavailabilityDTO> addUnavailability(
+            @PathVariable Long id,
+            @Valid @RequestBody UnavailabilityDTO window) {
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(refereeService.addUnavailability(id, window));
+    }
+    
+    @DeleteMapping("/unavailability/{windowId}")
+    public ResponseEntity<Void> deleteUnavailability(@PathVariable Long windowId) {
+        refereeService.deleteUnavailability(windowId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/season/{seasonId}/assignments")
+    public ResponseEntity<RefereeAssignmentService.AssignmentResult> getAssignments(@PathVariable Long seasonId) {
+        return ResponseEntity.ok(refereeAssignmentService.getSeasonAssignments(seasonId));
+    }
+    
+    @PostMapping("/season/{seasonId}/assign")
+    public ResponseEntity<RefereeAssignmentService.AssignmentResult> assignSeason(
+            @PathVariable Long seasonId,
+            @RequestParam(defaultValue = "true") boolean keepExisting) {
+        
+        return ResponseEntity.ok(refereeAssignmentService.assignSeason(seasonId, keepExisting));
+    }
+    
+    @PostMapping("/games/{gameId}/reassign")
+    public ResponseEntity<RefereeAssignmentService.GameCrew> reassignGame(@PathVariable Long gameId) {
+        RefereeAssignmentService.GameCrew crew = refereeAssignmentService.reassignGame(gameId);
+        return crew != null ? ResponseEntity.ok(crew) : ResponseEntity.noContent().build();
+    }
+}
@@ -1,5 +1,6 @@
 package cammossleague.controller.admin;
 
+import cammossleague.dto.RosterEntryDTO;
 import cammossleague.dto.TeamDTO;
 import cammossleague.model.Team;
 import cammossleague.service.TeamService;
@@ -114,6 +115,12 @@ public class AdminTeamController {
         return ResponseEntity.ok(teams);
     }
     
+    @GetMapping("/season/{seasonId}/rosters")
+    public ResponseEntity<Map<Long, List<RosterEntryDTO>>> getSeasonRosters(@PathVariable Long seasonId) {
+        Map<Long, List<RosterEntryDTO>> rosters = teamService.getSeasonRosters(seasonId);
+        return ResponseEntity.ok(rosters);
+    }
+    
     @GetMapping("/season/{seasonId}/standings")
     public ResponseEntity<List<Team>> getSeasonStandings(@PathVariable Long seasonId) {
         List<Team> standings = teamService.getStandings(seasonId);
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     
     private String token;
+    private String refreshToken;
     @Builder.Default
     private String type = "Bearer";
     private Long userId;
@@ -0,0 +1,34 @@
+package cammossleague.dto;
+
+import cammossleague.model.Player;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One season of a user's career, loaded with a single JPQL constructor query.
+ * Team fields are null for seasons where the player was registered but never
+ * made an active roster.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CareerEntryDTO {
+    private Long playerId;
+    private String playerName;
+    private Long seasonId;
+    private String seasonName;
+    private Integer seasonYear;
+    private Boolean isCurrentSeason;
+    private Long teamId;
+    private String teamName;
+    private String teamCity;
+    private Integer jerseyNumber;
+    private Player.Position position;
+    private Integer wins;
+    private Integer losses;
+    private Integer gamesPlayed;
+    private Integer points;
+    private Integer rebounds;
+    private Integer assists;
+}
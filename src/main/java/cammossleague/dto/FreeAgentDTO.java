@@ -0,0 +1,31 @@
+package cammossleague.dto;
+
+import cammossleague.model.Player;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeAgentDTO {
+    private Long playerId;
+    private Long userId;
+    private String name;
+    private Long seasonId;
+    private String seasonName;
+    private Player.Position position;
+    private Integer heightInches;
+    private Integer yearsExperience;
+    private Integer statsGamesPlayed;
+    private Integer statsPoints;
+    private Integer statsRebounds;
+    private Integer statsAssists;
+    
+    public Double getPointsPerGame() {
+        if (statsGamesPlayed == null || statsGamesPlayed == 0 || statsPoints == null) {
+            return 0.0;
+        }
+        return (double) statsPoints / statsGamesPlayed;
+    }
+}
@@ -0,0 +1,59 @@
+package cammossleague.dto;
+
+import cammossleague.model.PlayerGameStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameBoxScoreDTO {
+    
+    private Long gameId;
+    
+    @NotNull(message = "Player lines are required")
+    @Valid
+    private List<PlayerLine> lines;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PlayerLine {
+        @NotNull(message = "Player ID is required")
+        private Long playerId;
+        
+        @NotNull(message = "Team ID is required")
+        private Long teamId;
+        
+        private String playerName;
+        
+        @Min(value = 0, message = "Points cannot be negative")
+        private int points;
+        
+        @Min(value = 0, message = "Rebounds cannot be negative")
+        private int rebounds;
+        
+        @Min(value = 0, message = "Assists cannot be negative")
+        private int assists;
+        
+        public static PlayerLine fromEntity(PlayerGameStats stats) {
+            return PlayerLine.builder()
+                    .playerId(stats.getPlayer().getId())
+                    .teamId(stats.getTeam().getId())
+                    .playerName(stats.getPlayer().getDisplayName())
+                    .points(stats.getPoints())
+                    .rebounds(stats.getRebounds())
+                    .assists(stats.getAssists())
+                    .build();
+        }
+    }
+}
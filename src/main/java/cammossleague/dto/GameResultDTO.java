@@ -0,0 +1,37 @@
+package cammossleague.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Flat, read-only view of a completed game's score line. Loaded through JPQL
+ * constructor expressions so rating and standings calculations can walk many
+ * games without pulling the eager Season/Team graph of each {@code Game}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameResultDTO {
+    private Long gameId;
+    private Long seasonId;
+    private LocalDate gameDate;
+    private Long homeTeamId;
+    private Long awayTeamId;
+    private Integer homeScore;
+    private Integer awayScore;
+    
+    public int getMargin() {
+        return homeScore - awayScore;
+    }
+    
+    public boolean isHomeWin() {
+        return homeScore > awayScore;
+    }
+    
+    public boolean isAwayWin() {
+        return awayScore > homeScore;
+    }
+}
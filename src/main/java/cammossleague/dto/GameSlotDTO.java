@@ -0,0 +1,25 @@
+package cammossleague.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Where and when a game is booked, without the Season/Team graph. Used to build
+ * the court and team booking index for conflict checks.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameSlotDTO {
+    private Long gameId;
+    private LocalDate gameDate;
+    private LocalTime gameTime;
+    private String location;
+    private String courtNumber;
+    private Long homeTeamId;
+    private Long awayTeamId;
+}
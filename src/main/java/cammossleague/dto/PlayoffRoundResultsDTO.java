@@ -0,0 +1,36 @@
+package cammossleague.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayoffRoundResultsDTO {
+
+    @NotEmpty(message = "At least one match result is required")
+    @Valid
+    private List<MatchResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MatchResult {
+        @NotNull(message = "Match ID is required")
+        private Long matchId;
+
+        @NotNull(message = "Winner ID is required")
+        private Long winnerId;
+
+        private String notes;
+    }
+}
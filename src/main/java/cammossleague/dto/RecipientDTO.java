@@ -0,0 +1,17 @@
+package cammossleague.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The few user fields a bulk email needs per recipient.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipientDTO {
+    private Long userId;
+    private String email;
+    private String firstName;
+}
@@ -0,0 +1,43 @@
+package cammossleague.dto;
+
+import cammossleague.model.Referee;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefereeDTO {
+    // Output only: the path names the referee, and the userId request parameter links an account
+    private Long id;
+    
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    private String name;
+    
+    @Min(value = 1, message = "Max games per day must be at least 1")
+    @Max(value = 20, message = "Max games per day must be at most 20")
+    private Integer maxGamesPerDay;
+    
+    private Boolean isActive;
+    
+    private Long userId;
+    
+    public static RefereeDTO fromEntity(Referee referee) {
+        if (referee == null) return null;
+        
+        return RefereeDTO.builder()
+                .id(referee.getId())
+                .name(referee.getName())
+                .maxGamesPerDay(referee.getMaxGamesPerDay())
+                .isActive(referee.getIsActive())
+                .userId(referee.getUser() != null ? referee.getUser().getId() : null)
+                .build();
+    }
+}
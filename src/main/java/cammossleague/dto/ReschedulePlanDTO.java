@@ -0,0 +1,66 @@
+package cammossleague.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReschedulePlanDTO {
+    
+    @NotEmpty(message = "A plan needs at least one move")
+    @Valid
+    private List<Move> moves;
+    
+    @Builder.Default
+    private List<Long> unplacedGameIds = new ArrayList<>();
+    
+    // The rest rule the plan was built with; apply re-checks it. Null means the default.
+    private Integer minDaysBetweenGames;
+    
+    private long candidatesEvaluated;
+    
+    private long durationMs;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Move {
+        @NotNull(message = "Game ID is required")
+        private Long gameId;
+        
+        private String matchup;
+        
+        private LocalDate originalDate;
+        
+        private LocalTime originalTime;
+        
+        private String originalLocation;
+        
+        @NotNull(message = "New date is required")
+        private LocalDate gameDate;
+        
+        @NotNull(message = "New time is required")
+        private LocalTime gameTime;
+        
+        @NotBlank(message = "New location is required")
+        private String location;
+        
+        private String courtNumber;
+        
+        private long daysMoved;
+    }
+}
@@ -0,0 +1,42 @@
+package cammossleague.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RescheduleRequestDTO {
+    
+    @NotEmpty(message = "At least one game is required")
+    private List<Long> gameIds;
+    
+    // Search window; defaults to tomorrow through the end of the season
+    private LocalDate from;
+    
+    private LocalDate to;
+    
+    private LocalTime dayStart;
+    
+    private LocalTime dayEnd;
+    
+    // Courts to search; defaults to every court the season already uses
+    private List<String> locations;
+    
+    // A lost gym or court that must not be used
+    private String excludeLocation;
+    
+    private String excludeCourtNumber;
+    
+    @Min(value = 0, message = "Days between games cannot be negative")
+    private Integer minDaysBetweenGames;
+}
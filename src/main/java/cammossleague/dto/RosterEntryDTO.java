@@ -0,0 +1,74 @@
+package cammossleague.dto;
+
+import cammossleague.model.Player;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A player's line on a team roster, loaded through a JPQL constructor expression so
+ * roster pages never pull the full {@code Player}/{@code User} graph. Property names
+ * mirror the serialized {@code Player}, including a nested {@code user}, so existing
+ * clients keep working. The nested user carries public profile fields only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterEntryDTO {
+    private Long teamId;
+    private Long id;
+    private Long userId;
+    private String displayName;
+    private Integer jerseyNumber;
+    private Player.Position position;
+    private Integer statsGamesPlayed;
+    private Integer statsPoints;
+    private Integer statsRebounds;
+    private Integer statsAssists;
+    private RosterUser user;
+    
+    // Used by the roster constructor expressions in PlayerRepository
+    public RosterEntryDTO(Long teamId, Long id, Long userId, String username, String firstName, String lastName,
+                          String profileImageUrl, String profilePictureUrl, Integer jerseyNumber,
+                          Player.Position position, Integer statsGamesPlayed, Integer statsPoints,
+                          Integer statsRebounds, Integer statsAssists) {
+        this(teamId, id, userId, firstName + " " + lastName, jerseyNumber, position,
+                statsGamesPlayed, statsPoints, statsRebounds, statsAssists,
+                new RosterUser(userId, username, firstName, lastName, profileImageUrl, profilePictureUrl));
+    }
+    
+    public Double getPointsPerGame() {
+        return perGame(statsPoints);
+    }
+    
+    public Double getReboundsPerGame() {
+        return perGame(statsRebounds);
+    }
+    
+    public Double getAssistsPerGame() {
+        return perGame(statsAssists);
+    }
+    
+    private Double perGame(Integer total) {
+        if (statsGamesPlayed == null || statsGamesPlayed == 0 || total == null) {
+            return 0.0;
+        }
+        return (double) total / statsGamesPlayed;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RosterUser {
+        private Long id;
+        private String username;
+        private String firstName;
+        private String lastName;
+        private String profileImageUrl;
+        private String profilePictureUrl;
+        
+        public String getFullName() {
+            return firstName + " " + lastName;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package cammossleague.dto;
+
+import cammossleague.model.RefereeUnavailability;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnavailabilityDTO {
+    // Ignored on input; windows are only ever added
+    private Long id;
+    
+    private Long refereeId;
+    
+    @NotNull(message = "Unavailable date is required")
+    private LocalDate unavailableDate;
+    
+    // Both null means the whole day is blocked
+    private LocalTime startTime;
+    
+    private LocalTime endTime;
+    
+    @Size(max = 255, message = "Reason must be at most 255 characters")
+    private String reason;
+    
+    public static UnavailabilityDTO fromEntity(RefereeUnavailability window) {
+        if (window == null) return null;
+        
+        return UnavailabilityDTO.builder()
+                .id(window.getId())
+                .refereeId(window.getReferee() != null ? window.getReferee().getId() : null)
+                .unavailableDate(window.getUnavailableDate())
+                .startTime(window.getStartTime())
+                .endTime(window.getEndTime())
+                .reason(window.getReason())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published when a scheduled game changes date, time, location or court. Carries the
+ * slot the game moved from; the new slot is read from the game itself.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GameMovedEvent {
+
+    private final Long gameId;
+    private final Long seasonId;
+    private final LocalDate previousDate;
+    private final LocalTime previousTime;
+    private final String previousLocation;
+    private final String previousCourtNumber;
+}
@@ -0,0 +1,27 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published whenever a game is created, rescheduled, scored, completed or deleted.
+ * A null gameId means many games in the season changed at once; a null seasonId
+ * means games across every season changed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GameUpdatedEvent {
+
+    private final Long gameId;
+    private final Long seasonId;
+
+    public static GameUpdatedEvent forSeason(Long seasonId) {
+        return new GameUpdatedEvent(null, seasonId);
+    }
+
+    public static GameUpdatedEvent forAllSeasons() {
+        return new GameUpdatedEvent(null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when an admin publishes a league update and asks for it to be emailed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class LeagueUpdatePublishedEvent {
+
+    private final Long updateId;
+}
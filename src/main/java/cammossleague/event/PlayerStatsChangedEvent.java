@@ -0,0 +1,25 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when season stat totals, activity or profile details change for some
+ * players. A null seasonId means totals may have changed for anyone, in any season.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PlayerStatsChangedEvent {
+
+    private final Long seasonId;
+    private final Collection<Long> playerIds;
+
+    public static PlayerStatsChangedEvent forAllSeasons() {
+        return new PlayerStatsChangedEvent(null, List.of());
+    }
+}
@@ -0,0 +1,19 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a player joins or leaves a team's active roster.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RosterChangedEvent {
+
+    private final Long teamId;
+    private final Long seasonId;
+    private final Long playerId;
+    private final Long userId;
+}
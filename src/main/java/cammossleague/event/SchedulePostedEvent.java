@@ -0,0 +1,17 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when games are generated or imported in bulk for a season.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SchedulePostedEvent {
+
+    private final Long seasonId;
+    private final int gameCount;
+}
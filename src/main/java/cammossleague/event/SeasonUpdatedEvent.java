@@ -0,0 +1,16 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when an existing season is saved, e.g. renamed or (de)activated.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SeasonUpdatedEvent {
+
+    private final Long seasonId;
+}
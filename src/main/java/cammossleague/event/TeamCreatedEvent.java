@@ -0,0 +1,17 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a team is added to a season, singly or in bulk.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TeamCreatedEvent {
+
+    private final Long teamId;
+    private final Long seasonId;
+}
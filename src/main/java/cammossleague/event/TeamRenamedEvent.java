@@ -0,0 +1,17 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a team's name or city changes.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TeamRenamedEvent {
+
+    private final Long teamId;
+    private final Long seasonId;
+}
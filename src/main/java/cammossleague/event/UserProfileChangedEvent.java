@@ -0,0 +1,16 @@
+package cammossleague.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a user registers or edits their profile.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UserProfileChangedEvent {
+
+    private final Long userId;
+}
@@ -0,0 +1,57 @@
+package cammossleague.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "email_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class EmailOutbox extends BaseEntity {
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Category category;
+    
+    @Column(name = "to_address", nullable = false)
+    private String toAddress;
+    
+    @Column(nullable = false)
+    private String subject;
+    
+    @Column(name = "html_body", nullable = false, columnDefinition = "TEXT")
+    @ToString.Exclude
+    private String htmlBody;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+    
+    public enum Category {
+        PASSWORD_RESET, ANNOUNCEMENT, GAME_UPDATE, REMINDER
+    }
+}
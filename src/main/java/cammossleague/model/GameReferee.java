@@ -0,0 +1,28 @@
+package cammossleague.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "game_referees",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"game_id", "referee_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class GameReferee extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private Game game;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "referee_id", nullable = false)
+    @ToString.Exclude
+    private Referee referee;
+}
@@ -0,0 +1,45 @@
+package cammossleague.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a game reminder as queued. The game's start time is part of the key, so a
+ * rescheduled game gets fresh reminders while a restart never repeats one.
+ */
+@Entity
+@Table(name = "game_reminders_sent",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"game_id", "kind", "game_start"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameReminderSent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Game game;
+    
+    // Name of a GameReminderService.Kind
+    @Column(nullable = false, length = 20)
+    private String kind;
+    
+    @Column(name = "game_start", nullable = false)
+    private LocalDateTime gameStart;
+    
+    @CreationTimestamp
+    @Column(name = "sent_at", nullable = false, updatable = false)
+    private LocalDateTime sentAt;
+}
@@ -21,8 +21,9 @@ public class PasswordResetToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
-    private String token;
+    // Hex SHA-256 of the token; the token itself only ever exists in the emailed link
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -0,0 +1,47 @@
+package cammossleague.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "player_game_stats",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"game_id", "player_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class PlayerGameStats extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private Game game;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private Player player;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private Team team;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer points = 0;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer rebounds = 0;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer assists = 0;
+}
@@ -0,0 +1,41 @@
+package cammossleague.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "referees")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class Referee extends BaseEntity {
+    
+    @Column(nullable = false, length = 100)
+    private String name;
+    
+    @Column(name = "normalized_name", nullable = false, unique = true, length = 100)
+    private String normalizedName;
+    
+    // Set when the referee also has a league account, e.g. as a player
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    @ToString.Exclude
+    private User user;
+    
+    @Column(name = "max_games_per_day", nullable = false)
+    @Builder.Default
+    private Integer maxGamesPerDay = 3;
+    
+    @Column(name = "is_active", nullable = false)
+    @Builder.Default
+    private Boolean isActive = true;
+    
+    public static String normalizeName(String name) {
+        return name == null ? "" : name.toLowerCase().replaceAll("[^a-z0-9]", "");
+    }
+}
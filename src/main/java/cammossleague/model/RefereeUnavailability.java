@@ -0,0 +1,50 @@
+package cammossleague.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Entity
+@Table(name = "referee_unavailability")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class RefereeUnavailability extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "referee_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private Referee referee;
+    
+    @Column(name = "unavailable_date", nullable = false)
+    private LocalDate unavailableDate;
+    
+    // Both null means the whole day is blocked
+    @Column(name = "start_time")
+    private LocalTime startTime;
+    
+    @Column(name = "end_time")
+    private LocalTime endTime;
+    
+    private String reason;
+    
+    /**
+     * Whether the window overlaps a game from {@code start} to {@code end}. Compared as
+     * date-times, so a game that runs past midnight is checked against both days.
+     */
+    public boolean blocks(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime blockedFrom = unavailableDate.atTime(startTime != null ? startTime : LocalTime.MIN);
+        LocalDateTime blockedUntil = endTime != null
+                ? unavailableDate.atTime(endTime)
+                : unavailableDate.plusDays(1).atStartOfDay();
+        return start.isBefore(blockedUntil) && end.isAfter(blockedFrom);
+    }
+}
@@ -0,0 +1,134 @@
+package cammossleague.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "team_metrics")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamMetrics implements Persistable<Long> {
+    
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+    
+    @Column(name = "season_id", nullable = false)
+    private Long seasonId;
+    
+    @Column(name = "games_played", nullable = false)
+    private Integer gamesPlayed;
+    
+    @Column(nullable = false)
+    private Integer wins;
+    
+    @Column(nullable = false)
+    private Integer losses;
+    
+    @Column(nullable = false)
+    private Integer ties;
+    
+    @Column(name = "points_for", nullable = false)
+    private Integer pointsFor;
+    
+    @Column(name = "points_against", nullable = false)
+    private Integer pointsAgainst;
+    
+    @Column(name = "opponents_win_pct")
+    private Double opponentsWinPct;
+    
+    @Column(name = "opponents_opponents_win_pct")
+    private Double opponentsOpponentsWinPct;
+    
+    @Column(name = "strength_of_schedule")
+    private Double strengthOfSchedule;
+    
+    @Column(name = "pythagorean_win_pct")
+    private Double pythagoreanWinPct;
+    
+    @Column(name = "expected_wins")
+    private Double expectedWins;
+    
+    @Column(name = "average_margin")
+    private Double averageMargin;
+    
+    @Column(name = "margin_std_dev")
+    private Double marginStdDev;
+    
+    @Column(name = "close_wins", nullable = false)
+    private Integer closeWins;
+    
+    @Column(name = "close_losses", nullable = false)
+    private Integer closeLosses;
+    
+    @Column(name = "blowout_wins", nullable = false)
+    private Integer blowoutWins;
+    
+    @Column(name = "blowout_losses", nullable = false)
+    private Integer blowoutLosses;
+    
+    @Column(name = "home_wins", nullable = false)
+    private Integer homeWins;
+    
+    @Column(name = "home_losses", nullable = false)
+    private Integer homeLosses;
+    
+    @Column(name = "home_points_for", nullable = false)
+    private Integer homePointsFor;
+    
+    @Column(name = "home_points_against", nullable = false)
+    private Integer homePointsAgainst;
+    
+    @Column(name = "away_wins", nullable = false)
+    private Integer awayWins;
+    
+    @Column(name = "away_losses", nullable = false)
+    private Integer awayLosses;
+    
+    @Column(name = "away_points_for", nullable = false)
+    private Integer awayPointsFor;
+    
+    @Column(name = "away_points_against", nullable = false)
+    private Integer awayPointsAgainst;
+    
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+    
+    // The id is the team id, so without this Spring Data would merge (SELECT, then
+    // INSERT) every row of a refresh instead of inserting it straight away
+    @Transient
+    @JsonIgnore
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted = false;
+    
+    @Override
+    @JsonIgnore
+    public Long getId() {
+        return teamId;
+    }
+    
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,39 @@
+package cammossleague.repository;
+
+import cammossleague.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    /**
+     * Locks up to {@code limit} rows that are due: pending rows whose backoff has
+     * elapsed, and rows left in SENDING by a dispatcher whose lease ran out. Rows
+     * locked by another dispatcher are skipped rather than waited on.
+     */
+    @Query(value = "SELECT * FROM email_outbox WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<EmailOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    /**
+     * Pushes back the lease on rows this dispatcher is still sending, so a slow SMTP
+     * session isn't reclaimed and sent a second time by the next run.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :until WHERE e.id IN :ids AND e.status = :status")
+    int extendLease(@Param("ids") Collection<Long> ids, @Param("status") EmailOutbox.Status status,
+                    @Param("until") LocalDateTime until);
+    
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.updatedAt < :before")
+    int deleteByStatusUpdatedBefore(@Param("status") EmailOutbox.Status status, @Param("before") LocalDateTime before);
+}
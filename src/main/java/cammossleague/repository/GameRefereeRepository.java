@@ -0,0 +1,29 @@
+package cammossleague.repository;
+
+import cammossleague.model.GameReferee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GameRefereeRepository extends JpaRepository<GameReferee, Long> {
+    
+    @Query("SELECT gr FROM GameReferee gr JOIN FETCH gr.referee WHERE gr.game.id IN :gameIds")
+    List<GameReferee> findByGameIdIn(@Param("gameIds") Collection<Long> gameIds);
+    
+    @Query("SELECT gr FROM GameReferee gr JOIN FETCH gr.referee WHERE gr.game.season.id = :seasonId")
+    List<GameReferee> findBySeasonId(@Param("seasonId") Long seasonId);
+    
+    @Modifying
+    @Query("DELETE FROM GameReferee gr WHERE gr.game.id = :gameId")
+    int deleteByGameId(@Param("gameId") Long gameId);
+    
+    @Modifying
+    @Query("DELETE FROM GameReferee gr WHERE gr.game.id IN :gameIds")
+    int deleteByGameIdIn(@Param("gameIds") Collection<Long> gameIds);
+}
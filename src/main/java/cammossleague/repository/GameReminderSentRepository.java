@@ -0,0 +1,13 @@
+package cammossleague.repository;
+
+import cammossleague.model.GameReminderSent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface GameReminderSentRepository extends JpaRepository<GameReminderSent, Long> {
+    
+    boolean existsByGameIdAndKindAndGameStart(Long gameId, String kind, LocalDateTime gameStart);
+}
@@ -1,15 +1,23 @@
 package cammossleague.repository;
 
+import cammossleague.dto.GameResultDTO;
+import cammossleague.dto.GameSlotDTO;
 import cammossleague.model.Game;
 import cammossleague.model.Season;
 import cammossleague.model.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
@@ -65,9 +73,35 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     @Query("SELECT COUNT(g) FROM Game g WHERE (g.homeTeam.id = :teamId OR g.awayTeam.id = :teamId) AND g.season.id = :seasonId")
     Long countGamesByTeamAndSeason(@Param("teamId") Long teamId, @Param("seasonId") Long seasonId);
     
+    // Score-line projections for rating and standings calculations
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new cammossleague.dto.GameResultDTO(g.id, g.season.id, g.gameDate, g.homeTeam.id, g.awayTeam.id, g.homeScore, g.awayScore) " +
+           "FROM Game g WHERE g.isCompleted = true AND g.homeScore IS NOT NULL AND g.awayScore IS NOT NULL " +
+           "ORDER BY g.gameDate ASC, g.gameTime ASC, g.id ASC")
+    Stream<GameResultDTO> streamCompletedResults();
+
+    @Query("SELECT new cammossleague.dto.GameResultDTO(g.id, g.season.id, g.gameDate, g.homeTeam.id, g.awayTeam.id, g.homeScore, g.awayScore) " +
+           "FROM Game g WHERE g.season.id = :seasonId AND g.isCompleted = true " +
+           "AND g.homeScore IS NOT NULL AND g.awayScore IS NOT NULL")
+    List<GameResultDTO> findCompletedResultsBySeasonId(@Param("seasonId") Long seasonId);
+    
+    @Query("SELECT new cammossleague.dto.GameSlotDTO(g.id, g.gameDate, g.gameTime, g.location, g.courtNumber, g.homeTeam.id, g.awayTeam.id) " +
+           "FROM Game g WHERE g.season.id = :seasonId")
+    List<GameSlotDTO> findSlotsBySeasonId(@Param("seasonId") Long seasonId);
+    
+    @Query("SELECT new cammossleague.dto.GameSlotDTO(g.id, g.gameDate, g.gameTime, g.location, g.courtNumber, g.homeTeam.id, g.awayTeam.id) " +
+           "FROM Game g WHERE g.season.id = :seasonId AND g.gameDate BETWEEN :startDate AND :endDate")
+    List<GameSlotDTO> findSlotsBySeasonIdAndGameDateBetween(@Param("seasonId") Long seasonId,
+                                                           @Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate);
+    
     // Additional methods for pagination support
     org.springframework.data.domain.Page<Game> findBySeasonIdAndWeekNumber(Long seasonId, Integer weekNumber, org.springframework.data.domain.Pageable pageable);
     org.springframework.data.domain.Page<Game> findBySeasonId(Long seasonId, org.springframework.data.domain.Pageable pageable);
     org.springframework.data.domain.Page<Game> findByIsCompleted(Boolean isCompleted, org.springframework.data.domain.Pageable pageable);
     org.springframework.data.domain.Page<Game> findAllByOrderByGameDateDescGameTimeDesc(org.springframework.data.domain.Pageable pageable);
-}
\ No newline at end of file
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Game g WHERE g.id = :id")
+    Optional<Game> findByIdForUpdate(@Param("id") Long id);
+}
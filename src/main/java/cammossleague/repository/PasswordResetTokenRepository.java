@@ -15,17 +15,23 @@ import java.util.Optional;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     
-    Optional<PasswordResetToken> findByToken(String token);
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
     
-    Optional<PasswordResetToken> findByTokenAndIsUsedFalse(String token);
+    Optional<PasswordResetToken> findByTokenHashAndIsUsedFalse(String tokenHash);
     
     @Query("SELECT p FROM PasswordResetToken p WHERE p.user = :user AND p.isUsed = false AND p.expiresAt > :now ORDER BY p.createdAt DESC")
     Optional<PasswordResetToken> findValidTokenByUser(@Param("user") User user, @Param("now") LocalDateTime now);
     
+    /**
+     * Deletes at most {@code limit} expired or used tokens, so cleanup never holds
+     * locks on a large part of the table at once.
+     */
     @Modifying
     @Transactional
-    @Query("DELETE FROM PasswordResetToken p WHERE p.expiresAt < :now OR p.isUsed = true")
-    void deleteExpiredAndUsedTokens(@Param("now") LocalDateTime now);
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN (" +
+                   "SELECT id FROM password_reset_tokens WHERE expires_at < :now OR is_used = true LIMIT :limit)",
+           nativeQuery = true)
+    int deleteExpiredAndUsedTokens(@Param("now") LocalDateTime now, @Param("limit") int limit);
     
     @Modifying
     @Transactional
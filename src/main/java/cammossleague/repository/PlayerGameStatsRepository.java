@@ -0,0 +1,55 @@
+package cammossleague.repository;
+
+import cammossleague.model.PlayerGameStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlayerGameStatsRepository extends JpaRepository<PlayerGameStats, Long> {
+    
+    @Query("SELECT s FROM PlayerGameStats s JOIN FETCH s.player p JOIN FETCH p.user WHERE s.game.id = :gameId")
+    List<PlayerGameStats> findByGameIdWithPlayer(@Param("gameId") Long gameId);
+    
+    @Query("SELECT s FROM PlayerGameStats s JOIN FETCH s.player WHERE s.game.id IN :gameIds")
+    List<PlayerGameStats> findByGameIdIn(@Param("gameIds") Collection<Long> gameIds);
+    
+    List<PlayerGameStats> findByPlayerId(Long playerId);
+    
+    /**
+     * Zeroes the totals of players who have no box score lines left in a season that
+     * keeps box scores, e.g. after all their lines were deleted. Seasons without any box
+     * scores are left alone, since their totals are entered by hand or imported.
+     */
+    @Modifying
+    @Query(value = "UPDATE players p SET " +
+                   "stats_games_played = 0, stats_points = 0, stats_rebounds = 0, stats_assists = 0, " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM player_game_stats s WHERE s.player_id = p.id) " +
+                   "AND EXISTS (SELECT 1 FROM player_game_stats s JOIN players sp ON sp.id = s.player_id " +
+                   "WHERE sp.season_id = p.season_id) " +
+                   "AND (p.stats_games_played <> 0 OR p.stats_points <> 0 OR p.stats_rebounds <> 0 OR p.stats_assists <> 0)",
+           nativeQuery = true)
+    int zeroTotalsWithoutLines();
+    
+    /**
+     * Recomputes season totals for every player with at least one box score line in a
+     * single grouped pass. Run {@link #zeroTotalsWithoutLines()} first to cover players
+     * whose lines are all gone.
+     */
+    @Modifying
+    @Query(value = "UPDATE players p SET " +
+                   "stats_games_played = s.games, stats_points = s.points, " +
+                   "stats_rebounds = s.rebounds, stats_assists = s.assists, updated_at = CURRENT_TIMESTAMP " +
+                   "FROM (SELECT player_id, COUNT(*) AS games, SUM(points) AS points, " +
+                   "SUM(rebounds) AS rebounds, SUM(assists) AS assists " +
+                   "FROM player_game_stats GROUP BY player_id) s " +
+                   "WHERE p.id = s.player_id",
+           nativeQuery = true)
+    int rebuildPlayerTotals();
+}
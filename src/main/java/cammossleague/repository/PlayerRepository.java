@@ -1,11 +1,16 @@
 package cammossleague.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import cammossleague.dto.CareerEntryDTO;
+import cammossleague.dto.FreeAgentDTO;
+import cammossleague.dto.RosterEntryDTO;
 import cammossleague.model.Player;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,4 +39,63 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     
     @Query("SELECT p FROM Player p WHERE p.user.id = :userId AND p.season.isActive = true")
     Optional<Player> findByUserAndCurrentSeason(@Param("userId") Long userId);
+    
+    // Callers refresh the Player entities they hold afterwards; clearing the whole
+    // persistence context here would detach the games and teams they are still using
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Player p SET p.statsGamesPlayed = p.statsGamesPlayed + :games, " +
+           "p.statsPoints = p.statsPoints + :points, p.statsRebounds = p.statsRebounds + :rebounds, " +
+           "p.statsAssists = p.statsAssists + :assists WHERE p.id = :playerId")
+    int applyStatsDelta(@Param("playerId") Long playerId,
+                        @Param("games") int games,
+                        @Param("points") int points,
+                        @Param("rebounds") int rebounds,
+                        @Param("assists") int assists);
+    
+    @Query("SELECT p.id FROM Player p WHERE p.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT p.user.id FROM Player p WHERE p.id = :playerId")
+    Optional<Long> findUserIdById(@Param("playerId") Long playerId);
+    
+    @Query("SELECT DISTINCT p.user.id FROM Player p WHERE p.id IN :playerIds")
+    List<Long> findUserIdsByIdIn(@Param("playerIds") Collection<Long> playerIds);
+    
+    @Query("SELECT new cammossleague.dto.CareerEntryDTO(p.id, CONCAT(u.firstName, ' ', u.lastName), " +
+           "s.id, s.name, s.year, s.isActive, t.id, t.name, t.city, p.jerseyNumber, p.position, " +
+           "t.wins, t.losses, p.statsGamesPlayed, p.statsPoints, p.statsRebounds, p.statsAssists) " +
+           "FROM Player p JOIN p.user u JOIN p.season s " +
+           "LEFT JOIN p.playerTeams pt ON pt.status = cammossleague.model.PlayerTeam.Status.ACTIVE " +
+           "LEFT JOIN pt.team t " +
+           "WHERE u.id = :userId ORDER BY s.year DESC, s.id DESC, t.name ASC")
+    List<CareerEntryDTO> findCareerByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new cammossleague.dto.RosterEntryDTO(pt.team.id, p.id, u.id, u.username, u.firstName, u.lastName, " +
+           "u.profileImageUrl, u.profilePictureUrl, p.jerseyNumber, p.position, p.statsGamesPlayed, p.statsPoints, p.statsRebounds, p.statsAssists) " +
+           "FROM PlayerTeam pt JOIN pt.player p JOIN p.user u " +
+           "WHERE pt.team.id IN :teamIds AND pt.status = cammossleague.model.PlayerTeam.Status.ACTIVE " +
+           "ORDER BY pt.team.id, p.jerseyNumber, u.lastName")
+    List<RosterEntryDTO> findRostersByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
+    
+    @Query("SELECT new cammossleague.dto.RosterEntryDTO(t.id, p.id, u.id, u.username, u.firstName, u.lastName, " +
+           "u.profileImageUrl, u.profilePictureUrl, p.jerseyNumber, p.position, p.statsGamesPlayed, p.statsPoints, p.statsRebounds, p.statsAssists) " +
+           "FROM PlayerTeam pt JOIN pt.team t JOIN pt.player p JOIN p.user u " +
+           "WHERE t.season.id = :seasonId AND pt.status = cammossleague.model.PlayerTeam.Status.ACTIVE " +
+           "ORDER BY t.id, p.jerseyNumber, u.lastName")
+    List<RosterEntryDTO> findRostersBySeasonId(@Param("seasonId") Long seasonId);
+    
+    @Query("SELECT new cammossleague.dto.FreeAgentDTO(p.id, u.id, CONCAT(u.firstName, ' ', u.lastName), s.id, s.name, " +
+           "p.position, p.heightInches, p.yearsExperience, p.statsGamesPlayed, p.statsPoints, p.statsRebounds, p.statsAssists) " +
+           "FROM Player p JOIN p.user u JOIN p.season s " +
+           "WHERE u.isFreeAgent = true AND p.isActive = true")
+    List<FreeAgentDTO> findFreeAgentProfiles();
+    
+    // (position, years of experience) for each active member of a team
+    @Query("SELECT p.position, p.yearsExperience FROM PlayerTeam pt JOIN pt.player p " +
+           "WHERE pt.team.id = :teamId AND pt.status = cammossleague.model.PlayerTeam.Status.ACTIVE")
+    List<Object[]> findRosterPositionsAndExperienceByTeamId(@Param("teamId") Long teamId);
+    
+    @Query("SELECT pt.player.id FROM PlayerTeam pt " +
+           "WHERE pt.status = cammossleague.model.PlayerTeam.Status.ACTIVE AND pt.player.user.isFreeAgent = true")
+    List<Long> findRosteredFreeAgentIds();
 }
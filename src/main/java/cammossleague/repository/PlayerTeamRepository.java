@@ -24,6 +24,15 @@ public interface PlayerTeamRepository extends JpaRepository<PlayerTeam, Long> {
     @Query("SELECT pt FROM PlayerTeam pt WHERE pt.player.id = :playerId AND pt.team.season.id = :seasonId AND pt.status = :status")
     List<PlayerTeam> findByPlayerIdAndSeasonIdAndStatus(@Param("playerId") Long playerId, @Param("seasonId") Long seasonId, @Param("status") Status status);
     
+    @Query("SELECT pt.team.id FROM PlayerTeam pt WHERE pt.player.id = :playerId AND pt.status = :status")
+    List<Long> findTeamIdsByPlayerIdAndStatus(@Param("playerId") Long playerId, @Param("status") Status status);
+    
+    @Query("SELECT pt.team.id FROM PlayerTeam pt WHERE pt.player.user.id = :userId AND pt.player.season.isActive = true AND pt.status = :status ORDER BY pt.id")
+    List<Long> findCurrentSeasonTeamIdsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") Status status);
+    
+    @Query("SELECT pt.player.id FROM PlayerTeam pt WHERE pt.team.id = :teamId AND pt.status = :status")
+    List<Long> findPlayerIdsByTeamIdAndStatus(@Param("teamId") Long teamId, @Param("status") Status status);
+    
     boolean existsByPlayerIdAndTeamIdAndStatus(Long playerId, Long teamId, Status status);
     
     // Convenience methods for active status
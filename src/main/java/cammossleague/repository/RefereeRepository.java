@@ -0,0 +1,30 @@
+package cammossleague.repository;
+
+import cammossleague.model.Referee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefereeRepository extends JpaRepository<Referee, Long> {
+    
+    Optional<Referee> findByNormalizedName(String normalizedName);
+    
+    List<Referee> findByIsActiveTrueOrderByNameAsc();
+    
+    /**
+     * Referee/team pairs where the referee plays for, or captains, the team this season.
+     * Each row is {refereeId, teamId}.
+     */
+    @Query("SELECT r.id, pt.team.id FROM Referee r, Player p JOIN p.playerTeams pt " +
+           "WHERE p.user = r.user AND p.season.id = :seasonId " +
+           "AND pt.status = cammossleague.model.PlayerTeam.Status.ACTIVE")
+    List<Object[]> findRosterConflicts(@Param("seasonId") Long seasonId);
+    
+    @Query("SELECT r.id, t.id FROM Referee r, Team t WHERE t.captain = r.user AND t.season.id = :seasonId")
+    List<Object[]> findCaptainConflicts(@Param("seasonId") Long seasonId);
+}
@@ -0,0 +1,20 @@
+package cammossleague.repository;
+
+import cammossleague.model.RefereeUnavailability;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RefereeUnavailabilityRepository extends JpaRepository<RefereeUnavailability, Long> {
+    
+    @Query("SELECT u FROM RefereeUnavailability u JOIN FETCH u.referee " +
+           "WHERE u.unavailableDate BETWEEN :startDate AND :endDate")
+    List<RefereeUnavailability> findBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    List<RefereeUnavailability> findByRefereeIdOrderByUnavailableDateAsc(Long refereeId);
+}
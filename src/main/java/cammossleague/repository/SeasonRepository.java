@@ -1,7 +1,11 @@
 package cammossleague.repository;
 
 import cammossleague.model.Season;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -15,4 +19,9 @@ public interface SeasonRepository extends JpaRepository<Season, Long> {
     Optional<Season> findByYear(Integer year);
     List<Season> findAllByOrderByYearDesc();
     Optional<Season> findTopByOrderByYearDesc();
+    
+    // Serializes schedule writes within a season; see ScheduleConflictService
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Season s WHERE s.id = :id")
+    Optional<Season> findByIdForUpdate(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package cammossleague.repository;
+
+import cammossleague.model.TeamMetrics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TeamMetricsRepository extends JpaRepository<TeamMetrics, Long> {
+    
+    List<TeamMetrics> findBySeasonIdOrderByStrengthOfScheduleDesc(Long seasonId);
+    
+    boolean existsBySeasonId(Long seasonId);
+    
+    @Modifying
+    @Query("DELETE FROM TeamMetrics m WHERE m.seasonId = :seasonId")
+    int deleteBySeasonId(@Param("seasonId") Long seasonId);
+}
@@ -18,6 +18,10 @@ public interface TeamRepository extends JpaRepository<Team, Long>, JpaSpecificat
     List<Team> findByIsActiveTrueOrderByName();
     List<Team> findBySeasonIdAndCaptainId(Long seasonId, Long captainId);
     
+    // Lightweight (id, name, captain id) rows used to link teams across seasons
+    @Query("SELECT t.id, t.name, c.id FROM Team t LEFT JOIN t.captain c")
+    List<Object[]> findTeamLineageRows();
+    
     @Modifying
     @Query(value = "ALTER SEQUENCE teams_id_seq RESTART WITH 12", nativeQuery = true)
     void resetSequence();
@@ -2,9 +2,12 @@ package cammossleague.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import cammossleague.dto.RecipientDTO;
 import cammossleague.model.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,10 +18,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmail(String email);
     
+    Optional<User> findByGoogleId(String googleId);
+    
     List<User> findByRole(User.Role role);
     
     List<User> findByIsActiveTrueOrderByLastName();
     
     @Query("SELECT u FROM User u WHERE u.username = ?1 OR u.email = ?1")
     Optional<User> findByUsernameOrEmail(String usernameOrEmail);
+    
+    @Query("SELECT new cammossleague.dto.RecipientDTO(u.id, u.email, u.firstName) FROM User u " +
+           "WHERE u.isActive = true ORDER BY u.id")
+    List<RecipientDTO> findActiveRecipients();
+    
+    @Query("SELECT DISTINCT new cammossleague.dto.RecipientDTO(u.id, u.email, u.firstName) " +
+           "FROM PlayerTeam pt JOIN pt.team t JOIN pt.player p JOIN p.user u " +
+           "WHERE t.season.id = :seasonId AND pt.status = cammossleague.model.PlayerTeam.Status.ACTIVE " +
+           "AND u.isActive = true")
+    List<RecipientDTO> findRecipientsBySeasonId(@Param("seasonId") Long seasonId);
+    
+    @Query("SELECT DISTINCT new cammossleague.dto.RecipientDTO(u.id, u.email, u.firstName) " +
+           "FROM PlayerTeam pt JOIN pt.player p JOIN p.user u " +
+           "WHERE pt.team.id IN :teamIds AND pt.status = cammossleague.model.PlayerTeam.Status.ACTIVE " +
+           "AND u.isActive = true")
+    List<RecipientDTO> findRecipientsByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package cammossleague.security;
+
+import java.io.IOException;
+import java.security.PublicKey;
+import java.util.Map;
+
+/**
+ * Supplies the public keys Google currently signs ID tokens with, keyed by {@code kid}.
+ * {@link GoogleTokenVerifier} caches whatever this returns, so implementations may be
+ * slow; tests plug in a local key set instead of Google's endpoint.
+ */
+@FunctionalInterface
+public interface GoogleKeySource {
+
+    Map<String, PublicKey> fetchKeys() throws IOException;
+}
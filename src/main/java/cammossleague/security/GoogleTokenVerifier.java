@@ -0,0 +1,122 @@
+package cammossleague.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verifies Google ID tokens locally: RS256 signature against Google's published keys,
+ * plus issuer, audience and expiry.
+ *
+ * Keys are cached and refreshed in the background, so a sign-in never waits on Google's
+ * JWKS endpoint. The only inline fetch is for a {@code kid} the cache has not seen
+ * (Google rotated keys since the last refresh), and at most once a minute.
+ */
+@Component
+public class GoogleTokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoogleTokenVerifier.class);
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    private static final long MIN_REFRESH_INTERVAL_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final GoogleKeySource keySource;
+    private final JwtParser parser;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefresh = System.nanoTime() - MIN_REFRESH_INTERVAL_NANOS;
+
+    public GoogleTokenVerifier(GoogleKeySource keySource,
+                               @Value("${spring.security.oauth2.client.registration.google.client-id}") String clientId) {
+        this.keySource = keySource;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header);
+                    }
+                })
+                .requireAudience(clientId)
+                .setAllowedClockSkewSeconds(60)
+                .build();
+    }
+
+    /**
+     * @return the token's claims
+     * @throws SecurityException if the token is malformed, expired, or not issued by Google for this app
+     * @throws IOException if the token names a key that could not be fetched
+     */
+    public Claims verify(String idToken) throws IOException {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(idToken).getBody();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new SecurityException("Invalid Google ID token", e);
+        }
+        if (!ISSUERS.contains(claims.getIssuer()) || claims.getSubject() == null) {
+            throw new SecurityException("Invalid Google ID token");
+        }
+        return claims;
+    }
+
+    @Scheduled(fixedDelayString = "${app.google.jwks-refresh-ms:1800000}")
+    public void refreshKeys() {
+        try {
+            refresh();
+        } catch (IOException e) {
+            logger.warn("Could not refresh Google signing keys, keeping {} cached: {}", keys.size(), e.getMessage());
+        }
+    }
+
+    private Key resolveKey(JwsHeader header) {
+        if (!SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Unexpected signing algorithm: " + header.getAlgorithm());
+        }
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new UnsupportedJwtException("Token has no key id");
+        }
+        PublicKey key = keys.get(kid);
+        if (key == null && System.nanoTime() - lastRefresh >= MIN_REFRESH_INTERVAL_NANOS) {
+            try {
+                refresh();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            key = keys.get(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    private synchronized void refresh() throws IOException {
+        lastRefresh = System.nanoTime();
+        Map<String, PublicKey> fetched = keySource.fetchKeys();
+        if (fetched.isEmpty()) {
+            throw new IOException("Google key source returned no keys");
+        }
+        keys = Map.copyOf(fetched);
+        logger.debug("Loaded {} Google signing keys", fetched.size());
+    }
+}
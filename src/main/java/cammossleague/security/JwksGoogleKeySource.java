@@ -0,0 +1,85 @@
+package cammossleague.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads Google's signing keys from its JWKS endpoint. The URI is configurable, so a
+ * local JWKS document can stand in for Google when working offline.
+ */
+@Component
+public class JwksGoogleKeySource implements GoogleKeySource {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+
+    public JwksGoogleKeySource(@Value("${app.google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}") String jwksUri) {
+        this.jwksUri = URI.create(jwksUri);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public Map<String, PublicKey> fetchKeys() throws IOException {
+        if ("file".equals(jwksUri.getScheme())) {
+            return parseJwks(Files.readString(Path.of(jwksUri)));
+        }
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("JWKS request to " + jwksUri + " returned " + response.statusCode());
+            }
+            return parseJwks(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted fetching " + jwksUri, e);
+        }
+    }
+
+    /**
+     * Builds RSA public keys from a JWKS document; keys of any other type are skipped.
+     */
+    static Map<String, PublicKey> parseJwks(String json) throws IOException {
+        Map<String, PublicKey> keys = new HashMap<>();
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (JsonNode key : objectMapper.readTree(json).path("keys")) {
+                if (!"RSA".equals(key.path("kty").asText()) || !key.hasNonNull("kid")) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(key.path("n").asText()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(key.path("e").asText()));
+                keys.put(key.get("kid").asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IOException("Invalid JWKS document", e);
+        }
+        return keys;
+    }
+}
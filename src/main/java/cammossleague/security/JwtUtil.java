@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -14,7 +15,7 @@ public class JwtUtil {
     @Value("${app.jwt.secret:myVerySecretKey12345678901234567890123456789012345678901234567890123456789012}")
     private String jwtSecret;
     
-    @Value("${app.jwt.expiration:86400000}") // 24 hours in milliseconds
+    @Value("${app.jwt.expiration:900000}") // 15 minutes in milliseconds; clients renew with a refresh token
     private long jwtExpirationMs;
     
     private SecretKey getSigningKey() {
@@ -27,6 +28,7 @@ public class JwtUtil {
         
         return Jwts.builder()
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
                 .claim("userId", userId)
                 .claim("role", role)
                 .setIssuedAt(now)
@@ -65,6 +67,27 @@ public class JwtUtil {
         return claims.get("role", String.class);
     }
     
+    /**
+     * Parses and validates a token in one pass.
+     *
+     * @return the token's claims, or null if it is malformed, forged or expired
+     */
+    public Claims parseToken(String token) {
+        try {
+            return Jwts.parserBuilder()
+                .setSigningKey(getSigningKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+    
     public boolean validateToken(String token) {
         try {
             Jwts.parserBuilder()
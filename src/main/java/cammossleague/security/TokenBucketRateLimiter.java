@@ -0,0 +1,156 @@
+package cammossleague.security;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token buckets: each key may make {@code capacity} attempts in a burst, refilled
+ * at {@code refillPerMinute}. Nothing here takes a lock; each bucket's state is an
+ * immutable snapshot swapped in with compare-and-set.
+ *
+ * A bucket that has refilled completely carries no state worth keeping. Each bucket is
+ * filed in a timing wheel under the tick at which it will be full again, and the slots
+ * a caller's clock has passed are swept on the way in, so idle keys are dropped without
+ * ever scanning the whole map.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int WHEEL_SLOTS = 64;
+    private static final long MIN_TICK_NANOS = 1_000_000_000L;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long tickNanos;
+    private final LongSupplier clock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Queue<String>[] wheel;
+    private final AtomicLong sweptTick;
+
+    public TokenBucketRateLimiter(int capacity, double refillPerMinute) {
+        this(capacity, refillPerMinute, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenBucketRateLimiter(int capacity, double refillPerMinute, LongSupplier clock) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        this.clock = clock;
+        // An empty bucket must refill within half a turn, so a slot is never reused before it is swept
+        long fullRefillNanos = (long) Math.ceil(capacity / tokensPerNano);
+        this.tickNanos = Math.max(MIN_TICK_NANOS, fullRefillNanos / (WHEEL_SLOTS / 2) + 1);
+        this.wheel = new Queue[WHEEL_SLOTS];
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sweptTick = new AtomicLong(Math.floorDiv(clock.getAsLong(), tickNanos));
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return false when the key has no tokens left
+     */
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        sweep(now);
+        while (true) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(new State(capacity, now)));
+            State current = bucket.state.get();
+            if (current == State.EVICTED) {
+                // Lost a race with the sweeper; start over with a fresh bucket
+                buckets.remove(key, bucket);
+                continue;
+            }
+            State refilled = current.refill(now, capacity, tokensPerNano);
+            if (refilled.tokens < 1) {
+                return false;
+            }
+            State next = new State(refilled.tokens - 1, refilled.lastRefill);
+            if (bucket.state.compareAndSet(current, next)) {
+                schedule(key, bucket, next);
+                return true;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void schedule(String key, Bucket bucket, State state) {
+        long fullAt = state.lastRefill + (long) Math.ceil((capacity - state.tokens) / tokensPerNano);
+        long tick = Math.floorDiv(fullAt, tickNanos) + 1;
+        long previous = bucket.scheduledTick.getAndAccumulate(tick, Math::max);
+        if (tick > previous) {
+            wheel[Math.floorMod(tick, WHEEL_SLOTS)].add(key);
+        }
+    }
+
+    /**
+     * Drains the slots between the last swept tick and now. Only the caller that wins
+     * the compare-and-set on {@code sweptTick} sweeps; everyone else carries on.
+     */
+    private void sweep(long now) {
+        long nowTick = Math.floorDiv(now, tickNanos);
+        long swept = sweptTick.get();
+        if (nowTick <= swept || !sweptTick.compareAndSet(swept, nowTick)) {
+            return;
+        }
+        long from = Math.max(swept + 1, nowTick - WHEEL_SLOTS + 1);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Queue<String> slot = wheel[Math.floorMod(tick, WHEEL_SLOTS)];
+            String key;
+            while ((key = slot.poll()) != null) {
+                evictIfFull(key, now);
+            }
+        }
+    }
+
+    private void evictIfFull(String key, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            return;
+        }
+        State current = bucket.state.get();
+        // Still draining: the key was used again after this entry was filed and sits in a later slot
+        if (current == State.EVICTED || current.refill(now, capacity, tokensPerNano).tokens < capacity) {
+            return;
+        }
+        if (bucket.state.compareAndSet(current, State.EVICTED)) {
+            buckets.remove(key, bucket);
+        }
+    }
+
+    private static final class Bucket {
+        private final AtomicReference<State> state;
+        private final AtomicLong scheduledTick = new AtomicLong(Long.MIN_VALUE);
+
+        private Bucket(State state) {
+            this.state = new AtomicReference<>(state);
+        }
+    }
+
+    private static final class State {
+        private static final State EVICTED = new State(Double.NaN, 0);
+
+        private final double tokens;
+        private final long lastRefill;
+
+        private State(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+
+        private State refill(long now, double capacity, double tokensPerNano) {
+            if (now <= lastRefill) {
+                return this;
+            }
+            return new State(Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano), now);
+        }
+    }
+}
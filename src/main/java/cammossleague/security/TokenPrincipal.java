@@ -0,0 +1,39 @@
+package cammossleague.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * The caller as described by their access token. {@link #getName()} is the token
+ * subject (username, or email for Google accounts), so {@code authentication.getName()}
+ * behaves as it did when the principal was loaded from the database.
+ */
+public class TokenPrincipal implements AuthenticatedPrincipal {
+    
+    private final String name;
+    private final Long userId;
+    private final String role;
+    
+    public TokenPrincipal(String name, Long userId, String role) {
+        this.name = name;
+        this.userId = userId;
+        this.role = role;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+}
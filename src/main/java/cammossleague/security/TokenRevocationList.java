@@ -0,0 +1,139 @@
+package cammossleague.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access tokens that must stop working before they expire: single tokens by {@code jti}
+ * (logout) and every token a user was issued up to a point in time (refresh token
+ * reuse, password reset).
+ *
+ * Almost every request carries a token that was never revoked, so lookups go through a
+ * Bloom filter first and only a possible hit consults the exact maps. Entries are kept
+ * only as long as a token they cover could still be valid; the periodic purge drops
+ * the rest and rebuilds the filter, since a Bloom filter cannot forget a key.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final int FILTER_BITS = 1 << 16;
+    private static final int FILTER_HASHES = 4;
+
+    private final long accessTokenLifetimeMs;
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> revokedUsers = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(FILTER_BITS, FILTER_HASHES);
+
+    public TokenRevocationList(@Value("${app.jwt.expiration:900000}") long accessTokenLifetimeMs) {
+        this.accessTokenLifetimeMs = accessTokenLifetimeMs;
+    }
+
+    /**
+     * Revokes one access token until {@code expiresAt}, after which it is rejected anyway.
+     */
+    public synchronized void revokeToken(String jti, Instant expiresAt) {
+        if (jti == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revokedTokens.put(jti, expiresAt);
+        filter.add(tokenKey(jti));
+    }
+
+    /**
+     * Revokes every access token issued to the user before this second.
+     */
+    public synchronized void revokeUser(Long userId) {
+        // Token issue times have whole-second precision; truncating keeps a token issued
+        // later in this same second, such as the one from logging straight back in, valid
+        revokedUsers.put(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        filter.add(userKey(userId));
+    }
+
+    public boolean isRevoked(String jti, Long userId, Instant issuedAt) {
+        BloomFilter current = filter;
+        if (jti != null && current.mightContain(tokenKey(jti)) && revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        if (userId != null && current.mightContain(userKey(userId))) {
+            Instant revokedAt = revokedUsers.get(userId);
+            return revokedAt != null && (issuedAt == null || issuedAt.isBefore(revokedAt));
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-ms:60000}")
+    public synchronized void purgeExpired() {
+        Instant now = Instant.now();
+        Instant oldestLiveIssue = now.minusMillis(accessTokenLifetimeMs);
+        revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revokedUsers.values().removeIf(revokedAt -> revokedAt.isBefore(oldestLiveIssue));
+
+        BloomFilter rebuilt = new BloomFilter(FILTER_BITS, FILTER_HASHES);
+        revokedTokens.keySet().forEach(jti -> rebuilt.add(tokenKey(jti)));
+        revokedUsers.keySet().forEach(userId -> rebuilt.add(userKey(userId)));
+        filter = rebuilt;
+    }
+
+    int size() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    private static String tokenKey(String jti) {
+        return "t:" + jti;
+    }
+
+    private static String userKey(Long userId) {
+        return "u:" + userId;
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final int bits;
+        private final int hashes;
+
+        private BloomFilter(int bits, int hashes) {
+            this.words = new AtomicLongArray(bits / 64);
+            this.bits = bits;
+            this.hashes = hashes;
+        }
+
+        private void add(String key) {
+            int h1 = key.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << (bit & 63);
+                words.getAndUpdate(bit >>> 6, word -> word | mask);
+            }
+        }
+
+        private boolean mightContain(String key) {
+            int h1 = key.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Second, independent-enough hash for double hashing (murmur3 finalizer)
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h | 1;
+        }
+    }
+}
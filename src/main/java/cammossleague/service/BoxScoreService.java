@@ -0,0 +1,223 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameBoxScoreDTO;
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.Player;
+import cammossleague.model.PlayerGameStats;
+import cammossleague.model.PlayerTeam;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.PlayerGameStatsRepository;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-game box scores and the player season totals derived from them.
+ *
+ * Edits never recompute totals from scratch: each save works out the difference
+ * between the old and new lines and applies it to {@code players.stats_*} with an
+ * atomic in-place update, then refreshes just the Player entities it touched so later
+ * reads in the request see the new totals. {@link #rebuildPlayerTotals()} recomputes everything from
+ * the box score table if the totals ever drift, zeroing players whose lines are gone.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BoxScoreService {
+    
+    private final GameRepository gameRepository;
+    private final PlayerRepository playerRepository;
+    private final PlayerGameStatsRepository playerGameStatsRepository;
+    private final PlayerTeamRepository playerTeamRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Transactional(readOnly = true)
+    public GameBoxScoreDTO getBoxScore(Long gameId) {
+        if (!gameRepository.existsById(gameId)) {
+            throw new RuntimeException("Game not found with id: " + gameId);
+        }
+        
+        List<GameBoxScoreDTO.PlayerLine> lines = playerGameStatsRepository.findByGameIdWithPlayer(gameId).stream()
+                .map(GameBoxScoreDTO.PlayerLine::fromEntity)
+                .collect(Collectors.toList());
+        return GameBoxScoreDTO.builder().gameId(gameId).lines(lines).build();
+    }
+    
+    /**
+     * Replaces the whole box score for a game. Players missing from {@code lines} have
+     * their existing line removed. Every line must credit one of the game's two teams
+     * and a player on that team's active roster.
+     *
+     * @throws IllegalArgumentException if any line fails those checks; nothing is written
+     */
+    public GameBoxScoreDTO replaceBoxScore(Long gameId, List<GameBoxScoreDTO.PlayerLine> lines) {
+        // Lock the game row so two concurrent saves can't both diff against the same old lines
+        Game game = gameRepository.findByIdForUpdate(gameId)
+                .orElseThrow(() -> new RuntimeException("Game not found with id: " + gameId));
+        
+        Map<Long, GameBoxScoreDTO.PlayerLine> linesByPlayer = new LinkedHashMap<>();
+        for (GameBoxScoreDTO.PlayerLine line : lines) {
+            if (linesByPlayer.put(line.getPlayerId(), line) != null) {
+                throw new IllegalArgumentException("Duplicate box score line for player id: " + line.getPlayerId());
+            }
+        }
+        
+        Map<Long, Player> players = playerRepository.findAllById(linesByPlayer.keySet()).stream()
+                .collect(Collectors.toMap(Player::getId, p -> p));
+        // Team rosters are per season, so active membership also ties the player to the game's season
+        Map<Long, Set<Long>> rosterByTeam = new HashMap<>();
+        if (!linesByPlayer.isEmpty()) {
+            for (Team team : List.of(game.getHomeTeam(), game.getAwayTeam())) {
+                rosterByTeam.put(team.getId(), new HashSet<>(
+                        playerTeamRepository.findPlayerIdsByTeamIdAndStatus(team.getId(), PlayerTeam.Status.ACTIVE)));
+            }
+        }
+        for (GameBoxScoreDTO.PlayerLine line : linesByPlayer.values()) {
+            Player player = players.get(line.getPlayerId());
+            if (player == null) {
+                throw new IllegalArgumentException("Player not found with id: " + line.getPlayerId());
+            }
+            if (!player.getSeason().getId().equals(game.getSeason().getId())) {
+                throw new IllegalArgumentException("Player " + line.getPlayerId() + " is not registered for this game's season");
+            }
+            Team team = resolveTeam(game, line.getTeamId());
+            if (!rosterByTeam.get(team.getId()).contains(player.getId())) {
+                throw new IllegalArgumentException("Player " + player.getId() + " is not on the active roster of team " + team.getId());
+            }
+        }
+        
+        Map<Long, PlayerGameStats> existing = new HashMap<>();
+        for (PlayerGameStats stats : playerGameStatsRepository.findByGameIdWithPlayer(gameId)) {
+            existing.put(stats.getPlayer().getId(), stats);
+        }
+        
+        Map<Long, int[]> deltas = new HashMap<>();
+        List<PlayerGameStats> toSave = new ArrayList<>();
+        for (GameBoxScoreDTO.PlayerLine line : linesByPlayer.values()) {
+            PlayerGameStats stats = existing.remove(line.getPlayerId());
+            if (stats == null) {
+                stats = PlayerGameStats.builder()
+                        .game(game)
+                        .player(players.get(line.getPlayerId()))
+                        .build();
+                deltas.put(line.getPlayerId(), new int[] { 1, line.getPoints(), line.getRebounds(), line.getAssists() });
+            } else {
+                deltas.put(line.getPlayerId(), new int[] {
+                        0,
+                        line.getPoints() - stats.getPoints(),
+                        line.getRebounds() - stats.getRebounds(),
+                        line.getAssists() - stats.getAssists() });
+            }
+            
+            stats.setTeam(resolveTeam(game, line.getTeamId()));
+            stats.setPoints(line.getPoints());
+            stats.setRebounds(line.getRebounds());
+            stats.setAssists(line.getAssists());
+            toSave.add(stats);
+        }
+        
+        Map<Long, Player> touched = new HashMap<>(players);
+        List<PlayerGameStats> removed = new ArrayList<>(existing.values());
+        for (PlayerGameStats stats : removed) {
+            deltas.put(stats.getPlayer().getId(), negate(stats));
+            touched.put(stats.getPlayer().getId(), stats.getPlayer());
+        }
+        
+        playerGameStatsRepository.deleteAll(removed);
+        List<PlayerGameStats> saved = playerGameStatsRepository.saveAll(toSave);
+        applyDeltas(deltas, touched);
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(game.getSeason().getId(), List.copyOf(deltas.keySet())));
+        
+        List<GameBoxScoreDTO.PlayerLine> result = saved.stream()
+                .map(GameBoxScoreDTO.PlayerLine::fromEntity)
+                .collect(Collectors.toList());
+        return GameBoxScoreDTO.builder().gameId(gameId).lines(result).build();
+    }
+    
+    /**
+     * Backs the box scores of the given games out of player totals and deletes them.
+     * Called before games are deleted, since the database cascade alone would leave
+     * the totals counting games that no longer exist.
+     */
+    public void removeForGames(Collection<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return;
+        }
+        
+        List<PlayerGameStats> lines = playerGameStatsRepository.findByGameIdIn(gameIds);
+        Map<Long, int[]> deltas = new HashMap<>();
+        Map<Long, Player> touched = new HashMap<>();
+        Map<Long, Set<Long>> playersBySeason = new HashMap<>();
+        for (PlayerGameStats stats : lines) {
+            touched.put(stats.getPlayer().getId(), stats.getPlayer());
+            playersBySeason.computeIfAbsent(stats.getPlayer().getSeason().getId(), id -> new HashSet<>())
+                    .add(stats.getPlayer().getId());
+            int[] delta = deltas.computeIfAbsent(stats.getPlayer().getId(), id -> new int[4]);
+            int[] line = negate(stats);
+            for (int i = 0; i < delta.length; i++) {
+                delta[i] += line[i];
+            }
+        }
+        
+        playerGameStatsRepository.deleteAll(lines);
+        applyDeltas(deltas, touched);
+        playersBySeason.forEach((seasonId, playerIds) ->
+                eventPublisher.publishEvent(new PlayerStatsChangedEvent(seasonId, playerIds)));
+    }
+    
+    public int rebuildPlayerTotals() {
+        int updated = playerGameStatsRepository.zeroTotalsWithoutLines()
+                + playerGameStatsRepository.rebuildPlayerTotals();
+        eventPublisher.publishEvent(PlayerStatsChangedEvent.forAllSeasons());
+        return updated;
+    }
+    
+    /**
+     * Applies the deltas in place, then reloads the affected players this request holds,
+     * since the bulk update bypasses the persistence context.
+     */
+    private void applyDeltas(Map<Long, int[]> deltas, Map<Long, Player> touched) {
+        for (Map.Entry<Long, int[]> entry : deltas.entrySet()) {
+            int[] d = entry.getValue();
+            if (d[0] == 0 && d[1] == 0 && d[2] == 0 && d[3] == 0) {
+                continue;
+            }
+            playerRepository.applyStatsDelta(entry.getKey(), d[0], d[1], d[2], d[3]);
+            Player player = touched.get(entry.getKey());
+            if (player != null && entityManager.contains(player)) {
+                entityManager.refresh(player);
+            }
+        }
+    }
+    
+    private Team resolveTeam(Game game, Long teamId) {
+        if (game.getHomeTeam().getId().equals(teamId)) {
+            return game.getHomeTeam();
+        }
+        if (game.getAwayTeam().getId().equals(teamId)) {
+            return game.getAwayTeam();
+        }
+        throw new IllegalArgumentException("Team " + teamId + " did not play in game " + game.getId());
+    }
+    
+    private static int[] negate(PlayerGameStats stats) {
+        return new int[] { -1, -stats.getPoints(), -stats.getRebounds(), -stats.getAssists() };
+    }
+}
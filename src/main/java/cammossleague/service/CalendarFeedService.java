@@ -0,0 +1,308 @@
+package cammossleague.service;
+
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.PlayerTeam;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds iCalendar (.ics) feeds of games per team, per season and per player.
+ *
+ * Each team's and season's events are rendered once and cached together with the
+ * latest {@code updatedAt} among their games and the teams playing them, which the
+ * controller turns into {@code ETag}/{@code Last-Modified} so polling calendar clients
+ * get 304s. A cached feed is dropped only when one of its own games changes, or a
+ * team in its season is renamed. Player feeds are stitched together from the cached
+ * feeds of the player's current teams. Feeds are written straight to the response
+ * from the cached event text.
+ */
+@Service
+public class CalendarFeedService {
+
+    private static final DateTimeFormatter UTC_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final String CRLF = "\r\n";
+
+    private final GameRepository gameRepository;
+    private final TeamRepository teamRepository;
+    private final SeasonRepository seasonRepository;
+    private final PlayerRepository playerRepository;
+    private final PlayerTeamRepository playerTeamRepository;
+    private final ZoneId zoneId;
+    private final String uidDomain;
+    private final String calendarName;
+
+    private final Map<Long, EventBlock> teamEvents = new ConcurrentHashMap<>();
+    private final Map<Long, EventBlock> seasonEvents = new ConcurrentHashMap<>();
+
+    @Value("${app.schedule.game-minutes:60}")
+    private int gameMinutes;
+
+    public CalendarFeedService(GameRepository gameRepository,
+                               TeamRepository teamRepository,
+                               SeasonRepository seasonRepository,
+                               PlayerRepository playerRepository,
+                               PlayerTeamRepository playerTeamRepository,
+                               @Value("${app.calendar.time-zone:America/New_York}") String timeZone,
+                               @Value("${app.base-url:http://localhost:3000}") String baseUrl,
+                               @Value("${app.name:Cam Moss League}") String appName) {
+        this.gameRepository = gameRepository;
+        this.teamRepository = teamRepository;
+        this.seasonRepository = seasonRepository;
+        this.playerRepository = playerRepository;
+        this.playerTeamRepository = playerTeamRepository;
+        this.zoneId = ZoneId.of(timeZone);
+        String host = URI.create(baseUrl).getHost();
+        this.uidDomain = host != null ? host : "cammossleague";
+        this.calendarName = appName;
+    }
+
+    public Feed getTeamFeed(Long teamId) {
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found with id: " + teamId));
+        EventBlock events = teamEvents(team);
+        return new Feed(calendarName + " - " + team.getName(), "team-" + teamId, List.of(events));
+    }
+
+    public Feed getSeasonFeed(Long seasonId) {
+        Season season = seasonRepository.findById(seasonId)
+                .orElseThrow(() -> new RuntimeException("Season not found with id: " + seasonId));
+        EventBlock events = seasonEvents.computeIfAbsent(seasonId,
+                id -> render(id, gameRepository.findBySeasonIdOrderByGameDateAscGameTimeAsc(id)));
+        return new Feed(calendarName + " - " + season.getName(), "season-" + seasonId, List.of(events));
+    }
+
+    public Feed getPlayerFeed(Long playerId) {
+        if (!playerRepository.existsById(playerId)) {
+            throw new RuntimeException("Player not found with id: " + playerId);
+        }
+        List<EventBlock> blocks = new ArrayList<>();
+        List<String> teamNames = new ArrayList<>();
+        for (Long teamId : playerTeamRepository.findTeamIdsByPlayerIdAndStatus(playerId, PlayerTeam.Status.ACTIVE)) {
+            teamRepository.findById(teamId).ifPresent(team -> {
+                blocks.add(teamEvents(team));
+                teamNames.add(team.getName());
+            });
+        }
+        String name = teamNames.isEmpty() ? calendarName : calendarName + " - " + String.join(", ", teamNames);
+        return new Feed(name, "player-" + playerId, blocks);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdated(GameUpdatedEvent event) {
+        if (event.getSeasonId() == null) {
+            teamEvents.clear();
+            seasonEvents.clear();
+            return;
+        }
+        seasonEvents.remove(event.getSeasonId());
+
+        if (event.getGameId() == null) {
+            teamEvents.values().removeIf(block -> event.getSeasonId().equals(block.seasonId));
+            return;
+        }
+        // Teams that listed the game before the change, and teams that play it now
+        teamEvents.values().removeIf(block -> block.events.containsKey(event.getGameId()));
+        gameRepository.findById(event.getGameId()).ifPresent(game -> {
+            teamEvents.remove(game.getHomeTeam().getId());
+            teamEvents.remove(game.getAwayTeam().getId());
+        });
+    }
+
+    private EventBlock teamEvents(Team team) {
+        return teamEvents.computeIfAbsent(team.getId(),
+                id -> render(team.getSeason().getId(), gameRepository.findByTeamIdAndSeasonId(id, team.getSeason().getId())));
+    }
+
+    private EventBlock render(Long seasonId, List<Game> games) {
+        Map<Long, String> events = new LinkedHashMap<>();
+        LocalDateTime lastModified = null;
+
+        for (Game game : games) {
+            LocalDateTime updatedAt = game.getUpdatedAt() != null ? game.getUpdatedAt() : game.getCreatedAt();
+            lastModified = latest(lastModified, updatedAt);
+            // A renamed team changes the summary without touching the game
+            lastModified = latest(lastModified, game.getHomeTeam().getUpdatedAt());
+            lastModified = latest(lastModified, game.getAwayTeam().getUpdatedAt());
+
+            StringBuilder event = new StringBuilder(400);
+            appendEvent(event, game, updatedAt);
+            events.put(game.getId(), event.toString());
+        }
+        return new EventBlock(seasonId, events, lastModified);
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        return candidate != null && (current == null || candidate.isAfter(current)) ? candidate : current;
+    }
+
+    private void appendEvent(StringBuilder out, Game game, LocalDateTime updatedAt) {
+        LocalDateTime start = game.getGameDateTime();
+        String summary = game.getDisplayName();
+        if (Boolean.TRUE.equals(game.getIsCompleted()) && game.hasResult()) {
+            summary += " (" + game.getAwayScore() + "-" + game.getHomeScore() + ")";
+        }
+
+        StringBuilder description = new StringBuilder(game.getGameType().getDisplayName());
+        if (game.getWeekNumber() != null) {
+            description.append(", week ").append(game.getWeekNumber());
+        }
+        if (game.getNotes() != null && !game.getNotes().isBlank()) {
+            description.append('\n').append(game.getNotes());
+        }
+
+        line(out, "BEGIN:VEVENT");
+        line(out, "UID:game-" + game.getId() + "@" + uidDomain);
+        line(out, "DTSTAMP:" + utc(updatedAt != null ? updatedAt : start));
+        line(out, "DTSTART:" + utc(start));
+        line(out, "DTEND:" + utc(start.plusMinutes(gameMinutes)));
+        line(out, "SUMMARY:" + escape(summary));
+        if (game.getLocation() != null) {
+            line(out, "LOCATION:" + escape(game.getLocationDisplay()));
+        }
+        line(out, "DESCRIPTION:" + escape(description.toString()));
+        line(out, "STATUS:CONFIRMED");
+        line(out, "END:VEVENT");
+    }
+
+    private String utc(LocalDateTime local) {
+        return local.atZone(zoneId).withZoneSameInstant(ZoneOffset.UTC).format(UTC_STAMP);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\r", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    /**
+     * Appends a content line, folded so no physical line exceeds 75 octets (RFC 5545 3.1).
+     * Folds fall between code points, so a multi-byte character is never split.
+     */
+    static void line(StringBuilder out, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > 75) {
+                out.append(CRLF).append(' ');
+                octets = 1;
+            }
+            out.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.append(CRLF);
+    }
+
+    /**
+     * Rendered VEVENTs for one team or season plus what is needed to invalidate them.
+     */
+    private static final class EventBlock {
+        private final Long seasonId;
+        private final Map<Long, String> events;
+        private final LocalDateTime lastModified;
+
+        private EventBlock(Long seasonId, Map<Long, String> events, LocalDateTime lastModified) {
+            this.seasonId = seasonId;
+            this.events = events;
+            this.lastModified = lastModified;
+        }
+    }
+
+    public final class Feed {
+        private final String name;
+        private final String key;
+        private final List<EventBlock> blocks;
+
+        private Feed(String name, String key, List<EventBlock> blocks) {
+            this.name = name;
+            this.key = key;
+            this.blocks = blocks;
+        }
+
+        public String getETag() {
+            int games = 0;
+            long latest = 0;
+            for (EventBlock block : blocks) {
+                games += block.events.size();
+                if (block.lastModified != null) {
+                    latest = Math.max(latest, block.lastModified.toEpochSecond(ZoneOffset.UTC));
+                }
+            }
+            // The game count catches deletions, which leave no newer updatedAt behind
+            return "\"" + key + "-" + games + "-" + latest + "\"";
+        }
+
+        /**
+         * Latest game change in the feed as epoch millis, or -1 if the feed has no games.
+         */
+        public long getLastModified() {
+            long latest = -1;
+            for (EventBlock block : blocks) {
+                if (block.lastModified != null) {
+                    latest = Math.max(latest, block.lastModified.atZone(zoneId).toInstant().toEpochMilli());
+                }
+            }
+            return latest;
+        }
+
+        /**
+         * Writes the calendar as UTF-8. The output is flushed but not closed.
+         */
+        public void writeTo(OutputStream output) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            StringBuilder header = new StringBuilder(256);
+            line(header, "BEGIN:VCALENDAR");
+            line(header, "VERSION:2.0");
+            line(header, "PRODID:-//" + calendarName + "//Schedule//EN");
+            line(header, "CALSCALE:GREGORIAN");
+            line(header, "METHOD:PUBLISH");
+            line(header, "X-WR-CALNAME:" + escape(name));
+            line(header, "X-PUBLISHED-TTL:PT15M");
+            writer.write(header.toString());
+
+            // A player on two teams that meet would otherwise see that game twice
+            Set<Long> seen = new HashSet<>();
+            for (EventBlock block : blocks) {
+                for (Map.Entry<Long, String> event : block.events.entrySet()) {
+                    if (seen.add(event.getKey())) {
+                        writer.write(event.getValue());
+                    }
+                }
+            }
+            writer.write("END:VCALENDAR" + CRLF);
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package cammossleague.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Streams league tables out as CSV or newline-delimited JSON.
+ *
+ * Rows are read through a server-side cursor (a fetch size inside a read-only
+ * transaction) and written to the output as they arrive, so exporting the full
+ * history never holds more than one fetch of rows in memory. Columns are the
+ * table's own, in the same layout as the hand-made exports in the repository root.
+ */
+@Service
+public class DataExportService {
+
+    private static final int FETCH_SIZE = 500;
+
+    public enum Dataset {
+        SEASONS("SELECT * FROM seasons", "id", "id"),
+        TEAMS("SELECT * FROM teams", "season_id", "id"),
+        PLAYERS("SELECT * FROM players", "season_id", "id"),
+        GAMES("SELECT * FROM games", "season_id", "id"),
+        PLAYER_GAME_STATS("SELECT s.* FROM player_game_stats s JOIN games g ON g.id = s.game_id", "g.season_id", "s.id"),
+        PLAYOFF_MATCHES("SELECT m.* FROM playoff_matches m JOIN playoff_brackets b ON b.id = m.bracket_id", "b.season_id", "m.id");
+
+        private final String select;
+        private final String seasonColumn;
+        private final String orderColumn;
+
+        Dataset(String select, String seasonColumn, String orderColumn) {
+            this.select = select;
+            this.seasonColumn = seasonColumn;
+            this.orderColumn = orderColumn;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the path names no dataset
+         */
+        public static Dataset fromPath(String path) {
+            try {
+                return Dataset.valueOf(path.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown dataset: " + path);
+            }
+        }
+
+        public String fileName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+
+        private String sql(boolean filtered) {
+            return select + (filtered ? " WHERE " + seasonColumn + " = ?" : "") + " ORDER BY " + orderColumn;
+        }
+    }
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public DataExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Postgres only uses a cursor for fetchSize when autocommit is off
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes every row of the dataset, optionally limited to one season, to the output.
+     * The output is flushed but not closed.
+     */
+    public long export(Dataset dataset, Long seasonId, Format format, OutputStream output) {
+        Long rows = readOnlyTransaction.execute(status -> {
+            try {
+                RowWriter writer = format == Format.CSV ? new CsvRowWriter(output) : new NdjsonRowWriter(output);
+
+                return jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(dataset.sql(seasonId != null),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(FETCH_SIZE);
+                    if (seasonId != null) {
+                        statement.setLong(1, seasonId);
+                    }
+                    return statement;
+                }, (ResultSetExtractor<Long>) rs -> {
+                    try {
+                        long count = 0;
+                        writer.start(rs.getMetaData());
+                        while (rs.next()) {
+                            writer.write(rs);
+                            count++;
+                        }
+                        writer.finish();
+                        return count;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private interface RowWriter {
+        void start(ResultSetMetaData metaData) throws SQLException, IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer out;
+        private int columnCount;
+
+        private CsvRowWriter(OutputStream output) {
+            this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void start(ResultSetMetaData metaData) throws SQLException, IOException {
+            columnCount = metaData.getColumnCount();
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    out.write(',');
+                }
+                out.write(metaData.getColumnLabel(i));
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    out.write(',');
+                }
+                Object value = rs.getObject(i);
+                if (value instanceof Boolean bool) {
+                    // Same t/f notation as a psql dump
+                    out.write(bool ? "t" : "f");
+                } else if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            out.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!needsQuotes) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private String[] columns;
+        private boolean wroteRow;
+
+        private NdjsonRowWriter(OutputStream output) throws IOException {
+            this.generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Root values separated by newlines rather than the default space
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void start(ResultSetMetaData metaData) throws SQLException {
+            columns = new String[metaData.getColumnCount()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = metaData.getColumnLabel(i + 1);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = rs.getObject(i + 1);
+                generator.writeFieldName(columns[i]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.doubleValue());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            wroteRow = true;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (wroteRow) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
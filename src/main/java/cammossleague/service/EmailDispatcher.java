@@ -0,0 +1,319 @@
+package cammossleague.service;
+
+import cammossleague.model.EmailOutbox;
+import cammossleague.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers queued rows from the {@code email_outbox} table.
+ *
+ * Each run claims a batch of due rows in a short transaction (marking them SENDING
+ * under a lease), sends the batch outside any transaction, split across up to
+ * {@code app.email.connections} SMTP sessions that each carry many messages, then
+ * records the outcome in a second transaction. Failed rows are retried with
+ * exponential backoff until {@code app.email.max-attempts}; rows left in SENDING
+ * by a crashed run are picked up again once their lease expires. While a batch is
+ * still sending, its lease is extended every third of {@code app.email.lease-seconds},
+ * so a slow SMTP server can't make the next run claim and send the same rows again.
+ * Sending is capped at {@code app.email.rate-per-minute} by a token bucket.
+ */
+@Service
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimiter rateLimiter;
+    private final int connections;
+    private final ExecutorService sendExecutor;
+
+    @Value("${app.email.from}")
+    private String fromEmail;
+
+    @Value("${app.email.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.email.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    @Value("${app.email.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.email.retention-days:30}")
+    private int retentionDays;
+
+    public EmailDispatcher(EmailOutboxRepository emailOutboxRepository,
+                           JavaMailSender mailSender,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.email.rate-per-minute:120}") int ratePerMinute,
+                           @Value("${app.email.connections:2}") int connections) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rateLimiter = new RateLimiter(ratePerMinute);
+        this.connections = Math.max(connections, 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(this.connections, runnable -> {
+            Thread thread = new Thread(runnable, "email-send-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.dispatch-interval-ms:5000}")
+    public void dispatchDue() {
+        try {
+            // Keep draining while full batches come back, so a backlog doesn't wait for the next tick
+            int claimed;
+            do {
+                claimed = dispatchBatch();
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            logger.error("Email dispatch run failed", e);
+        }
+    }
+
+    /**
+     * Claims, sends and settles one batch.
+     *
+     * @return the number of rows claimed
+     */
+    public int dispatchBatch() {
+        int permits = rateLimiter.acquire(batchSize);
+        if (permits == 0) {
+            return 0;
+        }
+
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> claim(permits));
+        if (claimed == null || claimed.isEmpty()) {
+            rateLimiter.release(permits);
+            return 0;
+        }
+        rateLimiter.release(permits - claimed.size());
+
+        Map<Long, String> failures = send(claimed, claimed.stream().map(EmailOutbox::getId).toList());
+
+        transactionTemplate.executeWithoutResult(status -> settle(claimed, failures));
+        logger.info("Dispatched {} queued emails ({} failed)", claimed.size(), failures.size());
+        return claimed.size();
+    }
+
+    @Scheduled(cron = "${app.email.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        Integer purged = transactionTemplate.execute(status ->
+                emailOutboxRepository.deleteByStatusUpdatedBefore(EmailOutbox.Status.SENT,
+                        LocalDateTime.now().minusDays(retentionDays)));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} sent emails older than {} days", purged, retentionDays);
+        }
+    }
+
+    private List<EmailOutbox> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> due = emailOutboxRepository.lockDue(now, limit);
+        for (EmailOutbox email : due) {
+            email.setStatus(EmailOutbox.Status.SENDING);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+        }
+        return emailOutboxRepository.saveAll(due);
+    }
+
+    /**
+     * Sends the batch and returns the error message for each row that was not accepted.
+     */
+    private Map<Long, String> send(List<EmailOutbox> batch, List<Long> leasedIds) {
+        Map<Long, String> failures = new HashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        Map<MimeMessage, Long> idByMessage = new HashMap<>();
+
+        for (EmailOutbox email : batch) {
+            try {
+                MimeMessage message = toMimeMessage(email);
+                messages.add(message);
+                idByMessage.put(message, email.getId());
+            } catch (MessagingException e) {
+                failures.put(email.getId(), e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        // Split the batch across connections; each chunk goes out over its own SMTP session
+        int chunkSize = (messages.size() + connections - 1) / connections;
+        List<CompletableFuture<Map<Long, String>>> chunks = new ArrayList<>();
+        for (int start = 0; start < messages.size(); start += chunkSize) {
+            List<MimeMessage> chunk = messages.subList(start, Math.min(start + chunkSize, messages.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> sendChunk(chunk, idByMessage), sendExecutor));
+        }
+        awaitRenewingLease(CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])), leasedIds);
+        for (CompletableFuture<Map<Long, String>> chunk : chunks) {
+            failures.putAll(chunk.join());
+        }
+        return failures;
+    }
+
+    private void awaitRenewingLease(CompletableFuture<Void> sending, List<Long> leasedIds) {
+        long renewEverySeconds = Math.max(leaseSeconds / 3, 1);
+        while (true) {
+            try {
+                sending.get(renewEverySeconds, TimeUnit.SECONDS);
+                return;
+            } catch (TimeoutException e) {
+                renewLease(leasedIds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Each chunk reports its own failures; join() below surfaces anything unexpected
+                return;
+            }
+        }
+    }
+
+    private void renewLease(List<Long> leasedIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.extendLease(leasedIds,
+                    EmailOutbox.Status.SENDING, LocalDateTime.now().plusSeconds(leaseSeconds)));
+        } catch (RuntimeException e) {
+            logger.warn("Could not extend the lease on {} sending emails", leasedIds.size(), e);
+        }
+    }
+
+    private Map<Long, String> sendChunk(List<MimeMessage> chunk, Map<MimeMessage, Long> idByMessage) {
+        Map<Long, String> failures = new HashMap<>();
+        try {
+            mailSender.send(chunk.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // Nothing was sent, e.g. the connection could not be opened
+                chunk.forEach(message -> failures.put(idByMessage.get(message), describe(e)));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Long id = idByMessage.get(message);
+                    if (id != null) {
+                        failures.put(id, describe(cause));
+                    }
+                });
+            }
+        } catch (MailException e) {
+            chunk.forEach(message -> failures.put(idByMessage.get(message), describe(e)));
+        }
+        return failures;
+    }
+
+    private void settle(List<EmailOutbox> batch, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> updated = new ArrayList<>(batch.size());
+
+        for (EmailOutbox email : batch) {
+            String error = failures.get(email.getId());
+            if (error == null) {
+                email.setStatus(EmailOutbox.Status.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailOutbox.Status.FAILED);
+                email.setLastError(error);
+                logger.warn("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getToAddress(), email.getAttempts(), error);
+            } else {
+                email.setStatus(EmailOutbox.Status.PENDING);
+                email.setNextAttemptAt(now.plusSeconds(backoffSeconds(email.getAttempts())));
+                email.setLastError(error);
+            }
+            updated.add(email);
+        }
+        emailOutboxRepository.saveAll(updated);
+    }
+
+    long backoffSeconds(int attempts) {
+        long delay = retryBaseSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(delay, MAX_BACKOFF_SECONDS);
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getToAddress());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getHtmlBody(), true);
+        return message;
+    }
+
+    private static String describe(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    /**
+     * Token bucket holding up to one minute's worth of sends.
+     */
+    private static final class RateLimiter {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private RateLimiter(int ratePerMinute) {
+            this.capacity = Math.max(ratePerMinute, 1);
+            this.tokensPerNano = capacity / 60_000_000_000.0;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        private synchronized int acquire(int wanted) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            int granted = (int) Math.min(wanted, Math.floor(tokens));
+            tokens -= granted;
+            return granted;
+        }
+
+        private synchronized void release(int unused) {
+            tokens = Math.min(capacity, tokens + unused);
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package cammossleague.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import cammossleague.dto.RecipientDTO;
+import cammossleague.model.EmailOutbox;
+import cammossleague.repository.EmailOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds outgoing emails and queues them in the {@code email_outbox} table.
+ * Nothing is sent on the request thread; {@link EmailDispatcher} delivers queued
+ * rows in the background.
+ *
+ * Bodies come from {@code templates/email/*.html}, wrapped in {@code layout.html}
+ * and compiled once per template name. A bulk message binds its shared values once
+ * and then renders only the per-recipient values for each address.
+ */
 @Service
 public class EmailService {
     
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
+    private static final String TEMPLATE_PATH = "templates/email/";
+    private static final String LAYOUT_CONTENT = "{{&content}}";
+    private static final String INSERT_SQL =
+            "INSERT INTO email_outbox (category, to_address, subject, html_body, status, attempts, " +
+            "next_attempt_at, created_at, updated_at) VALUES (?, ?, ?, ?, 'PENDING', 0, ?, ?, ?)";
     
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository emailOutboxRepository;
     
-    @Value("${app.email.from}")
-    private String fromEmail;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
     
     @Value("${app.name}")
     private String appName;
@@ -28,134 +56,111 @@ public class EmailService {
     @Value("${app.base-url}")
     private String baseUrl;
     
-    public void sendPasswordResetEmail(String toEmail, String userName, String resetToken) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject("Password Reset Request - " + appName);
-            
-            String resetUrl = baseUrl + "/reset-password?token=" + resetToken;
-            String htmlContent = createPasswordResetEmailTemplate(userName, resetUrl);
-            
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            logger.info("Password reset email sent successfully to: {}", toEmail);
-            
-        } catch (MailException | MessagingException e) {
-            logger.error("Failed to send password reset email to: {}", toEmail, e);
-            throw new RuntimeException("Failed to send password reset email", e);
+    @Value("${app.email.insert-batch-size:500}")
+    private int insertBatchSize;
+    
+    private final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+    
+    /**
+     * Queues a password reset email. The outbox row joins the caller's transaction,
+     * so the email goes out only if the reset token it links to was committed.
+     */
+    public EmailOutbox queuePasswordResetEmail(String toEmail, String userName, String resetToken) {
+        Map<String, String> values = new HashMap<>();
+        values.put("heading", "Password Reset Request");
+        values.put("firstName", userName);
+        values.put("resetUrl", baseUrl + "/reset-password?token=" + resetToken);
+        return enqueue(EmailOutbox.Category.PASSWORD_RESET, toEmail,
+                "Password Reset Request - " + appName,
+                render("password-reset", values));
+    }
+    
+    @Transactional
+    public EmailOutbox enqueue(EmailOutbox.Category category, String toEmail, String subject, String htmlContent) {
+        EmailOutbox email = emailOutboxRepository.save(EmailOutbox.builder()
+                .category(category)
+                .toAddress(toEmail)
+                .subject(subject)
+                .htmlBody(htmlContent)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        logger.debug("Queued {} email {} to: {}", category, email.getId(), toEmail);
+        return email;
+    }
+    
+    /**
+     * Renders one message for many recipients and queues a row per distinct address.
+     * {@code values} holds everything shared by the message; each recipient adds only
+     * {@code firstName}.
+     *
+     * @return the number of emails queued
+     */
+    @Transactional
+    public int enqueueBulk(EmailOutbox.Category category, String templateName, String subject,
+                           Map<String, String> values, List<RecipientDTO> recipients) {
+        Map<String, String> shared = new HashMap<>(values);
+        shared.put("appName", appName);
+        shared.putIfAbsent("heading", subject);
+        EmailTemplate message = getTemplate(templateName).bind(shared);
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Set<String> addresses = new HashSet<>();
+        List<Object[]> batch = new ArrayList<>(Math.min(recipients.size(), insertBatchSize));
+        Map<String, String> personal = new HashMap<>();
+        int queued = 0;
+        
+        for (RecipientDTO recipient : recipients) {
+            String address = recipient.getEmail();
+            if (address == null || address.isBlank() || !addresses.add(address.trim().toLowerCase())) {
+                continue;
+            }
+            personal.put("firstName", recipient.getFirstName());
+            batch.add(new Object[] { category.name(), address.trim(), subject, message.render(personal), now, now, now });
+            if (batch.size() == insertBatchSize) {
+                queued += insert(batch);
+            }
+        }
+        queued += insert(batch);
+        
+        logger.info("Queued {} {} emails using template {}", queued, category, templateName);
+        return queued;
+    }
+    
+    public String render(String templateName, Map<String, String> values) {
+        Map<String, String> withDefaults = new HashMap<>(values);
+        withDefaults.putIfAbsent("appName", appName);
+        return getTemplate(templateName).render(withDefaults);
+    }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    EmailTemplate getTemplate(String name) {
+        return templates.computeIfAbsent(name, this::loadTemplate);
+    }
+    
+    private EmailTemplate loadTemplate(String name) {
+        String body = readResource(TEMPLATE_PATH + name + ".html");
+        String layout = readResource(TEMPLATE_PATH + "layout.html");
+        return EmailTemplate.compile(layout.replace(LAYOUT_CONTENT, body));
+    }
+    
+    private int insert(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
         }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
     }
     
-    private String createPasswordResetEmailTemplate(String userName, String resetUrl) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                <title>Password Reset - %s</title>
-                <style>
-                    body { 
-                        font-family: Arial, sans-serif; 
-                        line-height: 1.6; 
-                        color: #333; 
-                        background-color: #f4f4f4; 
-                        margin: 0; 
-                        padding: 20px; 
-                    }
-                    .container { 
-                        max-width: 600px; 
-                        margin: 0 auto; 
-                        background: white; 
-                        padding: 30px; 
-                        border-radius: 10px; 
-                        box-shadow: 0 0 10px rgba(0,0,0,0.1); 
-                    }
-                    .header { 
-                        text-align: center; 
-                        margin-bottom: 30px; 
-                        padding-bottom: 20px; 
-                        border-bottom: 2px solid #e7e7e7; 
-                    }
-                    .logo { 
-                        font-size: 24px; 
-                        font-weight: bold; 
-                        color: #2563eb; 
-                        margin-bottom: 10px; 
-                    }
-                    .button { 
-                        display: inline-block; 
-                        background-color: #2563eb; 
-                        color: white; 
-                        padding: 12px 30px; 
-                        text-decoration: none; 
-                        border-radius: 5px; 
-                        margin: 20px 0; 
-                        font-weight: bold; 
-                    }
-                    .button:hover { 
-                        background-color: #1d4ed8; 
-                    }
-                    .warning { 
-                        background-color: #fef3c7; 
-                        border: 1px solid #f59e0b; 
-                        padding: 15px; 
-                        border-radius: 5px; 
-                        margin: 20px 0; 
-                    }
-                    .footer { 
-                        margin-top: 30px; 
-                        padding-top: 20px; 
-                        border-top: 1px solid #e7e7e7; 
-                        text-align: center; 
-                        color: #666; 
-                        font-size: 14px; 
-                    }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <div class="logo">%s</div>
-                        <h1>Password Reset Request</h1>
-                    </div>
-                    
-                    <div class="content">
-                        <p>Hello %s,</p>
-                        
-                        <p>We received a request to reset your password for your %s account. If you made this request, click the button below to reset your password:</p>
-                        
-                        <div style="text-align: center;">
-                            <a href="%s" class="button">Reset Password</a>
-                        </div>
-                        
-                        <p>If the button doesn't work, you can also copy and paste this link into your browser:</p>
-                        <p style="word-break: break-all; background-color: #f8f9fa; padding: 10px; border-radius: 4px; font-family: monospace;">%s</p>
-                        
-                        <div class="warning">
-                            <strong>⚠️ Important:</strong>
-                            <ul>
-                                <li>This link will expire in 1 hour</li>
-                                <li>If you didn't request this password reset, please ignore this email</li>
-                                <li>For security, this link can only be used once</li>
-                            </ul>
-                        </div>
-                        
-                        <p>If you continue to have problems, please contact your league administrator.</p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>This is an automated message from %s.<br>
-                        Please do not reply to this email.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, appName, appName, userName, appName, resetUrl, resetUrl, appName);
+    private static String readResource(String path) {
+        try (InputStream input = new ClassPathResource(path).getInputStream()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Email template not found: " + path, e);
+        }
     }
-}
\ No newline at end of file
+}
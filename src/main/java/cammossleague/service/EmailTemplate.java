@@ -0,0 +1,124 @@
+package cammossleague.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An email body compiled into alternating literal text and {@code {{name}}} placeholders.
+ * Values are HTML-escaped unless the placeholder is written {@code {{&name}}}.
+ *
+ * Templates are immutable. {@link #bind} fills in the values shared by every recipient
+ * of a message and returns a smaller template, so rendering per recipient only has to
+ * copy the merged literals and the few per-recipient values.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals.length == names.length + 1; placeholder i sits between literals i and i + 1
+    private final String[] literals;
+    private final String[] names;
+    private final boolean[] raw;
+    private final int literalLength;
+
+    private EmailTemplate(List<String> literals, List<String> names, List<Boolean> raw) {
+        this.literals = literals.toArray(new String[0]);
+        this.names = names.toArray(new String[0]);
+        this.raw = new boolean[raw.size()];
+        for (int i = 0; i < this.raw.length; i++) {
+            this.raw[i] = raw.get(i);
+        }
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            boolean unescaped = name.startsWith("&");
+            if (unescaped) {
+                name = name.substring(1).trim();
+            }
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            names.add(name);
+            raw.add(unescaped);
+            position = close + CLOSE.length();
+        }
+        return new EmailTemplate(literals, names, raw);
+    }
+
+    /**
+     * Substitutes the given values and keeps every other placeholder for a later
+     * {@link #bind} or {@link #render}.
+     */
+    public EmailTemplate bind(Map<String, String> values) {
+        List<String> boundLiterals = new ArrayList<>();
+        List<String> boundNames = new ArrayList<>();
+        List<Boolean> boundRaw = new ArrayList<>();
+
+        StringBuilder current = new StringBuilder(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            if (values.containsKey(names[i])) {
+                current.append(value(i, values.get(names[i])));
+            } else {
+                boundLiterals.add(current.toString());
+                boundNames.add(names[i]);
+                boundRaw.add(raw[i]);
+                current.setLength(0);
+            }
+            current.append(literals[i + 1]);
+        }
+        boundLiterals.add(current.toString());
+        return new EmailTemplate(boundLiterals, boundNames, boundRaw);
+    }
+
+    /**
+     * Renders the template; placeholders without a value render as empty text.
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder html = new StringBuilder(literalLength + 32 * names.length);
+        html.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            html.append(value(i, values.get(names[i])));
+            html.append(literals[i + 1]);
+        }
+        return html.toString();
+    }
+
+    public Set<String> getPlaceholders() {
+        Set<String> placeholders = new LinkedHashSet<>();
+        Collections.addAll(placeholders, names);
+        return placeholders;
+    }
+
+    private String value(int index, String value) {
+        if (value == null) {
+            return "";
+        }
+        return raw[index] ? value : HtmlUtils.htmlEscape(value);
+    }
+}
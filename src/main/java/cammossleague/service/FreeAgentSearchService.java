@@ -0,0 +1,397 @@
+package cammossleague.service;
+
+import cammossleague.dto.FreeAgentDTO;
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.event.UserProfileChangedEvent;
+import cammossleague.model.Player;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Searches and recommends free agents from an in-memory index.
+ *
+ * Available free agents (flagged as free agents, active, and not on any active roster)
+ * are indexed per season by position, height and experience. A query starts from the
+ * narrowest posting list it can use and filters the rest in memory. The index is
+ * marked stale by roster, player and profile changes and rebuilt on the next read.
+ */
+@Service
+public class FreeAgentSearchService {
+
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final SeasonRepository seasonRepository;
+
+    @Value("${app.free-agents.target-per-position:2}")
+    private int targetPerPosition;
+
+    @Value("${app.free-agents.veteran-years:5}")
+    private int veteranYears;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile Map<Long, SeasonIndex> indexBySeason = Map.of();
+
+    public FreeAgentSearchService(PlayerRepository playerRepository,
+                                  TeamRepository teamRepository,
+                                  SeasonRepository seasonRepository) {
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+        this.seasonRepository = seasonRepository;
+    }
+
+    public List<FreeAgentMatch> search(Long seasonId, Set<Player.Position> positions, Integer minHeight,
+                                       Integer maxHeight, Integer minExperience, int limit) {
+        SeasonIndex index = seasonIndex(resolveSeasonId(seasonId));
+
+        List<FreeAgentMatch> matches = new ArrayList<>();
+        for (FreeAgentDTO agent : index.candidates(positions, minHeight, maxHeight, minExperience)) {
+            if (matchesFilters(agent, positions, minHeight, maxHeight, minExperience)) {
+                List<String> reasons = new ArrayList<>();
+                double score = qualityScore(agent, reasons);
+                matches.add(new FreeAgentMatch(agent, round(score), reasons));
+            }
+        }
+        return topMatches(matches, limit);
+    }
+
+    /**
+     * Ranks free agents for a team against needs worked out from its active roster:
+     * positions below the target of {@code app.free-agents.target-per-position}, and
+     * veteran experience when nobody on the roster has
+     * {@code app.free-agents.veteran-years} or more.
+     */
+    public List<FreeAgentMatch> recommendForTeam(Long teamId, int limit) {
+        return recommendForTeam(teamId, List.of(), limit);
+    }
+
+    /**
+     * Ranks free agents for a team. Explicit {@code needs} such as "a C with 5+ years"
+     * are scored on top of the gaps worked out from the roster.
+     */
+    public List<FreeAgentMatch> recommendForTeam(Long teamId, List<RosterNeed> needs, int limit) {
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found with id: " + teamId));
+        SeasonIndex index = seasonIndex(team.getSeason().getId());
+
+        Map<Player.Position, Integer> rosterCounts = new EnumMap<>(Player.Position.class);
+        int veterans = 0;
+        for (Object[] row : playerRepository.findRosterPositionsAndExperienceByTeamId(teamId)) {
+            Player.Position position = (Player.Position) row[0];
+            if (position != null) {
+                rosterCounts.merge(position, 1, Integer::sum);
+            }
+            if (row[1] != null && (Integer) row[1] >= veteranYears) {
+                veterans++;
+            }
+        }
+
+        Map<Player.Position, Integer> deficits = new EnumMap<>(Player.Position.class);
+        int largestDeficit = 0;
+        for (Player.Position position : Player.Position.values()) {
+            if (position == Player.Position.UTIL) {
+                continue;
+            }
+            int deficit = Math.max(0, targetPerPosition - rosterCounts.getOrDefault(position, 0));
+            deficits.put(position, deficit);
+            largestDeficit = Math.max(largestDeficit, deficit);
+        }
+
+        List<FreeAgentMatch> matches = new ArrayList<>();
+        for (FreeAgentDTO agent : index.all) {
+            List<String> reasons = new ArrayList<>();
+            double score = 0;
+
+            Player.Position position = agent.getPosition();
+            if (position == Player.Position.UTIL) {
+                // Utility players can cover any gap, but not as well as a specialist
+                score += 5.0 * largestDeficit;
+                if (largestDeficit > 0) {
+                    reasons.add("Utility player can cover open positions");
+                }
+            } else if (position != null && deficits.getOrDefault(position, 0) > 0) {
+                score += 10.0 * deficits.get(position);
+                reasons.add("Fills " + position.name() + " need (" + rosterCounts.getOrDefault(position, 0)
+                        + " of " + targetPerPosition + " on roster)");
+            }
+
+            if (veterans == 0 && experienceOf(agent) >= veteranYears) {
+                score += 8.0;
+                reasons.add("Adds experience (no one on roster has " + veteranYears + "+ years)");
+            }
+
+            score += needScore(agent, needs, reasons);
+            score += qualityScore(agent, reasons);
+            matches.add(new FreeAgentMatch(agent, round(score), reasons));
+        }
+        return topMatches(matches, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRosterChanged(RosterChangedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerStatsChanged(PlayerStatsChangedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        stale.set(true);
+    }
+
+    private SeasonIndex seasonIndex(Long seasonId) {
+        if (stale.compareAndSet(true, false)) {
+            try {
+                rebuildIndex();
+            } catch (RuntimeException e) {
+                // Leave the index marked stale so the next read tries again
+                stale.set(true);
+                throw e;
+            }
+        }
+        SeasonIndex index = indexBySeason.get(seasonId);
+        return index != null ? index : SeasonIndex.EMPTY;
+    }
+
+    private synchronized void rebuildIndex() {
+        Set<Long> rostered = new HashSet<>(playerRepository.findRosteredFreeAgentIds());
+
+        Map<Long, List<FreeAgentDTO>> agentsBySeason = new HashMap<>();
+        for (FreeAgentDTO agent : playerRepository.findFreeAgentProfiles()) {
+            if (!rostered.contains(agent.getPlayerId())) {
+                agentsBySeason.computeIfAbsent(agent.getSeasonId(), id -> new ArrayList<>()).add(agent);
+            }
+        }
+
+        Map<Long, SeasonIndex> rebuilt = new HashMap<>();
+        agentsBySeason.forEach((seasonId, agents) -> rebuilt.put(seasonId, new SeasonIndex(agents)));
+        indexBySeason = rebuilt;
+    }
+
+    private Long resolveSeasonId(Long seasonId) {
+        if (seasonId != null) {
+            return seasonId;
+        }
+        return seasonRepository.findByIsActiveTrue()
+                .map(Season::getId)
+                .orElseThrow(() -> new RuntimeException("No active season found"));
+    }
+
+    private static boolean matchesFilters(FreeAgentDTO agent, Set<Player.Position> positions, Integer minHeight,
+                                          Integer maxHeight, Integer minExperience) {
+        if (positions != null && !positions.isEmpty() && !positions.contains(agent.getPosition())) {
+            return false;
+        }
+        Integer height = agent.getHeightInches();
+        if ((minHeight != null || maxHeight != null) && height == null) {
+            return false;
+        }
+        if (minHeight != null && height < minHeight) {
+            return false;
+        }
+        if (maxHeight != null && height > maxHeight) {
+            return false;
+        }
+        return minExperience == null || experienceOf(agent) >= minExperience;
+    }
+
+    // Scores the best need the agent fits: full credit for position and experience,
+    // partial credit for the right position without enough years
+    private static double needScore(FreeAgentDTO agent, List<RosterNeed> needs, List<String> reasons) {
+        double best = 0;
+        String reason = null;
+        for (RosterNeed need : needs) {
+            if (need.getPosition() != null && need.getPosition() != agent.getPosition()) {
+                continue;
+            }
+            int required = need.getMinExperience() != null ? need.getMinExperience() : 0;
+            if (experienceOf(agent) >= required) {
+                if (best < 15.0) {
+                    best = 15.0;
+                    reason = "Fits need: " + need;
+                }
+            } else if (best < 5.0) {
+                best = 5.0;
+                reason = "Partly fits need: " + need + " (" + experienceOf(agent) + " of " + required + " years)";
+            }
+        }
+        if (reason != null) {
+            reasons.add(reason);
+        }
+        return best;
+    }
+
+    private static double qualityScore(FreeAgentDTO agent, List<String> reasons) {
+        int experience = experienceOf(agent);
+        double score = Math.min(experience, 10);
+        if (experience > 0) {
+            reasons.add(experience + (experience == 1 ? " year" : " years") + " experience");
+        }
+
+        double pointsPerGame = agent.getPointsPerGame();
+        score += pointsPerGame / 2.0;
+        if (pointsPerGame > 0) {
+            reasons.add(String.format("%.1f points per game", pointsPerGame));
+        }
+
+        // Size matters most in the frontcourt
+        if (agent.getHeightInches() != null
+                && (agent.getPosition() == Player.Position.C || agent.getPosition() == Player.Position.PF)) {
+            score += Math.max(0, agent.getHeightInches() - 76) / 2.0;
+        }
+        return score;
+    }
+
+    private static int experienceOf(FreeAgentDTO agent) {
+        return agent.getYearsExperience() != null ? agent.getYearsExperience() : 0;
+    }
+
+    private static List<FreeAgentMatch> topMatches(List<FreeAgentMatch> matches, int limit) {
+        matches.sort(Comparator.comparingDouble(FreeAgentMatch::getScore).reversed()
+                .thenComparing(match -> match.getPlayer().getPlayerId()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static final class SeasonIndex {
+        private static final SeasonIndex EMPTY = new SeasonIndex(List.of());
+
+        private final List<FreeAgentDTO> all;
+        private final Map<Player.Position, List<FreeAgentDTO>> byPosition = new EnumMap<>(Player.Position.class);
+        private final NavigableMap<Integer, List<FreeAgentDTO>> byHeight = new TreeMap<>();
+        private final NavigableMap<Integer, List<FreeAgentDTO>> byExperience = new TreeMap<>();
+
+        private SeasonIndex(List<FreeAgentDTO> agents) {
+            this.all = List.copyOf(agents);
+            for (FreeAgentDTO agent : agents) {
+                if (agent.getPosition() != null) {
+                    byPosition.computeIfAbsent(agent.getPosition(), p -> new ArrayList<>()).add(agent);
+                }
+                if (agent.getHeightInches() != null) {
+                    byHeight.computeIfAbsent(agent.getHeightInches(), h -> new ArrayList<>()).add(agent);
+                }
+                byExperience.computeIfAbsent(experienceOf(agent), e -> new ArrayList<>()).add(agent);
+            }
+        }
+
+        /**
+         * Returns a superset of the matching agents, taken from the most selective
+         * index the query can use. Callers still apply every filter.
+         */
+        private Collection<FreeAgentDTO> candidates(Set<Player.Position> positions, Integer minHeight,
+                                                    Integer maxHeight, Integer minExperience) {
+            if (positions != null && !positions.isEmpty()) {
+                List<FreeAgentDTO> union = new ArrayList<>();
+                for (Player.Position position : positions) {
+                    union.addAll(byPosition.getOrDefault(position, List.of()));
+                }
+                return union;
+            }
+            if (minHeight != null || maxHeight != null) {
+                return flatten(byHeight.subMap(
+                        minHeight != null ? minHeight : Integer.MIN_VALUE, true,
+                        maxHeight != null ? maxHeight : Integer.MAX_VALUE, true));
+            }
+            if (minExperience != null) {
+                return flatten(byExperience.tailMap(minExperience, true));
+            }
+            return all;
+        }
+
+        private static List<FreeAgentDTO> flatten(Map<Integer, List<FreeAgentDTO>> range) {
+            List<FreeAgentDTO> result = new ArrayList<>();
+            range.values().forEach(result::addAll);
+            return result;
+        }
+    }
+
+    /**
+     * A position and/or minimum years of experience a team is looking for, written as
+     * {@code C:5}, {@code C} or {@code :5}.
+     */
+    public static final class RosterNeed {
+        private final Player.Position position;
+        private final Integer minExperience;
+
+        public RosterNeed(Player.Position position, Integer minExperience) {
+            this.position = position;
+            this.minExperience = minExperience;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the position or the years are not valid
+         */
+        public static RosterNeed parse(String value) {
+            String[] parts = value.trim().split(":", 2);
+            Player.Position position = parts[0].isBlank() ? null : Player.Position.valueOf(parts[0].trim().toUpperCase());
+            Integer years = parts.length > 1 && !parts[1].isBlank() ? Integer.valueOf(parts[1].trim()) : null;
+            if ((position == null && years == null) || (years != null && years < 0)) {
+                throw new IllegalArgumentException("Invalid roster need: " + value);
+            }
+            return new RosterNeed(position, years);
+        }
+
+        public Player.Position getPosition() {
+            return position;
+        }
+
+        public Integer getMinExperience() {
+            return minExperience;
+        }
+
+        @Override
+        public String toString() {
+            String who = position != null ? position.name() : "any position";
+            return minExperience != null ? who + " with " + minExperience + "+ years" : who;
+        }
+    }
+
+    public static final class FreeAgentMatch {
+        private final FreeAgentDTO player;
+        private final double score;
+        private final List<String> reasons;
+
+        public FreeAgentMatch(FreeAgentDTO player, double score, List<String> reasons) {
+            this.player = player;
+            this.score = score;
+            this.reasons = reasons;
+        }
+
+        public FreeAgentDTO getPlayer() {
+            return player;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public List<String> getReasons() {
+            return reasons;
+        }
+    }
+}
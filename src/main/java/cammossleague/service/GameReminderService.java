@@ -0,0 +1,358 @@
+package cammossleague.service;
+
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.EmailOutbox;
+import cammossleague.model.Game;
+import cammossleague.model.GameReminderSent;
+import cammossleague.repository.GameReminderSentRepository;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Emails rostered players 24 hours and 2 hours before each of their games.
+ *
+ * Pending reminders sit in a priority queue ordered by fire time, rebuilt from
+ * {@link GameRepository#findUpcomingGames} at startup. Game changes re-plan only the
+ * affected game: every tracked game carries a version, and queued reminders from an
+ * older version are dropped when they surface instead of being searched for.
+ * Reminders already sent are recorded as {@link GameReminderSent} rows, so a rebuild
+ * after a restart does not repeat them. A reminder that fails to queue goes back on
+ * the queue with exponential backoff until it would no longer be timely.
+ */
+@Service
+public class GameReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameReminderService.class);
+    private static final long MAX_RETRY_SECONDS = 900;
+
+    public enum Kind {
+        DAY_BEFORE(Duration.ofHours(24), "tomorrow"),
+        TWO_HOURS(Duration.ofHours(2), "in about 2 hours");
+
+        private final Duration lead;
+        private final String description;
+
+        Kind(Duration lead, String description) {
+            this.lead = lead;
+            this.description = description;
+        }
+
+        public Duration getLead() {
+            return lead;
+        }
+    }
+
+    private final GameRepository gameRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final GameReminderSentRepository gameReminderSentRepository;
+    private final TransactionTemplate reminderTransaction;
+
+    private final PriorityQueue<Reminder> queue = new PriorityQueue<>(
+            Comparator.comparing(Reminder::getFireAt).thenComparing(Reminder::getGameId));
+    private final Map<Long, TrackedGame> tracked = new HashMap<>();
+    private long nextVersion;
+
+    @Value("${app.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reminders.retry-base-seconds:60}")
+    private long retryBaseSeconds;
+
+    public GameReminderService(GameRepository gameRepository,
+                               UserRepository userRepository,
+                               EmailService emailService,
+                               GameReminderSentRepository gameReminderSentRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.gameReminderSentRepository = gameReminderSentRepository;
+        // Runs from the scheduler and after-commit listeners, so it always needs its own transaction
+        this.reminderTransaction = new TransactionTemplate(transactionManager);
+        this.reminderTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Game> games = reminderTransaction.execute(status ->
+                gameRepository.findUpcomingGames(LocalDate.now()));
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            queue.clear();
+            tracked.clear();
+            games.forEach(game -> plan(game, now));
+        }
+        logger.info("Planned reminders for {} upcoming games", games.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdated(GameUpdatedEvent event) {
+        try {
+            if (event.getGameId() != null) {
+                replanGame(event.getGameId());
+            } else if (event.getSeasonId() != null) {
+                replanSeason(event.getSeasonId());
+            } else {
+                rebuild();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to update reminders for {}", event, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.tick-ms:30000}")
+    public void dispatchDue() {
+        if (!enabled) {
+            return;
+        }
+        for (Reminder reminder : pollDue(LocalDateTime.now())) {
+            try {
+                send(reminder);
+                finish(reminder);
+            } catch (Exception e) {
+                retryLater(reminder, LocalDateTime.now(), e);
+            }
+        }
+    }
+
+    public synchronized List<Reminder> getPendingReminders() {
+        List<Reminder> pending = new ArrayList<>();
+        for (Reminder reminder : queue) {
+            if (isCurrent(reminder)) {
+                pending.add(reminder);
+            }
+        }
+        pending.sort(queue.comparator());
+        return pending;
+    }
+
+    private void replanGame(Long gameId) {
+        Game game = reminderTransaction.execute(status -> gameRepository.findById(gameId).orElse(null));
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            if (game == null) {
+                tracked.remove(gameId);
+            } else {
+                plan(game, now);
+            }
+            compactIfNeeded();
+        }
+    }
+
+    private void replanSeason(Long seasonId) {
+        List<Game> games = reminderTransaction.execute(status ->
+                gameRepository.findUpcomingGamesBySeason(seasonId, LocalDate.now()));
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            Set<Long> present = new HashSet<>();
+            for (Game game : games) {
+                present.add(game.getId());
+                plan(game, now);
+            }
+            // Games of this season that no longer come back were deleted
+            tracked.entrySet().removeIf(entry ->
+                    seasonId.equals(entry.getValue().seasonId) && !present.contains(entry.getKey()));
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Queues the reminders still ahead for a game, replacing any planned for an earlier
+     * version of it. A reminder whose time has passed is queued to fire now, unless a
+     * later reminder for the same game is also already due.
+     */
+    private void plan(Game game, LocalDateTime now) {
+        LocalDateTime start = startOf(game);
+        TrackedGame current = tracked.get(game.getId());
+        if (start == null || !start.isAfter(now) || Boolean.TRUE.equals(game.getIsCompleted())) {
+            tracked.remove(game.getId());
+            return;
+        }
+        if (current != null && current.start.equals(start)) {
+            return;
+        }
+
+        long version = ++nextVersion;
+        tracked.put(game.getId(), new TrackedGame(version, game.getSeason().getId(), start));
+        Kind[] kinds = Kind.values();
+        for (int i = 0; i < kinds.length; i++) {
+            LocalDateTime fireAt = start.minus(kinds[i].lead);
+            boolean laterAlsoDue = i + 1 < kinds.length && !start.minus(kinds[i + 1].lead).isAfter(now);
+            if (!laterAlsoDue) {
+                queue.add(new Reminder(game.getId(), kinds[i], start, fireAt.isBefore(now) ? now : fireAt, version, 0));
+            }
+        }
+    }
+
+    private synchronized List<Reminder> pollDue(LocalDateTime now) {
+        List<Reminder> due = new ArrayList<>();
+        while (!queue.isEmpty() && !queue.peek().fireAt.isAfter(now)) {
+            Reminder reminder = queue.poll();
+            if (isCurrent(reminder)) {
+                due.add(reminder);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * The game stays tracked until its last reminder has gone out, so a failed send can
+     * still be retried and a replan in the meantime supersedes it.
+     */
+    private synchronized void finish(Reminder reminder) {
+        if (reminder.kind == Kind.TWO_HOURS && isCurrent(reminder)) {
+            tracked.remove(reminder.gameId);
+        }
+    }
+
+    private synchronized void retryLater(Reminder reminder, LocalDateTime now, Exception e) {
+        long delay = Math.min(retryBaseSeconds << Math.min(reminder.attempts, 20), MAX_RETRY_SECONDS);
+        LocalDateTime retryAt = now.plusSeconds(delay);
+        if (!isCurrent(reminder) || !retryAt.isBefore(reminder.deadline())) {
+            logger.error("Giving up on {} reminder for game {} after {} attempts",
+                    reminder.kind, reminder.gameId, reminder.attempts + 1, e);
+            finish(reminder);
+            return;
+        }
+        logger.warn("Failed to queue {} reminder for game {}, retrying at {}",
+                reminder.kind, reminder.gameId, retryAt, e);
+        queue.add(new Reminder(reminder.gameId, reminder.kind, reminder.gameStart, retryAt,
+                reminder.version, reminder.attempts + 1));
+    }
+
+    private void send(Reminder reminder) {
+        Integer queued = reminderTransaction.execute(status -> {
+            Game game = gameRepository.findById(reminder.gameId).orElse(null);
+            if (game == null || Boolean.TRUE.equals(game.getIsCompleted()) || !reminder.gameStart.equals(startOf(game))) {
+                return 0;
+            }
+            // The marker and the emails commit together, so each reminder goes out at most once.
+            // A concurrent insert trips the unique key and rolls back; the retry then sees the marker.
+            if (gameReminderSentRepository.existsByGameIdAndKindAndGameStart(game.getId(), reminder.kind.name(),
+                    reminder.gameStart)) {
+                return 0;
+            }
+            gameReminderSentRepository.saveAndFlush(GameReminderSent.builder()
+                    .game(game)
+                    .kind(reminder.kind.name())
+                    .gameStart(reminder.gameStart)
+                    .build());
+
+            Map<String, String> values = new HashMap<>();
+            values.put("leadTime", reminder.kind.description);
+            values.put("homeTeam", game.getHomeTeam().getName());
+            values.put("awayTeam", game.getAwayTeam().getName());
+            values.put("when", LeagueNotificationService.describeWhen(game.getGameDate(), game.getGameTime()));
+            values.put("where", LeagueNotificationService.describeWhere(game.getLocation(), game.getCourtNumber()));
+            values.put("scheduleUrl", emailService.getBaseUrl() + "/schedule");
+
+            return emailService.enqueueBulk(EmailOutbox.Category.REMINDER, "game-reminder",
+                    "Game Reminder: " + game.getAwayTeam().getName() + " at " + game.getHomeTeam().getName(),
+                    values, userRepository.findRecipientsByTeamIdIn(
+                            List.of(game.getHomeTeam().getId(), game.getAwayTeam().getId())));
+        });
+        logger.info("Queued {} {} reminders for game {}", queued, reminder.kind, reminder.gameId);
+    }
+
+    private boolean isCurrent(Reminder reminder) {
+        TrackedGame game = tracked.get(reminder.gameId);
+        return game != null && game.version == reminder.version;
+    }
+
+    /**
+     * Superseded reminders are normally dropped as they reach the head of the queue;
+     * this only runs when a burst of reschedules has left the queue mostly stale.
+     */
+    private void compactIfNeeded() {
+        if (queue.size() > 64 && queue.size() > 4 * tracked.size()) {
+            queue.removeIf(reminder -> !isCurrent(reminder));
+        }
+    }
+
+    private static LocalDateTime startOf(Game game) {
+        if (game.getGameDate() == null || game.getGameTime() == null) {
+            return null;
+        }
+        return LocalDateTime.of(game.getGameDate(), game.getGameTime());
+    }
+
+    private static final class TrackedGame {
+        private final long version;
+        private final Long seasonId;
+        private final LocalDateTime start;
+
+        private TrackedGame(long version, Long seasonId, LocalDateTime start) {
+            this.version = version;
+            this.seasonId = seasonId;
+            this.start = start;
+        }
+    }
+
+    public static final class Reminder {
+        private final Long gameId;
+        private final Kind kind;
+        private final LocalDateTime gameStart;
+        private final LocalDateTime fireAt;
+        private final long version;
+        private final int attempts;
+
+        private Reminder(Long gameId, Kind kind, LocalDateTime gameStart, LocalDateTime fireAt, long version,
+                         int attempts) {
+            this.gameId = gameId;
+            this.kind = kind;
+            this.gameStart = gameStart;
+            this.fireAt = fireAt;
+            this.version = version;
+            this.attempts = attempts;
+        }
+
+        /**
+         * Past this point the reminder is stale: the next kind is due, or the game has started.
+         */
+        private LocalDateTime deadline() {
+            Kind[] kinds = Kind.values();
+            int next = kind.ordinal() + 1;
+            return next < kinds.length ? gameStart.minus(kinds[next].lead) : gameStart;
+        }
+
+        public Long getGameId() {
+            return gameId;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public LocalDateTime getGameStart() {
+            return gameStart;
+        }
+
+        public LocalDateTime getFireAt() {
+            return fireAt;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package cammossleague.service;
 
 import cammossleague.dto.GameDTO;
+import cammossleague.dto.GameSlotDTO;
+import cammossleague.event.GameMovedEvent;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.event.SchedulePostedEvent;
 import cammossleague.model.Game;
 import cammossleague.model.Season;
 import cammossleague.model.Team;
@@ -8,6 +12,7 @@ import cammossleague.repository.GameRepository;
 import cammossleague.repository.SeasonRepository;
 import cammossleague.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -15,10 +20,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +36,10 @@ public class GameService {
     private final GameRepository gameRepository;
     private final SeasonRepository seasonRepository;
     private final TeamRepository teamRepository;
+    private final TeamRatingService teamRatingService;
+    private final BoxScoreService boxScoreService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduleConflictService scheduleConflictService;
     
     public Page<GameDTO> getGames(Long seasonId, Integer weekNumber, Boolean isCompleted, Pageable pageable) {
         Page<Game> games;
@@ -84,7 +95,9 @@ public class GameService {
                 .isCompleted(false)
                 .build();
         
+        scheduleConflictService.validate(game);
         Game savedGame = gameRepository.save(game);
+        eventPublisher.publishEvent(new GameUpdatedEvent(savedGame.getId(), season.getId()));
         return GameDTO.fromEntity(savedGame);
     }
     
@@ -92,6 +105,23 @@ public class GameService {
         Game game = gameRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Game not found with id: " + id));
         
+        boolean slotChanged = gameDTO.getGameDate() != null || gameDTO.getGameTime() != null
+                || gameDTO.getLocation() != null || gameDTO.getCourtNumber() != null;
+        GameMovedEvent moved = new GameMovedEvent(game.getId(), game.getSeason().getId(), game.getGameDate(),
+                game.getGameTime(), game.getLocation(), game.getCourtNumber());
+        if (slotChanged) {
+            // Check a copy first, so a rejected move never leaves the managed game dirty
+            scheduleConflictService.validate(Game.builder()
+                    .id(game.getId())
+                    .season(game.getSeason())
+                    .homeTeam(game.getHomeTeam())
+                    .awayTeam(game.getAwayTeam())
+                    .gameDate(gameDTO.getGameDate() != null ? gameDTO.getGameDate() : game.getGameDate())
+                    .gameTime(gameDTO.getGameTime() != null ? gameDTO.getGameTime() : game.getGameTime())
+                    .location(gameDTO.getLocation() != null ? gameDTO.getLocation() : game.getLocation())
+                    .courtNumber(gameDTO.getCourtNumber() != null ? gameDTO.getCourtNumber() : game.getCourtNumber())
+                    .build());
+        }
         if (gameDTO.getGameDate() != null) {
             game.setGameDate(gameDTO.getGameDate());
         }
@@ -110,28 +140,53 @@ public class GameService {
         if (gameDTO.getNotes() != null) {
             game.setNotes(gameDTO.getNotes());
         }
+        boolean scoreChanged = false;
         if (gameDTO.getHomeScore() != null) {
+            scoreChanged |= !gameDTO.getHomeScore().equals(game.getHomeScore());
             game.setHomeScore(gameDTO.getHomeScore());
         }
         if (gameDTO.getAwayScore() != null) {
+            scoreChanged |= !gameDTO.getAwayScore().equals(game.getAwayScore());
             game.setAwayScore(gameDTO.getAwayScore());
         }
         
+        if (scoreChanged && Boolean.TRUE.equals(game.getIsCompleted())) {
+            teamRatingService.rebuildAfterCommit();
+        }
+        
         Game updatedGame = gameRepository.save(game);
+        eventPublisher.publishEvent(new GameUpdatedEvent(updatedGame.getId(), updatedGame.getSeason().getId()));
+        if (slotChanged && !Boolean.TRUE.equals(updatedGame.getIsCompleted()) && hasMoved(updatedGame, moved)) {
+            eventPublisher.publishEvent(moved);
+        }
         return GameDTO.fromEntity(updatedGame);
     }
     
+    private static boolean hasMoved(Game game, GameMovedEvent from) {
+        return !Objects.equals(game.getGameDate(), from.getPreviousDate())
+                || !Objects.equals(game.getGameTime(), from.getPreviousTime())
+                || !Objects.equals(game.getLocation(), from.getPreviousLocation())
+                || !Objects.equals(game.getCourtNumber(), from.getPreviousCourtNumber());
+    }
+    
     public void deleteGame(Long id) {
-        if (!gameRepository.existsById(id)) {
-            throw new RuntimeException("Game not found with id: " + id);
+        Game game = gameRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Game not found with id: " + id));
+        boxScoreService.removeForGames(List.of(id));
+        gameRepository.delete(game);
+        eventPublisher.publishEvent(new GameUpdatedEvent(id, game.getSeason().getId()));
+        
+        if (Boolean.TRUE.equals(game.getIsCompleted())) {
+            teamRatingService.rebuildAfterCommit();
         }
-        gameRepository.deleteById(id);
     }
     
     public GameDTO updateGameScore(Long id, Integer homeScore, Integer awayScore) {
         Game game = gameRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Game not found with id: " + id));
         
+        boolean wasCompleted = Boolean.TRUE.equals(game.getIsCompleted());
+        
         game.setHomeScore(homeScore);
         game.setAwayScore(awayScore);
         game.setIsCompleted(homeScore != null && awayScore != null);
@@ -140,7 +195,15 @@ public class GameService {
             updateTeamRecords(game);
         }
         
+        // Elo updates are order-dependent, so a corrected result means replaying history
+        if (wasCompleted) {
+            teamRatingService.rebuildAfterCommit();
+        } else if (game.getIsCompleted()) {
+            teamRatingService.recordResult(game);
+        }
+        
         Game updatedGame = gameRepository.save(game);
+        eventPublisher.publishEvent(new GameUpdatedEvent(updatedGame.getId(), updatedGame.getSeason().getId()));
         return GameDTO.fromEntity(updatedGame);
     }
     
@@ -152,10 +215,17 @@ public class GameService {
             throw new RuntimeException("Cannot complete game without scores");
         }
         
+        boolean wasCompleted = Boolean.TRUE.equals(game.getIsCompleted());
+        
         game.setIsCompleted(true);
         updateTeamRecords(game);
         
+        if (!wasCompleted) {
+            teamRatingService.recordResult(game);
+        }
+        
         Game completedGame = gameRepository.save(game);
+        eventPublisher.publishEvent(new GameUpdatedEvent(completedGame.getId(), completedGame.getSeason().getId()));
         return GameDTO.fromEntity(completedGame);
     }
     
@@ -193,18 +263,22 @@ public class GameService {
         
         List<Game> games = new ArrayList<>();
         LocalDate currentDate = season.getStartDate();
+        ScheduleConflictService.SlotIndex slots = scheduleConflictService.newLockedWorkingIndex(seasonId);
         
         for (int week = startWeek; week <= endWeek; week++) {
-            List<Game> weekGames = createWeekGames(season, teams, week, currentDate, location);
+            List<Game> weekGames = createWeekGames(season, teams, week, currentDate, location, slots);
             games.addAll(weekGames);
             currentDate = currentDate.plusWeeks(1);
         }
         
         gameRepository.saveAll(games);
+        eventPublisher.publishEvent(GameUpdatedEvent.forSeason(seasonId));
+        eventPublisher.publishEvent(new SchedulePostedEvent(seasonId, games.size()));
         return games.size();
     }
     
-    private List<Game> createWeekGames(Season season, List<Team> teams, int weekNumber, LocalDate gameDate, String location) {
+    private List<Game> createWeekGames(Season season, List<Team> teams, int weekNumber, LocalDate gameDate, String location,
+                                       ScheduleConflictService.SlotIndex slots) {
         List<Game> games = new ArrayList<>();
         List<Team> shuffledTeams = new ArrayList<>(teams);
         Collections.shuffle(shuffledTeams);
@@ -225,8 +299,9 @@ public class GameService {
                         .isCompleted(false)
                         .build();
                 
+                placeInFreeSlot(game, slots);
                 games.add(game);
-                gameTime = gameTime.plusHours(1); // Next game 1 hour later
+                gameTime = game.getGameTime().plusHours(1); // Next game 1 hour later
             }
         }
         
@@ -243,13 +318,15 @@ public class GameService {
         }
         
         // Generate round-robin schedule
-        List<Game> games = generateRoundRobinSchedule(season, teams);
+        List<Game> games = generateRoundRobinSchedule(season, teams, scheduleConflictService.newLockedWorkingIndex(seasonId));
         gameRepository.saveAll(games);
+        eventPublisher.publishEvent(GameUpdatedEvent.forSeason(seasonId));
+        eventPublisher.publishEvent(new SchedulePostedEvent(seasonId, games.size()));
         
         return games.size();
     }
     
-    private List<Game> generateRoundRobinSchedule(Season season, List<Team> teams) {
+    private List<Game> generateRoundRobinSchedule(Season season, List<Team> teams, ScheduleConflictService.SlotIndex slots) {
         List<Game> games = new ArrayList<>();
         int numTeams = teams.size();
         
@@ -289,8 +366,9 @@ public class GameService {
                             .isCompleted(false)
                             .build();
                     
+                    placeInFreeSlot(game, slots);
                     games.add(game);
-                    gameTime = gameTime.plusHours(1);
+                    gameTime = game.getGameTime().plusHours(1);
                 }
             }
             
@@ -300,11 +378,36 @@ public class GameService {
         return games;
     }
     
+    /**
+     * Moves a generated game to the first start at or after its proposed time where the
+     * court and both teams are free, and books it in the working index.
+     */
+    private void placeInFreeSlot(Game game, ScheduleConflictService.SlotIndex slots) {
+        List<Long> teamIds = List.of(game.getHomeTeam().getId(), game.getAwayTeam().getId());
+        LocalTime time = game.getGameTime();
+        LocalTime lastStart = LocalTime.of(23, 0).minusMinutes(scheduleConflictService.getGameMinutes());
+        
+        while (!slots.isFree(game.getLocation(), game.getCourtNumber(),
+                LocalDateTime.of(game.getGameDate(), time), teamIds, null)) {
+            time = time.plusMinutes(scheduleConflictService.getGameMinutes());
+            if (time.isAfter(lastStart) || time.isBefore(game.getGameTime())) {
+                throw new RuntimeException("No free slot on " + game.getGameDate() + " for "
+                        + game.getHomeTeam().getName() + " vs " + game.getAwayTeam().getName());
+            }
+        }
+        game.setGameTime(time);
+        slots.add(new GameSlotDTO(null, game.getGameDate(), time, game.getLocation(), game.getCourtNumber(),
+                game.getHomeTeam().getId(), game.getAwayTeam().getId()));
+    }
+    
     @Transactional
     public int deleteAllGames() {
         List<Game> allGames = gameRepository.findAll();
         int count = allGames.size();
+        boxScoreService.removeForGames(allGames.stream().map(Game::getId).collect(Collectors.toList()));
         gameRepository.deleteAll();
+        teamRatingService.rebuildAfterCommit();
+        eventPublisher.publishEvent(GameUpdatedEvent.forAllSeasons());
         return count;
     }
     
@@ -312,7 +415,10 @@ public class GameService {
     public int deleteGamesBySeason(Long seasonId) {
         List<Game> seasonGames = gameRepository.findBySeasonId(seasonId);
         int count = seasonGames.size();
+        boxScoreService.removeForGames(seasonGames.stream().map(Game::getId).collect(Collectors.toList()));
         gameRepository.deleteAll(seasonGames);
+        teamRatingService.rebuildAfterCommit();
+        eventPublisher.publishEvent(GameUpdatedEvent.forSeason(seasonId));
         return count;
     }
 }
\ No newline at end of file
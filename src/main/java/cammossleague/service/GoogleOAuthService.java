@@ -1,19 +1,15 @@
 package cammossleague.service;
 
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import cammossleague.model.User;
 import cammossleague.repository.UserRepository;
+import cammossleague.security.GoogleTokenVerifier;
 import cammossleague.security.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -27,44 +23,40 @@ public class GoogleOAuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
-    @Value("${spring.security.oauth2.client.registration.google.client-id}")
-    private String googleClientId;
-
-    private final GoogleIdTokenVerifier verifier;
+    @Autowired
+    private GoogleTokenVerifier verifier;
 
-    public GoogleOAuthService(@Value("${spring.security.oauth2.client.registration.google.client-id}") String clientId) {
-        this.verifier = new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), new GsonFactory())
-                .setAudience(Collections.singletonList(clientId))
-                .build();
-    }
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     public Map<String, Object> authenticateWithGoogle(String idTokenString) throws GeneralSecurityException, IOException {
-        GoogleIdToken idToken = verifier.verify(idTokenString);
-        
-        if (idToken != null) {
-            GoogleIdToken.Payload payload = idToken.getPayload();
-            
-            String email = payload.getEmail();
-            String name = (String) payload.get("name");
-            String pictureUrl = (String) payload.get("picture");
-            String googleId = payload.getSubject();
-            
-            User user = findOrCreateUser(email, name, pictureUrl, googleId);
-            
-            String jwtToken = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getRole().name());
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("token", jwtToken);
-            response.put("user", user);
-            response.put("message", "Google authentication successful");
-            
-            return response;
-        } else {
-            throw new SecurityException("Invalid Google ID token");
-        }
+        Claims payload = verifier.verify(idTokenString);
+
+        String email = payload.get("email", String.class);
+        String name = payload.get("name", String.class);
+        String pictureUrl = payload.get("picture", String.class);
+        String googleId = payload.getSubject();
+
+        User user = findOrCreateUser(email, name, pictureUrl, googleId);
+
+        String jwtToken = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getRole().name());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", jwtToken);
+        response.put("refreshToken", refreshTokenService.issue(user));
+        response.put("user", user);
+        response.put("message", "Google authentication successful");
+
+        return response;
     }
 
     private User findOrCreateUser(String email, String name, String pictureUrl, String googleId) {
+        // Returning users are matched on their Google subject; email is only used to link an account the first time
+        Optional<User> linkedUser = userRepository.findByGoogleId(googleId);
+        if (linkedUser.isPresent()) {
+            return linkedUser.get();
+        }
+
         Optional<User> existingUser = userRepository.findByEmail(email);
         
         if (existingUser.isPresent()) {
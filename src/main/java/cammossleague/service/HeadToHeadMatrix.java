@@ -0,0 +1,106 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameResultDTO;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pairwise results between every team in a season, built once from the season's
+ * completed games so tiebreakers can be answered with array lookups.
+ */
+public final class HeadToHeadMatrix {
+
+    private final Map<Long, Integer> indexByTeam;
+    private final int[][] wins;
+    private final int[][] games;
+    private final int[][] pointDiff;
+    private final double[] strengthOfSchedule;
+
+    private HeadToHeadMatrix(Map<Long, Integer> indexByTeam, int[][] wins, int[][] games,
+                             int[][] pointDiff, double[] strengthOfSchedule) {
+        this.indexByTeam = indexByTeam;
+        this.wins = wins;
+        this.games = games;
+        this.pointDiff = pointDiff;
+        this.strengthOfSchedule = strengthOfSchedule;
+    }
+
+    public static HeadToHeadMatrix build(Collection<GameResultDTO> results) {
+        Map<Long, Integer> indexByTeam = new HashMap<>();
+        for (GameResultDTO result : results) {
+            indexByTeam.putIfAbsent(result.getHomeTeamId(), indexByTeam.size());
+            indexByTeam.putIfAbsent(result.getAwayTeamId(), indexByTeam.size());
+        }
+
+        int n = indexByTeam.size();
+        int[][] wins = new int[n][n];
+        int[][] games = new int[n][n];
+        int[][] pointDiff = new int[n][n];
+        int[] totalWins = new int[n];
+        int[] totalGames = new int[n];
+
+        for (GameResultDTO result : results) {
+            int home = indexByTeam.get(result.getHomeTeamId());
+            int away = indexByTeam.get(result.getAwayTeamId());
+            int margin = result.getMargin();
+
+            games[home][away]++;
+            games[away][home]++;
+            pointDiff[home][away] += margin;
+            pointDiff[away][home] -= margin;
+            totalGames[home]++;
+            totalGames[away]++;
+
+            if (margin > 0) {
+                wins[home][away]++;
+                totalWins[home]++;
+            } else if (margin < 0) {
+                wins[away][home]++;
+                totalWins[away]++;
+            }
+        }
+
+        // Strength of schedule: average win percentage of every opponent faced, weighted by games played
+        double[] strengthOfSchedule = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (totalGames[i] == 0) {
+                continue;
+            }
+            double weighted = 0;
+            for (int j = 0; j < n; j++) {
+                if (games[i][j] > 0 && totalGames[j] > 0) {
+                    weighted += games[i][j] * ((double) totalWins[j] / totalGames[j]);
+                }
+            }
+            strengthOfSchedule[i] = weighted / totalGames[i];
+        }
+
+        return new HeadToHeadMatrix(indexByTeam, wins, games, pointDiff, strengthOfSchedule);
+    }
+
+    /**
+     * Returns the matrix index for a team, or -1 if the team has no completed games.
+     */
+    public int indexOf(Long teamId) {
+        Integer index = indexByTeam.get(teamId);
+        return index != null ? index : -1;
+    }
+
+    public int wins(int team, int opponent) {
+        return team < 0 || opponent < 0 ? 0 : wins[team][opponent];
+    }
+
+    public int games(int team, int opponent) {
+        return team < 0 || opponent < 0 ? 0 : games[team][opponent];
+    }
+
+    public int pointDifferential(int team, int opponent) {
+        return team < 0 || opponent < 0 ? 0 : pointDiff[team][opponent];
+    }
+
+    public double strengthOfSchedule(int team) {
+        return team < 0 ? 0 : strengthOfSchedule[team];
+    }
+}
@@ -0,0 +1,245 @@
+package cammossleague.service;
+
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.model.Player;
+import cammossleague.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Sorted stat leaderboards per season, kept in skip lists so a page of leaders is
+ * read by walking the first offset + limit entries rather than sorting every player.
+ *
+ * A season's boards are built on first use and then patched player-by-player when
+ * a {@link PlayerStatsChangedEvent} commits.
+ */
+@Service
+public class LeaderboardService {
+
+    public enum Stat {
+        POINTS(false),
+        REBOUNDS(false),
+        ASSISTS(false),
+        POINTS_PER_GAME(true),
+        REBOUNDS_PER_GAME(true),
+        ASSISTS_PER_GAME(true);
+
+        private final boolean perGame;
+
+        Stat(boolean perGame) {
+            this.perGame = perGame;
+        }
+
+        public boolean isPerGame() {
+            return perGame;
+        }
+
+        public static Stat fromPath(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private final PlayerRepository playerRepository;
+    private final Map<Long, SeasonBoards> boardsBySeason = new ConcurrentHashMap<>();
+
+    @Value("${app.leaderboards.min-games-for-averages:1}")
+    private int minGamesForAverages;
+
+    public LeaderboardService(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    public List<LeaderEntry> getLeaders(Long seasonId, Stat stat, int offset, int limit) {
+        NavigableSet<LeaderEntry> board = boardsFor(seasonId).boards.get(stat);
+
+        List<LeaderEntry> page = new ArrayList<>(Math.max(limit, 0));
+        Iterator<LeaderEntry> iterator = board.iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    public int getBoardSize(Long seasonId, Stat stat) {
+        return boardsFor(seasonId).boards.get(stat).size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerStatsChanged(PlayerStatsChangedEvent event) {
+        if (event.getSeasonId() == null) {
+            boardsBySeason.clear();
+            return;
+        }
+
+        SeasonBoards boards = boardsBySeason.get(event.getSeasonId());
+        if (boards == null || event.getPlayerIds().isEmpty()) {
+            // Not loaded yet, or nothing specific to patch: let the next read rebuild it
+            boardsBySeason.remove(event.getSeasonId());
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(event.getPlayerIds());
+        for (Player player : playerRepository.findAllById(event.getPlayerIds())) {
+            missing.remove(player.getId());
+            if (Boolean.TRUE.equals(player.getIsActive()) && event.getSeasonId().equals(player.getSeason().getId())) {
+                boards.upsert(LeaderEntry.fromPlayer(player));
+            } else {
+                boards.remove(player.getId());
+            }
+        }
+        for (Long playerId : missing) {
+            boards.remove(playerId);
+        }
+    }
+
+    private SeasonBoards boardsFor(Long seasonId) {
+        return boardsBySeason.computeIfAbsent(seasonId, id -> {
+            SeasonBoards boards = new SeasonBoards(minGamesForAverages);
+            for (Player player : playerRepository.findBySeasonIdAndIsActiveTrue(id)) {
+                boards.upsert(LeaderEntry.fromPlayer(player));
+            }
+            return boards;
+        });
+    }
+
+    private static final class SeasonBoards {
+        private final int minGamesForAverages;
+        private final Map<Stat, NavigableSet<LeaderEntry>> boards = new EnumMap<>(Stat.class);
+        private final Map<Long, LeaderEntry> byPlayer = new ConcurrentHashMap<>();
+
+        private SeasonBoards(int minGamesForAverages) {
+            this.minGamesForAverages = minGamesForAverages;
+            for (Stat stat : Stat.values()) {
+                boards.put(stat, new ConcurrentSkipListSet<>(
+                        Comparator.comparingDouble((LeaderEntry e) -> e.valueOf(stat)).reversed()
+                                .thenComparingLong(LeaderEntry::getPlayerId)));
+            }
+        }
+
+        private synchronized void upsert(LeaderEntry entry) {
+            remove(entry.getPlayerId());
+            byPlayer.put(entry.getPlayerId(), entry);
+            for (Map.Entry<Stat, NavigableSet<LeaderEntry>> board : boards.entrySet()) {
+                if (!board.getKey().isPerGame() || entry.getGamesPlayed() >= minGamesForAverages) {
+                    board.getValue().add(entry);
+                }
+            }
+        }
+
+        private synchronized void remove(Long playerId) {
+            LeaderEntry previous = byPlayer.remove(playerId);
+            if (previous != null) {
+                for (NavigableSet<LeaderEntry> board : boards.values()) {
+                    board.remove(previous);
+                }
+            }
+        }
+    }
+
+    public static final class LeaderEntry {
+        private final long playerId;
+        private final String name;
+        private final String position;
+        private final int gamesPlayed;
+        private final int points;
+        private final int rebounds;
+        private final int assists;
+
+        private LeaderEntry(long playerId, String name, String position,
+                            int gamesPlayed, int points, int rebounds, int assists) {
+            this.playerId = playerId;
+            this.name = name;
+            this.position = position;
+            this.gamesPlayed = gamesPlayed;
+            this.points = points;
+            this.rebounds = rebounds;
+            this.assists = assists;
+        }
+
+        static LeaderEntry fromPlayer(Player player) {
+            return new LeaderEntry(
+                    player.getId(),
+                    player.getDisplayName(),
+                    player.getPosition() != null ? player.getPosition().getDisplayName() : null,
+                    nullToZero(player.getStatsGamesPlayed()),
+                    nullToZero(player.getStatsPoints()),
+                    nullToZero(player.getStatsRebounds()),
+                    nullToZero(player.getStatsAssists()));
+        }
+
+        public double valueOf(Stat stat) {
+            return switch (stat) {
+                case POINTS -> points;
+                case REBOUNDS -> rebounds;
+                case ASSISTS -> assists;
+                case POINTS_PER_GAME -> perGame(points);
+                case REBOUNDS_PER_GAME -> perGame(rebounds);
+                case ASSISTS_PER_GAME -> perGame(assists);
+            };
+        }
+
+        public long getPlayerId() {
+            return playerId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPosition() {
+            return position;
+        }
+
+        public int getGamesPlayed() {
+            return gamesPlayed;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+
+        public int getRebounds() {
+            return rebounds;
+        }
+
+        public int getAssists() {
+            return assists;
+        }
+
+        public double getPointsPerGame() {
+            return perGame(points);
+        }
+
+        public double getReboundsPerGame() {
+            return perGame(rebounds);
+        }
+
+        public double getAssistsPerGame() {
+            return perGame(assists);
+        }
+
+        private double perGame(int total) {
+            return gamesPlayed == 0 ? 0.0 : (double) total / gamesPlayed;
+        }
+
+        private static int nullToZero(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package cammossleague.service;
+
+import cammossleague.dto.RecipientDTO;
+import cammossleague.event.GameMovedEvent;
+import cammossleague.event.LeagueUpdatePublishedEvent;
+import cammossleague.event.SchedulePostedEvent;
+import cammossleague.model.EmailOutbox;
+import cammossleague.model.Game;
+import cammossleague.model.LeagueUpdate;
+import cammossleague.model.Season;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.LeagueUpdateRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emails the league when a schedule is posted, a game moves, or a league update is
+ * published. Listeners run after the triggering transaction commits, on the async
+ * executor, so the admin request that caused them never waits on rendering or queueing.
+ */
+@Service
+public class LeagueNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeagueNotificationService.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEEE, MMMM d");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("h:mm a");
+
+    private final UserRepository userRepository;
+    private final GameRepository gameRepository;
+    private final SeasonRepository seasonRepository;
+    private final LeagueUpdateRepository leagueUpdateRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate notifyTransaction;
+
+    @Value("${app.notifications.enabled:true}")
+    private boolean enabled;
+
+    public LeagueNotificationService(UserRepository userRepository,
+                                     GameRepository gameRepository,
+                                     SeasonRepository seasonRepository,
+                                     LeagueUpdateRepository leagueUpdateRepository,
+                                     EmailService emailService,
+                                     PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.gameRepository = gameRepository;
+        this.seasonRepository = seasonRepository;
+        this.leagueUpdateRepository = leagueUpdateRepository;
+        this.emailService = emailService;
+        this.notifyTransaction = new TransactionTemplate(transactionManager);
+        this.notifyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSchedulePosted(SchedulePostedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            notifyTransaction.executeWithoutResult(status -> {
+                Season season = seasonRepository.findById(event.getSeasonId())
+                        .orElseThrow(() -> new RuntimeException("Season not found with id: " + event.getSeasonId()));
+                Map<String, String> values = new HashMap<>();
+                values.put("seasonName", season.getName());
+                values.put("gameCount", String.valueOf(event.getGameCount()));
+                values.put("scheduleUrl", emailService.getBaseUrl() + "/schedule");
+
+                emailService.enqueueBulk(EmailOutbox.Category.GAME_UPDATE, "schedule-posted",
+                        season.getName() + " Schedule Posted", values,
+                        userRepository.findRecipientsBySeasonId(season.getId()));
+            });
+        } catch (Exception e) {
+            logger.error("Failed to queue schedule notifications for {}", event, e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameMoved(GameMovedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            notifyTransaction.executeWithoutResult(status -> {
+                Game game = gameRepository.findById(event.getGameId()).orElse(null);
+                if (game == null || Boolean.TRUE.equals(game.getIsCompleted())) {
+                    return;
+                }
+                Map<String, String> values = new HashMap<>();
+                values.put("homeTeam", game.getHomeTeam().getName());
+                values.put("awayTeam", game.getAwayTeam().getName());
+                values.put("previousWhen", describeWhen(event.getPreviousDate(), event.getPreviousTime()));
+                values.put("when", describeWhen(game.getGameDate(), game.getGameTime()));
+                values.put("where", describeWhere(game.getLocation(), game.getCourtNumber()));
+                values.put("scheduleUrl", emailService.getBaseUrl() + "/schedule");
+
+                List<RecipientDTO> recipients = userRepository.findRecipientsByTeamIdIn(
+                        List.of(game.getHomeTeam().getId(), game.getAwayTeam().getId()));
+                emailService.enqueueBulk(EmailOutbox.Category.GAME_UPDATE, "game-moved",
+                        "Game Moved: " + game.getAwayTeam().getName() + " at " + game.getHomeTeam().getName(),
+                        values, recipients);
+            });
+        } catch (Exception e) {
+            logger.error("Failed to queue game moved notifications for {}", event, e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeagueUpdatePublished(LeagueUpdatePublishedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            notifyTransaction.executeWithoutResult(status -> {
+                LeagueUpdate update = leagueUpdateRepository.findById(event.getUpdateId())
+                        .orElseThrow(() -> new RuntimeException("League update not found with id: " + event.getUpdateId()));
+                Map<String, String> values = new HashMap<>();
+                values.put("title", update.getTitle());
+                values.put("updateType", update.getUpdateType().getDisplayName());
+                values.put("updateBody", toParagraphs(update.getContent()));
+                values.put("updatesUrl", emailService.getBaseUrl() + "/updates");
+
+                emailService.enqueueBulk(EmailOutbox.Category.ANNOUNCEMENT, "league-update",
+                        update.getTitle(), values, userRepository.findActiveRecipients());
+            });
+        } catch (Exception e) {
+            logger.error("Failed to queue league update notifications for {}", event, e);
+        }
+    }
+
+    static String describeWhen(LocalDate date, LocalTime time) {
+        if (date == null) {
+            return "TBD";
+        }
+        return time == null ? date.format(DATE_FORMAT) : date.format(DATE_FORMAT) + " at " + time.format(TIME_FORMAT);
+    }
+
+    static String describeWhere(String location, String courtNumber) {
+        String where = location != null ? location : "TBD";
+        return courtNumber != null && !courtNumber.isBlank() ? where + ", Court " + courtNumber : where;
+    }
+
+    /**
+     * Escapes plain-text update content and turns blank-line separated blocks into paragraphs.
+     */
+    static String toParagraphs(String content) {
+        if (content == null || content.isBlank()) {
+            return "";
+        }
+        StringBuilder html = new StringBuilder(content.length() + 64);
+        for (String block : content.trim().split("\\R\\s*\\R")) {
+            html.append("<p>")
+                    .append(HtmlUtils.htmlEscape(block.trim()).replaceAll("\\R", "<br>"))
+                    .append("</p>\n");
+        }
+        return html.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package cammossleague.service;
+
+import cammossleague.event.LeagueUpdatePublishedEvent;
+import cammossleague.model.LeagueUpdate;
+import cammossleague.repository.LeagueUpdateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LeagueUpdateService {
+    
+    private final LeagueUpdateRepository leagueUpdateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Publishes an update and, when {@code notify} is set, emails it to every active
+     * user once the publish commits. Publishing an already published update only
+     * re-sends if asked to.
+     */
+    @Transactional
+    public LeagueUpdate publish(Long id, boolean notify) {
+        LeagueUpdate update = leagueUpdateRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("League update not found with id: " + id));
+        
+        if (!Boolean.TRUE.equals(update.getIsPublished())) {
+            update.setIsPublished(true);
+            update.setPublishedAt(LocalDateTime.now());
+            update = leagueUpdateRepository.save(update);
+        }
+        if (notify) {
+            eventPublisher.publishEvent(new LeagueUpdatePublishedEvent(update.getId()));
+        }
+        return update;
+    }
+}
@@ -8,20 +8,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Optional;
 
 @Service
 public class PasswordResetService {
     
     private static final Logger logger = LoggerFactory.getLogger(PasswordResetService.class);
-    private static final String TOKEN_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-    private static final int TOKEN_LENGTH = 64;
+    private static final int TOKEN_BYTES = 32;
     
     @Autowired
     private UserRepository userRepository;
@@ -35,9 +40,15 @@ public class PasswordResetService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
     @Value("${password.reset.token.expiry-hours}")
     private int tokenExpiryHours;
     
+    @Value("${password.reset.cleanup.batch-size:500}")
+    private int cleanupBatchSize;
+    
     private final SecureRandom secureRandom = new SecureRandom();
     
     @Transactional
@@ -60,7 +71,7 @@ public class PasswordResetService {
         LocalDateTime expiresAt = LocalDateTime.now().plusHours(tokenExpiryHours);
         
         PasswordResetToken resetToken = PasswordResetToken.builder()
-                .token(token)
+                .tokenHash(hashToken(token))
                 .user(user)
                 .expiresAt(expiresAt)
                 .isUsed(false)
@@ -68,29 +79,24 @@ public class PasswordResetService {
         
         passwordResetTokenRepository.save(resetToken);
         
-        // Send email
-        try {
-            emailService.sendPasswordResetEmail(email, user.getFirstName(), token);
-            logger.info("Password reset email sent for user: {}", email);
-        } catch (Exception e) {
-            logger.error("Failed to send password reset email for user: {}", email, e);
-            // Don't throw exception to avoid revealing email existence
-        }
+        // Queue email; it is delivered after this transaction commits
+        emailService.queuePasswordResetEmail(email, user.getFirstName(), token);
+        logger.info("Password reset email queued for user: {}", email);
     }
     
     @Transactional
     public boolean resetPassword(String token, String newPassword) {
-        Optional<PasswordResetToken> tokenOptional = passwordResetTokenRepository.findByTokenAndIsUsedFalse(token);
+        Optional<PasswordResetToken> tokenOptional = findUnusedToken(token);
         
         if (tokenOptional.isEmpty()) {
-            logger.warn("Invalid or used password reset token: {}", token);
+            logger.warn("Invalid or used password reset token");
             return false;
         }
         
         PasswordResetToken resetToken = tokenOptional.get();
         
         if (resetToken.isExpired()) {
-            logger.warn("Expired password reset token: {}", token);
+            logger.warn("Expired password reset token for user: {}", resetToken.getUser().getEmail());
             return false;
         }
         
@@ -105,12 +111,15 @@ public class PasswordResetService {
         resetToken.setUsedAt(LocalDateTime.now());
         passwordResetTokenRepository.save(resetToken);
         
+        // Whoever knew the old password may still hold a session
+        refreshTokenService.endAllSessions(user.getId());
+        
         logger.info("Password successfully reset for user: {}", user.getEmail());
         return true;
     }
     
     public boolean validateResetToken(String token) {
-        Optional<PasswordResetToken> tokenOptional = passwordResetTokenRepository.findByTokenAndIsUsedFalse(token);
+        Optional<PasswordResetToken> tokenOptional = findUnusedToken(token);
         
         if (tokenOptional.isEmpty()) {
             return false;
@@ -120,17 +129,45 @@ public class PasswordResetService {
         return resetToken.isValid();
     }
     
-    @Transactional
+    /**
+     * Deletes expired and used tokens in batches of {@code password.reset.cleanup.batch-size},
+     * each in its own transaction, until none are left.
+     */
+    @Scheduled(cron = "${password.reset.cleanup.cron:0 */15 * * * *}")
     public void cleanupExpiredTokens() {
-        passwordResetTokenRepository.deleteExpiredAndUsedTokens(LocalDateTime.now());
-        logger.info("Cleaned up expired and used password reset tokens");
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = passwordResetTokenRepository.deleteExpiredAndUsedTokens(now, cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+        
+        if (total > 0) {
+            logger.info("Cleaned up {} expired and used password reset tokens", total);
+        }
     }
     
-    private String generateSecureToken() {
-        StringBuilder token = new StringBuilder(TOKEN_LENGTH);
-        for (int i = 0; i < TOKEN_LENGTH; i++) {
-            token.append(TOKEN_CHARACTERS.charAt(secureRandom.nextInt(TOKEN_CHARACTERS.length())));
+    private Optional<PasswordResetToken> findUnusedToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        // Only the SHA-256 hash is stored; it is looked up through its unique index
+        return passwordResetTokenRepository.findByTokenHashAndIsUsedFalse(hashToken(token));
+    }
+    
+    static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        return token.toString();
+    }
+    
+    private String generateSecureToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 }
\ No newline at end of file
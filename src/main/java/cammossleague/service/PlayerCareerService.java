@@ -0,0 +1,76 @@
+package cammossleague.service;
+
+import cammossleague.dto.CareerEntryDTO;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.event.SeasonUpdatedEvent;
+import cammossleague.event.TeamRenamedEvent;
+import cammossleague.repository.PlayerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Caches each user's full career (one row per season and team) as loaded by
+ * {@link PlayerRepository#findCareerByUserId(Long)}.
+ *
+ * Entries are dropped when the user's roster or stats change, or when a team or season
+ * they played in is renamed. Any game change clears the whole cache, since every cached
+ * row carries its team's current record.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlayerCareerService {
+
+    private final PlayerRepository playerRepository;
+    private final Map<Long, List<CareerEntryDTO>> careerByUser = new ConcurrentHashMap<>();
+
+    public List<CareerEntryDTO> getCareer(Long userId) {
+        return careerByUser.computeIfAbsent(userId, id -> List.copyOf(playerRepository.findCareerByUserId(id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRosterChanged(RosterChangedEvent event) {
+        careerByUser.remove(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerStatsChanged(PlayerStatsChangedEvent event) {
+        if (event.getSeasonId() == null) {
+            careerByUser.clear();
+            return;
+        }
+
+        // Deleted players can no longer be looked up, so also drop any career that lists them
+        careerByUser.values().removeIf(career -> career.stream()
+                .anyMatch(entry -> event.getPlayerIds().contains(entry.getPlayerId())));
+        if (!event.getPlayerIds().isEmpty()) {
+            playerRepository.findUserIdsByIdIn(event.getPlayerIds()).forEach(careerByUser::remove);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdated(GameUpdatedEvent event) {
+        careerByUser.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamRenamed(TeamRenamedEvent event) {
+        evictCareersWith(entry -> event.getTeamId().equals(entry.getTeamId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeasonUpdated(SeasonUpdatedEvent event) {
+        evictCareersWith(entry -> event.getSeasonId().equals(entry.getSeasonId()));
+    }
+
+    private void evictCareersWith(Predicate<CareerEntryDTO> matches) {
+        careerByUser.values().removeIf(career -> career.stream().anyMatch(matches));
+    }
+}
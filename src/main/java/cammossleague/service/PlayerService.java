@@ -1,17 +1,19 @@
 package cammossleague.service;
 
+import cammossleague.dto.CareerEntryDTO;
+import cammossleague.event.PlayerStatsChangedEvent;
 import cammossleague.model.Player;
-import cammossleague.model.PlayerTeam;
 import cammossleague.repository.PlayerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.LinkedHashMap;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +21,8 @@ import java.util.stream.Collectors;
 public class PlayerService {
     
     private final PlayerRepository playerRepository;
+    private final PlayerCareerService playerCareerService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<Player> getAllPlayers() {
         return playerRepository.findAll();
@@ -54,54 +58,84 @@ public class PlayerService {
     
     @Transactional
     public Player savePlayer(Player player) {
-        return playerRepository.save(player);
+        Player savedPlayer = playerRepository.save(player);
+        eventPublisher.publishEvent(new PlayerStatsChangedEvent(savedPlayer.getSeason().getId(), List.of(savedPlayer.getId())));
+        return savedPlayer;
     }
     
     @Transactional
     public void deletePlayer(Long id) {
+        Long seasonId = playerRepository.findById(id)
+                .map(player -> player.getSeason().getId())
+                .orElse(null);
         playerRepository.deleteById(id);
+        
+        if (seasonId != null) {
+            eventPublisher.publishEvent(new PlayerStatsChangedEvent(seasonId, List.of(id)));
+        }
     }
     
     public Map<String, Object> getPlayerTeamHistory(Long playerId) {
-        Optional<Player> playerOpt = playerRepository.findById(playerId);
-        if (playerOpt.isEmpty()) {
+        Optional<Long> userId = playerRepository.findUserIdById(playerId);
+        if (userId.isEmpty()) {
             return Map.of("error", "Player not found");
         }
         
-        Player player = playerOpt.get();
-        Long userId = player.getUser().getId();
+        // Whole career in one query, cached per user
+        List<CareerEntryDTO> career = playerCareerService.getCareer(userId.get());
         
-        // Get all Player records for this user across all seasons
-        List<Player> allPlayerSeasons = playerRepository.findByUserIdOrderBySeasonYearDesc(userId);
+        List<Map<String, Object>> teamHistory = new ArrayList<>();
+        Map<Long, CareerEntryDTO> seasons = new LinkedHashMap<>();
+        String playerName = null;
+        for (CareerEntryDTO entry : career) {
+            seasons.putIfAbsent(entry.getPlayerId(), entry);
+            if (entry.getPlayerId().equals(playerId)) {
+                playerName = entry.getPlayerName();
+            }
+            if (entry.getTeamId() == null) {
+                continue;
+            }
+            
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("seasonName", entry.getSeasonName());
+            row.put("seasonYear", entry.getSeasonYear());
+            row.put("teamId", entry.getTeamId());
+            row.put("teamName", entry.getTeamName());
+            row.put("teamDisplayName", entry.getTeamName());
+            row.put("teamCity", entry.getTeamCity());
+            row.put("jerseyNumber", entry.getJerseyNumber());
+            row.put("position", entry.getPosition() != null ? entry.getPosition().getDisplayName() : null);
+            row.put("wins", entry.getWins());
+            row.put("losses", entry.getLosses());
+            row.put("isCurrentSeason", entry.getIsCurrentSeason());
+            teamHistory.add(row);
+        }
         
-        // Build team history with season information
-        List<Map<String, Object>> teamHistory = allPlayerSeasons.stream()
-            .flatMap(p -> p.getPlayerTeams().stream()
-                .filter(pt -> pt.getStatus() == PlayerTeam.Status.ACTIVE)
-                .map(pt -> {
-                    Map<String, Object> entry = new LinkedHashMap<>();
-                    entry.put("seasonName", p.getSeason().getName());
-                    entry.put("seasonYear", p.getSeason().getYear());
-                    entry.put("teamId", pt.getTeam().getId());
-                    entry.put("teamName", pt.getTeam().getName());
-                    entry.put("teamDisplayName", pt.getTeam().getDisplayName());
-                    entry.put("teamCity", pt.getTeam().getCity());
-                    entry.put("jerseyNumber", p.getJerseyNumber());
-                    entry.put("position", p.getPosition().getDisplayName());
-                    entry.put("wins", pt.getTeam().getWins());
-                    entry.put("losses", pt.getTeam().getLosses());
-                    entry.put("isCurrentSeason", p.getSeason().getIsActive());
-                    return entry;
-                })
-            )
-            .collect(Collectors.toList());
+        // Totals count each season once, even if the player was on two rosters that season
+        int gamesPlayed = 0, points = 0, rebounds = 0, assists = 0;
+        for (CareerEntryDTO season : seasons.values()) {
+            gamesPlayed += season.getGamesPlayed() != null ? season.getGamesPlayed() : 0;
+            points += season.getPoints() != null ? season.getPoints() : 0;
+            rebounds += season.getRebounds() != null ? season.getRebounds() : 0;
+            assists += season.getAssists() != null ? season.getAssists() : 0;
+        }
+        Map<String, Object> careerTotals = new LinkedHashMap<>();
+        careerTotals.put("seasons", seasons.size());
+        careerTotals.put("gamesPlayed", gamesPlayed);
+        careerTotals.put("points", points);
+        careerTotals.put("rebounds", rebounds);
+        careerTotals.put("assists", assists);
+        careerTotals.put("pointsPerGame", gamesPlayed == 0 ? 0.0 : (double) points / gamesPlayed);
+        careerTotals.put("reboundsPerGame", gamesPlayed == 0 ? 0.0 : (double) rebounds / gamesPlayed);
+        careerTotals.put("assistsPerGame", gamesPlayed == 0 ? 0.0 : (double) assists / gamesPlayed);
         
         return Map.of(
             "playerId", playerId,
-            "playerName", player.getDisplayName(),
+            "playerName", playerName != null ? playerName : "Unknown Player",
             "teamHistory", teamHistory,
-            "totalSeasons", allPlayerSeasons.size(),
-            "teamsPlayed", teamHistory.size()
+            "totalSeasons", seasons.size(),
+            "teamsPlayed", teamHistory.size(),
+            "careerTotals", careerTotals
         );
     }
 }
\ No newline at end of file
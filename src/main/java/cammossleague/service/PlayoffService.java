@@ -2,6 +2,7 @@ package cammossleague.service;
 
 import cammossleague.dto.PlayoffBracketDTO;
 import cammossleague.dto.PlayoffMatchDTO;
+import cammossleague.dto.PlayoffRoundResultsDTO;
 import cammossleague.model.*;
 import cammossleague.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ public class PlayoffService {
     private final SeasonRepository seasonRepository;
     private final TeamRepository teamRepository;
     private final GameRepository gameRepository;
+    private final TeamRatingService teamRatingService;
     
     public Page<PlayoffBracketDTO> getAllBrackets(Pageable pageable) {
         Page<PlayoffBracket> brackets = bracketRepository.findAll(pageable);
@@ -126,31 +128,80 @@ public class PlayoffService {
     
     private List<PlayoffMatch> createFirstRoundMatches(PlayoffBracket bracket, List<Long> teamIds) {
         List<PlayoffMatch> matches = new ArrayList<>();
-        List<Team> teams = teamRepository.findAllById(teamIds);
+        List<Team> teams = new ArrayList<>(teamRepository.findAllById(teamIds));
         
-        // Shuffle teams for randomization (or implement seeding logic)
-        Collections.shuffle(teams);
+        // Seed by current rating; findAllById has no defined order, so ties go to the lower team id
+        Map<Team, Double> ratings = new IdentityHashMap<>();
+        for (Team team : teams) {
+            ratings.put(team, teamRatingService.getRating(team.getId()));
+        }
+        teams.sort(Comparator.comparingDouble((Team t) -> ratings.get(t)).reversed()
+                .thenComparing(Team::getId, Comparator.nullsLast(Comparator.naturalOrder())));
         
+        // Pair seeds 1vN, 2vN-1, ... laid out so the top seeds can only meet late
+        int pairs = teams.size() / 2;
         int matchNumber = 1;
-        for (int i = 0; i < teams.size(); i += 2) {
-            if (i + 1 < teams.size()) {
-                PlayoffMatch match = PlayoffMatch.builder()
-                        .bracket(bracket)
-                        .team1(teams.get(i))
-                        .team2(teams.get(i + 1))
-                        .roundNumber(1)
-                        .matchNumber(matchNumber)
-                        .positionInRound(matchNumber)
-                        .isCompleted(false)
-                        .build();
-                matches.add(match);
-                matchNumber++;
-            }
+        for (int seed : bracketSeedOrder(pairs)) {
+            PlayoffMatch match = PlayoffMatch.builder()
+                    .bracket(bracket)
+                    .team1(teams.get(seed))
+                    .team2(teams.get(2 * pairs - 1 - seed))
+                    .roundNumber(1)
+                    .matchNumber(matchNumber)
+                    .positionInRound(matchNumber)
+                    .isCompleted(false)
+                    .build();
+            matches.add(match);
+            matchNumber++;
         }
         
         return matches;
     }
     
+    /**
+     * Returns the higher seed (0-based) for each first-round slot, e.g. for four
+     * matches: 0, 3, 1, 2 (1v8, 4v5, 2v7, 3v6).
+     *
+     * Winners of slots 2k-1 and 2k meet next, so the slots form a tree whose left
+     * branch at each level is the largest power of two below its size. Seeds are dealt
+     * into the two branches snake-fashion (A, B, B, A, A, ...), which keeps the top two
+     * seeds apart until the final for any field size, not just powers of two.
+     */
+    private List<Integer> bracketSeedOrder(int pairs) {
+        Integer[] slots = new Integer[pairs];
+        List<Integer> seeds = new ArrayList<>();
+        for (int i = 0; i < pairs; i++) {
+            seeds.add(i);
+        }
+        placeSeeds(seeds, slots, 0);
+        return Arrays.asList(slots);
+    }
+    
+    private void placeSeeds(List<Integer> seeds, Integer[] slots, int firstSlot) {
+        if (seeds.isEmpty()) {
+            return;
+        }
+        if (seeds.size() == 1) {
+            slots[firstSlot] = seeds.get(0);
+            return;
+        }
+        
+        int leftSize = Integer.highestOneBit(seeds.size() - 1);
+        int rightSize = seeds.size() - leftSize;
+        List<Integer> left = new ArrayList<>();
+        List<Integer> right = new ArrayList<>();
+        for (int i = 0; i < seeds.size(); i++) {
+            boolean toLeft = ((i + 1) / 2) % 2 == 0;
+            if ((toLeft && left.size() < leftSize) || right.size() == rightSize) {
+                left.add(seeds.get(i));
+            } else {
+                right.add(seeds.get(i));
+            }
+        }
+        placeSeeds(left, slots, firstSlot);
+        placeSeeds(right, slots, firstSlot + leftSize);
+    }
+    
     public List<PlayoffMatchDTO> advanceWinner(Long bracketId, Long matchId, Long winnerId) {
         PlayoffMatch match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new RuntimeException("Match not found with id: " + matchId));
@@ -209,7 +260,134 @@ public class PlayoffService {
         
         matchRepository.save(nextMatch);
     }
-    
+
+    /**
+     * Records a whole round of results at once. The bracket's matches are loaded a
+     * single time and every result is validated and applied against that in-memory
+     * copy, so winners and next-round slots are written together (or not at all if
+     * any result is invalid) and the caller gets one bracket snapshot back.
+     */
+    public PlayoffBracketDTO advanceRound(Long bracketId, List<PlayoffRoundResultsDTO.MatchResult> results) {
+        PlayoffBracket bracket = bracketRepository.findById(bracketId)
+                .orElseThrow(() -> new RuntimeException("Bracket not found with id: " + bracketId));
+
+        if (results == null || results.isEmpty()) {
+            throw new RuntimeException("At least one match result is required");
+        }
+
+        List<PlayoffMatch> matches = new ArrayList<>(
+                matchRepository.findByBracketIdOrderByRoundNumberAscPositionInRoundAsc(bracketId));
+
+        Map<Long, PlayoffMatch> matchesById = new HashMap<>();
+        Map<Integer, Map<Integer, PlayoffMatch>> matchesByRound = new HashMap<>();
+        for (PlayoffMatch match : matches) {
+            matchesById.put(match.getId(), match);
+            matchesByRound.computeIfAbsent(match.getRoundNumber(), r -> new HashMap<>())
+                    .put(match.getPositionInRound(), match);
+        }
+
+        // Resolve every result to its match up front so unknown or repeated ids fail fast
+        Map<Long, PlayoffRoundResultsDTO.MatchResult> resultsByMatchId = new HashMap<>();
+        for (PlayoffRoundResultsDTO.MatchResult result : results) {
+            if (!matchesById.containsKey(result.getMatchId())) {
+                throw new RuntimeException("Match " + result.getMatchId() + " does not belong to bracket " + bracketId);
+            }
+            if (resultsByMatchId.put(result.getMatchId(), result) != null) {
+                throw new RuntimeException("Duplicate result for match " + result.getMatchId());
+            }
+        }
+
+        int firstRoundMatches = matchesByRound.getOrDefault(1, Map.of()).size();
+        // Identity-based: PlayoffMatch equality covers mutable fields and unsaved matches have no id
+        Set<PlayoffMatch> changedMatches = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // Apply in bracket order so a later-round result in the same batch sees the teams
+        // that earlier results just advanced into it
+        List<PlayoffMatch> orderedMatches = resultsByMatchId.keySet().stream()
+                .map(matchesById::get)
+                .collect(Collectors.toList());
+        orderedMatches.sort(Comparator.comparing(PlayoffMatch::getRoundNumber)
+                .thenComparing(PlayoffMatch::getPositionInRound));
+
+        for (PlayoffMatch match : orderedMatches) {
+            PlayoffRoundResultsDTO.MatchResult result = resultsByMatchId.get(match.getId());
+            Team winner = resolveWinner(match, result.getWinnerId());
+
+            match.setWinner(winner);
+            match.setIsCompleted(true);
+            if (result.getNotes() != null) {
+                match.setNotes(result.getNotes());
+            }
+            changedMatches.add(match);
+
+            if (isFinalRound(match.getRoundNumber(), firstRoundMatches)) {
+                continue;
+            }
+
+            int nextRound = match.getRoundNumber() + 1;
+            int nextPosition = (match.getPositionInRound() + 1) / 2;
+            Map<Integer, PlayoffMatch> nextRoundMatches = matchesByRound.computeIfAbsent(nextRound, r -> new HashMap<>());
+            PlayoffMatch nextMatch = nextRoundMatches.get(nextPosition);
+
+            if (nextMatch == null) {
+                nextMatch = PlayoffMatch.builder()
+                        .bracket(bracket)
+                        .roundNumber(nextRound)
+                        .matchNumber(nextRoundMatches.size() + 1)
+                        .positionInRound(nextPosition)
+                        .isCompleted(false)
+                        .build();
+                nextRoundMatches.put(nextPosition, nextMatch);
+                matches.add(nextMatch);
+            }
+
+            if (match.getPositionInRound() % 2 == 1) {
+                nextMatch.setTeam1(winner);
+            } else {
+                nextMatch.setTeam2(winner);
+            }
+            changedMatches.add(nextMatch);
+        }
+
+        matchRepository.saveAll(changedMatches);
+
+        // Bracket progress is derived from the in-memory match list rather than count queries
+        matches.stream()
+                .filter(m -> !Boolean.TRUE.equals(m.getIsCompleted()))
+                .mapToInt(PlayoffMatch::getRoundNumber)
+                .min()
+                .ifPresentOrElse(bracket::setCurrentRound, () -> bracket.setIsCompleted(true));
+        PlayoffBracket savedBracket = bracketRepository.save(bracket);
+
+        matches.sort(Comparator.comparing(PlayoffMatch::getRoundNumber)
+                .thenComparing(PlayoffMatch::getPositionInRound));
+
+        PlayoffBracketDTO bracketDTO = PlayoffBracketDTO.fromEntity(savedBracket);
+        bracketDTO.setMatches(matches.stream()
+                .map(PlayoffMatchDTO::fromEntity)
+                .collect(Collectors.toList()));
+        return bracketDTO;
+    }
+
+    private Team resolveWinner(PlayoffMatch match, Long winnerId) {
+        if (match.getTeam1() != null && match.getTeam1().getId().equals(winnerId)) {
+            return match.getTeam1();
+        }
+        if (match.getTeam2() != null && match.getTeam2().getId().equals(winnerId)) {
+            return match.getTeam2();
+        }
+        throw new RuntimeException("Winner must be one of the teams in match " + match.getId());
+    }
+
+    private boolean isFinalRound(int roundNumber, int firstRoundMatches) {
+        // Each round halves the number of matches; the final is the round that has exactly one
+        int matchesInRound = firstRoundMatches;
+        for (int round = 1; round < roundNumber; round++) {
+            matchesInRound = (matchesInRound + 1) / 2;
+        }
+        return matchesInRound <= 1;
+    }
+
     public List<PlayoffMatchDTO> getBracketMatches(Long bracketId) {
         List<PlayoffMatch> matches = matchRepository.findByBracketIdOrderByRoundNumberAscPositionInRoundAsc(bracketId);
         return matches.stream()
@@ -0,0 +1,465 @@
+package cammossleague.service;
+
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.GameReferee;
+import cammossleague.model.Referee;
+import cammossleague.model.RefereeUnavailability;
+import cammossleague.repository.GameRefereeRepository;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.RefereeRepository;
+import cammossleague.repository.RefereeUnavailabilityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Assigns referee crews to a season's games.
+ *
+ * Games are walked in chronological order and each one takes the cheapest eligible
+ * referees. A referee is eligible when they are free for the whole game, not blocked
+ * by an unavailability window, under their daily limit, and neither plays for nor
+ * captains either team. Cost grows with the referee's season workload and with the
+ * length of the back-to-back run the game would extend, so crews rotate instead of
+ * one official working an entire night.
+ *
+ * When a single game changes, only that game's crew is checked against the rest of
+ * the schedule; members who are still valid stay and only the gaps are refilled.
+ */
+@Service
+public class RefereeAssignmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefereeAssignmentService.class);
+
+    // Games closer together than this count as back to back
+    private static final long BACK_TO_BACK_GAP_MINUTES = 15;
+
+    private final GameRepository gameRepository;
+    private final RefereeRepository refereeRepository;
+    private final GameRefereeRepository gameRefereeRepository;
+    private final RefereeUnavailabilityRepository unavailabilityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate repairTransaction;
+
+    @Value("${app.referees.crew-size:2}")
+    private int crewSize;
+
+    @Value("${app.referees.game-minutes:60}")
+    private int gameMinutes;
+
+    @Value("${app.referees.back-to-back-penalty:3.0}")
+    private double backToBackPenalty;
+
+    public RefereeAssignmentService(GameRepository gameRepository,
+                                    RefereeRepository refereeRepository,
+                                    GameRefereeRepository gameRefereeRepository,
+                                    RefereeUnavailabilityRepository unavailabilityRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.refereeRepository = refereeRepository;
+        this.gameRefereeRepository = gameRefereeRepository;
+        this.unavailabilityRepository = unavailabilityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Repairs run from after-commit listeners, so they always need their own transaction
+        this.repairTransaction = new TransactionTemplate(transactionManager);
+        this.repairTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public AssignmentResult getSeasonAssignments(Long seasonId) {
+        return transactionTemplate.execute(status -> {
+            Planner planner = loadPlanner(seasonId);
+            List<GameCrew> crews = new ArrayList<>();
+            for (Game game : planner.games) {
+                crews.add(planner.crewOf(game));
+            }
+            return planner.result(crews, 0);
+        });
+    }
+
+    /**
+     * Plans crews for every incomplete game in the season. With {@code keepExisting}
+     * only games without a full crew are touched; otherwise incomplete games are
+     * replanned from scratch. Completed games always keep their crews and count
+     * towards each referee's workload.
+     */
+    public AssignmentResult assignSeason(Long seasonId, boolean keepExisting) {
+        long started = System.currentTimeMillis();
+        AssignmentResult result = transactionTemplate.execute(status -> {
+            Planner planner = loadPlanner(seasonId);
+
+            List<Long> replanned = new ArrayList<>();
+            for (Game game : planner.games) {
+                if (!Boolean.TRUE.equals(game.getIsCompleted()) && !keepExisting) {
+                    planner.release(game);
+                    replanned.add(game.getId());
+                }
+            }
+            if (!replanned.isEmpty()) {
+                gameRefereeRepository.deleteByGameIdIn(replanned);
+            }
+
+            List<GameCrew> crews = new ArrayList<>();
+            List<GameReferee> assignments = new ArrayList<>();
+            for (Game game : planner.games) {
+                if (!Boolean.TRUE.equals(game.getIsCompleted())) {
+                    for (Referee referee : planner.fill(game)) {
+                        assignments.add(GameReferee.builder().game(game).referee(referee).build());
+                    }
+                }
+                crews.add(planner.crewOf(game));
+            }
+            gameRefereeRepository.saveAll(assignments);
+            return planner.result(crews, assignments.size());
+        });
+
+        result.durationMs = System.currentTimeMillis() - started;
+        logger.info("Assigned {} referee slots for season {} in {} ms ({} games understaffed)",
+                result.getSlotsAssigned(), seasonId, result.getDurationMs(), result.getUnderstaffedGames());
+        return result;
+    }
+
+    /**
+     * Re-validates one game's crew against the rest of the season and refills any
+     * member who is no longer eligible.
+     */
+    public GameCrew reassignGame(Long gameId) {
+        return transactionTemplate.execute(status -> repair(gameId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdated(GameUpdatedEvent event) {
+        if (event.getGameId() == null) {
+            return;
+        }
+        try {
+            repairTransaction.execute(status -> repair(event.getGameId()));
+        } catch (Exception e) {
+            logger.error("Failed to repair referee crew for {}", event, e);
+        }
+    }
+
+    private GameCrew repair(Long gameId) {
+        Game game = gameRepository.findById(gameId).orElse(null);
+        if (game == null || Boolean.TRUE.equals(game.getIsCompleted())) {
+            return null;
+        }
+
+        Planner planner = loadPlanner(game.getSeason().getId());
+        List<Referee> current = planner.release(game);
+
+        List<Referee> keep = new ArrayList<>();
+        for (Referee referee : current) {
+            if (planner.eligible(referee, game)) {
+                planner.commit(referee, game);
+                keep.add(referee);
+            }
+        }
+        List<Referee> added = planner.fill(game);
+        if (keep.size() == current.size() && added.isEmpty()) {
+            return planner.crewOf(game);
+        }
+
+        gameRefereeRepository.deleteByGameId(gameId);
+        List<GameReferee> assignments = new ArrayList<>();
+        for (Referee referee : planner.crews.get(gameId)) {
+            assignments.add(GameReferee.builder().game(game).referee(referee).build());
+        }
+        gameRefereeRepository.saveAll(assignments);
+        logger.info("Repaired referee crew for game {}: kept {}, added {}", gameId, keep.size(), added.size());
+        return planner.crewOf(game);
+    }
+
+    private Planner loadPlanner(Long seasonId) {
+        List<Game> games = gameRepository.findBySeasonIdOrderByGameDateAscGameTimeAsc(seasonId);
+        List<Referee> referees = refereeRepository.findByIsActiveTrueOrderByNameAsc();
+        Planner planner = new Planner(games, referees);
+
+        for (Object[] row : refereeRepository.findRosterConflicts(seasonId)) {
+            planner.conflicts.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        for (Object[] row : refereeRepository.findCaptainConflicts(seasonId)) {
+            planner.conflicts.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        if (!games.isEmpty()) {
+            LocalDate first = games.get(0).getGameDate();
+            LocalDate last = games.get(games.size() - 1).getGameDate();
+            // A late game can run into the next day's windows
+            for (RefereeUnavailability window : unavailabilityRepository.findBetween(first, last.plusDays(1))) {
+                planner.unavailability.computeIfAbsent(window.getReferee().getId(), id -> new ArrayList<>()).add(window);
+            }
+        }
+
+        Map<Long, Game> gamesById = new HashMap<>();
+        games.forEach(game -> gamesById.put(game.getId(), game));
+        Map<Long, Referee> refereesById = new HashMap<>();
+        referees.forEach(referee -> refereesById.put(referee.getId(), referee));
+
+        for (GameReferee assignment : gameRefereeRepository.findBySeasonId(seasonId)) {
+            Game game = gamesById.get(assignment.getGame().getId());
+            Referee referee = refereesById.getOrDefault(assignment.getReferee().getId(), assignment.getReferee());
+            if (game != null) {
+                planner.commit(referee, game);
+            }
+        }
+        return planner;
+    }
+
+    /**
+     * In-memory view of every referee's commitments for one season.
+     */
+    private final class Planner {
+        private final List<Game> games;
+        private final List<Referee> referees;
+        private final Map<Long, Set<Long>> conflicts = new HashMap<>();
+        private final Map<Long, List<RefereeUnavailability>> unavailability = new HashMap<>();
+        private final Map<Long, NavigableMap<LocalDateTime, Game>> schedules = new HashMap<>();
+        private final Map<Long, Map<LocalDate, Integer>> dailyCounts = new HashMap<>();
+        private final Map<Long, Integer> workload = new HashMap<>();
+        private final Map<Long, List<Referee>> crews = new LinkedHashMap<>();
+
+        private Planner(List<Game> games, List<Referee> referees) {
+            this.games = games;
+            this.referees = referees;
+        }
+
+        private boolean eligible(Referee referee, Game game) {
+            Long refereeId = referee.getId();
+            if (!Boolean.TRUE.equals(referee.getIsActive())) {
+                return false;
+            }
+            Set<Long> teams = conflicts.getOrDefault(refereeId, Set.of());
+            if (teams.contains(game.getHomeTeam().getId()) || teams.contains(game.getAwayTeam().getId())) {
+                return false;
+            }
+
+            LocalDateTime start = game.getGameDateTime();
+            LocalDateTime end = start.plusMinutes(gameMinutes);
+            for (RefereeUnavailability window : unavailability.getOrDefault(refereeId, List.of())) {
+                if (window.blocks(start, end)) {
+                    return false;
+                }
+            }
+
+            int maxPerDay = referee.getMaxGamesPerDay() != null ? referee.getMaxGamesPerDay() : Integer.MAX_VALUE;
+            if (dailyCounts.getOrDefault(refereeId, Map.of()).getOrDefault(game.getGameDate(), 0) >= maxPerDay) {
+                return false;
+            }
+
+            // Any commitment starting within one game length either side overlaps this one
+            NavigableMap<LocalDateTime, Game> schedule = schedules.get(refereeId);
+            return schedule == null
+                    || schedule.subMap(start.minusMinutes(gameMinutes), false, end, false).isEmpty();
+        }
+
+        private double cost(Referee referee, Game game) {
+            Long refereeId = referee.getId();
+            double cost = workload.getOrDefault(refereeId, 0);
+
+            NavigableMap<LocalDateTime, Game> schedule = schedules.get(refereeId);
+            if (schedule != null) {
+                int run = 0;
+                LocalDateTime start = game.getGameDateTime();
+                LocalDateTime end = start.plusMinutes(gameMinutes);
+
+                // Walk the chain of back-to-back games on either side of this one
+                Map.Entry<LocalDateTime, Game> before = schedule.lowerEntry(start);
+                while (before != null && !before.getKey().plusMinutes(gameMinutes + BACK_TO_BACK_GAP_MINUTES).isBefore(start)) {
+                    run++;
+                    start = before.getKey();
+                    before = schedule.lowerEntry(start);
+                }
+                Map.Entry<LocalDateTime, Game> after = schedule.higherEntry(end.minusMinutes(1));
+                while (after != null && !after.getKey().isAfter(end.plusMinutes(BACK_TO_BACK_GAP_MINUTES))) {
+                    run++;
+                    end = after.getKey().plusMinutes(gameMinutes);
+                    after = schedule.higherEntry(end.minusMinutes(1));
+                }
+                cost += backToBackPenalty * run * run;
+            }
+            return cost;
+        }
+
+        private List<Referee> fill(Game game) {
+            List<Referee> crew = crews.computeIfAbsent(game.getId(), id -> new ArrayList<>());
+            int needed = crewSize - crew.size();
+            if (needed <= 0) {
+                return List.of();
+            }
+
+            Set<Long> onCrew = new HashSet<>();
+            crew.forEach(referee -> onCrew.add(referee.getId()));
+
+            List<Referee> candidates = new ArrayList<>();
+            Map<Long, Double> costs = new HashMap<>();
+            for (Referee referee : referees) {
+                if (!onCrew.contains(referee.getId()) && eligible(referee, game)) {
+                    candidates.add(referee);
+                    costs.put(referee.getId(), cost(referee, game));
+                }
+            }
+            candidates.sort(Comparator.comparingDouble((Referee referee) -> costs.get(referee.getId()))
+                    .thenComparing(Referee::getId));
+
+            List<Referee> added = new ArrayList<>(candidates.subList(0, Math.min(needed, candidates.size())));
+            added.forEach(referee -> commit(referee, game));
+            return added;
+        }
+
+        private void commit(Referee referee, Game game) {
+            Long refereeId = referee.getId();
+            schedules.computeIfAbsent(refereeId, id -> new TreeMap<>()).put(game.getGameDateTime(), game);
+            dailyCounts.computeIfAbsent(refereeId, id -> new HashMap<>()).merge(game.getGameDate(), 1, Integer::sum);
+            workload.merge(refereeId, 1, Integer::sum);
+            crews.computeIfAbsent(game.getId(), id -> new ArrayList<>()).add(referee);
+        }
+
+        /**
+         * Removes a game's crew from the planner and returns who was on it.
+         */
+        private List<Referee> release(Game game) {
+            List<Referee> crew = crews.remove(game.getId());
+            if (crew == null) {
+                return List.of();
+            }
+            for (Referee referee : crew) {
+                Long refereeId = referee.getId();
+                NavigableMap<LocalDateTime, Game> schedule = schedules.get(refereeId);
+                if (schedule != null) {
+                    schedule.values().removeIf(scheduled -> scheduled.getId().equals(game.getId()));
+                }
+                dailyCounts.computeIfAbsent(refereeId, id -> new HashMap<>()).merge(game.getGameDate(), -1, Integer::sum);
+                workload.merge(refereeId, -1, Integer::sum);
+            }
+            return crew;
+        }
+
+        private GameCrew crewOf(Game game) {
+            List<Referee> crew = crews.getOrDefault(game.getId(), List.of());
+            List<Long> ids = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (Referee referee : crew) {
+                ids.add(referee.getId());
+                names.add(referee.getName());
+            }
+            return new GameCrew(game.getId(), game.getGameDateTime(), game.getHomeTeam().getName(),
+                    game.getAwayTeam().getName(), ids, names, crew.size() < crewSize);
+        }
+
+        private AssignmentResult result(List<GameCrew> gameCrews, int slotsAssigned) {
+            Map<String, Integer> workloadByName = new TreeMap<>();
+            for (Referee referee : referees) {
+                workloadByName.put(referee.getName(), workload.getOrDefault(referee.getId(), 0));
+            }
+            int understaffed = 0;
+            for (GameCrew crew : gameCrews) {
+                if (crew.isUnderstaffed()) {
+                    understaffed++;
+                }
+            }
+            return new AssignmentResult(slotsAssigned, understaffed, gameCrews, workloadByName);
+        }
+    }
+
+    public static final class AssignmentResult {
+        private final int slotsAssigned;
+        private final int understaffedGames;
+        private final List<GameCrew> crews;
+        private final Map<String, Integer> workload;
+        private long durationMs;
+
+        public AssignmentResult(int slotsAssigned, int understaffedGames, List<GameCrew> crews, Map<String, Integer> workload) {
+            this.slotsAssigned = slotsAssigned;
+            this.understaffedGames = understaffedGames;
+            this.crews = crews;
+            this.workload = workload;
+        }
+
+        public int getSlotsAssigned() {
+            return slotsAssigned;
+        }
+
+        public int getUnderstaffedGames() {
+            return understaffedGames;
+        }
+
+        public List<GameCrew> getCrews() {
+            return crews;
+        }
+
+        public Map<String, Integer> getWorkload() {
+            return workload;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+    }
+
+    public static final class GameCrew {
+        private final Long gameId;
+        private final LocalDateTime startsAt;
+        private final String homeTeam;
+        private final String awayTeam;
+        private final List<Long> refereeIds;
+        private final List<String> referees;
+        private final boolean understaffed;
+
+        public GameCrew(Long gameId, LocalDateTime startsAt, String homeTeam, String awayTeam,
+                        List<Long> refereeIds, List<String> referees, boolean understaffed) {
+            this.gameId = gameId;
+            this.startsAt = startsAt;
+            this.homeTeam = homeTeam;
+            this.awayTeam = awayTeam;
+            this.refereeIds = refereeIds;
+            this.referees = referees;
+            this.understaffed = understaffed;
+        }
+
+        public Long getGameId() {
+            return gameId;
+        }
+
+        public LocalDateTime getStartsAt() {
+            return startsAt;
+        }
+
+        public String getHomeTeam() {
+            return homeTeam;
+        }
+
+        public String getAwayTeam() {
+            return awayTeam;
+        }
+
+        public List<Long> getRefereeIds() {
+            return refereeIds;
+        }
+
+        public List<String> getReferees() {
+            return referees;
+        }
+
+        public boolean isUnderstaffed() {
+            return understaffed;
+        }
+    }
+}
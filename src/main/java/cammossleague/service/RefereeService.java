@@ -0,0 +1,122 @@
+package cammossleague.service;
+
+import cammossleague.dto.RefereeDTO;
+import cammossleague.dto.UnavailabilityDTO;
+import cammossleague.model.Referee;
+import cammossleague.model.RefereeUnavailability;
+import cammossleague.model.User;
+import cammossleague.repository.RefereeRepository;
+import cammossleague.repository.RefereeUnavailabilityRepository;
+import cammossleague.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RefereeService {
+    
+    private final RefereeRepository refereeRepository;
+    private final RefereeUnavailabilityRepository unavailabilityRepository;
+    private final UserRepository userRepository;
+    
+    public List<RefereeDTO> getActiveReferees() {
+        return refereeRepository.findByIsActiveTrueOrderByNameAsc().stream()
+                .map(RefereeDTO::fromEntity)
+                .toList();
+    }
+    
+    @Transactional
+    public RefereeDTO createReferee(RefereeDTO dto, Long userId) {
+        String normalized = uniqueNormalizedName(dto.getName(), null);
+        
+        Referee referee = Referee.builder()
+                .name(dto.getName().trim())
+                .normalizedName(normalized)
+                .user(userId != null ? findUser(userId) : null)
+                .build();
+        if (dto.getMaxGamesPerDay() != null) {
+            referee.setMaxGamesPerDay(dto.getMaxGamesPerDay());
+        }
+        if (dto.getIsActive() != null) {
+            referee.setIsActive(dto.getIsActive());
+        }
+        return RefereeDTO.fromEntity(refereeRepository.save(referee));
+    }
+    
+    @Transactional
+    public RefereeDTO updateReferee(Long id, RefereeDTO updates, Long userId) {
+        Referee referee = refereeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Referee not found with id: " + id));
+        
+        if (updates.getName() != null) {
+            referee.setNormalizedName(uniqueNormalizedName(updates.getName(), id));
+            referee.setName(updates.getName().trim());
+        }
+        if (updates.getMaxGamesPerDay() != null) {
+            referee.setMaxGamesPerDay(updates.getMaxGamesPerDay());
+        }
+        if (updates.getIsActive() != null) {
+            referee.setIsActive(updates.getIsActive());
+        }
+        if (userId != null) {
+            referee.setUser(findUser(userId));
+        }
+        return RefereeDTO.fromEntity(refereeRepository.save(referee));
+    }
+    
+    public List<UnavailabilityDTO> getUnavailability(Long refereeId) {
+        return unavailabilityRepository.findByRefereeIdOrderByUnavailableDateAsc(refereeId).stream()
+                .map(UnavailabilityDTO::fromEntity)
+                .toList();
+    }
+    
+    @Transactional
+    public UnavailabilityDTO addUnavailability(Long refereeId, UnavailabilityDTO dto) {
+        Referee referee = refereeRepository.findById(refereeId)
+                .orElseThrow(() -> new RuntimeException("Referee not found with id: " + refereeId));
+        if (dto.getUnavailableDate() == null) {
+            throw new RuntimeException("Unavailable date is required");
+        }
+        if (dto.getStartTime() != null && dto.getEndTime() != null
+                && !dto.getStartTime().isBefore(dto.getEndTime())) {
+            throw new RuntimeException("Start time must be before end time");
+        }
+        
+        RefereeUnavailability window = RefereeUnavailability.builder()
+                .referee(referee)
+                .unavailableDate(dto.getUnavailableDate())
+                .startTime(dto.getStartTime())
+                .endTime(dto.getEndTime())
+                .reason(dto.getReason())
+                .build();
+        return UnavailabilityDTO.fromEntity(unavailabilityRepository.save(window));
+    }
+    
+    @Transactional
+    public void deleteUnavailability(Long windowId) {
+        unavailabilityRepository.deleteById(windowId);
+    }
+    
+    // Names are unique once punctuation and case are ignored, as the schedule import matches them
+    private String uniqueNormalizedName(String name, Long refereeId) {
+        String normalized = Referee.normalizeName(name);
+        if (normalized.isEmpty()) {
+            throw new RuntimeException("Referee name is required");
+        }
+        refereeRepository.findByNormalizedName(normalized)
+                .filter(existing -> !existing.getId().equals(refereeId))
+                .ifPresent(existing -> {
+                    throw new RuntimeException("Referee already exists: " + existing.getName());
+                });
+        return normalized;
+    }
+    
+    private User findUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    }
+}
@@ -0,0 +1,207 @@
+package cammossleague.service;
+
+import cammossleague.model.RefreshToken;
+import cammossleague.model.User;
+import cammossleague.repository.RefreshTokenRepository;
+import cammossleague.security.TokenRevocationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates the refresh tokens that renew short-lived access tokens.
+ *
+ * Each login starts a token family. A refresh revokes the presented token and issues
+ * its successor in the same family, so a stolen token works at most until the real
+ * client refreshes. When an already-rotated token comes back, the family is revoked
+ * and the user's live access tokens are put on the {@link TokenRevocationList}.
+ *
+ * The exception is a token rotated within the last
+ * {@code app.jwt.refresh-reuse-grace-seconds} while its family is still live: that is
+ * another tab of the same browser that hit a 401 at the same moment and read the
+ * shared token before the first tab stored its successor. It gets a sibling token in
+ * the same family instead of signing the user out everywhere.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Value("${app.jwt.refresh-expiration-days:30}")
+    private int refreshExpirationDays;
+
+    @Value("${app.jwt.refresh-cleanup.batch-size:500}")
+    private int cleanupBatchSize;
+
+    @Value("${app.jwt.refresh-reuse-grace-seconds:10}")
+    private long reuseGraceSeconds;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * @return the user and their new refresh token, or empty if the presented token is
+     *         unknown, expired or revoked
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String token) {
+        Optional<RefreshToken> stored = findToken(token);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = stored.get();
+        User user = current.getUser();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.isRevoked() && isConcurrentRefresh(current, now) && Boolean.TRUE.equals(user.getIsActive())) {
+            logger.debug("Refresh token for user {} was rotated {}ms ago; issuing a sibling", user.getId(),
+                    Duration.between(current.getRevokedAt(), now).toMillis());
+            return Optional.of(new Rotation(user, create(user, current.getFamilyId())));
+        }
+        if (current.isRevoked()) {
+            logger.warn("Refresh token reused for user {}; revoking its family", user.getId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            revocationList.revokeUser(user.getId());
+            return Optional.empty();
+        }
+        if (current.isExpired() || !Boolean.TRUE.equals(user.getIsActive())) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            return Optional.empty();
+        }
+
+        current.setRevokedAt(now);
+        refreshTokenRepository.save(current);
+        return Optional.of(new Rotation(user, create(user, current.getFamilyId())));
+    }
+
+    /**
+     * Ends the session the token belongs to, e.g. on logout.
+     */
+    @Transactional
+    public void revoke(String token) {
+        findToken(token).ifPresent(stored ->
+                refreshTokenRepository.revokeFamily(stored.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Ends every session the user has; access tokens already issued run out on their own.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+        logger.info("Revoked {} refresh tokens for user {}", revoked, userId);
+    }
+
+    /**
+     * Ends every session and also rejects the user's access tokens still in flight,
+     * e.g. after a password reset.
+     */
+    @Transactional
+    public void endAllSessions(Long userId) {
+        revokeAllForUser(userId);
+        revocationList.revokeUser(userId);
+    }
+
+    /**
+     * Deletes expired tokens in batches of {@code app.jwt.refresh-cleanup.batch-size},
+     * each in its own transaction, until none are left.
+     */
+    @Scheduled(cron = "${app.jwt.refresh-cleanup.cron:0 0 * * * *}")
+    public void cleanupExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpired(now, cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+
+        if (total > 0) {
+            logger.info("Cleaned up {} expired refresh tokens", total);
+        }
+    }
+
+    private boolean isConcurrentRefresh(RefreshToken token, LocalDateTime now) {
+        return !token.getRevokedAt().isBefore(now.minusSeconds(reuseGraceSeconds))
+                && refreshTokenRepository.hasLiveToken(token.getFamilyId(), now);
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hashToken(token))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plusDays(refreshExpirationDays))
+                .build());
+        return token;
+    }
+
+    private Optional<RefreshToken> findToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String hash = hashToken(token);
+        return refreshTokenRepository.findByTokenHash(hash)
+                .filter(stored -> MessageDigest.isEqual(
+                        stored.getTokenHash().getBytes(StandardCharsets.US_ASCII),
+                        hash.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static final class Rotation {
+        private final User user;
+        private final String refreshToken;
+
+        private Rotation(User user, String refreshToken) {
+            this.user = user;
+            this.refreshToken = refreshToken;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
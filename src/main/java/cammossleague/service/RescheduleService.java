@@ -0,0 +1,322 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameDTO;
+import cammossleague.dto.GameSlotDTO;
+import cammossleague.dto.ReschedulePlanDTO;
+import cammossleague.dto.RescheduleRequestDTO;
+import cammossleague.event.GameMovedEvent;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.Season;
+import cammossleague.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Finds new slots for displaced games (rain-outs, a lost gym) and applies the result
+ * in one transaction.
+ *
+ * Planning removes the displaced games from a working copy of the season's slot index
+ * and enumerates every start in the search window on every usable court. It then
+ * repeatedly places the game with the fewest feasible candidates into its cheapest
+ * one, where cost favours staying close to the original date, time and court. A
+ * candidate is feasible when the court and both teams are free and neither team has
+ * another game within {@code minDaysBetweenGames}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RescheduleService {
+    
+    private static final LocalTime DEFAULT_DAY_START = LocalTime.of(18, 0);
+    private static final LocalTime DEFAULT_DAY_END = LocalTime.of(22, 0);
+    
+    private final GameRepository gameRepository;
+    private final ScheduleConflictService scheduleConflictService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.schedule.min-days-between-games:1}")
+    private int defaultMinDaysBetweenGames;
+    
+    public ReschedulePlanDTO plan(RescheduleRequestDTO request) {
+        long started = System.currentTimeMillis();
+        List<Game> games = loadDisplacedGames(request.getGameIds());
+        Season season = games.get(0).getSeason();
+        
+        ScheduleConflictService.SlotIndex slots = scheduleConflictService.newWorkingIndex(season.getId());
+        games.forEach(game -> slots.remove(game.getId()));
+        
+        LocalDate from = request.getFrom() != null ? request.getFrom() : LocalDate.now().plusDays(1);
+        LocalDate to = request.getTo();
+        if (to == null) {
+            to = season.getEndDate() != null && !season.getEndDate().isBefore(from)
+                    ? season.getEndDate()
+                    : from.plusWeeks(4);
+        }
+        LocalTime dayStart = request.getDayStart() != null ? request.getDayStart() : DEFAULT_DAY_START;
+        LocalTime dayEnd = request.getDayEnd() != null ? request.getDayEnd() : DEFAULT_DAY_END;
+        int minDays = request.getMinDaysBetweenGames() != null
+                ? request.getMinDaysBetweenGames()
+                : defaultMinDaysBetweenGames;
+        
+        List<String[]> courts = usableCourts(slots, request);
+        if (courts.isEmpty()) {
+            throw new RuntimeException("No courts available to reschedule into");
+        }
+        List<LocalDateTime> starts = candidateStarts(from, to, dayStart, dayEnd);
+        
+        List<ReschedulePlanDTO.Move> moves = new ArrayList<>();
+        List<Long> unplaced = new ArrayList<>();
+        long evaluated = 0;
+        
+        List<Game> remaining = new ArrayList<>(games);
+        remaining.sort(Comparator.comparing(Game::getGameDateTime));
+        while (!remaining.isEmpty()) {
+            // Most constrained first: the game with the fewest feasible slots right now
+            Game next = null;
+            Candidate nextBest = null;
+            int nextOptions = Integer.MAX_VALUE;
+            
+            for (Game game : remaining) {
+                List<Long> teamIds = teamIds(game);
+                int options = 0;
+                Candidate best = null;
+                for (LocalDateTime start : starts) {
+                    if (!restOk(slots, game, start.toLocalDate(), minDays)) {
+                        evaluated += courts.size();
+                        continue;
+                    }
+                    for (String[] court : courts) {
+                        evaluated++;
+                        if (!slots.isFree(court[0], court[1], start, teamIds, null)) {
+                            continue;
+                        }
+                        options++;
+                        double cost = cost(game, start, court);
+                        if (best == null || cost < best.cost) {
+                            best = new Candidate(start, court, cost);
+                        }
+                    }
+                }
+                if (options < nextOptions) {
+                    next = game;
+                    nextBest = best;
+                    nextOptions = options;
+                }
+            }
+            
+            remaining.remove(next);
+            if (nextBest == null) {
+                unplaced.add(next.getId());
+                continue;
+            }
+            
+            slots.add(new GameSlotDTO(next.getId(), nextBest.start.toLocalDate(), nextBest.start.toLocalTime(),
+                    nextBest.court[0], nextBest.court[1], next.getHomeTeam().getId(), next.getAwayTeam().getId()));
+            moves.add(ReschedulePlanDTO.Move.builder()
+                    .gameId(next.getId())
+                    .matchup(next.getDisplayName())
+                    .originalDate(next.getGameDate())
+                    .originalTime(next.getGameTime())
+                    .originalLocation(next.getLocationDisplay())
+                    .gameDate(nextBest.start.toLocalDate())
+                    .gameTime(nextBest.start.toLocalTime())
+                    .location(nextBest.court[0])
+                    .courtNumber(nextBest.court[1])
+                    .daysMoved(ChronoUnit.DAYS.between(next.getGameDate(), nextBest.start.toLocalDate()))
+                    .build());
+        }
+        
+        moves.sort(Comparator.comparing(ReschedulePlanDTO.Move::getGameDate)
+                .thenComparing(ReschedulePlanDTO.Move::getGameTime));
+        return ReschedulePlanDTO.builder()
+                .moves(moves)
+                .unplacedGameIds(unplaced)
+                .minDaysBetweenGames(minDays)
+                .candidatesEvaluated(evaluated)
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+    }
+    
+    /**
+     * Applies every move or none. Each move is re-checked against the committed
+     * schedule under the season's schedule lock: the court, both teams, and the rest
+     * days the plan was built with. A plan that went stale since it was proposed is
+     * rejected.
+     */
+    @Transactional
+    public List<GameDTO> apply(ReschedulePlanDTO plan) {
+        Set<Long> seen = new HashSet<>();
+        for (ReschedulePlanDTO.Move move : plan.getMoves()) {
+            if (!seen.add(move.getGameId())) {
+                throw new RuntimeException("Game " + move.getGameId() + " appears more than once in the plan");
+            }
+            // An empty court would skip the court check entirely
+            if (move.getLocation() == null || move.getLocation().isBlank()) {
+                throw new RuntimeException("Game " + move.getGameId() + " has no new location");
+            }
+        }
+        int minDays = plan.getMinDaysBetweenGames() != null
+                ? plan.getMinDaysBetweenGames()
+                : defaultMinDaysBetweenGames;
+        
+        List<Game> games = new ArrayList<>();
+        for (ReschedulePlanDTO.Move move : plan.getMoves()) {
+            Game game = gameRepository.findByIdForUpdate(move.getGameId())
+                    .orElseThrow(() -> new RuntimeException("Game not found with id: " + move.getGameId()));
+            if (Boolean.TRUE.equals(game.getIsCompleted())) {
+                throw new RuntimeException("Cannot reschedule completed game with id: " + game.getId());
+            }
+            games.add(game);
+        }
+        Set<Long> seasonIds = games.stream().map(game -> game.getSeason().getId()).collect(Collectors.toSet());
+        if (seasonIds.size() != 1) {
+            throw new RuntimeException("All rescheduled games must belong to the same season");
+        }
+        
+        ScheduleConflictService.SlotIndex slots = scheduleConflictService.newLockedWorkingIndex(seasonIds.iterator().next());
+        games.forEach(game -> slots.remove(game.getId()));
+        
+        List<GameMovedEvent> moved = new ArrayList<>();
+        for (int i = 0; i < games.size(); i++) {
+            Game game = games.get(i);
+            ReschedulePlanDTO.Move move = plan.getMoves().get(i);
+            LocalDateTime start = LocalDateTime.of(move.getGameDate(), move.getGameTime());
+            if (!restOk(slots, game, move.getGameDate(), minDays)) {
+                throw new RuntimeException("Game " + game.getId() + " can no longer move to " + start
+                        + ": a team already plays within " + minDays + " day(s)");
+            }
+            if (!slots.isFree(move.getLocation(), move.getCourtNumber(), start, teamIds(game), null)) {
+                throw new RuntimeException("Game " + game.getId() + " can no longer move to " + start
+                        + ": the court or a team is already booked");
+            }
+            moved.add(new GameMovedEvent(game.getId(), game.getSeason().getId(), game.getGameDate(),
+                    game.getGameTime(), game.getLocation(), game.getCourtNumber()));
+            game.setGameDate(move.getGameDate());
+            game.setGameTime(move.getGameTime());
+            game.setLocation(move.getLocation());
+            game.setCourtNumber(move.getCourtNumber());
+            slots.add(new GameSlotDTO(game.getId(), move.getGameDate(), move.getGameTime(), move.getLocation(),
+                    move.getCourtNumber(), game.getHomeTeam().getId(), game.getAwayTeam().getId()));
+        }
+        
+        List<Game> saved = gameRepository.saveAll(games);
+        saved.forEach(game -> eventPublisher.publishEvent(new GameUpdatedEvent(game.getId(), game.getSeason().getId())));
+        moved.forEach(eventPublisher::publishEvent);
+        return saved.stream().map(GameDTO::fromEntity).collect(Collectors.toList());
+    }
+    
+    private List<Game> loadDisplacedGames(List<Long> gameIds) {
+        List<Game> games = new ArrayList<>();
+        for (Long gameId : new HashSet<>(gameIds)) {
+            Game game = gameRepository.findById(gameId)
+                    .orElseThrow(() -> new RuntimeException("Game not found with id: " + gameId));
+            if (Boolean.TRUE.equals(game.getIsCompleted())) {
+                throw new RuntimeException("Cannot reschedule completed game with id: " + gameId);
+            }
+            if (!games.isEmpty() && !games.get(0).getSeason().getId().equals(game.getSeason().getId())) {
+                throw new RuntimeException("All rescheduled games must belong to the same season");
+            }
+            games.add(game);
+        }
+        return games;
+    }
+    
+    private static List<String[]> usableCourts(ScheduleConflictService.SlotIndex slots, RescheduleRequestDTO request) {
+        List<String[]> courts = new ArrayList<>();
+        if (request.getLocations() != null && !request.getLocations().isEmpty()) {
+            for (String location : request.getLocations()) {
+                boolean known = false;
+                for (String[] court : slots.courts()) {
+                    if (court[0].equalsIgnoreCase(location.trim())) {
+                        courts.add(court);
+                        known = true;
+                    }
+                }
+                if (!known) {
+                    courts.add(new String[] { location.trim(), null });
+                }
+            }
+        } else {
+            courts.addAll(slots.courts());
+        }
+        
+        if (request.getExcludeLocation() != null) {
+            courts.removeIf(court -> court[0].equalsIgnoreCase(request.getExcludeLocation().trim())
+                    && (request.getExcludeCourtNumber() == null
+                        || request.getExcludeCourtNumber().equalsIgnoreCase(court[1])));
+        }
+        return courts;
+    }
+    
+    private List<LocalDateTime> candidateStarts(LocalDate from, LocalDate to, LocalTime dayStart, LocalTime dayEnd) {
+        int gameMinutes = scheduleConflictService.getGameMinutes();
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (LocalTime time = dayStart;
+                 !time.plusMinutes(gameMinutes).isAfter(dayEnd) && !time.isBefore(dayStart);
+                 time = time.plusMinutes(gameMinutes)) {
+                starts.add(LocalDateTime.of(date, time));
+            }
+        }
+        return starts;
+    }
+    
+    private static boolean restOk(ScheduleConflictService.SlotIndex slots, Game game, LocalDate date, int minDays) {
+        if (minDays <= 0) {
+            return true;
+        }
+        LocalDateTime windowStart = date.minusDays(minDays - 1L).atStartOfDay();
+        LocalDateTime windowEnd = date.plusDays(minDays).atStartOfDay();
+        for (Long teamId : teamIds(game)) {
+            NavigableMap<LocalDateTime, List<Long>> bookings = slots.teamBookings(teamId);
+            if (!bookings.subMap(windowStart, true, windowEnd, false).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static double cost(Game game, LocalDateTime start, String[] court) {
+        double cost = Math.abs(ChronoUnit.DAYS.between(game.getGameDate(), start.toLocalDate())) * 100.0;
+        cost += Math.abs(Duration.between(game.getGameTime(), start.toLocalTime()).toMinutes()) / 6.0;
+        if (game.getLocation() == null || !game.getLocation().equalsIgnoreCase(court[0])) {
+            cost += 5;
+        } else if (game.getCourtNumber() == null ? court[1] != null : !game.getCourtNumber().equalsIgnoreCase(court[1])) {
+            cost += 1;
+        }
+        return cost;
+    }
+    
+    private static List<Long> teamIds(Game game) {
+        return List.of(game.getHomeTeam().getId(), game.getAwayTeam().getId());
+    }
+    
+    private static final class Candidate {
+        private final LocalDateTime start;
+        private final String[] court;
+        private final double cost;
+        
+        private Candidate(LocalDateTime start, String[] court, double cost) {
+            this.start = start;
+            this.court = court;
+            this.cost = cost;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameSlotDTO;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.SeasonRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prevents double-booking courts and teams.
+ *
+ * Every game in a season is indexed by start time twice: once under its court
+ * (location plus court number) and once under each team. Since every game lasts
+ * {@code app.schedule.game-minutes}, a new game conflicts exactly when some booking
+ * on the same court or team starts less than one game length either side of it,
+ * which is a single range lookup in a sorted map.
+ *
+ * Writes are checked under the season's schedule lock (a row lock on the season)
+ * against bookings read fresh from the database, so two concurrent writers cannot
+ * both pass the check, and a check never sees its own uncommitted game. Schedule
+ * generators take the same lock and their own working copy, adding games to it as
+ * they place them.
+ *
+ * Free-slot lookups read a cached index of the committed schedule. It is loaded in
+ * its own read-only transaction, so it never picks up a caller's pending writes, and
+ * dropped whenever a game in the season changes.
+ */
+@Service
+public class ScheduleConflictService {
+
+    private final GameRepository gameRepository;
+    private final SeasonRepository seasonRepository;
+    private final TransactionTemplate committedRead;
+    private final Map<Long, SlotIndex> indexBySeason = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Value("${app.schedule.game-minutes:60}")
+    private int gameMinutes;
+
+    public ScheduleConflictService(GameRepository gameRepository,
+                                   SeasonRepository seasonRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.seasonRepository = seasonRepository;
+        this.committedRead = new TransactionTemplate(transactionManager);
+        this.committedRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.committedRead.setReadOnly(true);
+    }
+
+    /**
+     * Throws if the game's court or either team is already booked at its start time.
+     * The game itself is ignored, so updates can be validated in place. Takes the
+     * season's schedule lock for the rest of the caller's transaction, so call it
+     * before changing a managed game.
+     */
+    public void validate(Game game) {
+        if (game.getGameDate() == null || game.getGameTime() == null) {
+            return;
+        }
+        Long seasonId = game.getSeason().getId();
+        lockSchedule(seasonId);
+
+        // Only games a day either side can overlap, including ones that run past midnight
+        SlotIndex nearby = new SlotIndex(gameMinutes);
+        for (GameSlotDTO slot : gameRepository.findSlotsBySeasonIdAndGameDateBetween(
+                seasonId, game.getGameDate().minusDays(1), game.getGameDate().plusDays(1))) {
+            nearby.add(slot);
+        }
+        validate(game, nearby);
+    }
+
+    /**
+     * Checks the game against a working index instead of the committed one, for
+     * callers that place several games before anything is saved.
+     */
+    public void validate(Game game, SlotIndex index) {
+        if (game.getGameDate() == null || game.getGameTime() == null) {
+            return;
+        }
+        LocalDateTime start = game.getGameDateTime();
+
+        Long courtConflict = index.courtConflict(game.getLocation(), game.getCourtNumber(), start, game.getId());
+        if (courtConflict != null) {
+            throw new RuntimeException("Court " + game.getLocationDisplay() + " is already booked at "
+                    + start + " by game " + courtConflict);
+        }
+        for (Team team : List.of(game.getHomeTeam(), game.getAwayTeam())) {
+            Long teamConflict = index.teamConflict(team.getId(), start, game.getId());
+            if (teamConflict != null) {
+                throw new RuntimeException(team.getName() + " already has a game at " + start
+                        + " (game " + teamConflict + ")");
+            }
+        }
+    }
+
+    /**
+     * Lists open starts between {@code dayStart} and {@code dayEnd} on each date in the
+     * range, on the given court or, when no location is given, on every court the
+     * season already uses. When teams are given, they must be free too.
+     */
+    public List<FreeSlot> findFreeSlots(Long seasonId, LocalDate from, LocalDate to, String location,
+                                        String courtNumber, Collection<Long> teamIds,
+                                        LocalTime dayStart, LocalTime dayEnd, int limit) {
+        SlotIndex index = getIndex(seasonId);
+        List<String[]> courts = location != null
+                ? List.<String[]>of(new String[] { location, courtNumber })
+                : index.courts();
+
+        List<FreeSlot> slots = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (LocalTime time = dayStart;
+                 !time.plusMinutes(gameMinutes).isAfter(dayEnd) && !time.isBefore(dayStart);
+                 time = time.plusMinutes(gameMinutes)) {
+                LocalDateTime start = LocalDateTime.of(date, time);
+                for (String[] court : courts) {
+                    if (index.isFree(court[0], court[1], start, teamIds, null)) {
+                        slots.add(new FreeSlot(start, court[0], court[1]));
+                        if (slots.size() >= limit) {
+                            return slots;
+                        }
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * The cached index of the season's committed games. Not for checking writes; use
+     * {@link #validate(Game)} or {@link #newLockedWorkingIndex(Long)}.
+     */
+    public SlotIndex getIndex(Long seasonId) {
+        SlotIndex cached = indexBySeason.get(seasonId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        SlotIndex loaded = committedRead.execute(status -> loadIndex(seasonId));
+        indexBySeason.put(seasonId, loaded);
+        // A game committed while loading may have been missed; don't keep the result
+        if (invalidations.get() != generation) {
+            indexBySeason.remove(seasonId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * A fresh, uncached index of the season for callers that add games as they plan.
+     */
+    public SlotIndex newWorkingIndex(Long seasonId) {
+        return loadIndex(seasonId);
+    }
+
+    /**
+     * Takes the season's schedule lock, then loads a working index, for callers that
+     * save the games they place. The lock is held until the caller's transaction ends.
+     */
+    public SlotIndex newLockedWorkingIndex(Long seasonId) {
+        lockSchedule(seasonId);
+        return loadIndex(seasonId);
+    }
+
+    public int getGameMinutes() {
+        return gameMinutes;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdated(GameUpdatedEvent event) {
+        invalidations.incrementAndGet();
+        if (event.getSeasonId() == null) {
+            indexBySeason.clear();
+        } else {
+            indexBySeason.remove(event.getSeasonId());
+        }
+    }
+
+    // Writers in other transactions wait here until this one commits or rolls back
+    private void lockSchedule(Long seasonId) {
+        seasonRepository.findByIdForUpdate(seasonId);
+    }
+
+    private SlotIndex loadIndex(Long seasonId) {
+        SlotIndex index = new SlotIndex(gameMinutes);
+        for (GameSlotDTO slot : gameRepository.findSlotsBySeasonId(seasonId)) {
+            index.add(slot);
+        }
+        return index;
+    }
+
+    /**
+     * Court and team bookings for one season, keyed by start time. Not thread-safe;
+     * the cached copy is only ever read.
+     */
+    public static final class SlotIndex {
+        private final int gameMinutes;
+        private final Map<String, NavigableMap<LocalDateTime, List<Long>>> byCourt = new HashMap<>();
+        private final Map<String, String[]> courtNames = new LinkedHashMap<>();
+        private final Map<Long, NavigableMap<LocalDateTime, List<Long>>> byTeam = new HashMap<>();
+        private final Map<Long, GameSlotDTO> slotsByGame = new HashMap<>();
+
+        private SlotIndex(int gameMinutes) {
+            this.gameMinutes = gameMinutes;
+        }
+
+        public void add(GameSlotDTO slot) {
+            if (slot.getGameDate() == null || slot.getGameTime() == null) {
+                return;
+            }
+            LocalDateTime start = LocalDateTime.of(slot.getGameDate(), slot.getGameTime());
+            String court = courtKey(slot.getLocation(), slot.getCourtNumber());
+            if (court != null) {
+                courtNames.putIfAbsent(court, new String[] { slot.getLocation(), slot.getCourtNumber() });
+                byCourt.computeIfAbsent(court, key -> new TreeMap<>())
+                        .computeIfAbsent(start, key -> new ArrayList<>(1)).add(slot.getGameId());
+            }
+            for (Long teamId : new Long[] { slot.getHomeTeamId(), slot.getAwayTeamId() }) {
+                byTeam.computeIfAbsent(teamId, key -> new TreeMap<>())
+                        .computeIfAbsent(start, key -> new ArrayList<>(1)).add(slot.getGameId());
+            }
+            if (slot.getGameId() != null) {
+                slotsByGame.put(slot.getGameId(), slot);
+            }
+        }
+
+        public void remove(Long gameId) {
+            GameSlotDTO slot = slotsByGame.remove(gameId);
+            if (slot == null) {
+                return;
+            }
+            LocalDateTime start = LocalDateTime.of(slot.getGameDate(), slot.getGameTime());
+            String court = courtKey(slot.getLocation(), slot.getCourtNumber());
+            if (court != null) {
+                removeBooking(byCourt.get(court), start, gameId);
+            }
+            removeBooking(byTeam.get(slot.getHomeTeamId()), start, gameId);
+            removeBooking(byTeam.get(slot.getAwayTeamId()), start, gameId);
+        }
+
+        public GameSlotDTO getSlot(Long gameId) {
+            return slotsByGame.get(gameId);
+        }
+
+        public Long courtConflict(String location, String courtNumber, LocalDateTime start, Long ignoreGameId) {
+            String court = courtKey(location, courtNumber);
+            return court == null ? null : overlapping(byCourt.get(court), start, ignoreGameId);
+        }
+
+        public Long teamConflict(Long teamId, LocalDateTime start, Long ignoreGameId) {
+            return overlapping(byTeam.get(teamId), start, ignoreGameId);
+        }
+
+        public boolean isFree(String location, String courtNumber, LocalDateTime start,
+                              Collection<Long> teamIds, Long ignoreGameId) {
+            if (courtConflict(location, courtNumber, start, ignoreGameId) != null) {
+                return false;
+            }
+            if (teamIds != null) {
+                for (Long teamId : teamIds) {
+                    if (teamConflict(teamId, start, ignoreGameId) != null) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Start times of the team's games, for rest-day and back-to-back checks.
+         */
+        public NavigableMap<LocalDateTime, List<Long>> teamBookings(Long teamId) {
+            return byTeam.getOrDefault(teamId, new TreeMap<>());
+        }
+
+        /**
+         * Every court the season uses, as {location, courtNumber} pairs.
+         */
+        public List<String[]> courts() {
+            return new ArrayList<>(courtNames.values());
+        }
+
+        private Long overlapping(NavigableMap<LocalDateTime, List<Long>> bookings, LocalDateTime start, Long ignoreGameId) {
+            if (bookings == null) {
+                return null;
+            }
+            for (List<Long> gameIds : bookings.subMap(start.minusMinutes(gameMinutes), false,
+                    start.plusMinutes(gameMinutes), false).values()) {
+                for (Long gameId : gameIds) {
+                    if (ignoreGameId == null || !ignoreGameId.equals(gameId)) {
+                        // New games being planned have no id yet
+                        return gameId != null ? gameId : -1L;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static void removeBooking(NavigableMap<LocalDateTime, List<Long>> bookings, LocalDateTime start, Long gameId) {
+            if (bookings == null) {
+                return;
+            }
+            List<Long> gameIds = bookings.get(start);
+            if (gameIds != null) {
+                gameIds.remove(gameId);
+                if (gameIds.isEmpty()) {
+                    bookings.remove(start);
+                }
+            }
+        }
+
+        private static String courtKey(String location, String courtNumber) {
+            if (location == null || location.isBlank()) {
+                return null;
+            }
+            return location.trim().toLowerCase() + "|" + (courtNumber != null ? courtNumber.trim().toLowerCase() : "");
+        }
+    }
+
+    public static final class FreeSlot {
+        private final LocalDateTime startsAt;
+        private final String location;
+        private final String courtNumber;
+
+        public FreeSlot(LocalDateTime startsAt, String location, String courtNumber) {
+            this.startsAt = startsAt;
+            this.location = location;
+            this.courtNumber = courtNumber;
+        }
+
+        public LocalDateTime getStartsAt() {
+            return startsAt;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public String getCourtNumber() {
+            return courtNumber;
+        }
+    }
+}
@@ -0,0 +1,563 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameSlotDTO;
+import cammossleague.event.GameMovedEvent;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.event.SchedulePostedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.GameReferee;
+import cammossleague.model.Referee;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRefereeRepository;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.RefereeRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Imports week schedules in the {@code schedule.json} layout:
+ *
+ * <pre>
+ * { "Sunday August 10th Schedule": [ { "time": "6:00", "team1": "...", "team2": "...", "ref": ["john"] } ] }
+ * </pre>
+ *
+ * Each section name must contain a month and day; sections without one (such as
+ * "Playoff Matchups") are skipped and reported. Team names are matched on their
+ * normalized form, so "PALakers" and "PA Lakers" resolve to the same team. Times
+ * without AM/PM are read as evening games.
+ *
+ * Games are keyed by date and the unordered team pair, so re-importing a corrected
+ * file only creates the games that are new, moves games whose time, location or
+ * court changed, and rewrites referee crews that changed; everything else is left
+ * untouched. Every new or moved game is checked for court and team conflicts
+ * against the season plus the games placed earlier in the file.
+ */
+@Service
+public class ScheduleImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleImportService.class);
+
+    private static final Pattern SECTION_DATE = Pattern.compile(
+            "(january|february|march|april|may|june|july|august|september|october|november|december)"
+                    + "\\s+(\\d{1,2})(?:st|nd|rd|th)?(?:,?\\s+(\\d{4}))?",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern GAME_TIME = Pattern.compile(
+            "(\\d{1,2})(?::(\\d{2}))?\\s*([ap])?\\.?m?\\.?", Pattern.CASE_INSENSITIVE);
+
+    private final GameRepository gameRepository;
+    private final TeamRepository teamRepository;
+    private final SeasonRepository seasonRepository;
+    private final RefereeRepository refereeRepository;
+    private final GameRefereeRepository gameRefereeRepository;
+    private final ScheduleConflictService scheduleConflictService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Value("${app.schedule-import.batch-size:100}")
+    private int batchSize;
+
+    public ScheduleImportService(GameRepository gameRepository,
+                                 TeamRepository teamRepository,
+                                 SeasonRepository seasonRepository,
+                                 RefereeRepository refereeRepository,
+                                 GameRefereeRepository gameRefereeRepository,
+                                 ScheduleConflictService scheduleConflictService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.teamRepository = teamRepository;
+        this.seasonRepository = seasonRepository;
+        this.refereeRepository = refereeRepository;
+        this.gameRefereeRepository = gameRefereeRepository;
+        this.scheduleConflictService = scheduleConflictService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Imports the stream into the given season in one transaction. The stream is read but not closed.
+     */
+    public ImportReport importSchedule(Long seasonId, InputStream input) {
+        ImportContext imported = transactionTemplate.execute(status -> {
+            Season season = seasonRepository.findById(seasonId)
+                    .orElseThrow(() -> new RuntimeException("Season not found with id: " + seasonId));
+            ImportContext context = new ImportContext(season);
+            try {
+                read(input, context);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read schedule file: " + e.getMessage(), e);
+            }
+            context.flush();
+            return context;
+        });
+        ImportReport report = imported.report;
+
+        if (report.getGamesCreated() > 0 || report.getGamesUpdated() > 0) {
+            eventPublisher.publishEvent(GameUpdatedEvent.forSeason(seasonId));
+        }
+        if (report.getGamesCreated() > 0) {
+            eventPublisher.publishEvent(new SchedulePostedEvent(seasonId, report.getGamesCreated()));
+        }
+        imported.moves.forEach(eventPublisher::publishEvent);
+        logger.info("Schedule import for season {}: {} created, {} updated, {} unchanged, {} errors",
+                seasonId, report.getGamesCreated(), report.getGamesUpdated(), report.getGamesUnchanged(),
+                report.getErrors().size());
+        return report;
+    }
+
+    private void read(InputStream input, ImportContext context) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("Schedule file must be a JSON object of dated sections");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String section = parser.getCurrentName();
+                JsonToken sectionToken = parser.nextToken();
+                LocalDate date = parseSectionDate(section, context.season);
+
+                if (sectionToken != JsonToken.START_ARRAY || date == null) {
+                    parser.skipChildren();
+                    context.report.skippedSections.add(section);
+                    continue;
+                }
+
+                int entry = 0;
+                JsonToken item;
+                while ((item = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    entry++;
+                    if (item != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        context.report.reject(section, entry, "Expected a game object");
+                        continue;
+                    }
+                    context.accept(section, entry, date, readEntry(parser));
+                }
+            }
+        }
+    }
+
+    private ScheduleEntry readEntry(JsonParser parser) throws IOException {
+        ScheduleEntry entry = new ScheduleEntry();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName().toLowerCase();
+            JsonToken value = parser.nextToken();
+
+            if (value == JsonToken.START_ARRAY) {
+                List<String> values = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT || parser.currentToken() == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    } else if (parser.currentToken() != JsonToken.VALUE_NULL) {
+                        values.add(parser.getText());
+                    }
+                }
+                if (field.startsWith("ref")) {
+                    entry.referees.addAll(values);
+                }
+                continue;
+            }
+            if (value == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            String text = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            switch (field) {
+                case "time" -> entry.time = text;
+                case "team1", "home", "hometeam" -> entry.team1 = text;
+                case "team2", "away", "awayteam" -> entry.team2 = text;
+                case "ref", "refs", "referee", "referees" -> {
+                    if (text != null) {
+                        entry.referees.add(text);
+                    }
+                }
+                case "location" -> entry.location = text;
+                case "court", "courtnumber" -> entry.courtNumber = text;
+                default -> { }
+            }
+        }
+        return entry;
+    }
+
+    static LocalDate parseSectionDate(String section, Season season) {
+        Matcher matcher = SECTION_DATE.matcher(section);
+        if (!matcher.find()) {
+            return null;
+        }
+        Month month = Month.valueOf(matcher.group(1).toUpperCase());
+        int day = Integer.parseInt(matcher.group(2));
+        int year;
+        if (matcher.group(3) != null) {
+            year = Integer.parseInt(matcher.group(3));
+        } else if (season.getStartDate() != null) {
+            year = season.getStartDate().getYear();
+        } else {
+            year = season.getYear();
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    static LocalTime parseGameTime(String time) {
+        if (time == null) {
+            throw new IllegalArgumentException("Missing time");
+        }
+        Matcher matcher = GAME_TIME.matcher(time.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid time: " + time);
+        }
+        int hour = Integer.parseInt(matcher.group(1));
+        int minute = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+        String meridiem = matcher.group(3);
+        if (hour > 23 || minute > 59 || (meridiem != null && (hour == 0 || hour > 12))) {
+            throw new IllegalArgumentException("Invalid time: " + time);
+        }
+
+        if (meridiem != null) {
+            boolean pm = meridiem.equalsIgnoreCase("p");
+            hour = hour % 12 + (pm ? 12 : 0);
+        } else if (hour >= 1 && hour <= 11) {
+            // League games are played in the evening; "6:00" means 6 PM
+            hour += 12;
+        }
+        return LocalTime.of(hour, minute);
+    }
+
+    // Teams meet at most once a day, so a corrected tip-off still finds the same game
+    private static String gameKey(LocalDate date, Long teamA, Long teamB) {
+        return date + "|" + Math.min(teamA, teamB) + "|" + Math.max(teamA, teamB);
+    }
+
+    private static GameSlotDTO slotOf(Game game) {
+        return new GameSlotDTO(game.getId(), game.getGameDate(), game.getGameTime(), game.getLocation(),
+                game.getCourtNumber(), game.getHomeTeam().getId(), game.getAwayTeam().getId());
+    }
+
+    private static final class ScheduleEntry {
+        private String time;
+        private String team1;
+        private String team2;
+        private String location;
+        private String courtNumber;
+        private final List<String> referees = new ArrayList<>();
+    }
+
+    private final class ImportContext {
+        private final Season season;
+        private final ImportReport report = new ImportReport();
+        private final Map<String, Team> teamsByName = new HashMap<>();
+        private final Map<String, Game> gamesByKey = new HashMap<>();
+        private final Map<Long, Set<Long>> crewsByGame = new HashMap<>();
+        private final Map<String, Referee> refereesByName = new HashMap<>();
+        private final Map<String, Collection<Referee>> pendingCrews = new LinkedHashMap<>();
+        private final List<GameMovedEvent> moves = new ArrayList<>();
+        private final ScheduleConflictService.SlotIndex slots;
+
+        private ImportContext(Season season) {
+            this.season = season;
+            // Locked and loaded before anything is written, and kept up to date as games are placed
+            this.slots = scheduleConflictService.newLockedWorkingIndex(season.getId());
+
+            for (Team team : teamRepository.findBySeasonId(season.getId())) {
+                teamsByName.putIfAbsent(Referee.normalizeName(team.getName()), team);
+            }
+            for (Game game : gameRepository.findBySeasonId(season.getId())) {
+                gamesByKey.putIfAbsent(gameKey(game.getGameDate(),
+                        game.getHomeTeam().getId(), game.getAwayTeam().getId()), game);
+            }
+            for (GameReferee assignment : gameRefereeRepository.findBySeasonId(season.getId())) {
+                crewsByGame.computeIfAbsent(assignment.getGame().getId(), id -> new HashSet<>())
+                        .add(assignment.getReferee().getId());
+            }
+            for (Referee referee : refereeRepository.findAll()) {
+                refereesByName.put(referee.getNormalizedName(), referee);
+            }
+        }
+
+        private void accept(String section, int entryNumber, LocalDate date, ScheduleEntry entry) {
+            try {
+                Team team1 = resolveTeam(entry.team1);
+                Team team2 = resolveTeam(entry.team2);
+                if (team1.getId().equals(team2.getId())) {
+                    throw new IllegalArgumentException("A team cannot play itself: " + entry.team1);
+                }
+                LocalTime time = parseGameTime(entry.time);
+
+                Map<Long, Referee> crew = new LinkedHashMap<>();
+                for (String name : entry.referees) {
+                    Referee referee = resolveReferee(name);
+                    if (referee != null) {
+                        crew.putIfAbsent(referee.getId(), referee);
+                    }
+                }
+
+                String key = gameKey(date, team1.getId(), team2.getId());
+                Game existing = gamesByKey.get(key);
+                if (existing == null) {
+                    Game game = Game.builder()
+                            .season(season)
+                            .homeTeam(team1)
+                            .awayTeam(team2)
+                            .gameDate(date)
+                            .gameTime(time)
+                            .location(entry.location)
+                            .courtNumber(entry.courtNumber)
+                            .gameType(Game.GameType.REGULAR)
+                            .weekNumber(weekNumber(date))
+                            .isCompleted(false)
+                            .build();
+                    checkConflicts(game);
+                    slots.add(slotOf(game));
+                    gamesByKey.put(key, game);
+                    pendingCrews.put(key, crew.values());
+                    report.gamesCreated++;
+                    if (pendingCrews.size() >= batchSize) {
+                        flush();
+                    }
+                } else if (pendingCrews.containsKey(key)) {
+                    if (!time.equals(existing.getGameTime())) {
+                        throw new IllegalArgumentException("Game is listed twice with different times");
+                    }
+                    // Listed twice in the same file; the later crew wins
+                    pendingCrews.put(key, crew.values());
+                    report.gamesUnchanged++;
+                } else {
+                    boolean moved = reschedule(existing, time, entry.location, entry.courtNumber);
+                    if (replaceCrew(existing, crew.values()) || moved) {
+                        report.gamesUpdated++;
+                    } else {
+                        report.gamesUnchanged++;
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                report.reject(section, entryNumber, e.getMessage());
+            }
+        }
+
+        /**
+         * Moves an existing game to the time, and the location or court if the file gives
+         * them, after checking the new slot. Returns whether anything changed.
+         */
+        private boolean reschedule(Game game, LocalTime time, String location, String courtNumber) {
+            String newLocation = location != null ? location : game.getLocation();
+            String newCourtNumber = courtNumber != null ? courtNumber : game.getCourtNumber();
+            if (time.equals(game.getGameTime()) && Objects.equals(newLocation, game.getLocation())
+                    && Objects.equals(newCourtNumber, game.getCourtNumber())) {
+                return false;
+            }
+            if (Boolean.TRUE.equals(game.getIsCompleted())) {
+                throw new IllegalArgumentException("Game " + game.getId() + " is already completed and cannot be moved");
+            }
+
+            // Check a copy so a rejected move leaves the game as it was
+            Game target = Game.builder()
+                    .id(game.getId())
+                    .season(season)
+                    .homeTeam(game.getHomeTeam())
+                    .awayTeam(game.getAwayTeam())
+                    .gameDate(game.getGameDate())
+                    .gameTime(time)
+                    .location(newLocation)
+                    .courtNumber(newCourtNumber)
+                    .build();
+            checkConflicts(target);
+
+            moves.add(new GameMovedEvent(game.getId(), season.getId(), game.getGameDate(), game.getGameTime(),
+                    game.getLocation(), game.getCourtNumber()));
+            slots.remove(game.getId());
+            slots.add(slotOf(target));
+            game.setGameTime(time);
+            game.setLocation(newLocation);
+            game.setCourtNumber(newCourtNumber);
+            gameRepository.save(game);
+            return true;
+        }
+
+        private void checkConflicts(Game game) {
+            try {
+                scheduleConflictService.validate(game, slots);
+            } catch (RuntimeException e) {
+                // Reported against the entry like any other bad line
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+        }
+
+        private Team resolveTeam(String name) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Missing team name");
+            }
+            Team team = teamsByName.get(Referee.normalizeName(name));
+            if (team == null) {
+                throw new IllegalArgumentException("Unknown team: " + name);
+            }
+            return team;
+        }
+
+        private Referee resolveReferee(String name) {
+            String normalized = Referee.normalizeName(name);
+            if (normalized.isEmpty()) {
+                return null;
+            }
+            return refereesByName.computeIfAbsent(normalized, key -> {
+                String trimmed = name.trim();
+                String displayName = trimmed.equals(trimmed.toLowerCase())
+                        ? Character.toUpperCase(trimmed.charAt(0)) + trimmed.substring(1)
+                        : trimmed;
+                report.refereesCreated++;
+                return refereeRepository.save(Referee.builder()
+                        .name(displayName)
+                        .normalizedName(key)
+                        .build());
+            });
+        }
+
+        private boolean replaceCrew(Game game, Collection<Referee> crew) {
+            Set<Long> desired = new HashSet<>();
+            crew.forEach(referee -> desired.add(referee.getId()));
+            Set<Long> current = crewsByGame.getOrDefault(game.getId(), Set.of());
+            if (current.equals(desired)) {
+                return false;
+            }
+
+            gameRefereeRepository.deleteByGameId(game.getId());
+            saveCrew(game, crew);
+            crewsByGame.put(game.getId(), desired);
+            return true;
+        }
+
+        private void flush() {
+            if (pendingCrews.isEmpty()) {
+                return;
+            }
+            List<Game> games = new ArrayList<>(pendingCrews.size());
+            pendingCrews.keySet().forEach(key -> games.add(gamesByKey.get(key)));
+            gameRepository.saveAll(games);
+
+            List<GameReferee> assignments = new ArrayList<>();
+            pendingCrews.forEach((key, crew) -> {
+                Game game = gamesByKey.get(key);
+                Set<Long> ids = new HashSet<>();
+                for (Referee referee : crew) {
+                    assignments.add(GameReferee.builder().game(game).referee(referee).build());
+                    ids.add(referee.getId());
+                }
+                crewsByGame.put(game.getId(), ids);
+            });
+            gameRefereeRepository.saveAll(assignments);
+            pendingCrews.clear();
+        }
+
+        private void saveCrew(Game game, Collection<Referee> crew) {
+            List<GameReferee> assignments = new ArrayList<>();
+            for (Referee referee : crew) {
+                assignments.add(GameReferee.builder().game(game).referee(referee).build());
+            }
+            gameRefereeRepository.saveAll(assignments);
+        }
+
+        private Integer weekNumber(LocalDate date) {
+            if (season.getStartDate() == null || date.isBefore(season.getStartDate())) {
+                return null;
+            }
+            return (int) ChronoUnit.WEEKS.between(season.getStartDate(), date) + 1;
+        }
+    }
+
+    public static class ImportReport {
+        private int gamesCreated;
+        private int gamesUpdated;
+        private int gamesUnchanged;
+        private int refereesCreated;
+        private final List<String> skippedSections = new ArrayList<>();
+        private final List<EntryError> errors = new ArrayList<>();
+
+        private void reject(String section, int entry, String message) {
+            errors.add(new EntryError(section, entry, message));
+        }
+
+        public int getGamesCreated() {
+            return gamesCreated;
+        }
+
+        public int getGamesUpdated() {
+            return gamesUpdated;
+        }
+
+        public int getGamesUnchanged() {
+            return gamesUnchanged;
+        }
+
+        public int getRefereesCreated() {
+            return refereesCreated;
+        }
+
+        public List<String> getSkippedSections() {
+            return skippedSections;
+        }
+
+        public List<EntryError> getErrors() {
+            return errors;
+        }
+    }
+
+    public static class EntryError {
+        private final String section;
+        private final int entry;
+        private final String message;
+
+        public EntryError(String section, int entry, String message) {
+            this.section = section;
+            this.entry = entry;
+            this.message = message;
+        }
+
+        public String getSection() {
+            return section;
+        }
+
+        public int getEntry() {
+            return entry;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -3,8 +3,10 @@ package cammossleague.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import cammossleague.event.SeasonUpdatedEvent;
 import cammossleague.model.Season;
 import cammossleague.repository.SeasonRepository;
 
@@ -14,6 +16,9 @@ public class SeasonService {
     @Autowired 
     private SeasonRepository seasonRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Season> getAllSeasons() {   
         return seasonRepository.findAll();
     }
@@ -23,7 +28,13 @@ public class SeasonService {
     }   
 
     public Season save(Season season) {
-        return seasonRepository.save(season);
+        boolean existing = season.getId() != null;
+        Season saved = seasonRepository.save(season);
+        if (existing) {
+            // Cached careers carry the season's name, year and active flag
+            eventPublisher.publishEvent(new SeasonUpdatedEvent(saved.getId()));
+        }
+        return saved;
     }
     
     public List<Season> getActiveSeasons() {
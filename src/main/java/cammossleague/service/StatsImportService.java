@@ -0,0 +1,405 @@
+package cammossleague.service;
+
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.repository.PlayerGameStatsRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports box score lines from CSV or JSON without loading the file into memory.
+ *
+ * Rows are parsed one at a time, checked against id maps of every game, player and
+ * active roster (loaded once up front), and upserted into {@code player_game_stats}
+ * with JDBC batches. Rows that fail validation are skipped and reported by row number;
+ * the rest of the file still imports. Player season totals are rebuilt once at the end.
+ */
+@Service
+public class StatsImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 500;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO player_game_stats (game_id, player_id, team_id, points, rebounds, assists, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (game_id, player_id) DO UPDATE SET team_id = EXCLUDED.team_id, points = EXCLUDED.points, " +
+            "rebounds = EXCLUDED.rebounds, assists = EXCLUDED.assists, updated_at = CURRENT_TIMESTAMP";
+
+    public enum Format {
+        CSV, JSON
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlayerGameStatsRepository playerGameStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    public StatsImportService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              PlayerGameStatsRepository playerGameStatsRepository,
+                              ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.playerGameStatsRepository = playerGameStatsRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Imports the whole stream in one transaction. The stream is read but not closed.
+     */
+    public ImportReport importStats(InputStream input, Format format) {
+        long started = System.currentTimeMillis();
+
+        ImportReport report = transactionTemplate.execute(status -> {
+            ImportContext context = new ImportContext(loadReferences(), new ImportReport());
+            try {
+                if (format == Format.CSV) {
+                    readCsv(input, context);
+                } else {
+                    readJson(input, context);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read stats file: " + e.getMessage(), e);
+            }
+            context.flush();
+
+            if (context.report.getRowsImported() > 0) {
+                playerGameStatsRepository.rebuildPlayerTotals();
+            }
+            return context.report;
+        });
+
+        report.setDurationMs(System.currentTimeMillis() - started);
+        if (report.getRowsImported() > 0) {
+            eventPublisher.publishEvent(PlayerStatsChangedEvent.forAllSeasons());
+        }
+        logger.info("Imported {} of {} stat rows ({} rejected) in {} ms",
+                report.getRowsImported(), report.getRowsRead(), report.getRowsRejected(), report.getDurationMs());
+        return report;
+    }
+
+    private void readCsv(InputStream input, ImportContext context) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        List<String> header = splitCsvLine(headerLine);
+        int[] columns = new int[Column.values().length];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.size(); i++) {
+            Column column = Column.fromHeader(header.get(i));
+            if (column != null) {
+                columns[column.ordinal()] = i;
+            }
+        }
+        if (columns[Column.GAME_ID.ordinal()] < 0 || columns[Column.PLAYER_ID.ordinal()] < 0) {
+            throw new RuntimeException("CSV header must include game_id and player_id columns");
+        }
+
+        Map<Column, String> values = new HashMap<>();
+        String line;
+        long rowNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(line);
+            values.clear();
+            for (Column column : Column.values()) {
+                int index = columns[column.ordinal()];
+                if (index >= 0 && index < fields.size()) {
+                    values.put(column, fields.get(index));
+                }
+            }
+            context.accept(rowNumber, values);
+        }
+    }
+
+    private void readJson(InputStream input, ImportContext context) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            // Accepts a top-level array of objects or newline-delimited objects
+            Map<Column, String> values = new HashMap<>();
+            long rowNumber = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    continue;
+                }
+                rowNumber++;
+                values.clear();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Column column = Column.fromHeader(parser.getCurrentName());
+                    JsonToken valueToken = parser.nextToken();
+                    if (valueToken == JsonToken.START_OBJECT || valueToken == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    } else if (column != null && valueToken != JsonToken.VALUE_NULL) {
+                        values.put(column, parser.getText());
+                    }
+                }
+                context.accept(rowNumber, values);
+            }
+        }
+    }
+
+    private References loadReferences() {
+        References references = new References();
+        jdbcTemplate.query("SELECT id, season_id, home_team_id, away_team_id FROM games", rs -> {
+            references.games.put(rs.getLong(1), new long[] { rs.getLong(2), rs.getLong(3), rs.getLong(4) });
+        });
+        jdbcTemplate.query("SELECT id, season_id FROM players", rs -> {
+            references.playerSeasons.put(rs.getLong(1), rs.getLong(2));
+        });
+        jdbcTemplate.query("SELECT player_id, team_id FROM player_teams WHERE status = 'ACTIVE'", rs -> {
+            references.playerTeams.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+        });
+        return references;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and doubled quotes inside them.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private enum Column {
+        GAME_ID, PLAYER_ID, TEAM_ID, POINTS, REBOUNDS, ASSISTS;
+
+        static Column fromHeader(String header) {
+            if (header == null) {
+                return null;
+            }
+            return switch (header.toLowerCase().replaceAll("[^a-z]", "")) {
+                case "gameid", "game" -> GAME_ID;
+                case "playerid", "player" -> PLAYER_ID;
+                case "teamid", "team" -> TEAM_ID;
+                case "points", "pts" -> POINTS;
+                case "rebounds", "reb", "rebs" -> REBOUNDS;
+                case "assists", "ast", "asts" -> ASSISTS;
+                default -> null;
+            };
+        }
+    }
+
+    private static final class References {
+        private final Map<Long, long[]> games = new HashMap<>();
+        private final Map<Long, Long> playerSeasons = new HashMap<>();
+        private final Map<Long, List<Long>> playerTeams = new HashMap<>();
+    }
+
+    private final class ImportContext {
+        private final References references;
+        private final ImportReport report;
+        private final List<Object[]> batch = new ArrayList<>();
+
+        private ImportContext(References references, ImportReport report) {
+            this.references = references;
+            this.report = report;
+        }
+
+        private void accept(long rowNumber, Map<Column, String> values) {
+            report.rowsRead++;
+            try {
+                batch.add(validate(values));
+                if (batch.size() >= batchSize) {
+                    flush();
+                }
+            } catch (IllegalArgumentException e) {
+                report.reject(rowNumber, e.getMessage());
+            }
+        }
+
+        private Object[] validate(Map<Column, String> values) {
+            long gameId = requireLong(values, Column.GAME_ID);
+            long playerId = requireLong(values, Column.PLAYER_ID);
+
+            long[] game = references.games.get(gameId);
+            if (game == null) {
+                throw new IllegalArgumentException("Unknown game id " + gameId);
+            }
+            Long playerSeason = references.playerSeasons.get(playerId);
+            if (playerSeason == null) {
+                throw new IllegalArgumentException("Unknown player id " + playerId);
+            }
+            if (playerSeason != game[0]) {
+                throw new IllegalArgumentException("Player " + playerId + " is not registered for game " + gameId + "'s season");
+            }
+
+            long teamId;
+            if (values.get(Column.TEAM_ID) != null && !values.get(Column.TEAM_ID).isBlank()) {
+                teamId = requireLong(values, Column.TEAM_ID);
+                if (teamId != game[1] && teamId != game[2]) {
+                    throw new IllegalArgumentException("Team " + teamId + " did not play in game " + gameId);
+                }
+            } else {
+                // No team column: use whichever side of the game the player is rostered on
+                List<Long> teams = references.playerTeams.getOrDefault(playerId, List.of());
+                if (teams.contains(game[1])) {
+                    teamId = game[1];
+                } else if (teams.contains(game[2])) {
+                    teamId = game[2];
+                } else {
+                    throw new IllegalArgumentException("Player " + playerId + " is not on either roster for game " + gameId);
+                }
+            }
+
+            return new Object[] {
+                    gameId, playerId, teamId,
+                    optionalCount(values, Column.POINTS),
+                    optionalCount(values, Column.REBOUNDS),
+                    optionalCount(values, Column.ASSISTS) };
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+            report.rowsImported += batch.size();
+            batch.clear();
+        }
+
+        private long requireLong(Map<Column, String> values, Column column) {
+            String value = values.get(column);
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("Missing " + column.name().toLowerCase());
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column.name().toLowerCase() + ": " + value);
+            }
+        }
+
+        private int optionalCount(Map<Column, String> values, Column column) {
+            String value = values.get(column);
+            if (value == null || value.isBlank()) {
+                return 0;
+            }
+            try {
+                int count = Integer.parseInt(value.trim());
+                if (count < 0) {
+                    throw new IllegalArgumentException(column.name().toLowerCase() + " cannot be negative");
+                }
+                return count;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column.name().toLowerCase() + ": " + value);
+            }
+        }
+    }
+
+    public static class ImportReport {
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsRejected;
+        private long durationMs;
+        private final List<RowError> errors = new ArrayList<>();
+
+        private void reject(long rowNumber, String message) {
+            rowsRejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(rowNumber, message));
+            }
+        }
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getRowsImported() {
+            return rowsImported;
+        }
+
+        public long getRowsRejected() {
+            return rowsRejected;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public void setDurationMs(long durationMs) {
+            this.durationMs = durationMs;
+        }
+
+        public boolean isErrorsTruncated() {
+            return rowsRejected > errors.size();
+        }
+
+        public List<RowError> getErrors() {
+            return errors;
+        }
+    }
+
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameResultDTO;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.event.TeamCreatedEvent;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.model.TeamMetrics;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamMetricsRepository;
+import cammossleague.repository.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the {@code team_metrics} table: strength of schedule, pythagorean
+ * expectation, margin distribution and home/away splits for every team in a season.
+ *
+ * A refresh loads the season's completed score lines once into parallel arrays and
+ * derives every metric from a few passes over them, then replaces the season's rows.
+ * Refreshes run on the async executor after any game in the season commits a change
+ * or a team joins it, one at a time per season, so score updates never wait on them.
+ */
+@Service
+public class TeamMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamMetricsService.class);
+
+    private static final int CLOSE_GAME_MARGIN = 5;
+    private static final int BLOWOUT_MARGIN = 15;
+
+    private final GameRepository gameRepository;
+    private final TeamRepository teamRepository;
+    private final SeasonRepository seasonRepository;
+    private final TeamMetricsRepository teamMetricsRepository;
+    private final TransactionTemplate refreshTransaction;
+    private final Set<Long> emptySeasons = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Object> seasonLocks = new ConcurrentHashMap<>();
+
+    @Value("${app.metrics.pythagorean-exponent:13.91}")
+    private double pythagoreanExponent;
+
+    public TeamMetricsService(GameRepository gameRepository,
+                              TeamRepository teamRepository,
+                              SeasonRepository seasonRepository,
+                              TeamMetricsRepository teamMetricsRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.teamRepository = teamRepository;
+        this.seasonRepository = seasonRepository;
+        this.teamMetricsRepository = teamMetricsRepository;
+        // Refreshes run from after-commit listeners, so they always need their own transaction
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public List<TeamMetrics> getSeasonMetrics(Long seasonId) {
+        if (emptySeasons.contains(seasonId)) {
+            return List.of();
+        }
+        if (!teamMetricsRepository.existsBySeasonId(seasonId)) {
+            return refreshSeason(seasonId);
+        }
+        return teamMetricsRepository.findBySeasonIdOrderByStrengthOfScheduleDesc(seasonId);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdated(GameUpdatedEvent event) {
+        try {
+            if (event.getSeasonId() != null) {
+                refreshSeason(event.getSeasonId());
+            } else {
+                for (Season season : seasonRepository.findAll()) {
+                    refreshSeason(season.getId());
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to refresh team metrics for {}", event, e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamCreated(TeamCreatedEvent event) {
+        emptySeasons.remove(event.getSeasonId());
+        try {
+            refreshSeason(event.getSeasonId());
+        } catch (Exception e) {
+            logger.error("Failed to refresh team metrics for {}", event, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRosterChanged(RosterChangedEvent event) {
+        // A season with a roster has teams, so it can no longer be assumed empty
+        if (event.getSeasonId() != null) {
+            emptySeasons.remove(event.getSeasonId());
+        }
+    }
+
+    public List<TeamMetrics> refreshSeason(Long seasonId) {
+        // Two refreshes of one season would both delete and re-insert its rows
+        List<TeamMetrics> refreshed;
+        synchronized (seasonLocks.computeIfAbsent(seasonId, id -> new Object())) {
+            refreshed = refreshTransaction.execute(status -> {
+                List<TeamMetrics> metrics = computeSeason(seasonId);
+                teamMetricsRepository.deleteBySeasonId(seasonId);
+                teamMetricsRepository.flush();
+                return teamMetricsRepository.saveAll(metrics);
+            });
+        }
+
+        // A season with no teams has no rows to find next time; remember that rather than
+        // recomputing on every read. Its first scheduled game triggers a refresh anyway.
+        if (refreshed == null || refreshed.isEmpty()) {
+            emptySeasons.add(seasonId);
+            return List.of();
+        }
+        emptySeasons.remove(seasonId);
+        return refreshed;
+    }
+
+    private List<TeamMetrics> computeSeason(Long seasonId) {
+        List<Team> teams = teamRepository.findBySeasonId(seasonId);
+        List<GameResultDTO> results = gameRepository.findCompletedResultsBySeasonId(seasonId);
+
+        Map<Long, Integer> indexByTeam = new HashMap<>();
+        for (Team team : teams) {
+            indexByTeam.put(team.getId(), indexByTeam.size());
+        }
+
+        // Columnar copy of the score lines; games against teams outside the season are skipped
+        int g = 0;
+        int[] homeIdx = new int[results.size()];
+        int[] awayIdx = new int[results.size()];
+        int[] homeScore = new int[results.size()];
+        int[] awayScore = new int[results.size()];
+        for (GameResultDTO result : results) {
+            Integer home = indexByTeam.get(result.getHomeTeamId());
+            Integer away = indexByTeam.get(result.getAwayTeamId());
+            if (home == null || away == null) {
+                continue;
+            }
+            homeIdx[g] = home;
+            awayIdx[g] = away;
+            homeScore[g] = result.getHomeScore();
+            awayScore[g] = result.getAwayScore();
+            g++;
+        }
+
+        int n = teams.size();
+        int[] games = new int[n], wins = new int[n], losses = new int[n], ties = new int[n];
+        int[] pointsFor = new int[n], pointsAgainst = new int[n];
+        int[] closeWins = new int[n], closeLosses = new int[n], blowoutWins = new int[n], blowoutLosses = new int[n];
+        int[] homeWins = new int[n], homeLosses = new int[n], homePf = new int[n], homePa = new int[n];
+        int[] awayWins = new int[n], awayLosses = new int[n], awayPf = new int[n], awayPa = new int[n];
+        long[] marginSquares = new long[n];
+
+        // Pass 1: records, points, margins and splits
+        for (int i = 0; i < g; i++) {
+            int h = homeIdx[i], a = awayIdx[i];
+            int margin = homeScore[i] - awayScore[i];
+
+            games[h]++;
+            games[a]++;
+            pointsFor[h] += homeScore[i];
+            pointsAgainst[h] += awayScore[i];
+            pointsFor[a] += awayScore[i];
+            pointsAgainst[a] += homeScore[i];
+            homePf[h] += homeScore[i];
+            homePa[h] += awayScore[i];
+            awayPf[a] += awayScore[i];
+            awayPa[a] += homeScore[i];
+            marginSquares[h] += (long) margin * margin;
+            marginSquares[a] += (long) margin * margin;
+
+            if (margin == 0) {
+                ties[h]++;
+                ties[a]++;
+                continue;
+            }
+
+            int winner = margin > 0 ? h : a;
+            int loser = margin > 0 ? a : h;
+            int absMargin = Math.abs(margin);
+            wins[winner]++;
+            losses[loser]++;
+            if (margin > 0) {
+                homeWins[h]++;
+                awayLosses[a]++;
+            } else {
+                awayWins[a]++;
+                homeLosses[h]++;
+            }
+            if (absMargin <= CLOSE_GAME_MARGIN) {
+                closeWins[winner]++;
+                closeLosses[loser]++;
+            } else if (absMargin >= BLOWOUT_MARGIN) {
+                blowoutWins[winner]++;
+                blowoutLosses[loser]++;
+            }
+        }
+
+        // Pass 2: opponents' win percentage, leaving out each opponent's game against this team
+        double[] owpSum = new double[n];
+        for (int i = 0; i < g; i++) {
+            int h = homeIdx[i], a = awayIdx[i];
+            int margin = homeScore[i] - awayScore[i];
+            owpSum[h] += winPctExcluding(wins[a], ties[a], games[a], margin < 0 ? 1 : 0, margin == 0 ? 1 : 0);
+            owpSum[a] += winPctExcluding(wins[h], ties[h], games[h], margin > 0 ? 1 : 0, margin == 0 ? 1 : 0);
+        }
+        double[] owp = new double[n];
+        for (int t = 0; t < n; t++) {
+            owp[t] = games[t] == 0 ? 0 : owpSum[t] / games[t];
+        }
+
+        // Pass 3: opponents' opponents' win percentage
+        double[] oowpSum = new double[n];
+        for (int i = 0; i < g; i++) {
+            oowpSum[homeIdx[i]] += owp[awayIdx[i]];
+            oowpSum[awayIdx[i]] += owp[homeIdx[i]];
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TeamMetrics> metrics = new ArrayList<>(n);
+        for (Team team : teams) {
+            int t = indexByTeam.get(team.getId());
+            boolean played = games[t] > 0;
+            double oowp = played ? oowpSum[t] / games[t] : 0;
+            double pythagorean = pythagorean(pointsFor[t], pointsAgainst[t]);
+            double averageMargin = played ? (double) (pointsFor[t] - pointsAgainst[t]) / games[t] : 0;
+            double variance = played ? (double) marginSquares[t] / games[t] - averageMargin * averageMargin : 0;
+
+            metrics.add(TeamMetrics.builder()
+                    .teamId(team.getId())
+                    .seasonId(seasonId)
+                    .gamesPlayed(games[t])
+                    .wins(wins[t])
+                    .losses(losses[t])
+                    .ties(ties[t])
+                    .pointsFor(pointsFor[t])
+                    .pointsAgainst(pointsAgainst[t])
+                    .opponentsWinPct(round(owp[t]))
+                    .opponentsOpponentsWinPct(round(oowp))
+                    // RPI-style weighting: direct opponents count twice as much as their opponents
+                    .strengthOfSchedule(round((2 * owp[t] + oowp) / 3))
+                    .pythagoreanWinPct(round(pythagorean))
+                    .expectedWins(round(pythagorean * games[t]))
+                    .averageMargin(round(averageMargin))
+                    .marginStdDev(round(Math.sqrt(Math.max(variance, 0))))
+                    .closeWins(closeWins[t])
+                    .closeLosses(closeLosses[t])
+                    .blowoutWins(blowoutWins[t])
+                    .blowoutLosses(blowoutLosses[t])
+                    .homeWins(homeWins[t])
+                    .homeLosses(homeLosses[t])
+                    .homePointsFor(homePf[t])
+                    .homePointsAgainst(homePa[t])
+                    .awayWins(awayWins[t])
+                    .awayLosses(awayLosses[t])
+                    .awayPointsFor(awayPf[t])
+                    .awayPointsAgainst(awayPa[t])
+                    .refreshedAt(now)
+                    .build());
+        }
+        return metrics;
+    }
+
+    private double pythagorean(int pointsFor, int pointsAgainst) {
+        if (pointsFor == 0) {
+            return 0;
+        }
+        // PF^k / (PF^k + PA^k), written as a ratio so season totals never overflow
+        return 1.0 / (1.0 + Math.pow((double) pointsAgainst / pointsFor, pythagoreanExponent));
+    }
+
+    private static double winPctExcluding(int wins, int ties, int games, int excludedWins, int excludedTies) {
+        int remaining = games - 1;
+        if (remaining <= 0) {
+            return 0;
+        }
+        return ((wins - excludedWins) + 0.5 * (ties - excludedTies)) / remaining;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000.0) / 10000.0;
+    }
+}
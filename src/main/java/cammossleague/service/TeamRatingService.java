@@ -0,0 +1,304 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameResultDTO;
+import cammossleague.model.Game;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Elo ratings for every team, held in memory and derived purely from completed games.
+ *
+ * Ratings are applied incrementally as games are completed and can be rebuilt from
+ * scratch by streaming every completed game in date order. The rebuild only keeps
+ * per-team state and the ids of the games it rated; a result committed while a rebuild
+ * was streaming is then skipped by {@link #recordResult} instead of being applied twice.
+ *
+ * A team entering a new season inherits its predecessor's rating (regressed toward
+ * the mean) when it has the same captain or the same name as a team seen earlier,
+ * from the first time its rating is looked up rather than only once it has played.
+ */
+@Service
+public class TeamRatingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamRatingService.class);
+    private static final String[] NO_LINEAGE = new String[0];
+
+    private final GameRepository gameRepository;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.ratings.initial:1500}")
+    private double initialRating;
+
+    @Value("${app.ratings.k-factor:32}")
+    private double kFactor;
+
+    @Value("${app.ratings.home-advantage:0}")
+    private double homeAdvantage;
+
+    @Value("${app.ratings.season-carry-over:0.75}")
+    private double seasonCarryOver;
+
+    private final Object updateLock = new Object();
+    private volatile RatingTable table = new RatingTable();
+
+    public TeamRatingService(GameRepository gameRepository,
+                             TeamRepository teamRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.teamRepository = teamRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRatingsOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to build team ratings on startup", e);
+        }
+    }
+
+    public double getRating(Long teamId) {
+        return ratingOf(table, teamId);
+    }
+
+    public Map<Long, Double> getRatings(Collection<Long> teamIds) {
+        Map<Long, Double> ratings = new HashMap<>();
+        for (Long teamId : teamIds) {
+            ratings.put(teamId, getRating(teamId));
+        }
+        return ratings;
+    }
+
+    public List<Map<String, Object>> getPowerRankings(Long seasonId) {
+        List<Team> teams = new ArrayList<>(teamRepository.findBySeasonIdAndIsActiveTrue(seasonId));
+        RatingTable current = table;
+        teams.sort(Comparator.comparingDouble((Team t) -> ratingOf(current, t.getId())).reversed());
+
+        List<Map<String, Object>> rankings = new ArrayList<>();
+        int rank = 1;
+        for (Team team : teams) {
+            TeamRating rating = current.byTeam.get(team.getId());
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("rank", rank++);
+            entry.put("teamId", team.getId());
+            entry.put("name", team.getDisplayName());
+            entry.put("rating", Math.round(ratingOf(current, team.getId()) * 10.0) / 10.0);
+            entry.put("gamesRated", rating != null ? rating.getGamesRated() : 0);
+            entry.put("wins", team.getWins());
+            entry.put("losses", team.getLosses());
+            rankings.add(entry);
+        }
+        return rankings;
+    }
+
+    /**
+     * Applies one newly completed game. When called inside a transaction the update
+     * waits for commit, so a rolled-back score never reaches the ratings table.
+     */
+    public void recordResult(Game game) {
+        if (game.getHomeScore() == null || game.getAwayScore() == null) {
+            return;
+        }
+
+        // Capture everything needed now; the entity may be detached by the time this runs
+        Long gameId = game.getId();
+        long homeId = game.getHomeTeam().getId();
+        long awayId = game.getAwayTeam().getId();
+        int homeScore = game.getHomeScore();
+        int awayScore = game.getAwayScore();
+        String[] homeLineage = lineageKeys(game.getHomeTeam().getName(),
+                game.getHomeTeam().getCaptain() != null ? game.getHomeTeam().getCaptain().getId() : null);
+        String[] awayLineage = lineageKeys(game.getAwayTeam().getName(),
+                game.getAwayTeam().getCaptain() != null ? game.getAwayTeam().getCaptain().getId() : null);
+
+        runAfterCommit(() -> {
+            synchronized (updateLock) {
+                RatingTable current = table;
+                // A rebuild that started streaming after this commit has already rated the game
+                if (gameId != null && !current.ratedGameIds.add(gameId)) {
+                    return;
+                }
+                current.lineageKeysByTeam.putIfAbsent(homeId, homeLineage);
+                current.lineageKeysByTeam.putIfAbsent(awayId, awayLineage);
+                applyResult(current, homeId, awayId, homeScore, awayScore);
+            }
+        });
+    }
+
+    /**
+     * Schedules a full rebuild once the current transaction commits. Used when an
+     * already-rated game is corrected or removed, since Elo updates cannot be undone.
+     */
+    public void rebuildAfterCommit() {
+        runAfterCommit(this::rebuild);
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+
+        synchronized (updateLock) {
+            RatingTable rebuilt = new RatingTable();
+            for (Object[] row : teamRepository.findTeamLineageRows()) {
+                rebuilt.lineageKeysByTeam.put((Long) row[0], lineageKeys((String) row[1], (Long) row[2]));
+            }
+
+            int[] processed = {0};
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<GameResultDTO> results = gameRepository.streamCompletedResults()) {
+                    results.forEach(result -> {
+                        rebuilt.ratedGameIds.add(result.getGameId());
+                        applyResult(rebuilt, result.getHomeTeamId(), result.getAwayTeamId(),
+                                result.getHomeScore(), result.getAwayScore());
+                        processed[0]++;
+                    });
+                }
+            });
+
+            table = rebuilt;
+            logger.info("Rebuilt ratings for {} teams from {} games in {} ms",
+                    rebuilt.byTeam.size(), processed[0], System.currentTimeMillis() - started);
+        }
+    }
+
+    private void applyResult(RatingTable target, long homeId, long awayId, int homeScore, int awayScore) {
+        double home = ratingOrInherited(target, homeId);
+        double away = ratingOrInherited(target, awayId);
+
+        double expectedHome = 1.0 / (1.0 + Math.pow(10.0, (away - home - homeAdvantage) / 400.0));
+        double actualHome = homeScore > awayScore ? 1.0 : homeScore < awayScore ? 0.0 : 0.5;
+
+        // Margin-of-victory multiplier, damped when the favourite wins so blowouts
+        // between mismatched teams don't inflate ratings
+        int margin = Math.abs(homeScore - awayScore);
+        double multiplier = 1.0;
+        if (margin > 0) {
+            double winnerEdge = actualHome == 1.0 ? home + homeAdvantage - away : away - home - homeAdvantage;
+            multiplier = Math.log(margin + 1.0) * (2.2 / (winnerEdge * 0.001 + 2.2));
+        }
+
+        double delta = kFactor * multiplier * (actualHome - expectedHome);
+        updateTeam(target, homeId, home + delta);
+        updateTeam(target, awayId, away - delta);
+    }
+
+    private double ratingOrInherited(RatingTable target, long teamId) {
+        TeamRating existing = target.byTeam.get(teamId);
+        if (existing != null) {
+            return existing.getRating();
+        }
+
+        String[] keys = target.lineageKeysByTeam.get(teamId);
+        if (keys != null) {
+            for (String key : keys) {
+                Double previous = key != null ? target.ratingByLineage.get(key) : null;
+                if (previous != null) {
+                    return initialRating + seasonCarryOver * (previous - initialRating);
+                }
+            }
+        }
+        return initialRating;
+    }
+
+    private void updateTeam(RatingTable target, long teamId, double rating) {
+        TeamRating previous = target.byTeam.get(teamId);
+        int games = previous != null ? previous.getGamesRated() + 1 : 1;
+        target.byTeam.put(teamId, new TeamRating(rating, games));
+
+        String[] keys = target.lineageKeysByTeam.get(teamId);
+        if (keys != null) {
+            for (String key : keys) {
+                if (key != null) {
+                    target.ratingByLineage.put(key, rating);
+                }
+            }
+        }
+    }
+
+    private double ratingOf(RatingTable source, Long teamId) {
+        if (teamId == null) {
+            return initialRating;
+        }
+        // Teams created since the last rebuild still need their lineage to inherit a rating
+        if (!source.byTeam.containsKey(teamId) && !source.lineageKeysByTeam.containsKey(teamId)) {
+            source.lineageKeysByTeam.putIfAbsent(teamId, loadLineageKeys(teamId));
+        }
+        return ratingOrInherited(source, teamId);
+    }
+
+    private String[] loadLineageKeys(Long teamId) {
+        Team team = readOnlyTransaction.execute(status -> teamRepository.findById(teamId).orElse(null));
+        if (team == null) {
+            return NO_LINEAGE;
+        }
+        return lineageKeys(team.getName(), team.getCaptain() != null ? team.getCaptain().getId() : null);
+    }
+
+    private static String[] lineageKeys(String teamName, Long captainId) {
+        String captainKey = captainId != null ? "captain:" + captainId : null;
+        String nameKey = teamName != null ? "name:" + teamName.toLowerCase().replaceAll("[^a-z0-9]", "") : null;
+        return new String[] { captainKey, nameKey };
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class RatingTable {
+        private final Map<Long, TeamRating> byTeam = new ConcurrentHashMap<>();
+        private final Map<Long, String[]> lineageKeysByTeam = new ConcurrentHashMap<>();
+        private final Map<String, Double> ratingByLineage = new ConcurrentHashMap<>();
+        private final Set<Long> ratedGameIds = ConcurrentHashMap.newKeySet();
+    }
+
+    public static final class TeamRating {
+        private final double rating;
+        private final int gamesRated;
+
+        public TeamRating(double rating, int gamesRated) {
+            this.rating = rating;
+            this.gamesRated = gamesRated;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        public int getGamesRated() {
+            return gamesRated;
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package cammossleague.service;
 
+import cammossleague.dto.RosterEntryDTO;
 import cammossleague.dto.TeamDTO;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.event.TeamCreatedEvent;
+import cammossleague.event.TeamRenamedEvent;
+import cammossleague.model.Player;
+import cammossleague.model.PlayerTeam;
 import cammossleague.model.Team;
 import cammossleague.model.Season;
 import cammossleague.model.User;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
 import cammossleague.repository.TeamRepository;
 import cammossleague.repository.SeasonRepository;
 import cammossleague.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +39,10 @@ public class TeamService {
     private final TeamRepository teamRepository;
     private final SeasonRepository seasonRepository;
     private final UserRepository userRepository;
+    private final TiebreakerService tiebreakerService;
+    private final PlayerRepository playerRepository;
+    private final PlayerTeamRepository playerTeamRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<Team> getTeamsBySeason(Long seasonId) {
         return teamRepository.findBySeasonIdAndIsActiveTrue(seasonId);
@@ -40,13 +56,47 @@ public class TeamService {
     public List<Team> getStandings(Long seasonId) {
         List<Team> teams = teamRepository.findBySeasonIdAndIsActiveTrue(seasonId);
         
-        // Sort by wins (desc), then by point differential (desc), then by points for (desc)
-        return teams.stream()
-                .sorted(Comparator
-                        .comparingInt(Team::getWins).reversed()
-                        .thenComparing((Team t) -> t.getPointsFor() - t.getPointsAgainst(), Comparator.reverseOrder())
-                        .thenComparingInt(Team::getPointsFor).reversed())
-                .collect(Collectors.toList());
+        // Rank by record, then resolve ties with the configured tiebreak rules
+        return tiebreakerService.rank(seasonId, teams);
+    }
+    
+    public List<RosterEntryDTO> getRoster(Long teamId) {
+        return playerRepository.findRostersByTeamIdIn(List.of(teamId));
+    }
+    
+    /**
+     * Active rosters for several teams in one query, keyed by team id in the order
+     * given. Teams with nobody on them map to an empty list.
+     */
+    public Map<Long, List<RosterEntryDTO>> getRosters(Collection<Long> teamIds) {
+        Map<Long, List<RosterEntryDTO>> rosters = new LinkedHashMap<>();
+        for (Long teamId : teamIds) {
+            rosters.put(teamId, new ArrayList<>());
+        }
+        if (!teamIds.isEmpty()) {
+            for (RosterEntryDTO entry : playerRepository.findRostersByTeamIdIn(teamIds)) {
+                rosters.computeIfAbsent(entry.getTeamId(), id -> new ArrayList<>()).add(entry);
+            }
+        }
+        return rosters;
+    }
+    
+    /**
+     * Every active team's roster for a season, keyed by team id,
+     * in two queries regardless of how many teams there are.
+     */
+    public Map<Long, List<RosterEntryDTO>> getSeasonRosters(Long seasonId) {
+        Map<Long, List<RosterEntryDTO>> rosters = new LinkedHashMap<>();
+        for (Team team : teamRepository.findBySeasonIdAndIsActiveTrue(seasonId)) {
+            rosters.put(team.getId(), new ArrayList<>());
+        }
+        for (RosterEntryDTO entry : playerRepository.findRostersBySeasonId(seasonId)) {
+            List<RosterEntryDTO> roster = rosters.get(entry.getTeamId());
+            if (roster != null) {
+                roster.add(entry);
+            }
+        }
+        return rosters;
     }
     
     public List<Team> getAllTeams() {
@@ -121,18 +171,24 @@ public class TeamService {
             team.setCoach(coach);
         }
         
-        return teamRepository.save(team);
+        Team saved = teamRepository.save(team);
+        eventPublisher.publishEvent(new TeamCreatedEvent(saved.getId(), season.getId()));
+        return saved;
     }
     
     @Transactional
     public Team updateTeam(Long id, TeamDTO teamDTO) {
         Team team = getTeamById(id);
         
-        if (teamDTO.getName() != null) {
+        if (teamDTO.getName() != null && !teamDTO.getName().equals(team.getName())) {
             team.setName(teamDTO.getName());
+            // Every game of the team shows its name, e.g. in calendar feeds
+            eventPublisher.publishEvent(GameUpdatedEvent.forSeason(team.getSeason().getId()));
+            eventPublisher.publishEvent(new TeamRenamedEvent(team.getId(), team.getSeason().getId()));
         }
-        if (teamDTO.getCity() != null) {
+        if (teamDTO.getCity() != null && !teamDTO.getCity().equals(team.getCity())) {
             team.setCity(teamDTO.getCity());
+            eventPublisher.publishEvent(new TeamRenamedEvent(team.getId(), team.getSeason().getId()));
         }
         if (teamDTO.getLogoUrl() != null) {
             team.setLogoUrl(teamDTO.getLogoUrl());
@@ -238,7 +294,9 @@ public class TeamService {
                     .pointsAgainst(0)
                     .isActive(true)
                     .build();
-            teams.add(teamRepository.save(team));
+            Team saved = teamRepository.save(team);
+            teams.add(saved);
+            eventPublisher.publishEvent(new TeamCreatedEvent(saved.getId(), seasonId));
         }
         
         return teams;
@@ -246,16 +304,44 @@ public class TeamService {
     
     @Transactional
     public void addPlayerToTeam(Long teamId, Long playerId) {
-        // This would need PlayerTeam entity management
-        // Implementation depends on your player-team relationship structure
-        throw new RuntimeException("Player-team management not yet implemented");
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found with id: " + teamId));
+        Player player = playerRepository.findById(playerId)
+                .orElseThrow(() -> new RuntimeException("Player not found with id: " + playerId));
+        
+        Long seasonId = team.getSeason().getId();
+        if (!player.getSeason().getId().equals(seasonId)) {
+            throw new RuntimeException("Player is not registered for this team's season");
+        }
+        if (!playerTeamRepository.findByPlayerIdAndSeasonIdAndIsActiveTrue(playerId, seasonId).isEmpty()) {
+            throw new RuntimeException("Player is already on a team this season");
+        }
+        
+        PlayerTeam playerTeam = PlayerTeam.builder()
+                .player(player)
+                .team(team)
+                .status(PlayerTeam.Status.ACTIVE)
+                .approvedAt(LocalDateTime.now())
+                .build();
+        playerTeamRepository.save(playerTeam);
+        
+        eventPublisher.publishEvent(new RosterChangedEvent(teamId, seasonId, playerId, player.getUser().getId()));
     }
     
     @Transactional
     public void removePlayerFromTeam(Long teamId, Long playerId) {
-        // This would need PlayerTeam entity management
-        // Implementation depends on your player-team relationship structure
-        throw new RuntimeException("Player-team management not yet implemented");
+        List<PlayerTeam> memberships = playerTeamRepository.findByPlayerIdAndTeamIdAndIsActiveTrue(playerId, teamId);
+        if (memberships.isEmpty()) {
+            throw new RuntimeException("Player is not on this team");
+        }
+        
+        for (PlayerTeam membership : memberships) {
+            membership.setStatus(PlayerTeam.Status.RELEASED);
+        }
+        playerTeamRepository.saveAll(memberships);
+        
+        Player player = memberships.get(0).getPlayer();
+        eventPublisher.publishEvent(new RosterChangedEvent(teamId, player.getSeason().getId(), playerId, player.getUser().getId()));
     }
     
     @Transactional
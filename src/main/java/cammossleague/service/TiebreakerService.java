@@ -0,0 +1,191 @@
+package cammossleague.service;
+
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders teams for the standings table. Teams are ranked by record first; each group
+ * with an identical record is then separated by the configured tiebreak rules, in
+ * order, using a head-to-head matrix cached per season.
+ *
+ * When a rule splits a multi-team tie into smaller groups, each remaining group starts
+ * again from the first rule, so a two-team tie left over from a three-way tie is
+ * decided by head-to-head between just those two teams.
+ */
+@Service
+public class TiebreakerService {
+
+    public enum Rule {
+        HEAD_TO_HEAD,
+        HEAD_TO_HEAD_DIFFERENTIAL,
+        POINT_DIFFERENTIAL,
+        STRENGTH_OF_SCHEDULE,
+        POINTS_FOR,
+        COIN_FLIP
+    }
+
+    private final GameRepository gameRepository;
+    private final List<Rule> rules;
+    private final Map<Long, HeadToHeadMatrix> matrixBySeason = new ConcurrentHashMap<>();
+
+    public TiebreakerService(GameRepository gameRepository,
+                             @Value("${app.standings.tiebreakers:head-to-head,head-to-head-differential,point-differential,strength-of-schedule,points-for,coin-flip}")
+                             List<String> ruleNames) {
+        this.gameRepository = gameRepository;
+        this.rules = parseRules(ruleNames);
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public List<Team> rank(Long seasonId, List<Team> teams) {
+        List<Team> sorted = new ArrayList<>(teams);
+        sorted.sort(Comparator.comparingInt(Team::getWins).reversed()
+                .thenComparingInt(Team::getLosses));
+
+        HeadToHeadMatrix matrix = null;
+        List<Team> standings = new ArrayList<>(sorted.size());
+        int start = 0;
+        while (start < sorted.size()) {
+            int end = start + 1;
+            while (end < sorted.size() && sameRecord(sorted.get(start), sorted.get(end))) {
+                end++;
+            }
+
+            if (end - start == 1) {
+                standings.add(sorted.get(start));
+            } else {
+                if (matrix == null) {
+                    matrix = getMatrix(seasonId);
+                }
+                standings.addAll(breakTie(seasonId, matrix, sorted.subList(start, end), 0));
+            }
+            start = end;
+        }
+        return standings;
+    }
+
+    public HeadToHeadMatrix getMatrix(Long seasonId) {
+        return matrixBySeason.computeIfAbsent(seasonId,
+                id -> HeadToHeadMatrix.build(gameRepository.findCompletedResultsBySeasonId(id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdated(GameUpdatedEvent event) {
+        if (event.getSeasonId() == null) {
+            matrixBySeason.clear();
+        } else {
+            matrixBySeason.remove(event.getSeasonId());
+        }
+    }
+
+    private List<Team> breakTie(Long seasonId, HeadToHeadMatrix matrix, List<Team> group, int ruleIndex) {
+        if (group.size() <= 1 || ruleIndex >= rules.size()) {
+            return group;
+        }
+
+        int k = group.size();
+        int[] indexes = new int[k];
+        for (int i = 0; i < k; i++) {
+            indexes[i] = matrix.indexOf(group.get(i).getId());
+        }
+
+        double[] scores = score(rules.get(ruleIndex), seasonId, matrix, group, indexes);
+        Integer[] order = new Integer[k];
+        for (int i = 0; i < k; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        // Still fully tied on this rule: move on to the next one
+        if (scores[order[0]] == scores[order[k - 1]]) {
+            return breakTie(seasonId, matrix, group, ruleIndex + 1);
+        }
+
+        List<Team> resolved = new ArrayList<>(k);
+        int start = 0;
+        while (start < k) {
+            int end = start + 1;
+            while (end < k && scores[order[end]] == scores[order[start]]) {
+                end++;
+            }
+
+            List<Team> subgroup = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                subgroup.add(group.get(order[i]));
+            }
+            resolved.addAll(breakTie(seasonId, matrix, subgroup, 0));
+            start = end;
+        }
+        return resolved;
+    }
+
+    private double[] score(Rule rule, Long seasonId, HeadToHeadMatrix matrix, List<Team> group, int[] indexes) {
+        int k = group.size();
+        double[] scores = new double[k];
+
+        for (int i = 0; i < k; i++) {
+            Team team = group.get(i);
+            switch (rule) {
+                case HEAD_TO_HEAD -> {
+                    int won = 0;
+                    int played = 0;
+                    for (int j = 0; j < k; j++) {
+                        won += matrix.wins(indexes[i], indexes[j]);
+                        played += matrix.games(indexes[i], indexes[j]);
+                    }
+                    scores[i] = played == 0 ? 0.5 : (double) won / played;
+                }
+                case HEAD_TO_HEAD_DIFFERENTIAL -> {
+                    int differential = 0;
+                    for (int j = 0; j < k; j++) {
+                        differential += matrix.pointDifferential(indexes[i], indexes[j]);
+                    }
+                    scores[i] = differential;
+                }
+                case POINT_DIFFERENTIAL -> scores[i] = team.getPointsFor() - team.getPointsAgainst();
+                case STRENGTH_OF_SCHEDULE -> scores[i] = matrix.strengthOfSchedule(indexes[i]);
+                case POINTS_FOR -> scores[i] = team.getPointsFor();
+                // Seeded by season and team so the draw is repeatable across refreshes
+                case COIN_FLIP -> scores[i] = new SplittableRandom(Objects.hash(seasonId, team.getId())).nextDouble();
+            }
+        }
+        return scores;
+    }
+
+    private static boolean sameRecord(Team a, Team b) {
+        return a.getWins().equals(b.getWins()) && a.getLosses().equals(b.getLosses());
+    }
+
+    private static List<Rule> parseRules(List<String> ruleNames) {
+        List<Rule> parsed = new ArrayList<>();
+        for (String name : ruleNames) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            Rule rule = Rule.valueOf(name.trim().toUpperCase().replace('-', '_'));
+            if (!parsed.contains(rule)) {
+                parsed.add(rule);
+            }
+        }
+        // The coin flip always goes last so the ordering is total
+        if (!parsed.contains(Rule.COIN_FLIP)) {
+            parsed.add(Rule.COIN_FLIP);
+        }
+        return List.copyOf(parsed);
+    }
+}
@@ -1,105 +1,254 @@
 package cammossleague.service;
 
-import cammossleague.model.Player;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.event.UserProfileChangedEvent;
+import cammossleague.model.PlayerTeam;
 import cammossleague.model.Team;
 import cammossleague.model.User;
 import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
+import cammossleague.repository.TeamRepository;
 import cammossleague.repository.UserRepository;
+import cammossleague.security.TokenPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+/**
+ * The current user and what they may see.
+ *
+ * Access checks run off the caller's token and a cached {@link AccessScope} (their
+ * current-season team and the players they can view), so a warm check makes no queries.
+ * Both the caller and their scope are also memoized on the request, since one request
+ * often checks several times. Scopes are evicted on roster and profile changes and
+ * otherwise expire after {@code app.access-cache.ttl-seconds}, which also covers a new
+ * season being activated.
+ */
 @Service
 public class UserService {
     
+    private static final String CALLER_ATTRIBUTE = UserService.class.getName() + ".CALLER";
+    private static final String USER_ATTRIBUTE = UserService.class.getName() + ".USER";
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private PlayerRepository playerRepository;
     
+    @Autowired
+    private PlayerTeamRepository playerTeamRepository;
+    
+    @Autowired
+    private TeamRepository teamRepository;
+    
+    @Value("${app.access-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    @Value("${app.access-cache.max-entries:10000}")
+    private int maxEntries;
+    
+    private final Map<Long, AccessScope> scopes = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    
     public Optional<User> getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return Optional.empty();
-        }
-        
-        String username = authentication.getName();
-        return userRepository.findByUsername(username);
+        return memoize(USER_ATTRIBUTE, () -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return Optional.empty();
+            }
+            
+            // Google accounts use their email as the token subject, so go by id when the token has one
+            if (authentication.getPrincipal() instanceof TokenPrincipal principal && principal.getUserId() != null) {
+                return userRepository.findById(principal.getUserId());
+            }
+            
+            String username = authentication.getName();
+            return userRepository.findByUsername(username);
+        });
     }
     
     public boolean isAdmin() {
-        return getCurrentUser()
-                .map(user -> User.Role.ADMIN.equals(user.getRole()))
-                .orElse(false);
+        Caller caller = getCaller();
+        return caller != null && caller.admin;
     }
     
     public boolean isUserOrAdmin(Long userId) {
-        Optional<User> currentUser = getCurrentUser();
-        if (currentUser.isEmpty()) {
+        Caller caller = getCaller();
+        if (caller == null) {
             return false;
         }
         
-        User user = currentUser.get();
-        return User.Role.ADMIN.equals(user.getRole()) || user.getId().equals(userId);
+        return caller.admin || caller.userId.equals(userId);
     }
     
     public Optional<Team> getCurrentUserTeam() {
-        Optional<User> currentUser = getCurrentUser();
-        if (currentUser.isEmpty()) {
+        Caller caller = getCaller();
+        if (caller == null || caller.scope().teamId == null) {
             return Optional.empty();
         }
         
-        // Find current player record for active season
-        Optional<Player> player = playerRepository.findByUserAndCurrentSeason(currentUser.get().getId());
-        if (player.isEmpty()) {
-            return Optional.empty();
-        }
-        
-        // Find active team from player-team relationships
-        return player.get().getPlayerTeams().stream()
-                .filter(pt -> "ACTIVE".equals(pt.getStatus().name()))
-                .findFirst()
-                .map(pt -> pt.getTeam());
+        return teamRepository.findById(caller.scope().teamId);
     }
     
     public boolean hasAccessToTeam(Long teamId) {
-        if (isAdmin()) {
-            return true;
+        Caller caller = getCaller();
+        if (caller == null) {
+            return false;
         }
         
-        Optional<Team> userTeam = getCurrentUserTeam();
-        return userTeam.map(team -> team.getId().equals(teamId)).orElse(false);
+        return caller.admin || (teamId != null && teamId.equals(caller.scope().teamId));
     }
     
     public boolean hasAccessToPlayer(Long playerId) {
-        if (isAdmin()) {
-            return true;
+        Caller caller = getCaller();
+        if (caller == null) {
+            return false;
         }
         
-        Optional<User> currentUser = getCurrentUser();
-        if (currentUser.isEmpty()) {
-            return false;
+        // Their own player records in any season, or anyone on their current team
+        return caller.admin || (playerId != null && caller.scope().playerIds.contains(playerId));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRosterChanged(RosterChangedEvent event) {
+        // Teammates of the player see a different roster too
+        invalidations.incrementAndGet();
+        if (event.getUserId() != null) {
+            scopes.remove(event.getUserId());
+        }
+        if (event.getTeamId() != null) {
+            scopes.values().removeIf(scope -> event.getTeamId().equals(scope.teamId));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        invalidations.incrementAndGet();
+        scopes.remove(event.getUserId());
+    }
+    
+    int cachedScopes() {
+        return scopes.size();
+    }
+    
+    private Caller getCaller() {
+        return memoize(CALLER_ATTRIBUTE, () -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return null;
+            }
+            
+            if (authentication.getPrincipal() instanceof TokenPrincipal principal
+                    && principal.getUserId() != null && principal.getRole() != null) {
+                return new Caller(principal.getUserId(), User.Role.ADMIN.name().equals(principal.getRole()));
+            }
+            
+            return getCurrentUser()
+                    .map(user -> new Caller(user.getId(), User.Role.ADMIN.equals(user.getRole())))
+                    .orElse(null);
+        });
+    }
+    
+    private AccessScope scopeFor(Long userId) {
+        AccessScope cached = scopes.get(userId);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
         }
         
-        // Check if this is their own player record
-        Optional<Player> player = playerRepository.findById(playerId);
-        if (player.isPresent() && player.get().getUser().getId().equals(currentUser.get().getId())) {
-            return true;
+        long generation = invalidations.get();
+        AccessScope loaded = loadScope(userId);
+        if (scopes.size() >= maxEntries) {
+            scopes.values().removeIf(AccessScope::isExpired);
         }
+        if (scopes.size() < maxEntries) {
+            scopes.put(userId, loaded);
+            // A roster change committed while loading may have been missed; don't keep the result
+            if (invalidations.get() != generation) {
+                scopes.remove(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+    
+    private AccessScope loadScope(Long userId) {
+        List<Long> teamIds = playerTeamRepository.findCurrentSeasonTeamIdsByUserIdAndStatus(userId, PlayerTeam.Status.ACTIVE);
+        Long teamId = teamIds.isEmpty() ? null : teamIds.get(0);
         
-        // Check if player is on their team
-        Optional<Team> userTeam = getCurrentUserTeam();
-        if (userTeam.isEmpty()) {
-            return false;
+        Set<Long> playerIds = new HashSet<>(playerRepository.findIdsByUserId(userId));
+        if (teamId != null) {
+            playerIds.addAll(playerTeamRepository.findPlayerIdsByTeamIdAndStatus(teamId, PlayerTeam.Status.ACTIVE));
+        }
+        
+        return new AccessScope(teamId, Set.copyOf(playerIds),
+                System.nanoTime() + Duration.ofSeconds(ttlSeconds).toNanos());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T memoize(String attribute, Supplier<T> loader) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return loader.get();
         }
         
-        return player.map(p -> p.getPlayerTeams().stream()
-                .anyMatch(pt -> "ACTIVE".equals(pt.getStatus().name()) && 
-                               pt.getTeam().getId().equals(userTeam.get().getId())))
-                .orElse(false);
+        Object memoized = request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (memoized == null) {
+            T value = loader.get();
+            if (value != null) {
+                request.setAttribute(attribute, value, RequestAttributes.SCOPE_REQUEST);
+            }
+            return value;
+        }
+        return (T) memoized;
+    }
+    
+    private final class Caller {
+        private final Long userId;
+        private final boolean admin;
+        private AccessScope scope;
+        
+        private Caller(Long userId, boolean admin) {
+            this.userId = userId;
+            this.admin = admin;
+        }
+        
+        // Admins pass every check, so their scope is only loaded if something asks for their team
+        private AccessScope scope() {
+            if (scope == null) {
+                scope = scopeFor(userId);
+            }
+            return scope;
+        }
+    }
+    
+    private static final class AccessScope {
+        private final Long teamId;
+        private final Set<Long> playerIds;
+        private final long expiresAt;
+        
+        private AccessScope(Long teamId, Set<Long> playerIds, long expiresAt) {
+            this.teamId = teamId;
+            this.playerIds = playerIds;
+            this.expiresAt = expiresAt;
+        }
+        
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+-- Per-game box score lines. Player season totals (players.stats_*) are kept in
+-- sync with these rows incrementally and can be rebuilt from them in one query.
+
+CREATE TABLE player_game_stats (
+    id BIGSERIAL PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    player_id BIGINT NOT NULL,
+    team_id BIGINT NOT NULL,
+    points INTEGER NOT NULL DEFAULT 0,
+    rebounds INTEGER NOT NULL DEFAULT 0,
+    assists INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (game_id) REFERENCES games(id) ON DELETE CASCADE,
+    FOREIGN KEY (player_id) REFERENCES players(id) ON DELETE CASCADE,
+    FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
+    UNIQUE (game_id, player_id)
+);
+
+CREATE INDEX idx_player_game_stats_player_id ON player_game_stats(player_id);
+CREATE INDEX idx_player_game_stats_team_id ON player_game_stats(team_id);
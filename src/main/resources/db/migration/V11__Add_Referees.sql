@@ -0,0 +1,26 @@
+-- Referees and their per-game assignments. normalized_name is the lower-cased,
+-- alphanumeric-only form of the name and is what schedule imports match on.
+
+CREATE TABLE referees (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    normalized_name VARCHAR(100) NOT NULL UNIQUE,
+    user_id BIGINT,
+    is_active BOOLEAN NOT NULL DEFAULT true,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE TABLE game_referees (
+    id BIGSERIAL PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    referee_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (game_id) REFERENCES games(id) ON DELETE CASCADE,
+    FOREIGN KEY (referee_id) REFERENCES referees(id) ON DELETE CASCADE,
+    UNIQUE (game_id, referee_id)
+);
+
+CREATE INDEX idx_game_referees_referee_id ON game_referees(referee_id);
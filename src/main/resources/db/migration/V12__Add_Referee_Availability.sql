@@ -0,0 +1,17 @@
+-- Windows when a referee cannot work. A null start/end time blocks the whole day.
+
+ALTER TABLE referees ADD COLUMN max_games_per_day INTEGER NOT NULL DEFAULT 3;
+
+CREATE TABLE referee_unavailability (
+    id BIGSERIAL PRIMARY KEY,
+    referee_id BIGINT NOT NULL,
+    unavailable_date DATE NOT NULL,
+    start_time TIME,
+    end_time TIME,
+    reason VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (referee_id) REFERENCES referees(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_referee_unavailability_date ON referee_unavailability(unavailable_date);
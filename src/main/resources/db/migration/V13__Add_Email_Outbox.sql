@@ -0,0 +1,20 @@
+-- Durable queue of outgoing mail. Rows are written in the caller's transaction and
+-- sent later by the background dispatcher, which claims due rows with
+-- FOR UPDATE SKIP LOCKED so several app instances never send the same row twice.
+
+CREATE TABLE email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    category VARCHAR(30) NOT NULL,
+    to_address VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    html_body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox(status, next_attempt_at);
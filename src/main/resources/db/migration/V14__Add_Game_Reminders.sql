@@ -0,0 +1,13 @@
+-- One row per reminder actually queued. game_start is part of the key so a game that
+-- is rescheduled gets fresh reminders for its new time, while a restart never sends
+-- the same reminder twice.
+
+CREATE TABLE game_reminders_sent (
+    id BIGSERIAL PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    kind VARCHAR(20) NOT NULL,
+    game_start TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (game_id) REFERENCES games(id) ON DELETE CASCADE,
+    UNIQUE (game_id, kind, game_start)
+);
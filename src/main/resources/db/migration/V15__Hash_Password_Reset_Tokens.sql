@@ -0,0 +1,12 @@
+-- Store only the SHA-256 of each reset token (hex encoded). Outstanding tokens are
+-- hashed in place so links already emailed keep working.
+
+ALTER TABLE password_reset_tokens ADD COLUMN token_hash VARCHAR(64);
+
+UPDATE password_reset_tokens SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex');
+
+ALTER TABLE password_reset_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE password_reset_tokens ADD CONSTRAINT uk_password_reset_tokens_token_hash UNIQUE (token_hash);
+
+DROP INDEX IF EXISTS idx_password_reset_tokens_token;
+ALTER TABLE password_reset_tokens DROP COLUMN token;
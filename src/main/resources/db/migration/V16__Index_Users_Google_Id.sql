@@ -0,0 +1,6 @@
+-- Google sign-in looks users up by their Google subject before falling back to email.
+-- The column was previously only created by Hibernate's schema update.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS google_id VARCHAR(128);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_google_id ON users(google_id);
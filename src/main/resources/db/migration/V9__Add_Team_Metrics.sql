@@ -0,0 +1,37 @@
+-- Derived per-team metrics, recomputed for a whole season whenever one of its
+-- games changes. One row per team; rows are replaced on every refresh.
+
+CREATE TABLE team_metrics (
+    team_id BIGINT PRIMARY KEY,
+    season_id BIGINT NOT NULL,
+    games_played INTEGER NOT NULL DEFAULT 0,
+    wins INTEGER NOT NULL DEFAULT 0,
+    losses INTEGER NOT NULL DEFAULT 0,
+    ties INTEGER NOT NULL DEFAULT 0,
+    points_for INTEGER NOT NULL DEFAULT 0,
+    points_against INTEGER NOT NULL DEFAULT 0,
+    opponents_win_pct DOUBLE PRECISION,
+    opponents_opponents_win_pct DOUBLE PRECISION,
+    strength_of_schedule DOUBLE PRECISION,
+    pythagorean_win_pct DOUBLE PRECISION,
+    expected_wins DOUBLE PRECISION,
+    average_margin DOUBLE PRECISION,
+    margin_std_dev DOUBLE PRECISION,
+    close_wins INTEGER NOT NULL DEFAULT 0,
+    close_losses INTEGER NOT NULL DEFAULT 0,
+    blowout_wins INTEGER NOT NULL DEFAULT 0,
+    blowout_losses INTEGER NOT NULL DEFAULT 0,
+    home_wins INTEGER NOT NULL DEFAULT 0,
+    home_losses INTEGER NOT NULL DEFAULT 0,
+    home_points_for INTEGER NOT NULL DEFAULT 0,
+    home_points_against INTEGER NOT NULL DEFAULT 0,
+    away_wins INTEGER NOT NULL DEFAULT 0,
+    away_losses INTEGER NOT NULL DEFAULT 0,
+    away_points_for INTEGER NOT NULL DEFAULT 0,
+    away_points_against INTEGER NOT NULL DEFAULT 0,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
+    FOREIGN KEY (season_id) REFERENCES seasons(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_team_metrics_season_id ON team_metrics(season_id);
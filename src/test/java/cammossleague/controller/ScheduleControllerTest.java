@@ -0,0 +1,122 @@
+package cammossleague.controller;
+
+import cammossleague.model.Game;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamRepository;
+import cammossleague.service.CalendarFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleControllerTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private PlayerTeamRepository playerTeamRepository;
+
+    private ScheduleController scheduleController;
+
+    @BeforeEach
+    void setUp() {
+        CalendarFeedService calendarFeedService = new CalendarFeedService(gameRepository, teamRepository,
+                seasonRepository, playerRepository, playerTeamRepository, "UTC", "https://league.example.com", "Test League");
+        scheduleController = new ScheduleController(gameRepository, seasonRepository, teamRepository, calendarFeedService);
+
+        Season season = Season.builder().name("Summer").year(2025).build();
+        season.setId(1L);
+        Team hawks = team(10L, "Hawks", season);
+        Game game = Game.builder()
+                .id(100L)
+                .season(season)
+                .homeTeam(hawks)
+                .awayTeam(team(11L, "Lakers", season))
+                .gameDate(LocalDate.of(2025, 8, 10))
+                .gameTime(LocalTime.of(18, 0))
+                .isCompleted(false)
+                .updatedAt(LocalDateTime.of(2025, 8, 1, 12, 0))
+                .build();
+        when(teamRepository.findById(10L)).thenReturn(Optional.of(hawks));
+        when(gameRepository.findByTeamIdAndSeasonId(10L, 1L)).thenReturn(List.of(game));
+    }
+
+    @Test
+    void getTeamCalendar_ShouldStreamTheFeedWithValidators() throws Exception {
+        // Given
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletWebRequest request = new ServletWebRequest(calendarRequest(), servletResponse);
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = scheduleController.getTeamCalendar(10L, request);
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(servletResponse.getHeader(HttpHeaders.ETAG)).isNotNull();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+        assertThat(body.toString(StandardCharsets.UTF_8)).startsWith("BEGIN:VCALENDAR").contains("UID:game-100@league.example.com");
+    }
+
+    @Test
+    void getTeamCalendar_WithCurrentETag_ShouldAnswer304WithoutABody() {
+        // Given
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        scheduleController.getTeamCalendar(10L, new ServletWebRequest(calendarRequest(), first));
+        MockHttpServletRequest conditional = calendarRequest();
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response =
+                scheduleController.getTeamCalendar(10L, new ServletWebRequest(conditional, second));
+
+        // Then
+        assertThat(response).isNull();
+        assertThat(second.getStatus()).isEqualTo(304);
+    }
+
+    private static MockHttpServletRequest calendarRequest() {
+        return new MockHttpServletRequest("GET", "/api/schedule/team/10/calendar.ics");
+    }
+
+    private static Team team(Long id, String name, Season season) {
+        Team team = Team.builder().name(name).season(season).build();
+        team.setId(id);
+        return team;
+    }
+}
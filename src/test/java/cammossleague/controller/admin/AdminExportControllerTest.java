@@ -0,0 +1,115 @@
+package cammossleague.controller.admin;
+
+import cammossleague.service.DataExportService;
+import cammossleague.service.DataExportService.Dataset;
+import cammossleague.service.DataExportService.Format;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminExportController.class)
+class AdminExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DataExportService dataExportService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void export_WithUnknownDataset_ShouldReturn400() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/admin/export/users"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(dataExportService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void export_WithUnknownFormat_ShouldReturn400() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/admin/export/teams").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(dataExportService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void export_AsCsvForOneSeason_ShouldStreamAnAttachment() throws Exception {
+        // Given
+        givenExport(Dataset.TEAMS, 3L, Format.CSV, "id,name\n1,Lakers\n");
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/admin/export/teams").param("seasonId", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"teams-season-3.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,name\n1,Lakers\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void export_Gzipped_ShouldCompressTheStream() throws Exception {
+        // Given
+        String ndjson = "{\"id\":1}\n{\"id\":2}\n";
+        givenExport(Dataset.PLAYER_GAME_STATS, null, Format.NDJSON, ndjson);
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/admin/export/player-game-stats")
+                        .param("format", "ndjson")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"player-game-stats.ndjson.gz\""))
+                .andExpect(content().contentTypeCompatibleWith("application/gzip"))
+                .andReturn();
+        assertThat(gunzip(result.getResponse().getContentAsByteArray())).isEqualTo(ndjson);
+    }
+
+    private void givenExport(Dataset dataset, Long seasonId, Format format, String content) {
+        when(dataExportService.export(eq(dataset), seasonId != null ? eq(seasonId) : isNull(), eq(format),
+                any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(3);
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            return 2L;
+        });
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
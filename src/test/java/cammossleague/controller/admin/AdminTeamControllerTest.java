@@ -0,0 +1,54 @@
+package cammossleague.controller.admin;
+
+import cammossleague.dto.RosterEntryDTO;
+import cammossleague.model.Player;
+import cammossleague.service.TeamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminTeamController.class)
+class AdminTeamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TeamService teamService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getSeasonRosters_ShouldReturnRostersKeyedByTeam() throws Exception {
+        // Given
+        Map<Long, List<RosterEntryDTO>> rosters = new LinkedHashMap<>();
+        rosters.put(10L, List.of(new RosterEntryDTO(10L, 2L, 102L, "ann", "Ann", "Lee",
+                null, "https://img.example.com/ann.png", 8, Player.Position.PG, 4, 40, 12, 8)));
+        rosters.put(20L, List.of());
+        when(teamService.getSeasonRosters(3L)).thenReturn(rosters);
+
+        // When/Then
+        mockMvc.perform(get("/api/admin/teams/season/3/rosters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['10'][0].id").value(2))
+                .andExpect(jsonPath("$['10'][0].displayName").value("Ann Lee"))
+                .andExpect(jsonPath("$['10'][0].jerseyNumber").value(8))
+                .andExpect(jsonPath("$['10'][0].position").value("PG"))
+                .andExpect(jsonPath("$['10'][0].pointsPerGame").value(10.0))
+                .andExpect(jsonPath("$['10'][0].user.username").value("ann"))
+                .andExpect(jsonPath("$['10'][0].user.profilePictureUrl").value("https://img.example.com/ann.png"))
+                .andExpect(jsonPath("$['20']").isEmpty());
+        verify(teamService, times(1)).getSeasonRosters(3L);
+        verifyNoMoreInteractions(teamService);
+    }
+}
@@ -0,0 +1,165 @@
+package cammossleague.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void matches_WhenHashPredatesPrefix_ShouldMatchAndAskForUpgrade() {
+        // Given
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        encoder = new BoundedPasswordEncoder(delegating, 2, 10, 5000);
+        String legacyHash = bcrypt.encode("player123");
+
+        // When
+        String newHash = encoder.encode("player123");
+
+        // Then
+        assertThat(encoder.matches("player123", legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(newHash).startsWith("{bcrypt}");
+        assertThat(encoder.matches("player123", newHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(newHash)).isFalse();
+    }
+
+    @Test
+    void matches_Under200ConcurrentLoginsWithDefaults_ShouldAdmitPoolAndQueueAndTurnTheRestAwayFast() throws Exception {
+        // Given: the production sizing, one thread per CPU and the default queue
+        int threads = Runtime.getRuntime().availableProcessors();
+        int admitted = Math.min(200, threads * (1 + BoundedPasswordEncoder.DEFAULT_QUEUE_PER_THREAD));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(slow, threads, 0, 10000);
+        ExecutorService requests = Executors.newFixedThreadPool(200);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger busy = new AtomicInteger();
+        AtomicLong slowestRejectionNanos = new AtomicLong();
+
+        // When
+        List<CompletableFuture<Boolean>> logins = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            logins.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                long start = System.nanoTime();
+                try {
+                    return encoder.matches("secret", "secret");
+                } catch (BoundedPasswordEncoder.HashingBusyException e) {
+                    slowestRejectionNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+                    busy.incrementAndGet();
+                    return false;
+                }
+            }, requests));
+        }
+        go.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (busy.get() < 200 - admitted && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        int busyWhileSaturated = busy.get();
+        release.countDown();
+        int succeeded = 0;
+        for (CompletableFuture<Boolean> login : logins) {
+            if (login.get(30, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        requests.shutdown();
+
+        // Then: the overflow got its 503 straight away instead of waiting out the 10s timeout
+        assertThat(busyWhileSaturated).isEqualTo(200 - admitted);
+        assertThat(succeeded).isEqualTo(admitted);
+        assertThat(peak.get()).isLessThanOrEqualTo(threads);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(slowestRejectionNanos.get())).isLessThan(1000);
+    }
+
+    @Test
+    void matches_WhenPoolIsSaturated_ShouldFailFastInsteadOfWaiting() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 50);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return encoder.matches("a", "a");
+            } catch (BoundedPasswordEncoder.HashingBusyException e) {
+                return false;
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        // When / Then
+        assertThatThrownBy(() -> encoder.matches("b", "b"))
+                .isInstanceOf(BoundedPasswordEncoder.HashingBusyException.class);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,130 @@
+package cammossleague.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GoogleTokenVerifierTest {
+
+    private static final String CLIENT_ID = "league-client.apps.googleusercontent.com";
+
+    private KeyPair current;
+    private KeyPair rotated;
+    private final AtomicReference<String> jwks = new AtomicReference<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private GoogleTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        current = generator.generateKeyPair();
+        rotated = generator.generateKeyPair();
+        jwks.set("{\"keys\":[" + jwk("key-1", current) + "]}");
+
+        // Stands in for Google's JWKS endpoint
+        verifier = new GoogleTokenVerifier(() -> {
+            fetches.incrementAndGet();
+            return JwksGoogleKeySource.parseJwks(jwks.get());
+        }, CLIENT_ID);
+        verifier.refreshKeys();
+    }
+
+    @Test
+    void verify_WithValidToken_ShouldReturnClaimsFromCachedKeys() throws Exception {
+        // When
+        Claims first = verifier.verify(token("key-1", current, CLIENT_ID, new Date(System.currentTimeMillis() + 60_000)));
+        Claims second = verifier.verify(token("key-1", current, CLIENT_ID, new Date(System.currentTimeMillis() + 60_000)));
+
+        // Then
+        assertThat(first.getSubject()).isEqualTo("google-user-1");
+        assertThat(second.get("email", String.class)).isEqualTo("jdoe@example.com");
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_WithWrongAudience_ShouldReject() {
+        // Given
+        String idToken = token("key-1", current, "someone-else", new Date(System.currentTimeMillis() + 60_000));
+
+        // When / Then
+        assertThatThrownBy(() -> verifier.verify(idToken)).isInstanceOf(SecurityException.class);
+    }
+
+    @Test
+    void verify_WithExpiredToken_ShouldReject() {
+        // Given
+        String idToken = token("key-1", current, CLIENT_ID, new Date(System.currentTimeMillis() - 600_000));
+
+        // When / Then
+        assertThatThrownBy(() -> verifier.verify(idToken)).isInstanceOf(SecurityException.class);
+    }
+
+    @Test
+    void verify_AfterKeyRotation_ShouldRefetchOnceForTheNewKeyId() throws Exception {
+        // Given
+        jwks.set("{\"keys\":[" + jwk("key-1", current) + "," + jwk("key-2", rotated) + "]}");
+        ReflectionTestUtils.setField(verifier, "lastRefresh", System.nanoTime() - Duration.ofMinutes(2).toNanos());
+
+        // When
+        Claims claims = verifier.verify(token("key-2", rotated, CLIENT_ID, new Date(System.currentTimeMillis() + 60_000)));
+
+        // Then
+        assertThat(claims.getSubject()).isEqualTo("google-user-1");
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verify_WithUnknownKeyInsideRefreshWindow_ShouldRejectWithoutFetching() {
+        // Given
+        String idToken = token("key-2", rotated, CLIENT_ID, new Date(System.currentTimeMillis() + 60_000));
+
+        // When / Then
+        assertThatThrownBy(() -> verifier.verify(idToken)).isInstanceOf(SecurityException.class);
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    private static String token(String kid, KeyPair keyPair, String audience, Date expiresAt) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setIssuer("https://accounts.google.com")
+                .setAudience(audience)
+                .setSubject("google-user-1")
+                .claim("email", "jdoe@example.com")
+                .claim("name", "John Doe")
+                .setIssuedAt(new Date(expiresAt.getTime() - 3_600_000))
+                .setExpiration(expiresAt)
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static String jwk(String kid, KeyPair keyPair) {
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        return "{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"" + kid + "\"," +
+                "\"n\":\"" + base64Url(key.getModulus()) + "\",\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
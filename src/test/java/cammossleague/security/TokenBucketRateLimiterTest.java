@@ -0,0 +1,95 @@
+package cammossleague.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenRefillAtRate() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1, clock::get);
+
+        // When / Then
+        assertThat(limiter.tryAcquire("jdoe")).isTrue();
+        assertThat(limiter.tryAcquire("jdoe")).isTrue();
+        assertThat(limiter.tryAcquire("jdoe")).isTrue();
+        assertThat(limiter.tryAcquire("jdoe")).isFalse();
+        assertThat(limiter.tryAcquire("msmith")).isTrue();
+
+        clock.addAndGet(MINUTE + MINUTE / 2);
+        assertThat(limiter.tryAcquire("jdoe")).isTrue();
+        assertThat(limiter.tryAcquire("jdoe")).isFalse();
+    }
+
+    @Test
+    void tryAcquire_ShouldDropKeysOnceTheirBucketsHaveRefilled() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, clock::get);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("10.0.0." + i);
+        }
+        assertThat(limiter.size()).isEqualTo(100);
+
+        // When
+        clock.addAndGet(2 * MINUTE);
+        limiter.tryAcquire("10.0.1.1");
+
+        // Then
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepKeysThatAreStillDraining() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, clock::get);
+        limiter.tryAcquire("jdoe");
+        limiter.tryAcquire("jdoe");
+
+        // When
+        clock.addAndGet(MINUTE + MINUTE / 2);
+        limiter.tryAcquire("msmith");
+
+        // Then
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("jdoe")).isTrue();
+        assertThat(limiter.tryAcquire("jdoe")).isFalse();
+    }
+
+    @Test
+    void tryAcquire_UnderContention_ShouldNeverGrantMoreThanCapacity() throws Exception {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 1, clock::get);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService attackers = Executors.newFixedThreadPool(16);
+
+        // When
+        List<CompletableFuture<Void>> attempts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            attempts.add(CompletableFuture.runAsync(() -> {
+                if (limiter.tryAcquire("admin")) {
+                    granted.incrementAndGet();
+                }
+            }, attackers));
+        }
+        CompletableFuture.allOf(attempts.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        attackers.shutdown();
+
+        // Then
+        assertThat(granted.get()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,58 @@
+package cammossleague.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private final TokenRevocationList revocationList = new TokenRevocationList(900_000);
+
+    @Test
+    void isRevoked_ShouldRejectOnlyTheRevokedToken() {
+        // Given
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        revocationList.revokeToken("jti-1", Instant.now().plusSeconds(600));
+
+        // When / Then
+        assertThat(revocationList.isRevoked("jti-1", 7L, issuedAt)).isTrue();
+        assertThat(revocationList.isRevoked("jti-2", 7L, issuedAt)).isFalse();
+    }
+
+    @Test
+    void isRevoked_ShouldRejectUserTokensIssuedBeforeRevocationButNotAfter() {
+        // Given
+        Instant before = Instant.now().minusSeconds(60);
+        revocationList.revokeUser(7L);
+
+        // When / Then
+        assertThat(revocationList.isRevoked("jti-1", 7L, before)).isTrue();
+        assertThat(revocationList.isRevoked("jti-2", 7L, Instant.now().plusSeconds(1))).isFalse();
+        assertThat(revocationList.isRevoked("jti-3", 8L, before)).isFalse();
+    }
+
+    @Test
+    void purgeExpired_ShouldForgetTokensThatHaveExpiredAnyway() {
+        // Given
+        revocationList.revokeToken("jti-1", Instant.now().plusMillis(50));
+        revocationList.revokeToken("jti-2", Instant.now().plusSeconds(600));
+
+        // When
+        await(100);
+        revocationList.purgeExpired();
+
+        // Then
+        assertThat(revocationList.size()).isEqualTo(1);
+        assertThat(revocationList.isRevoked("jti-2", null, null)).isTrue();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameBoxScoreDTO;
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.Player;
+import cammossleague.model.PlayerGameStats;
+import cammossleague.model.PlayerTeam;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.model.User;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.PlayerGameStatsRepository;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoxScoreServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private PlayerGameStatsRepository playerGameStatsRepository;
+
+    @Mock
+    private PlayerTeamRepository playerTeamRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private BoxScoreService boxScoreService;
+
+    private Season season;
+    private Team home;
+    private Team away;
+    private Game game;
+    private Player alice;
+    private Player bob;
+
+    @BeforeEach
+    void setUp() {
+        season = Season.builder().id(1L).name("Summer").build();
+        home = team(10L);
+        away = team(20L);
+        game = Game.builder().id(100L).season(season).homeTeam(home).awayTeam(away).build();
+        alice = player(1L, "Alice");
+        bob = player(2L, "Bob");
+        lenient().when(playerGameStatsRepository.saveAll(anyList())).thenAnswer(call -> call.getArgument(0));
+        lenient().when(playerTeamRepository.findPlayerIdsByTeamIdAndStatus(10L, PlayerTeam.Status.ACTIVE))
+                .thenReturn(List.of(1L));
+        lenient().when(playerTeamRepository.findPlayerIdsByTeamIdAndStatus(20L, PlayerTeam.Status.ACTIVE))
+                .thenReturn(List.of(2L));
+    }
+
+    @Test
+    void replaceBoxScore_WithNewLines_ShouldAddAGameAndTheLineToTotals() {
+        // Given
+        when(gameRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(game));
+        when(playerRepository.findAllById(any())).thenReturn(List.of(alice));
+        when(playerGameStatsRepository.findByGameIdWithPlayer(100L)).thenReturn(List.of());
+
+        // When
+        boxScoreService.replaceBoxScore(100L, List.of(line(1L, 10L, 20, 5, 3)));
+
+        // Then
+        verify(playerRepository).applyStatsDelta(1L, 1, 20, 5, 3);
+        verify(eventPublisher).publishEvent(any(PlayerStatsChangedEvent.class));
+    }
+
+    @Test
+    void replaceBoxScore_WithEditedAndDroppedLines_ShouldApplyDifferencesAndReverseDroppedLines() {
+        // Given
+        when(gameRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(game));
+        when(playerRepository.findAllById(any())).thenReturn(List.of(alice));
+        PlayerGameStats bobLine = stats(bob, away, 12, 8, 1);
+        when(playerGameStatsRepository.findByGameIdWithPlayer(100L)).thenReturn(List.of(
+                stats(alice, home, 20, 5, 3),
+                bobLine));
+
+        // When
+        boxScoreService.replaceBoxScore(100L, List.of(line(1L, 10L, 24, 5, 2)));
+
+        // Then
+        verify(playerRepository).applyStatsDelta(1L, 0, 4, 0, -1);
+        verify(playerRepository).applyStatsDelta(2L, -1, -12, -8, -1);
+        verify(playerGameStatsRepository).deleteAll(List.of(bobLine));
+    }
+
+    @Test
+    void replaceBoxScore_WithUnchangedLine_ShouldSkipTheUpdate() {
+        // Given
+        when(gameRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(game));
+        when(playerRepository.findAllById(any())).thenReturn(List.of(alice));
+        when(playerGameStatsRepository.findByGameIdWithPlayer(100L)).thenReturn(List.of(stats(alice, home, 20, 5, 3)));
+
+        // When
+        boxScoreService.replaceBoxScore(100L, List.of(line(1L, 10L, 20, 5, 3)));
+
+        // Then
+        verify(playerRepository, never()).applyStatsDelta(anyLong(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void replaceBoxScore_WithTeamNotInGame_ShouldThrowBeforeWriting() {
+        // Given
+        when(gameRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(game));
+        when(playerRepository.findAllById(any())).thenReturn(List.of(alice));
+
+        // When / Then
+        assertThatThrownBy(() -> boxScoreService.replaceBoxScore(100L, List.of(line(1L, 99L, 20, 5, 3))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("did not play");
+        verify(playerRepository, never()).applyStatsDelta(anyLong(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void replaceBoxScore_WithPlayerNotOnTheCreditedTeam_ShouldRejectBeforeWriting() {
+        // Given: Bob plays for the away team but the line credits him to the home team
+        when(gameRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(game));
+        when(playerRepository.findAllById(any())).thenReturn(List.of(bob));
+
+        // When / Then
+        assertThatThrownBy(() -> boxScoreService.replaceBoxScore(100L, List.of(line(2L, 10L, 20, 5, 3))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not on the active roster");
+        verify(playerGameStatsRepository, never()).saveAll(anyList());
+        verify(playerRepository, never()).applyStatsDelta(anyLong(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void replaceBoxScore_WithPlayerOnNeitherTeam_ShouldRejectBeforeWriting() {
+        // Given
+        Player carol = player(3L, "Carol");
+        when(gameRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(game));
+        when(playerRepository.findAllById(any())).thenReturn(List.of(carol));
+
+        // When / Then
+        assertThatThrownBy(() -> boxScoreService.replaceBoxScore(100L, List.of(line(3L, 20L, 8, 1, 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(playerGameStatsRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void replaceBoxScore_ShouldRefreshOnlyThePlayersWhoseTotalsChanged() {
+        // Given
+        when(gameRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(game));
+        when(playerRepository.findAllById(any())).thenReturn(List.of(alice, bob));
+        when(playerGameStatsRepository.findByGameIdWithPlayer(100L)).thenReturn(List.of(stats(bob, away, 12, 8, 1)));
+        when(entityManager.contains(alice)).thenReturn(true);
+
+        // When
+        boxScoreService.replaceBoxScore(100L, List.of(line(1L, 10L, 20, 5, 3), line(2L, 20L, 12, 8, 1)));
+
+        // Then: Bob's line is unchanged, so only Alice is reloaded and nothing else is detached
+        verify(entityManager).refresh(alice);
+        verify(entityManager, never()).refresh(bob);
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void removeForGames_ShouldReverseEveryLineSummedPerPlayer() {
+        // Given
+        Game other = Game.builder().id(101L).season(season).homeTeam(home).awayTeam(away).build();
+        PlayerGameStats first = stats(alice, home, 20, 5, 3);
+        PlayerGameStats second = stats(alice, home, 10, 2, 4);
+        second.setGame(other);
+        when(playerGameStatsRepository.findByGameIdIn(List.of(100L, 101L))).thenReturn(List.of(first, second));
+
+        // When
+        boxScoreService.removeForGames(List.of(100L, 101L));
+
+        // Then
+        verify(playerRepository).applyStatsDelta(1L, -2, -30, -7, -7);
+        verify(playerGameStatsRepository).deleteAll(List.of(first, second));
+    }
+
+    @Test
+    void rebuildPlayerTotals_ShouldZeroPlayersWithoutLinesBeforeRecomputing() {
+        // Given
+        when(playerGameStatsRepository.zeroTotalsWithoutLines()).thenReturn(2);
+        when(playerGameStatsRepository.rebuildPlayerTotals()).thenReturn(5);
+
+        // When
+        int updated = boxScoreService.rebuildPlayerTotals();
+
+        // Then
+        assertThat(updated).isEqualTo(7);
+        InOrder order = inOrder(playerGameStatsRepository);
+        order.verify(playerGameStatsRepository).zeroTotalsWithoutLines();
+        order.verify(playerGameStatsRepository).rebuildPlayerTotals();
+    }
+
+    private Team team(Long id) {
+        Team team = Team.builder().name("Team " + id).build();
+        team.setId(id);
+        return team;
+    }
+
+    private Player player(Long id, String firstName) {
+        Player player = Player.builder()
+                .season(season)
+                .user(User.builder().firstName(firstName).lastName("Doe").build())
+                .build();
+        player.setId(id);
+        return player;
+    }
+
+    private PlayerGameStats stats(Player player, Team team, int points, int rebounds, int assists) {
+        return PlayerGameStats.builder()
+                .game(game)
+                .player(player)
+                .team(team)
+                .points(points)
+                .rebounds(rebounds)
+                .assists(assists)
+                .build();
+    }
+
+    private static GameBoxScoreDTO.PlayerLine line(Long playerId, Long teamId, int points, int rebounds, int assists) {
+        return GameBoxScoreDTO.PlayerLine.builder()
+                .playerId(playerId)
+                .teamId(teamId)
+                .points(points)
+                .rebounds(rebounds)
+                .assists(assists)
+                .build();
+    }
+}
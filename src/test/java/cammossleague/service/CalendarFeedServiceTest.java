@@ -0,0 +1,151 @@
+package cammossleague.service;
+
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedServiceTest {
+
+    private static final LocalDateTime EDITED = LocalDateTime.of(2025, 8, 1, 12, 0);
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private PlayerTeamRepository playerTeamRepository;
+
+    private CalendarFeedService calendarFeedService;
+
+    private Team hawks;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        calendarFeedService = new CalendarFeedService(gameRepository, teamRepository, seasonRepository,
+                playerRepository, playerTeamRepository, "UTC", "https://league.example.com", "Test League");
+        ReflectionTestUtils.setField(calendarFeedService, "gameMinutes", 60);
+
+        Season season = Season.builder().name("Summer").year(2025).build();
+        season.setId(1L);
+        hawks = team(10L, "Hawks, Inc", season);
+        Team lakers = team(11L, "Lakers", season);
+        game = Game.builder()
+                .id(100L)
+                .season(season)
+                .homeTeam(hawks)
+                .awayTeam(lakers)
+                .gameDate(LocalDate.of(2025, 8, 10))
+                .gameTime(LocalTime.of(18, 0))
+                .location("Gym")
+                .weekNumber(3)
+                .notes("Bring water; wear white, not black\\ here\nGym B")
+                .isCompleted(false)
+                .updatedAt(EDITED)
+                .build();
+
+        when(teamRepository.findById(10L)).thenReturn(Optional.of(hawks));
+        when(gameRepository.findByTeamIdAndSeasonId(10L, 1L)).thenReturn(List.of(game));
+    }
+
+    @Test
+    void getTeamFeed_ShouldEscapeTextValues() throws IOException {
+        // When
+        String calendar = unfold(write(calendarFeedService.getTeamFeed(10L)));
+
+        // Then
+        assertThat(calendar).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(calendar).contains("X-WR-CALNAME:Test League - Hawks\\, Inc\r\n");
+        assertThat(calendar).contains("SUMMARY:Lakers @ Hawks\\, Inc\r\n");
+        assertThat(calendar).contains("DTSTART:20250810T180000Z\r\n");
+        assertThat(calendar).contains(
+                "DESCRIPTION:Regular Season\\, week 3\\nBring water\\; wear white\\, not black\\\\ here\\nGym B\r\n");
+    }
+
+    @Test
+    void line_ShouldFoldAt75OctetsWithoutSplittingCharacters() {
+        // Given: 8 ASCII octets, then 4-octet characters (surrogate pairs in Java)
+        String content = "SUMMARY:" + "🏀".repeat(40) + "é".repeat(30);
+        StringBuilder out = new StringBuilder();
+
+        // When
+        CalendarFeedService.line(out, content);
+
+        // Then
+        byte[] encoded = out.toString().getBytes(StandardCharsets.UTF_8);
+        String decoded = new String(encoded, StandardCharsets.UTF_8);
+        for (String physical : decoded.split("\r\n")) {
+            assertThat(physical.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        assertThat(unfold(decoded)).isEqualTo(content + "\r\n");
+    }
+
+    @Test
+    void getTeamFeed_ShouldKeepItsETagUntilAGameOrTeamChanges() throws IOException {
+        // Given
+        String first = calendarFeedService.getTeamFeed(10L).getETag();
+        String unchanged = calendarFeedService.getTeamFeed(10L).getETag();
+
+        // When
+        hawks.setName("Hawks");
+        hawks.setUpdatedAt(EDITED.plusDays(1));
+        calendarFeedService.onGameUpdated(GameUpdatedEvent.forSeason(1L));
+        CalendarFeedService.Feed renamed = calendarFeedService.getTeamFeed(10L);
+
+        // Then
+        assertThat(unchanged).isEqualTo(first);
+        assertThat(renamed.getETag()).isNotEqualTo(first);
+        assertThat(unfold(write(renamed))).contains("SUMMARY:Lakers @ Hawks\r\n");
+        verify(gameRepository, times(2)).findByTeamIdAndSeasonId(10L, 1L);
+    }
+
+    private static Team team(Long id, String name, Season season) {
+        Team team = Team.builder().name(name).season(season).build();
+        team.setId(id);
+        team.setUpdatedAt(EDITED.minusDays(30));
+        return team;
+    }
+
+    private static String write(CalendarFeedService.Feed feed) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        feed.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String unfold(String calendar) {
+        return calendar.replace("\r\n ", "");
+    }
+}
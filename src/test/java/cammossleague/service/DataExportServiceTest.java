@@ -0,0 +1,191 @@
+package cammossleague.service;
+
+import cammossleague.service.DataExportService.Dataset;
+import cammossleague.service.DataExportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DataExportService exportService;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        exportService = new DataExportService(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void export_AsCsv_ShouldQuoteCommasQuotesAndLineBreaks() throws SQLException {
+        // Given
+        givenRows(new String[] { "id", "name", "notes", "is_active", "logo_url" },
+                new Object[] { 1L, "Lakers", "plain", true, null },
+                new Object[] { 2L, "Hawks, The", "say \"hi\"", false, "x" },
+                new Object[] { 3L, "Line\nbreak", "cr\rhere", true, null });
+
+        // When
+        long rows = exportService.export(Dataset.TEAMS, null, Format.CSV, output);
+
+        // Then
+        assertThat(rows).isEqualTo(3);
+        assertThat(written()).isEqualTo(
+                "id,name,notes,is_active,logo_url\n" +
+                "1,Lakers,plain,t,\n" +
+                "2,\"Hawks, The\",\"say \"\"hi\"\"\",f,x\n" +
+                "3,\"Line\nbreak\",\"cr\rhere\",t,\n");
+    }
+
+    @Test
+    void export_AsCsvWithNoRows_ShouldWriteHeaderOnly() throws SQLException {
+        // Given
+        givenRows(new String[] { "id", "name" });
+
+        // When
+        long rows = exportService.export(Dataset.SEASONS, null, Format.CSV, output);
+
+        // Then
+        assertThat(rows).isZero();
+        assertThat(written()).isEqualTo("id,name\n");
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneTypedObjectPerLine() throws SQLException {
+        // Given
+        givenRows(new String[] { "id", "name", "is_active", "rating", "win_pct", "court", "created_at" },
+                new Object[] { 1L, "A \"quoted\"\nname", true, new BigDecimal("1500.25"), 0.75, (short) 3, null },
+                new Object[] { 2, "B", false, new BigDecimal("0"), 1.0f, (short) 1, "2026-10-19 18:00:00" });
+
+        // When
+        long rows = exportService.export(Dataset.TEAMS, null, Format.NDJSON, output);
+
+        // Then
+        assertThat(rows).isEqualTo(2);
+        assertThat(written()).isEqualTo(
+                "{\"id\":1,\"name\":\"A \\\"quoted\\\"\\nname\",\"is_active\":true,\"rating\":1500.25," +
+                "\"win_pct\":0.75,\"court\":3,\"created_at\":null}\n" +
+                "{\"id\":2,\"name\":\"B\",\"is_active\":false,\"rating\":0," +
+                "\"win_pct\":1.0,\"court\":1,\"created_at\":\"2026-10-19 18:00:00\"}\n");
+    }
+
+    @Test
+    void export_AsNdjsonWithNoRows_ShouldWriteNothing() throws SQLException {
+        // Given
+        givenRows(new String[] { "id" });
+
+        // When
+        long rows = exportService.export(Dataset.GAMES, null, Format.NDJSON, output);
+
+        // Then
+        assertThat(rows).isZero();
+        assertThat(output.size()).isZero();
+    }
+
+    @Test
+    void export_ForOneSeason_ShouldFilterThroughAStreamingCursor() throws SQLException {
+        // Given
+        givenRows(new String[] { "id" });
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        String sql = "SELECT s.* FROM player_game_stats s JOIN games g ON g.id = s.game_id " +
+                "WHERE g.season_id = ? ORDER BY s.id";
+        when(connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+                .thenReturn(statement);
+
+        // When
+        exportService.export(Dataset.PLAYER_GAME_STATS, 3L, Format.CSV, output);
+
+        // Then
+        createdStatement().createPreparedStatement(connection);
+        verify(statement).setFetchSize(500);
+        verify(statement).setLong(1, 3L);
+    }
+
+    @Test
+    void export_ForAllSeasons_ShouldNotBindASeason() throws SQLException {
+        // Given
+        givenRows(new String[] { "id" });
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement("SELECT * FROM seasons ORDER BY id",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+
+        // When
+        exportService.export(Dataset.SEASONS, null, Format.NDJSON, output);
+
+        // Then
+        createdStatement().createPreparedStatement(connection);
+        verify(statement).setFetchSize(500);
+        verify(statement, never()).setLong(anyInt(), anyLong());
+    }
+
+    @Test
+    void datasetFromPath_ShouldAcceptFileNamesAndRejectUnknownNames() {
+        assertThat(Dataset.fromPath("player-game-stats")).isEqualTo(Dataset.PLAYER_GAME_STATS);
+        assertThat(Dataset.fromPath(" Teams ")).isEqualTo(Dataset.TEAMS);
+        assertThat(Dataset.PLAYOFF_MATCHES.fileName()).isEqualTo("playoff-matches");
+        assertThatThrownBy(() -> Dataset.fromPath("users"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown dataset: users");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRows(String[] columns, Object[]... rows) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            lenient().when(metaData.getColumnLabel(i + 1)).thenReturn(columns[i]);
+        }
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        int[] current = { -1 };
+        when(rs.next()).thenAnswer(invocation -> ++current[0] < rows.length);
+        lenient().when(rs.getObject(anyInt()))
+                .thenAnswer(invocation -> rows[current[0]][invocation.<Integer>getArgument(0) - 1]);
+
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResultSetExtractor<Long>>getArgument(1).extractData(rs));
+    }
+
+    @SuppressWarnings("unchecked")
+    private PreparedStatementCreator createdStatement() {
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(ResultSetExtractor.class));
+        return creator.getValue();
+    }
+
+    private String written() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,246 @@
+package cammossleague.service;
+
+import cammossleague.config.LocalMailConfig;
+import cammossleague.model.EmailOutbox;
+import cammossleague.repository.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RejectingMailSender mailSender;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new RejectingMailSender();
+        lenient().when(emailOutboxRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void dispatchBatch_ShouldSendClaimedRowsAndMarkThemSent() {
+        // Given
+        EmailDispatcher dispatcher = dispatcher(120);
+        EmailOutbox first = queued(1L, "a@example.com", 0);
+        EmailOutbox second = queued(2L, "b@example.com", 0);
+        when(emailOutboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(first, second));
+
+        // When
+        int claimed = dispatcher.dispatchBatch();
+
+        // Then
+        assertThat(claimed).isEqualTo(2);
+        assertThat(mailSender.getSentMessages()).extracting(RejectingMailSender::recipient)
+                .containsExactlyInAnyOrder("a@example.com", "b@example.com");
+        assertThat(first.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getSentAt()).isNotNull();
+        assertThat(second.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+    }
+
+    @Test
+    void dispatchBatch_WhenOneRecipientRejected_ShouldRetryOnlyThatRowWithBackoff() {
+        // Given
+        EmailDispatcher dispatcher = dispatcher(120);
+        EmailOutbox good = queued(1L, "a@example.com", 0);
+        EmailOutbox bad = queued(2L, "bounce@example.com", 1);
+        mailSender.reject("bounce@example.com");
+        when(emailOutboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(good, bad));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        assertThat(mailSender.getSentMessages()).hasSize(1);
+        assertThat(good.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(bad.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(bad.getAttempts()).isEqualTo(2);
+        assertThat(bad.getLastError()).contains("Mailbox unavailable");
+        // Second attempt waits twice the base delay
+        assertThat(bad.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(60));
+        assertThat(bad.getNextAttemptAt()).isBefore(before.plusSeconds(120));
+    }
+
+    @Test
+    void dispatchBatch_WhenAttemptsExhausted_ShouldMarkFailed() {
+        // Given
+        EmailDispatcher dispatcher = dispatcher(120);
+        EmailOutbox bad = queued(1L, "bounce@example.com", 2);
+        mailSender.reject("bounce@example.com");
+        when(emailOutboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(bad));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        assertThat(bad.getStatus()).isEqualTo(EmailOutbox.Status.FAILED);
+        assertThat(bad.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void dispatchBatch_ShouldNotClaimMoreThanTheRateAllows() {
+        // Given
+        EmailDispatcher dispatcher = dispatcher(2);
+        when(emailOutboxRepository.lockDue(any(), eq(2)))
+                .thenReturn(List.of(queued(1L, "a@example.com", 0), queued(2L, "b@example.com", 0)));
+
+        // When
+        int firstRun = dispatcher.dispatchBatch();
+        int secondRun = dispatcher.dispatchBatch();
+
+        // Then
+        assertThat(firstRun).isEqualTo(2);
+        assertThat(secondRun).isZero();
+        verify(emailOutboxRepository, times(1)).lockDue(any(), anyInt());
+    }
+
+    @Test
+    void dispatchBatch_WhenSendingOutlastsPartOfTheLease_ShouldExtendIt() {
+        // Given
+        mailSender = new RejectingMailSender(1500);
+        EmailDispatcher dispatcher = dispatcher(120);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 3L);
+        EmailOutbox slow = queued(1L, "a@example.com", 0);
+        when(emailOutboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(slow));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        verify(emailOutboxRepository, atLeastOnce()).extendLease(eq(List.of(1L)), eq(EmailOutbox.Status.SENDING),
+                argThat(until -> !until.isBefore(before.plusSeconds(3))));
+        assertThat(slow.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+    }
+
+    @Test
+    void dispatchBatch_WhenSendingIsQuick_ShouldNotTouchTheLease() {
+        // Given
+        EmailDispatcher dispatcher = dispatcher(120);
+        when(emailOutboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(queued(1L, "a@example.com", 0)));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        verify(emailOutboxRepository, never()).extendLease(any(), any(), any());
+    }
+
+    @Test
+    void backoffSeconds_ShouldDoubleAndCapAtOneHour() {
+        // Given
+        EmailDispatcher dispatcher = dispatcher(120);
+
+        // Then
+        assertThat(dispatcher.backoffSeconds(1)).isEqualTo(30);
+        assertThat(dispatcher.backoffSeconds(2)).isEqualTo(60);
+        assertThat(dispatcher.backoffSeconds(4)).isEqualTo(240);
+        assertThat(dispatcher.backoffSeconds(12)).isEqualTo(3600);
+    }
+
+    private EmailDispatcher dispatcher(int ratePerMinute) {
+        EmailDispatcher dispatcher = new EmailDispatcher(emailOutboxRepository, mailSender, transactionManager,
+                ratePerMinute, 2);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBaseSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        return dispatcher;
+    }
+
+    private EmailOutbox queued(Long id, String to, int attempts) {
+        EmailOutbox email = EmailOutbox.builder()
+                .category(EmailOutbox.Category.ANNOUNCEMENT)
+                .toAddress(to)
+                .subject("League news")
+                .htmlBody("<p>Hello</p>")
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        email.setId(id);
+        return email;
+    }
+
+    /**
+     * In-process SMTP stand-in that rejects configured recipients the way a partial
+     * batch failure comes back from {@code JavaMailSenderImpl}.
+     */
+    private static class RejectingMailSender extends LocalMailConfig.RecordingMailSender {
+
+        private final List<String> rejected = new CopyOnWriteArrayList<>();
+        private final long delayMillis;
+
+        RejectingMailSender() {
+            this(0);
+        }
+
+        RejectingMailSender(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        void reject(String address) {
+            rejected.add(address);
+        }
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Map<Object, Exception> failed = new HashMap<>();
+            for (MimeMessage message : mimeMessages) {
+                String to = recipient(message);
+                if (rejected.contains(to)) {
+                    failed.put(message, new MessagingException("550 Mailbox unavailable: " + to));
+                } else {
+                    record(message);
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+        }
+
+        static String recipient(MimeMessage message) {
+            try {
+                return message.getAllRecipients()[0].toString();
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
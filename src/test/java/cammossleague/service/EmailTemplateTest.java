@@ -0,0 +1,49 @@
+package cammossleague.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmailTemplateTest {
+
+    @Test
+    void bind_ShouldFillSharedValuesAndLeaveRecipientPlaceholders() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile(
+                "<h1>{{title}}</h1><p>Hello {{ firstName }},</p>{{&body}}<p>{{title}}</p>");
+
+        // When
+        EmailTemplate message = template.bind(Map.of("title", "Week 3", "body", "<p>Games moved</p>"));
+
+        // Then
+        assertThat(message.getPlaceholders()).containsExactly("firstName");
+        assertThat(message.render(Map.of("firstName", "Rocco")))
+                .isEqualTo("<h1>Week 3</h1><p>Hello Rocco,</p><p>Games moved</p><p>Week 3</p>");
+    }
+
+    @Test
+    void render_ShouldEscapeValuesUnlessPlaceholderIsRaw() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("{{name}}|{{&html}}|{{missing}}");
+
+        // When
+        String html = template.render(Map.of("name", "<Ben & Jerry>", "html", "<b>ok</b>"));
+
+        // Then
+        assertThat(html).isEqualTo("&lt;Ben &amp; Jerry&gt;|<b>ok</b>|");
+    }
+
+    @Test
+    void compile_ShouldKeepCssBracesAndUnclosedMarkersAsText() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("body { color: #333; } {{name}} {{ unclosed");
+
+        // When
+        String html = template.render(Map.of("name", "x"));
+
+        // Then
+        assertThat(html).isEqualTo("body { color: #333; } x {{ unclosed");
+    }
+}
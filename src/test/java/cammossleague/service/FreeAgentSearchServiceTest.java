@@ -0,0 +1,201 @@
+package cammossleague.service;
+
+import cammossleague.dto.FreeAgentDTO;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.model.Player.Position;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamRepository;
+import cammossleague.service.FreeAgentSearchService.FreeAgentMatch;
+import cammossleague.service.FreeAgentSearchService.RosterNeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FreeAgentSearchServiceTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    private FreeAgentSearchService freeAgentSearchService;
+
+    @BeforeEach
+    void setUp() {
+        freeAgentSearchService = new FreeAgentSearchService(playerRepository, teamRepository, seasonRepository);
+        ReflectionTestUtils.setField(freeAgentSearchService, "targetPerPosition", 2);
+        ReflectionTestUtils.setField(freeAgentSearchService, "veteranYears", 5);
+    }
+
+    @Test
+    void search_ShouldApplyEveryFilterAndSkipRosteredAgents() {
+        // Given
+        when(playerRepository.findRosteredFreeAgentIds()).thenReturn(List.of(4L));
+        when(playerRepository.findFreeAgentProfiles()).thenReturn(List.of(
+                agent(1L, Position.C, 82, 6),
+                agent(2L, Position.C, 74, 6),
+                agent(3L, Position.C, 83, 1),
+                agent(4L, Position.C, 84, 9),
+                agent(5L, Position.PG, 83, 7)));
+
+        // When
+        List<FreeAgentMatch> matches = freeAgentSearchService.search(1L, EnumSet.of(Position.C), 80, null, 5, 10);
+
+        // Then
+        assertThat(matches).extracting(match -> match.getPlayer().getPlayerId()).containsExactly(1L);
+    }
+
+    @Test
+    void search_WithoutFilters_ShouldRankByQuality() {
+        // Given
+        when(playerRepository.findRosteredFreeAgentIds()).thenReturn(List.of());
+        when(playerRepository.findFreeAgentProfiles()).thenReturn(List.of(
+                agent(1L, Position.SG, 74, 1),
+                agent(2L, Position.SG, 74, 8)));
+
+        // When
+        List<FreeAgentMatch> matches = freeAgentSearchService.search(1L, Set.of(), null, null, null, 1);
+
+        // Then
+        assertThat(matches).extracting(match -> match.getPlayer().getPlayerId()).containsExactly(2L);
+    }
+
+    @Test
+    void recommendForTeam_WithExperienceNeed_ShouldRankFullFitsAbovePartialOnes() {
+        // Given
+        stubTeam(fullRoster(6));
+        when(playerRepository.findRosteredFreeAgentIds()).thenReturn(List.of());
+        when(playerRepository.findFreeAgentProfiles()).thenReturn(List.of(
+                agent(1L, Position.C, 80, 6),
+                agent(2L, Position.C, 84, 2),
+                agent(3L, Position.PG, 74, 9)));
+
+        // When
+        List<FreeAgentMatch> matches = freeAgentSearchService.recommendForTeam(
+                10L, List.of(RosterNeed.parse("C:5")), 10);
+
+        // Then
+        assertThat(matches).extracting(match -> match.getPlayer().getPlayerId()).containsExactly(1L, 2L, 3L);
+        assertThat(matches.get(0).getReasons()).contains("Fits need: C with 5+ years");
+        assertThat(matches.get(1).getReasons()).anyMatch(reason -> reason.startsWith("Partly fits need"));
+    }
+
+    @Test
+    void recommendForTeam_ShouldFavourPositionsBelowTarget() {
+        // Given
+        List<Object[]> roster = fullRoster(1);
+        roster.removeIf(row -> row[0] == Position.C);
+        roster.add(new Object[] {Position.PG, 6});
+        stubTeam(roster);
+        when(playerRepository.findRosteredFreeAgentIds()).thenReturn(List.of());
+        when(playerRepository.findFreeAgentProfiles()).thenReturn(List.of(
+                agent(1L, Position.PG, 74, 9),
+                agent(2L, Position.C, 76, 0)));
+
+        // When
+        List<FreeAgentMatch> matches = freeAgentSearchService.recommendForTeam(10L, 10);
+
+        // Then
+        assertThat(matches).extracting(match -> match.getPlayer().getPlayerId()).containsExactly(2L, 1L);
+        assertThat(matches.get(0).getReasons()).contains("Fills C need (0 of 2 on roster)");
+    }
+
+    @Test
+    void recommendForTeam_WithoutVeterans_ShouldFavourExperiencedAgents() {
+        // Given
+        stubTeam(fullRoster(1));
+        when(playerRepository.findRosteredFreeAgentIds()).thenReturn(List.of());
+        when(playerRepository.findFreeAgentProfiles()).thenReturn(List.of(
+                agent(1L, Position.SG, 74, 4),
+                agent(2L, Position.SG, 74, 5)));
+
+        // When
+        List<FreeAgentMatch> matches = freeAgentSearchService.recommendForTeam(10L, 10);
+
+        // Then
+        assertThat(matches.get(0).getPlayer().getPlayerId()).isEqualTo(2L);
+        assertThat(matches.get(0).getScore() - matches.get(1).getScore()).isEqualTo(9.0);
+    }
+
+    @Test
+    void search_AfterFailedRebuild_ShouldRetryOnNextRead() {
+        // Given
+        when(playerRepository.findRosteredFreeAgentIds()).thenReturn(List.of());
+        when(playerRepository.findFreeAgentProfiles())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of(agent(1L, Position.C, 80, 6)));
+
+        // When
+        assertThatThrownBy(() -> freeAgentSearchService.search(1L, Set.of(), null, null, null, 10))
+                .isInstanceOf(IllegalStateException.class);
+        List<FreeAgentMatch> matches = freeAgentSearchService.search(1L, Set.of(), null, null, null, 10);
+
+        // Then
+        assertThat(matches).hasSize(1);
+    }
+
+    @Test
+    void onRosterChanged_ShouldRebuildIndexOnNextRead() {
+        // Given
+        when(playerRepository.findRosteredFreeAgentIds()).thenReturn(List.of(), List.of(1L));
+        when(playerRepository.findFreeAgentProfiles()).thenReturn(List.of(agent(1L, Position.C, 80, 6)));
+        assertThat(freeAgentSearchService.search(1L, Set.of(), null, null, null, 10)).hasSize(1);
+
+        // When
+        freeAgentSearchService.onRosterChanged(new RosterChangedEvent(10L, 1L, 1L, 100L));
+
+        // Then
+        assertThat(freeAgentSearchService.search(1L, Set.of(), null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void rosterNeedParse_ShouldRejectUnknownPositionsAndNegativeYears() {
+        assertThat(RosterNeed.parse(":5").getPosition()).isNull();
+        assertThat(RosterNeed.parse("c").getMinExperience()).isNull();
+        assertThatThrownBy(() -> RosterNeed.parse("XX:5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RosterNeed.parse("C:-1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RosterNeed.parse(":")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void stubTeam(List<Object[]> roster) {
+        Season season = Season.builder().id(1L).name("Summer").build();
+        Team team = Team.builder().name("Hawks").season(season).build();
+        team.setId(10L);
+        when(teamRepository.findById(10L)).thenReturn(Optional.of(team));
+        when(playerRepository.findRosterPositionsAndExperienceByTeamId(10L)).thenReturn(roster);
+    }
+
+    // Two players at every position, each with the given years of experience
+    private static List<Object[]> fullRoster(int years) {
+        List<Object[]> roster = new ArrayList<>();
+        for (Position position : EnumSet.complementOf(EnumSet.of(Position.UTIL))) {
+            roster.add(new Object[] {position, years});
+            roster.add(new Object[] {position, years});
+        }
+        return roster;
+    }
+
+    private static FreeAgentDTO agent(Long id, Position position, int heightInches, int years) {
+        return new FreeAgentDTO(id, id + 100, "Agent " + id, 1L, "Summer", position, heightInches, years, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,239 @@
+package cammossleague.service;
+
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.EmailOutbox;
+import cammossleague.model.Game;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameReminderSentRepository;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameReminderServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private GameReminderSentRepository gameReminderSentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GameReminderService gameReminderService;
+
+    private Season season;
+
+    @BeforeEach
+    void setUp() {
+        gameReminderService = new GameReminderService(gameRepository, userRepository, emailService,
+                gameReminderSentRepository, transactionManager);
+        ReflectionTestUtils.setField(gameReminderService, "enabled", true);
+        ReflectionTestUtils.setField(gameReminderService, "retryBaseSeconds", 60L);
+
+        season = Season.builder().name("Summer").year(2025).build();
+        season.setId(1L);
+    }
+
+    @Test
+    void rebuild_ShouldQueueBothRemindersAheadButOnlyTheLatestOneAlreadyDue() {
+        // Given
+        Game soon = game(1L, LocalDateTime.now().plusMinutes(90));
+        Game later = game(2L, LocalDateTime.now().plusDays(3));
+        when(gameRepository.findUpcomingGames(any())).thenReturn(List.of(soon, later));
+
+        // When
+        gameReminderService.rebuild();
+
+        // Then
+        assertThat(gameReminderService.getPendingReminders())
+                .extracting(GameReminderService.Reminder::getGameId, GameReminderService.Reminder::getKind)
+                .containsExactly(
+                        tuple(1L, GameReminderService.Kind.TWO_HOURS),
+                        tuple(2L, GameReminderService.Kind.DAY_BEFORE),
+                        tuple(2L, GameReminderService.Kind.TWO_HOURS));
+    }
+
+    @Test
+    void dispatchDue_ShouldQueueEachReminderOnlyOnce() {
+        // Given
+        Game soon = game(1L, LocalDateTime.now().plusMinutes(90));
+        when(gameRepository.findUpcomingGames(any())).thenReturn(List.of(soon));
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(soon));
+        when(gameReminderSentRepository.existsByGameIdAndKindAndGameStart(anyLong(), anyString(), any()))
+                .thenReturn(false, true);
+        when(emailService.getBaseUrl()).thenReturn("http://localhost:3000");
+        when(userRepository.findRecipientsByTeamIdIn(anyList())).thenReturn(List.of());
+        gameReminderService.rebuild();
+
+        // When
+        gameReminderService.dispatchDue();
+        // A score edit re-plans the game; the reminder is due again but already marked as sent
+        gameReminderService.onGameUpdated(new GameUpdatedEvent(1L, 1L));
+        gameReminderService.dispatchDue();
+
+        // Then
+        verify(emailService, times(1)).enqueueBulk(eq(EmailOutbox.Category.REMINDER), eq("game-reminder"),
+                anyString(), anyMap(), anyList());
+        verify(gameReminderSentRepository, times(1)).saveAndFlush(argThat(sent -> sent.getGame() == soon
+                && sent.getKind().equals("TWO_HOURS")
+                && sent.getGameStart().equals(LocalDateTime.of(soon.getGameDate(), soon.getGameTime()))));
+        assertThat(gameReminderService.getPendingReminders()).isEmpty();
+    }
+
+    @Test
+    void dispatchDue_WhenQueueingFails_ShouldRetryTheReminderWithBackoff() {
+        // Given
+        Game soon = game(1L, LocalDateTime.now().plusMinutes(90));
+        when(gameRepository.findUpcomingGames(any())).thenReturn(List.of(soon));
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(soon));
+        when(gameReminderSentRepository.existsByGameIdAndKindAndGameStart(anyLong(), anyString(), any()))
+                .thenReturn(false);
+        when(emailService.getBaseUrl()).thenReturn("http://localhost:3000");
+        when(userRepository.findRecipientsByTeamIdIn(anyList())).thenReturn(List.of());
+        when(emailService.enqueueBulk(any(), anyString(), anyString(), anyMap(), anyList()))
+                .thenThrow(new RuntimeException("connection reset"));
+        gameReminderService.rebuild();
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        gameReminderService.dispatchDue();
+
+        // Then
+        assertThat(gameReminderService.getPendingReminders())
+                .singleElement()
+                .satisfies(reminder -> {
+                    assertThat(reminder.getKind()).isEqualTo(GameReminderService.Kind.TWO_HOURS);
+                    assertThat(reminder.getFireAt()).isAfterOrEqualTo(before.plusSeconds(60));
+                });
+    }
+
+    @Test
+    void dispatchDue_WhenRetrySucceeds_ShouldQueueTheReminderOnce() {
+        // Given
+        ReflectionTestUtils.setField(gameReminderService, "retryBaseSeconds", 0L);
+        Game soon = game(1L, LocalDateTime.now().plusMinutes(90));
+        when(gameRepository.findUpcomingGames(any())).thenReturn(List.of(soon));
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(soon));
+        when(gameReminderSentRepository.existsByGameIdAndKindAndGameStart(anyLong(), anyString(), any()))
+                .thenReturn(false);
+        when(emailService.getBaseUrl()).thenReturn("http://localhost:3000");
+        when(userRepository.findRecipientsByTeamIdIn(anyList())).thenReturn(List.of());
+        when(emailService.enqueueBulk(any(), anyString(), anyString(), anyMap(), anyList()))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(2);
+        gameReminderService.rebuild();
+
+        // When
+        gameReminderService.dispatchDue();
+        gameReminderService.dispatchDue();
+        gameReminderService.dispatchDue();
+
+        // Then
+        verify(emailService, times(2)).enqueueBulk(eq(EmailOutbox.Category.REMINDER), eq("game-reminder"),
+                anyString(), anyMap(), anyList());
+        assertThat(gameReminderService.getPendingReminders()).isEmpty();
+    }
+
+    @Test
+    void dispatchDue_WhenRetryWouldMissTheGame_ShouldGiveUp() {
+        // Given
+        ReflectionTestUtils.setField(gameReminderService, "retryBaseSeconds", 3600L);
+        Game soon = game(1L, LocalDateTime.now().plusMinutes(10));
+        when(gameRepository.findUpcomingGames(any())).thenReturn(List.of(soon));
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(soon));
+        when(gameReminderSentRepository.existsByGameIdAndKindAndGameStart(anyLong(), anyString(), any()))
+                .thenReturn(false);
+        when(emailService.getBaseUrl()).thenReturn("http://localhost:3000");
+        when(userRepository.findRecipientsByTeamIdIn(anyList())).thenReturn(List.of());
+        when(emailService.enqueueBulk(any(), anyString(), anyString(), anyMap(), anyList()))
+                .thenThrow(new RuntimeException("connection reset"));
+        gameReminderService.rebuild();
+
+        // When
+        gameReminderService.dispatchDue();
+
+        // Then
+        assertThat(gameReminderService.getPendingReminders()).isEmpty();
+    }
+
+    @Test
+    void onGameUpdated_WhenGameMoved_ShouldReplaceItsRemindersWithoutRescanning() {
+        // Given
+        LocalDateTime original = LocalDateTime.now().plusDays(3);
+        LocalDateTime moved = original.plusDays(7);
+        when(gameRepository.findUpcomingGames(any())).thenReturn(List.of(game(1L, original)));
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(game(1L, moved)));
+        gameReminderService.rebuild();
+
+        // When
+        gameReminderService.onGameUpdated(new GameUpdatedEvent(1L, 1L));
+
+        // Then
+        assertThat(gameReminderService.getPendingReminders())
+                .hasSize(2)
+                .allSatisfy(reminder -> assertThat(reminder.getGameStart()).isEqualTo(moved));
+        verify(gameRepository, times(1)).findUpcomingGames(any());
+    }
+
+    @Test
+    void onGameUpdated_WhenSeasonGamesDeleted_ShouldDropTheirReminders() {
+        // Given
+        when(gameRepository.findUpcomingGames(any())).thenReturn(List.of(game(1L, LocalDateTime.now().plusDays(3))));
+        when(gameRepository.findUpcomingGamesBySeason(eq(1L), any())).thenReturn(List.of());
+        gameReminderService.rebuild();
+
+        // When
+        gameReminderService.onGameUpdated(GameUpdatedEvent.forSeason(1L));
+
+        // Then
+        assertThat(gameReminderService.getPendingReminders()).isEmpty();
+    }
+
+    private Game game(Long id, LocalDateTime start) {
+        return Game.builder()
+                .id(id)
+                .season(season)
+                .homeTeam(team(10L))
+                .awayTeam(team(20L))
+                .gameDate(start.toLocalDate())
+                .gameTime(start.toLocalTime())
+                .location("Community Center")
+                .isCompleted(false)
+                .build();
+    }
+
+    private Team team(Long id) {
+        Team team = Team.builder().name("Team " + id).build();
+        team.setId(id);
+        return team;
+    }
+}
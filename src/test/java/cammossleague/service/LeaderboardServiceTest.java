@@ -0,0 +1,130 @@
+package cammossleague.service;
+
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.model.Player;
+import cammossleague.model.Season;
+import cammossleague.model.User;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.service.LeaderboardService.LeaderEntry;
+import cammossleague.service.LeaderboardService.Stat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    private LeaderboardService leaderboardService;
+    private Season season;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = new LeaderboardService(playerRepository);
+        ReflectionTestUtils.setField(leaderboardService, "minGamesForAverages", 2);
+        season = Season.builder().id(1L).name("Summer").build();
+    }
+
+    @Test
+    void getLeaders_ShouldRankByStatAndPage() {
+        // Given
+        when(playerRepository.findBySeasonIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                player(1L, 4, 40, 10), player(2L, 4, 60, 30), player(3L, 4, 50, 20)));
+
+        // When
+        List<LeaderEntry> top = leaderboardService.getLeaders(1L, Stat.POINTS, 0, 2);
+        List<LeaderEntry> rest = leaderboardService.getLeaders(1L, Stat.POINTS, 2, 2);
+
+        // Then
+        assertThat(top).extracting(LeaderEntry::getPlayerId).containsExactly(2L, 3L);
+        assertThat(rest).extracting(LeaderEntry::getPlayerId).containsExactly(1L);
+    }
+
+    @Test
+    void onPlayerStatsChanged_ShouldMovePlayerToTheirNewRankAndScore() {
+        // Given
+        when(playerRepository.findBySeasonIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                player(1L, 4, 40, 10), player(2L, 4, 60, 30), player(3L, 4, 50, 20)));
+        leaderboardService.getLeaders(1L, Stat.POINTS, 0, 3);
+        when(playerRepository.findAllById(List.of(1L))).thenReturn(List.of(player(1L, 5, 75, 12)));
+
+        // When
+        leaderboardService.onPlayerStatsChanged(new PlayerStatsChangedEvent(1L, List.of(1L)));
+
+        // Then
+        List<LeaderEntry> leaders = leaderboardService.getLeaders(1L, Stat.POINTS, 0, 3);
+        assertThat(leaders).extracting(LeaderEntry::getPlayerId).containsExactly(1L, 2L, 3L);
+        assertThat(leaders.get(0).getPoints()).isEqualTo(75);
+        assertThat(leaders.get(0).getPointsPerGame()).isEqualTo(15.0);
+        assertThat(leaderboardService.getBoardSize(1L, Stat.POINTS)).isEqualTo(3);
+        verify(playerRepository, times(1)).findBySeasonIdAndIsActiveTrue(1L);
+    }
+
+    @Test
+    void onPlayerStatsChanged_ForInactiveOrMissingPlayer_ShouldDropThemFromBoards() {
+        // Given
+        when(playerRepository.findBySeasonIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                player(1L, 4, 40, 10), player(2L, 4, 60, 30)));
+        leaderboardService.getLeaders(1L, Stat.POINTS, 0, 2);
+        Player inactive = player(1L, 4, 40, 10);
+        inactive.setIsActive(false);
+        when(playerRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(inactive));
+
+        // When
+        leaderboardService.onPlayerStatsChanged(new PlayerStatsChangedEvent(1L, List.of(1L, 2L)));
+
+        // Then
+        assertThat(leaderboardService.getBoardSize(1L, Stat.POINTS)).isZero();
+    }
+
+    @Test
+    void getLeaders_PerGame_ShouldLeaveOutPlayersBelowMinimumGames() {
+        // Given
+        when(playerRepository.findBySeasonIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                player(1L, 1, 30, 5), player(2L, 4, 60, 30)));
+
+        // When
+        List<LeaderEntry> leaders = leaderboardService.getLeaders(1L, Stat.POINTS_PER_GAME, 0, 5);
+
+        // Then
+        assertThat(leaders).extracting(LeaderEntry::getPlayerId).containsExactly(2L);
+        assertThat(leaderboardService.getBoardSize(1L, Stat.POINTS)).isEqualTo(2);
+    }
+
+    @Test
+    void onPlayerStatsChanged_ForAllSeasons_ShouldRebuildOnNextRead() {
+        // Given
+        when(playerRepository.findBySeasonIdAndIsActiveTrue(1L)).thenReturn(List.of(player(1L, 4, 40, 10)));
+        leaderboardService.getLeaders(1L, Stat.POINTS, 0, 1);
+
+        // When
+        leaderboardService.onPlayerStatsChanged(PlayerStatsChangedEvent.forAllSeasons());
+        leaderboardService.getLeaders(1L, Stat.POINTS, 0, 1);
+
+        // Then
+        verify(playerRepository, times(2)).findBySeasonIdAndIsActiveTrue(1L);
+    }
+
+    private Player player(Long id, int games, int points, int rebounds) {
+        Player player = Player.builder()
+                .season(season)
+                .user(User.builder().firstName("Player").lastName(String.valueOf(id)).build())
+                .statsGamesPlayed(games)
+                .statsPoints(points)
+                .statsRebounds(rebounds)
+                .statsAssists(0)
+                .build();
+        player.setId(id);
+        return player;
+    }
+}
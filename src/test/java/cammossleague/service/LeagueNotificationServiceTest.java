@@ -0,0 +1,206 @@
+package cammossleague.service;
+
+import cammossleague.dto.RecipientDTO;
+import cammossleague.event.GameMovedEvent;
+import cammossleague.event.LeagueUpdatePublishedEvent;
+import cammossleague.event.SchedulePostedEvent;
+import cammossleague.model.EmailOutbox;
+import cammossleague.model.Game;
+import cammossleague.model.LeagueUpdate;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.LeagueUpdateRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeagueNotificationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private LeagueUpdateRepository leagueUpdateRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LeagueNotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new LeagueNotificationService(userRepository, gameRepository, seasonRepository,
+                leagueUpdateRepository, emailService, transactionManager);
+        ReflectionTestUtils.setField(notificationService, "enabled", true);
+        lenient().when(emailService.getBaseUrl()).thenReturn("https://league.example.com");
+    }
+
+    @Test
+    void onSchedulePosted_ShouldEmailEveryoneInTheSeason() {
+        // Given
+        Season season = new Season();
+        season.setId(3L);
+        season.setName("Fall 2026");
+        List<RecipientDTO> recipients = List.of(new RecipientDTO(1L, "a@example.com", "Ann"));
+        when(seasonRepository.findById(3L)).thenReturn(Optional.of(season));
+        when(userRepository.findRecipientsBySeasonId(3L)).thenReturn(recipients);
+
+        // When
+        notificationService.onSchedulePosted(new SchedulePostedEvent(3L, 42));
+
+        // Then
+        Map<String, String> values = captureValues(EmailOutbox.Category.GAME_UPDATE, "schedule-posted",
+                "Fall 2026 Schedule Posted", recipients);
+        assertThat(values).containsEntry("seasonName", "Fall 2026")
+                .containsEntry("gameCount", "42")
+                .containsEntry("scheduleUrl", "https://league.example.com/schedule");
+    }
+
+    @Test
+    void onGameMoved_ShouldEmailBothTeamsWithOldAndNewSlot() {
+        // Given
+        Game game = game(false);
+        List<RecipientDTO> recipients = List.of(new RecipientDTO(1L, "a@example.com", "Ann"),
+                new RecipientDTO(2L, "b@example.com", "Ben"));
+        when(gameRepository.findById(7L)).thenReturn(Optional.of(game));
+        when(userRepository.findRecipientsByTeamIdIn(List.of(10L, 20L))).thenReturn(recipients);
+
+        // When
+        notificationService.onGameMoved(new GameMovedEvent(7L, 3L, LocalDate.of(2026, 10, 21),
+                LocalTime.of(18, 0), "Main Gym", "1"));
+
+        // Then
+        Map<String, String> values = captureValues(EmailOutbox.Category.GAME_UPDATE, "game-moved",
+                "Game Moved: Hawks at Lakers", recipients);
+        assertThat(values).containsEntry("previousWhen", "Wednesday, October 21 at 6:00 PM")
+                .containsEntry("when", "Thursday, October 22 at 7:30 PM")
+                .containsEntry("where", "East Gym, Court 2");
+    }
+
+    @Test
+    void onGameMoved_WhenGameAlreadyCompleted_ShouldNotEmail() {
+        // Given
+        when(gameRepository.findById(7L)).thenReturn(Optional.of(game(true)));
+
+        // When
+        notificationService.onGameMoved(new GameMovedEvent(7L, 3L, LocalDate.of(2026, 10, 21),
+                LocalTime.of(18, 0), "Main Gym", "1"));
+
+        // Then
+        verify(emailService, never()).enqueueBulk(any(), anyString(), anyString(), anyMap(), anyList());
+    }
+
+    @Test
+    void onLeagueUpdatePublished_ShouldEmailActiveUsersWithEscapedParagraphs() {
+        // Given
+        LeagueUpdate update = LeagueUpdate.builder()
+                .id(5L)
+                .title("Playoffs")
+                .content("Seeds are <set>.\n\nGood luck & have fun")
+                .updateType(LeagueUpdate.UpdateType.PLAYOFF_UPDATE)
+                .build();
+        List<RecipientDTO> recipients = List.of(new RecipientDTO(1L, "a@example.com", "Ann"));
+        when(leagueUpdateRepository.findById(5L)).thenReturn(Optional.of(update));
+        when(userRepository.findActiveRecipients()).thenReturn(recipients);
+
+        // When
+        notificationService.onLeagueUpdatePublished(new LeagueUpdatePublishedEvent(5L));
+
+        // Then
+        Map<String, String> values = captureValues(EmailOutbox.Category.ANNOUNCEMENT, "league-update",
+                "Playoffs", recipients);
+        assertThat(values).containsEntry("updateType", "Playoff Update")
+                .containsEntry("updateBody", "<p>Seeds are &lt;set&gt;.</p>\n<p>Good luck &amp; have fun</p>\n");
+    }
+
+    @Test
+    void listeners_WhenDisabled_ShouldNotQueueAnything() {
+        // Given
+        ReflectionTestUtils.setField(notificationService, "enabled", false);
+
+        // When
+        notificationService.onSchedulePosted(new SchedulePostedEvent(3L, 42));
+        notificationService.onLeagueUpdatePublished(new LeagueUpdatePublishedEvent(5L));
+
+        // Then
+        verifyNoInteractions(seasonRepository, leagueUpdateRepository, emailService);
+    }
+
+    @Test
+    void onSchedulePosted_WhenSeasonIsGone_ShouldNotThrow() {
+        // Given
+        when(seasonRepository.findById(3L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatCode(() -> notificationService.onSchedulePosted(new SchedulePostedEvent(3L, 42)))
+                .doesNotThrowAnyException();
+        verify(emailService, never()).enqueueBulk(any(), anyString(), anyString(), anyMap(), anyList());
+    }
+
+    @Test
+    void describeHelpers_ShouldFallBackToTbd() {
+        assertThat(LeagueNotificationService.describeWhen(null, LocalTime.NOON)).isEqualTo("TBD");
+        assertThat(LeagueNotificationService.describeWhen(LocalDate.of(2026, 10, 22), null))
+                .isEqualTo("Thursday, October 22");
+        assertThat(LeagueNotificationService.describeWhere(null, "3")).isEqualTo("TBD, Court 3");
+        assertThat(LeagueNotificationService.describeWhere("East Gym", " ")).isEqualTo("East Gym");
+        assertThat(LeagueNotificationService.toParagraphs("  ")).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> captureValues(EmailOutbox.Category category, String template, String subject,
+                                              List<RecipientDTO> recipients) {
+        ArgumentCaptor<Map<String, String>> values = ArgumentCaptor.forClass(Map.class);
+        verify(emailService).enqueueBulk(eq(category), eq(template), eq(subject), values.capture(), eq(recipients));
+        return values.getValue();
+    }
+
+    private Game game(boolean completed) {
+        Team home = Team.builder().name("Lakers").build();
+        home.setId(10L);
+        Team away = Team.builder().name("Hawks").build();
+        away.setId(20L);
+        return Game.builder()
+                .id(7L)
+                .homeTeam(home)
+                .awayTeam(away)
+                .gameDate(LocalDate.of(2026, 10, 22))
+                .gameTime(LocalTime.of(19, 30))
+                .location("East Gym")
+                .courtNumber("2")
+                .isCompleted(completed)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package cammossleague.service;
+
+import cammossleague.model.PasswordResetToken;
+import cammossleague.model.User;
+import cammossleague.repository.PasswordResetTokenRepository;
+import cammossleague.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordResetServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private PasswordResetService passwordResetService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(passwordResetService, "tokenExpiryHours", 1);
+        ReflectionTestUtils.setField(passwordResetService, "cleanupBatchSize", 2);
+        user = User.builder().id(7L).email("player@example.com").firstName("Pat").build();
+    }
+
+    @Test
+    void initiatePasswordReset_ShouldStoreOnlyTheHashOfTheEmailedToken() {
+        // Given
+        when(userRepository.findByEmail("player@example.com")).thenReturn(Optional.of(user));
+
+        // When
+        passwordResetService.initiatePasswordReset("player@example.com");
+
+        // Then
+        ArgumentCaptor<String> emailedToken = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(emailService).queuePasswordResetEmail(eq("player@example.com"), eq("Pat"), emailedToken.capture());
+        verify(passwordResetTokenRepository).save(saved.capture());
+
+        assertThat(emailedToken.getValue()).hasSize(43).matches("[A-Za-z0-9_-]+");
+        assertThat(saved.getValue().getTokenHash())
+                .hasSize(64)
+                .isEqualTo(PasswordResetService.hashToken(emailedToken.getValue()))
+                .isNotEqualTo(emailedToken.getValue());
+    }
+
+    @Test
+    void resetPassword_ShouldLookUpTokenByHashAndEndExistingSessions() {
+        // Given
+        PasswordResetToken stored = PasswordResetToken.builder()
+                .tokenHash(PasswordResetService.hashToken("raw-token"))
+                .user(user)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        when(passwordResetTokenRepository.findByTokenHashAndIsUsedFalse(PasswordResetService.hashToken("raw-token")))
+                .thenReturn(Optional.of(stored));
+        when(passwordEncoder.encode("new-password")).thenReturn("encoded");
+
+        // When
+        boolean reset = passwordResetService.resetPassword("raw-token", "new-password");
+
+        // Then
+        assertThat(reset).isTrue();
+        assertThat(user.getPasswordHash()).isEqualTo("encoded");
+        assertThat(stored.getIsUsed()).isTrue();
+        verify(refreshTokenService).endAllSessions(7L);
+    }
+
+    @Test
+    void validateResetToken_WhenTokenUnknown_ShouldReturnFalse() {
+        // Given
+        when(passwordResetTokenRepository.findByTokenHashAndIsUsedFalse(anyString())).thenReturn(Optional.empty());
+
+        // When
+        boolean valid = passwordResetService.validateResetToken("guess");
+
+        // Then
+        assertThat(valid).isFalse();
+    }
+
+    @Test
+    void cleanupExpiredTokens_ShouldDeleteInBatchesUntilAPartialBatch() {
+        // Given
+        when(passwordResetTokenRepository.deleteExpiredAndUsedTokens(any(), eq(2))).thenReturn(2, 2, 1);
+
+        // When
+        passwordResetService.cleanupExpiredTokens();
+
+        // Then
+        verify(passwordResetTokenRepository, times(3)).deleteExpiredAndUsedTokens(any(), eq(2));
+    }
+}
@@ -0,0 +1,147 @@
+package cammossleague.service;
+
+import cammossleague.dto.CareerEntryDTO;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.event.SeasonUpdatedEvent;
+import cammossleague.event.TeamRenamedEvent;
+import cammossleague.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerCareerServiceTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    private PlayerCareerService careerService;
+
+    @BeforeEach
+    void setUp() {
+        careerService = new PlayerCareerService(playerRepository);
+        // Ann (user 1) played two seasons; Ben (user 2) one season on another team
+        lenient().when(playerRepository.findCareerByUserId(1L))
+                .thenReturn(List.of(entry(11L, 2L, 10L), entry(12L, 1L, 20L)));
+        lenient().when(playerRepository.findCareerByUserId(2L))
+                .thenReturn(List.of(entry(21L, 2L, 30L)));
+    }
+
+    @Test
+    void getCareer_ShouldLoadOncePerUser() {
+        // When
+        List<CareerEntryDTO> first = careerService.getCareer(1L);
+        List<CareerEntryDTO> second = careerService.getCareer(1L);
+
+        // Then
+        assertThat(second).isSameAs(first).hasSize(2);
+        verify(playerRepository, times(1)).findCareerByUserId(1L);
+    }
+
+    @Test
+    void onTeamRenamed_ShouldEvictOnlyCareersWithThatTeam() {
+        // Given
+        loadBoth();
+
+        // When
+        careerService.onTeamRenamed(new TeamRenamedEvent(20L, 1L));
+        loadBoth();
+
+        // Then
+        verify(playerRepository, times(2)).findCareerByUserId(1L);
+        verify(playerRepository, times(1)).findCareerByUserId(2L);
+    }
+
+    @Test
+    void onSeasonUpdated_ShouldEvictEveryCareerInThatSeason() {
+        // Given
+        loadBoth();
+
+        // When
+        careerService.onSeasonUpdated(new SeasonUpdatedEvent(2L));
+        loadBoth();
+
+        // Then
+        verify(playerRepository, times(2)).findCareerByUserId(1L);
+        verify(playerRepository, times(2)).findCareerByUserId(2L);
+    }
+
+    @Test
+    void onSeasonUpdated_ForAnotherSeason_ShouldKeepCareers() {
+        // Given
+        loadBoth();
+
+        // When
+        careerService.onSeasonUpdated(new SeasonUpdatedEvent(5L));
+        loadBoth();
+
+        // Then
+        verify(playerRepository, times(1)).findCareerByUserId(1L);
+        verify(playerRepository, times(1)).findCareerByUserId(2L);
+    }
+
+    @Test
+    void onRosterChanged_ShouldEvictOnlyThatUser() {
+        // Given
+        loadBoth();
+
+        // When
+        careerService.onRosterChanged(new RosterChangedEvent(30L, 2L, 21L, 2L));
+        loadBoth();
+
+        // Then
+        verify(playerRepository, times(1)).findCareerByUserId(1L);
+        verify(playerRepository, times(2)).findCareerByUserId(2L);
+    }
+
+    @Test
+    void onPlayerStatsChanged_ShouldEvictOwnersOfThePlayers() {
+        // Given
+        loadBoth();
+        when(playerRepository.findUserIdsByIdIn(List.of(99L))).thenReturn(List.of(1L));
+
+        // When
+        careerService.onPlayerStatsChanged(new PlayerStatsChangedEvent(2L, List.of(99L)));
+        loadBoth();
+
+        // Then
+        verify(playerRepository, times(2)).findCareerByUserId(1L);
+        verify(playerRepository, times(1)).findCareerByUserId(2L);
+    }
+
+    @Test
+    void onGameUpdated_ShouldClearEveryCareer() {
+        // Given
+        loadBoth();
+
+        // When
+        careerService.onGameUpdated(GameUpdatedEvent.forSeason(1L));
+        loadBoth();
+
+        // Then
+        verify(playerRepository, times(2)).findCareerByUserId(1L);
+        verify(playerRepository, times(2)).findCareerByUserId(2L);
+    }
+
+    private void loadBoth() {
+        careerService.getCareer(1L);
+        careerService.getCareer(2L);
+    }
+
+    private CareerEntryDTO entry(Long playerId, Long seasonId, Long teamId) {
+        CareerEntryDTO entry = new CareerEntryDTO();
+        entry.setPlayerId(playerId);
+        entry.setSeasonId(seasonId);
+        entry.setTeamId(teamId);
+        return entry;
+    }
+}
@@ -0,0 +1,111 @@
+package cammossleague.service;
+
+import cammossleague.dto.CareerEntryDTO;
+import cammossleague.model.Player;
+import cammossleague.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerServiceTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private PlayerCareerService playerCareerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PlayerService playerService;
+
+    @BeforeEach
+    void setUp() {
+        playerService = new PlayerService(playerRepository, playerCareerService, eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPlayerTeamHistory_ShouldTotalEachSeasonOnceAcrossSeasons() {
+        // Given
+        when(playerRepository.findUserIdById(2L)).thenReturn(Optional.of(9L));
+        when(playerCareerService.getCareer(9L)).thenReturn(List.of(
+                entry(2L, 2L, 2026, 10L, "Lakers", 8, 80, 40, 16),
+                // Traded mid-season: two rows for the same player record
+                entry(2L, 2L, 2026, 11L, "Hawks", 8, 80, 40, 16),
+                entry(1L, 1L, 2025, 12L, "Bulls", 12, 60, 30, 24),
+                // Registered but never rostered
+                entry(3L, 3L, 2024, null, null, null, null, null, null)));
+
+        // When
+        Map<String, Object> history = playerService.getPlayerTeamHistory(2L);
+
+        // Then
+        assertThat(history).containsEntry("playerName", "Ann Lee")
+                .containsEntry("totalSeasons", 3)
+                .containsEntry("teamsPlayed", 3);
+        Map<String, Object> totals = (Map<String, Object>) history.get("careerTotals");
+        assertThat(totals).containsEntry("seasons", 3)
+                .containsEntry("gamesPlayed", 20)
+                .containsEntry("points", 140)
+                .containsEntry("rebounds", 70)
+                .containsEntry("assists", 40)
+                .containsEntry("pointsPerGame", 7.0);
+        List<Map<String, Object>> teamHistory = (List<Map<String, Object>>) history.get("teamHistory");
+        assertThat(teamHistory).extracting(row -> row.get("teamName"))
+                .containsExactly("Lakers", "Hawks", "Bulls");
+        assertThat(teamHistory.get(0)).containsEntry("seasonName", "Season 2026")
+                .containsEntry("position", "Point Guard");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPlayerTeamHistory_WithNoGamesPlayed_ShouldNotDivideByZero() {
+        // Given
+        when(playerRepository.findUserIdById(2L)).thenReturn(Optional.of(9L));
+        when(playerCareerService.getCareer(9L))
+                .thenReturn(List.of(entry(2L, 2L, 2026, 10L, "Lakers", 0, 0, 0, 0)));
+
+        // When
+        Map<String, Object> history = playerService.getPlayerTeamHistory(2L);
+
+        // Then
+        Map<String, Object> totals = (Map<String, Object>) history.get("careerTotals");
+        assertThat(totals).containsEntry("pointsPerGame", 0.0)
+                .containsEntry("reboundsPerGame", 0.0)
+                .containsEntry("assistsPerGame", 0.0);
+    }
+
+    @Test
+    void getPlayerTeamHistory_WhenPlayerIsUnknown_ShouldReturnError() {
+        // Given
+        when(playerRepository.findUserIdById(2L)).thenReturn(Optional.empty());
+
+        // When
+        Map<String, Object> history = playerService.getPlayerTeamHistory(2L);
+
+        // Then
+        assertThat(history).containsEntry("error", "Player not found");
+        verifyNoInteractions(playerCareerService);
+    }
+
+    private CareerEntryDTO entry(Long playerId, Long seasonId, int year, Long teamId, String teamName,
+                                 Integer gamesPlayed, Integer points, Integer rebounds, Integer assists) {
+        return new CareerEntryDTO(playerId, "Ann Lee", seasonId, "Season " + year, year, year == 2026,
+                teamId, teamName, teamId != null ? "Springfield" : null, teamId != null ? 4 : null,
+                teamId != null ? Player.Position.PG : null, teamId != null ? 5 : null, teamId != null ? 3 : null,
+                gamesPlayed, points, rebounds, assists);
+    }
+}
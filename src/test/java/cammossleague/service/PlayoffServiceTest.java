@@ -2,6 +2,7 @@ package cammossleague.service;
 
 import cammossleague.dto.PlayoffBracketDTO;
 import cammossleague.dto.PlayoffMatchDTO;
+import cammossleague.dto.PlayoffRoundResultsDTO;
 import cammossleague.model.*;
 import cammossleague.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,9 +19,11 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +44,9 @@ class PlayoffServiceTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Mock
+    private TeamRatingService teamRatingService;
+
     @InjectMocks
     private PlayoffService playoffService;
 
@@ -206,6 +212,68 @@ class PlayoffServiceTest {
         verify(matchRepository).saveAll(any(List.class));
     }
 
+    @Test
+    void seedBracket_ShouldSeedByRatingAndBreakTiesByTeamId() {
+        // Given
+        List<Long> teamIds = List.of(1L, 2L, 3L, 4L);
+        List<Team> teams = List.of(team(4L), team(2L), team(3L), team(1L));
+
+        when(bracketRepository.findById(1L)).thenReturn(Optional.of(testBracket));
+        when(teamRepository.findAllById(teamIds)).thenReturn(teams);
+        when(matchRepository.findByBracketIdOrderByRoundNumberAscPositionInRoundAsc(1L))
+                .thenReturn(List.of());
+        when(teamRatingService.getRating(anyLong())).thenReturn(1500.0);
+        when(teamRatingService.getRating(3L)).thenReturn(1600.0);
+
+        // When
+        List<PlayoffMatchDTO> result = playoffService.seedBracket(1L, teamIds);
+
+        // Then: seeds are 3, 1, 2, 4 regardless of the order the repository returned
+        assertThat(result).extracting(PlayoffMatchDTO::getTeam1Id).containsExactly(3L, 1L);
+        assertThat(result).extracting(PlayoffMatchDTO::getTeam2Id).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void seedBracket_WithSixTeams_ShouldKeepTopTwoSeedsApartUntilTheFinal() {
+        // Given
+        List<Long> teamIds = List.of(1L, 2L, 3L, 4L, 5L, 6L);
+        List<Team> teams = teamIds.stream().map(this::team).toList();
+
+        when(bracketRepository.findById(1L)).thenReturn(Optional.of(testBracket));
+        when(teamRepository.findAllById(teamIds)).thenReturn(teams);
+        when(matchRepository.findByBracketIdOrderByRoundNumberAscPositionInRoundAsc(1L))
+                .thenReturn(List.of());
+        when(teamRatingService.getRating(anyLong())).thenAnswer(call -> 2000.0 - (Long) call.getArgument(0));
+
+        // When
+        List<PlayoffMatchDTO> result = playoffService.seedBracket(1L, teamIds);
+
+        // Then: slots 1 and 2 meet in round 2, slot 3 goes straight to the final
+        assertThat(result).extracting(PlayoffMatchDTO::getTeam1Id).containsExactly(1L, 3L, 2L);
+        assertThat(result).extracting(PlayoffMatchDTO::getTeam2Id).containsExactly(6L, 4L, 5L);
+    }
+
+    @Test
+    void seedBracket_WithEightMatches_ShouldUseStandardBracketOrder() {
+        // Given
+        testBracket.setMaxTeams(16);
+        List<Long> teamIds = LongStream.rangeClosed(1, 16).boxed().toList();
+        List<Team> teams = teamIds.stream().map(this::team).toList();
+
+        when(bracketRepository.findById(1L)).thenReturn(Optional.of(testBracket));
+        when(teamRepository.findAllById(teamIds)).thenReturn(teams);
+        when(matchRepository.findByBracketIdOrderByRoundNumberAscPositionInRoundAsc(1L))
+                .thenReturn(List.of());
+        when(teamRatingService.getRating(anyLong())).thenAnswer(call -> 2000.0 - (Long) call.getArgument(0));
+
+        // When
+        List<PlayoffMatchDTO> result = playoffService.seedBracket(1L, teamIds);
+
+        // Then: 1v16, 8v9, 4v13, 5v12, 2v15, 7v10, 3v14, 6v11
+        assertThat(result).extracting(PlayoffMatchDTO::getTeam1Id)
+                .containsExactly(1L, 8L, 4L, 5L, 2L, 7L, 3L, 6L);
+    }
+
     @Test
     void seedBracket_WhenTooManyTeams_ShouldThrowException() {
         // Given
@@ -272,6 +340,79 @@ class PlayoffServiceTest {
                 .hasMessageContaining("Winner must be one of the teams");
     }
 
+    @Test
+    void advanceRound_WhenAllResultsValid_ShouldFillNextRoundInOneSave() {
+        // Given
+        PlayoffBracket bracket = PlayoffBracket.builder()
+                .id(1L)
+                .season(testSeason)
+                .bracketName("Test Playoffs")
+                .currentRound(1)
+                .build();
+        Team team3 = Team.builder().name("Team 3").season(testSeason).build();
+        Team team4 = Team.builder().name("Team 4").season(testSeason).build();
+        team1.setId(1L);
+        team2.setId(2L);
+        team3.setId(3L);
+        team4.setId(4L);
+
+        PlayoffMatch semi1 = PlayoffMatch.builder()
+                .id(10L).bracket(bracket).team1(team1).team2(team2)
+                .roundNumber(1).matchNumber(1).positionInRound(1).isCompleted(false)
+                .build();
+        PlayoffMatch semi2 = PlayoffMatch.builder()
+                .id(11L).bracket(bracket).team1(team3).team2(team4)
+                .roundNumber(1).matchNumber(2).positionInRound(2).isCompleted(false)
+                .build();
+
+        when(bracketRepository.findById(1L)).thenReturn(Optional.of(bracket));
+        when(matchRepository.findByBracketIdOrderByRoundNumberAscPositionInRoundAsc(1L))
+                .thenReturn(List.of(semi1, semi2));
+        when(bracketRepository.save(bracket)).thenReturn(bracket);
+
+        List<PlayoffRoundResultsDTO.MatchResult> results = List.of(
+                new PlayoffRoundResultsDTO.MatchResult(11L, 4L, null),
+                new PlayoffRoundResultsDTO.MatchResult(10L, 1L, null));
+
+        // When
+        PlayoffBracketDTO result = playoffService.advanceRound(1L, results);
+
+        // Then
+        assertThat(semi1.getWinner()).isEqualTo(team1);
+        assertThat(semi2.getWinner()).isEqualTo(team4);
+        assertThat(result.getMatches()).hasSize(3);
+        PlayoffMatchDTO finalMatch = result.getMatches().get(2);
+        assertThat(finalMatch.getRoundNumber()).isEqualTo(2);
+        assertThat(finalMatch.getTeam1Id()).isEqualTo(1L);
+        assertThat(finalMatch.getTeam2Id()).isEqualTo(4L);
+        assertThat(result.getCurrentRound()).isEqualTo(2);
+        verify(matchRepository, times(1)).saveAll(any());
+        verify(matchRepository, never()).findById(any());
+    }
+
+    @Test
+    void advanceRound_WhenWinnerNotInMatch_ShouldThrowException() {
+        // Given
+        PlayoffBracket bracket = PlayoffBracket.builder().id(1L).season(testSeason).bracketName("Test Playoffs").build();
+        team1.setId(1L);
+        team2.setId(2L);
+        PlayoffMatch match = PlayoffMatch.builder()
+                .id(10L).bracket(bracket).team1(team1).team2(team2)
+                .roundNumber(1).matchNumber(1).positionInRound(1).isCompleted(false)
+                .build();
+
+        when(bracketRepository.findById(1L)).thenReturn(Optional.of(bracket));
+        when(matchRepository.findByBracketIdOrderByRoundNumberAscPositionInRoundAsc(1L))
+                .thenReturn(List.of(match));
+
+        // When/Then
+        assertThatThrownBy(() -> playoffService.advanceRound(1L,
+                List.of(new PlayoffRoundResultsDTO.MatchResult(10L, 99L, null))))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Winner must be one of the teams");
+        verify(matchRepository, never()).saveAll(any());
+    }
+
     @Test
     void getBracketMatches_ShouldReturnSortedMatches() {
         // Given
@@ -344,4 +485,13 @@ class PlayoffServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Bracket not found");
     }
-}
\ No newline at end of file
+
+    private Team team(Long id) {
+        Team team = Team.builder()
+                .name("Team " + id)
+                .season(testSeason)
+                .build();
+        team.setId(id);
+        return team;
+    }
+}
@@ -0,0 +1,179 @@
+package cammossleague.service;
+
+import cammossleague.model.Game;
+import cammossleague.model.Referee;
+import cammossleague.model.RefereeUnavailability;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRefereeRepository;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.RefereeRepository;
+import cammossleague.repository.RefereeUnavailabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefereeAssignmentServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private RefereeRepository refereeRepository;
+
+    @Mock
+    private GameRefereeRepository gameRefereeRepository;
+
+    @Mock
+    private RefereeUnavailabilityRepository unavailabilityRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RefereeAssignmentService refereeAssignmentService;
+
+    private Season season;
+    private Referee john;
+    private Referee rocco;
+
+    @BeforeEach
+    void setUp() {
+        refereeAssignmentService = new RefereeAssignmentService(gameRepository, refereeRepository,
+                gameRefereeRepository, unavailabilityRepository, transactionManager);
+        ReflectionTestUtils.setField(refereeAssignmentService, "crewSize", 1);
+        ReflectionTestUtils.setField(refereeAssignmentService, "gameMinutes", 60);
+        ReflectionTestUtils.setField(refereeAssignmentService, "backToBackPenalty", 3.0);
+
+        season = Season.builder().name("Summer").year(2025).build();
+        season.setId(1L);
+        john = referee(1L, "John");
+        rocco = referee(2L, "Rocco");
+
+        when(refereeRepository.findByIsActiveTrueOrderByNameAsc()).thenReturn(List.of(john, rocco));
+        when(gameRefereeRepository.findBySeasonId(1L)).thenReturn(List.of());
+        when(unavailabilityRepository.findBetween(any(), any())).thenReturn(List.of());
+        when(refereeRepository.findCaptainConflicts(1L)).thenReturn(List.of());
+    }
+
+    @Test
+    void assignSeason_ShouldRotateBackToBackGamesAndSkipConflicts() {
+        // Given
+        Game early = game(10L, LocalTime.of(18, 0), 100L, 101L);
+        Game middle = game(11L, LocalTime.of(19, 0), 102L, 103L);
+        Game late = game(12L, LocalTime.of(20, 0), 104L, 105L);
+        when(gameRepository.findBySeasonIdOrderByGameDateAscGameTimeAsc(1L)).thenReturn(List.of(early, middle, late));
+        // John plays for team 104
+        when(refereeRepository.findRosterConflicts(1L)).thenReturn(
+                Collections.singletonList(new Object[] { 1L, 104L }));
+
+        // When
+        RefereeAssignmentService.AssignmentResult result = refereeAssignmentService.assignSeason(1L, false);
+
+        // Then
+        assertThat(result.getCrews())
+                .extracting(RefereeAssignmentService.GameCrew::getReferees)
+                .containsExactly(List.of("John"), List.of("Rocco"), List.of("Rocco"));
+        assertThat(result.getUnderstaffedGames()).isZero();
+        assertThat(result.getSlotsAssigned()).isEqualTo(3);
+        verify(gameRefereeRepository).deleteByGameIdIn(List.of(10L, 11L, 12L));
+    }
+
+    @Test
+    void assignSeason_WhenNoRefereeIsFree_ShouldReportUnderstaffedGame() {
+        // Given
+        Game first = game(10L, LocalTime.of(18, 0), 100L, 101L);
+        Game overlapping = game(11L, LocalTime.of(18, 30), 102L, 103L);
+        Game sameSlot = game(12L, LocalTime.of(18, 0), 104L, 105L);
+        when(gameRepository.findBySeasonIdOrderByGameDateAscGameTimeAsc(1L)).thenReturn(List.of(first, sameSlot, overlapping));
+        when(refereeRepository.findRosterConflicts(1L)).thenReturn(List.of());
+
+        // When
+        RefereeAssignmentService.AssignmentResult result = refereeAssignmentService.assignSeason(1L, false);
+
+        // Then
+        assertThat(result.getUnderstaffedGames()).isEqualTo(1);
+        assertThat(result.getCrews().get(2).isUnderstaffed()).isTrue();
+    }
+
+    @Test
+    void assignSeason_LateGame_ShouldRespectTheNextDaysUnavailability() {
+        // Given
+        Game late = game(10L, LocalTime.of(23, 30), 100L, 101L);
+        when(gameRepository.findBySeasonIdOrderByGameDateAscGameTimeAsc(1L)).thenReturn(List.of(late));
+        when(refereeRepository.findRosterConflicts(1L)).thenReturn(List.of());
+        // John is away all of the next day, which the game runs into
+        RefereeUnavailability away = RefereeUnavailability.builder()
+                .referee(john)
+                .unavailableDate(LocalDate.of(2025, 8, 11))
+                .build();
+        when(unavailabilityRepository.findBetween(any(), any())).thenReturn(List.of(away));
+
+        // When
+        RefereeAssignmentService.AssignmentResult result = refereeAssignmentService.assignSeason(1L, false);
+
+        // Then
+        assertThat(result.getCrews().get(0).getReferees()).containsExactly("Rocco");
+        verify(unavailabilityRepository).findBetween(LocalDate.of(2025, 8, 10), LocalDate.of(2025, 8, 11));
+    }
+
+    @Test
+    void assignSeason_LateGame_ShouldRespectAWindowLateTheSameNight() {
+        // Given
+        Game late = game(10L, LocalTime.of(23, 30), 100L, 101L);
+        when(gameRepository.findBySeasonIdOrderByGameDateAscGameTimeAsc(1L)).thenReturn(List.of(late));
+        when(refereeRepository.findRosterConflicts(1L)).thenReturn(List.of());
+        RefereeUnavailability away = RefereeUnavailability.builder()
+                .referee(john)
+                .unavailableDate(LocalDate.of(2025, 8, 10))
+                .startTime(LocalTime.of(23, 45))
+                .endTime(LocalTime.of(23, 59))
+                .build();
+        when(unavailabilityRepository.findBetween(any(), any())).thenReturn(List.of(away));
+
+        // When
+        RefereeAssignmentService.AssignmentResult result = refereeAssignmentService.assignSeason(1L, false);
+
+        // Then
+        assertThat(result.getCrews().get(0).getReferees()).containsExactly("Rocco");
+    }
+
+    private Referee referee(Long id, String name) {
+        Referee referee = Referee.builder()
+                .name(name)
+                .normalizedName(Referee.normalizeName(name))
+                .build();
+        referee.setId(id);
+        return referee;
+    }
+
+    private Game game(Long id, LocalTime time, Long homeTeamId, Long awayTeamId) {
+        return Game.builder()
+                .id(id)
+                .season(season)
+                .homeTeam(team(homeTeamId))
+                .awayTeam(team(awayTeamId))
+                .gameDate(LocalDate.of(2025, 8, 10))
+                .gameTime(time)
+                .build();
+    }
+
+    private Team team(Long id) {
+        Team team = Team.builder().name("Team " + id).season(season).build();
+        team.setId(id);
+        return team;
+    }
+}
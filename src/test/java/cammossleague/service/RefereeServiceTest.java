@@ -0,0 +1,126 @@
+package cammossleague.service;
+
+import cammossleague.dto.RefereeDTO;
+import cammossleague.dto.UnavailabilityDTO;
+import cammossleague.model.Referee;
+import cammossleague.repository.RefereeRepository;
+import cammossleague.repository.RefereeUnavailabilityRepository;
+import cammossleague.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefereeServiceTest {
+
+    @Mock
+    private RefereeRepository refereeRepository;
+
+    @Mock
+    private RefereeUnavailabilityRepository unavailabilityRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private RefereeService refereeService;
+
+    @Test
+    void createReferee_ShouldIgnoreClientIdAndDefaultMissingFields() {
+        // Given
+        RefereeDTO request = RefereeDTO.builder().id(7L).name(" Big John ").build();
+        when(refereeRepository.findByNormalizedName("bigjohn")).thenReturn(Optional.empty());
+        when(refereeRepository.save(any(Referee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        RefereeDTO created = refereeService.createReferee(request, null);
+
+        // Then
+        ArgumentCaptor<Referee> saved = ArgumentCaptor.forClass(Referee.class);
+        verify(refereeRepository).save(saved.capture());
+        assertThat(saved.getValue().getId()).isNull();
+        assertThat(saved.getValue().getNormalizedName()).isEqualTo("bigjohn");
+        assertThat(created.getName()).isEqualTo("Big John");
+        assertThat(created.getMaxGamesPerDay()).isEqualTo(3);
+        assertThat(created.getIsActive()).isTrue();
+    }
+
+    @Test
+    void createReferee_WithExistingName_ShouldBeRejected() {
+        // Given
+        when(refereeRepository.findByNormalizedName("john")).thenReturn(Optional.of(referee(1L, "John")));
+
+        // When / Then
+        assertThatThrownBy(() -> refereeService.createReferee(RefereeDTO.builder().name("JOHN").build(), null))
+                .hasMessageContaining("already exists");
+        verify(refereeRepository, never()).save(any());
+    }
+
+    @Test
+    void updateReferee_ToAnotherRefereesName_ShouldBeRejected() {
+        // Given
+        Referee john = referee(1L, "John");
+        when(refereeRepository.findById(1L)).thenReturn(Optional.of(john));
+        when(refereeRepository.findByNormalizedName("rocco")).thenReturn(Optional.of(referee(2L, "Rocco")));
+
+        // When / Then
+        assertThatThrownBy(() -> refereeService.updateReferee(1L, RefereeDTO.builder().name("Rocco!").build(), null))
+                .hasMessageContaining("already exists");
+        assertThat(john.getName()).isEqualTo("John");
+        verify(refereeRepository, never()).save(any());
+    }
+
+    @Test
+    void updateReferee_RecasingItsOwnName_ShouldKeepOtherFields() {
+        // Given
+        Referee john = referee(1L, "John");
+        john.setMaxGamesPerDay(2);
+        when(refereeRepository.findById(1L)).thenReturn(Optional.of(john));
+        when(refereeRepository.findByNormalizedName("john")).thenReturn(Optional.of(john));
+        when(refereeRepository.save(john)).thenReturn(john);
+
+        // When
+        RefereeDTO updated = refereeService.updateReferee(1L, RefereeDTO.builder().id(9L).name("JOHN").build(), null);
+
+        // Then
+        assertThat(updated.getId()).isEqualTo(1L);
+        assertThat(updated.getName()).isEqualTo("JOHN");
+        assertThat(updated.getMaxGamesPerDay()).isEqualTo(2);
+    }
+
+    @Test
+    void addUnavailability_WithEndBeforeStart_ShouldBeRejected() {
+        // Given
+        when(refereeRepository.findById(1L)).thenReturn(Optional.of(referee(1L, "John")));
+        UnavailabilityDTO window = UnavailabilityDTO.builder()
+                .unavailableDate(LocalDate.of(2025, 8, 10))
+                .startTime(LocalTime.of(20, 0))
+                .endTime(LocalTime.of(18, 0))
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> refereeService.addUnavailability(1L, window))
+                .hasMessageContaining("Start time must be before end time");
+        verify(unavailabilityRepository, never()).save(any());
+    }
+
+    private Referee referee(Long id, String name) {
+        Referee referee = Referee.builder()
+                .name(name)
+                .normalizedName(Referee.normalizeName(name))
+                .build();
+        referee.setId(id);
+        return referee;
+    }
+}
@@ -0,0 +1,170 @@
+package cammossleague.service;
+
+import cammossleague.model.RefreshToken;
+import cammossleague.model.User;
+import cammossleague.repository.RefreshTokenRepository;
+import cammossleague.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationList revocationList;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationDays", 30);
+        ReflectionTestUtils.setField(refreshTokenService, "reuseGraceSeconds", 10L);
+        user = User.builder().id(7L).username("jdoe").role(User.Role.PLAYER).isActive(true).build();
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheHashOfTheReturnedToken() {
+        // When
+        String token = refreshTokenService.issue(user);
+
+        // Then
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(token).hasSize(43).matches("[A-Za-z0-9_-]+");
+        assertThat(saved.getValue().getTokenHash()).hasSize(64).isNotEqualTo(token);
+        assertThat(saved.getValue().getFamilyId()).isNotBlank();
+        assertThat(saved.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusDays(29));
+    }
+
+    @Test
+    void rotate_ShouldRevokePresentedTokenAndIssueSuccessorInSameFamily() {
+        // Given
+        String token = refreshTokenService.issue(user);
+        ArgumentCaptor<RefreshToken> issued = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(issued.capture());
+        RefreshToken stored = issued.getValue();
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        // When
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(token);
+
+        // Then
+        assertThat(rotation).isPresent();
+        assertThat(rotation.get().getUser()).isSameAs(user);
+        assertThat(rotation.get().getRefreshToken()).isNotEqualTo(token);
+        assertThat(stored.isRevoked()).isTrue();
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(3)).save(saved.capture());
+        List<RefreshToken> all = saved.getAllValues();
+        RefreshToken successor = all.get(all.size() - 1);
+        assertThat(successor.getFamilyId()).isEqualTo(stored.getFamilyId());
+        assertThat(successor.isRevoked()).isFalse();
+    }
+
+    @Test
+    void rotate_WhenTokenWasAlreadyRotated_ShouldRevokeFamilyAndLiveAccessTokens() {
+        // Given
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenAnswer(invocation ->
+                Optional.of(RefreshToken.builder()
+                        .user(user)
+                        .tokenHash(invocation.getArgument(0))
+                        .familyId("family-1")
+                        .expiresAt(LocalDateTime.now().plusDays(10))
+                        .revokedAt(LocalDateTime.now().minusMinutes(5))
+                        .build()));
+
+        // When
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate("stolen-token");
+
+        // Then
+        assertThat(rotation).isEmpty();
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(LocalDateTime.class));
+        verify(revocationList).revokeUser(7L);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WhenTwoTabsRefreshWithTheSameToken_ShouldGiveBothASessionWithoutRevoking() {
+        // Given: both tabs read the same refresh token from localStorage
+        String shared = refreshTokenService.issue(user);
+        ArgumentCaptor<RefreshToken> issued = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(issued.capture());
+        RefreshToken stored = issued.getValue();
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.hasLiveToken(eq(stored.getFamilyId()), any(LocalDateTime.class))).thenReturn(true);
+
+        // When: the second tab's refresh arrives just after the first rotated the token
+        Optional<RefreshTokenService.Rotation> firstTab = refreshTokenService.rotate(shared);
+        Optional<RefreshTokenService.Rotation> secondTab = refreshTokenService.rotate(shared);
+
+        // Then
+        assertThat(firstTab).isPresent();
+        assertThat(secondTab).isPresent();
+        assertThat(secondTab.get().getRefreshToken())
+                .isNotEqualTo(shared)
+                .isNotEqualTo(firstTab.get().getRefreshToken());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+        verifyNoInteractions(revocationList);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, atLeastOnce()).save(saved.capture());
+        RefreshToken sibling = saved.getValue();
+        assertThat(sibling.getFamilyId()).isEqualTo(stored.getFamilyId());
+        assertThat(sibling.isRevoked()).isFalse();
+    }
+
+    @Test
+    void rotate_WhenRecentlyRotatedTokenBelongsToAnEndedSession_ShouldTreatItAsReuse() {
+        // Given: rotated seconds ago, but the family has since been logged out
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenAnswer(invocation ->
+                Optional.of(RefreshToken.builder()
+                        .user(user)
+                        .tokenHash(invocation.getArgument(0))
+                        .familyId("family-1")
+                        .expiresAt(LocalDateTime.now().plusDays(10))
+                        .revokedAt(LocalDateTime.now().minusSeconds(2))
+                        .build()));
+        when(refreshTokenRepository.hasLiveToken(eq("family-1"), any(LocalDateTime.class))).thenReturn(false);
+
+        // When
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate("old-token");
+
+        // Then
+        assertThat(rotation).isEmpty();
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WhenTokenUnknown_ShouldReturnEmpty() {
+        // Given
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(refreshTokenService.rotate("unknown")).isEmpty();
+        verifyNoInteractions(revocationList);
+    }
+}
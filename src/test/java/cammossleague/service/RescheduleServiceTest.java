@@ -0,0 +1,195 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameSlotDTO;
+import cammossleague.dto.ReschedulePlanDTO;
+import cammossleague.dto.RescheduleRequestDTO;
+import cammossleague.model.Game;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.SeasonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RescheduleServiceTest {
+
+    private static final LocalDate RAINED_OUT = LocalDate.of(2025, 8, 10);
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RescheduleService rescheduleService;
+
+    private Season season;
+
+    @BeforeEach
+    void setUp() {
+        ScheduleConflictService scheduleConflictService = new ScheduleConflictService(gameRepository, seasonRepository, transactionManager);
+        ReflectionTestUtils.setField(scheduleConflictService, "gameMinutes", 60);
+        rescheduleService = new RescheduleService(gameRepository, scheduleConflictService, eventPublisher);
+        ReflectionTestUtils.setField(rescheduleService, "defaultMinDaysBetweenGames", 1);
+
+        season = Season.builder().name("Summer").year(2025).endDate(LocalDate.of(2025, 8, 31)).build();
+        season.setId(1L);
+    }
+
+    @Test
+    void plan_ShouldPlaceMostConstrainedGameFirstAndRespectRestDays() {
+        // Given
+        Game flexible = game(20L, RAINED_OUT, LocalTime.of(17, 0), 1L, 3L);
+        Game constrained = game(21L, RAINED_OUT, LocalTime.of(18, 0), 1L, 2L);
+        Game booked = game(22L, LocalDate.of(2025, 8, 12), LocalTime.of(18, 0), 2L, 4L);
+
+        when(gameRepository.findById(20L)).thenReturn(Optional.of(flexible));
+        when(gameRepository.findById(21L)).thenReturn(Optional.of(constrained));
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(List.of(slot(flexible), slot(constrained), slot(booked)));
+
+        RescheduleRequestDTO request = RescheduleRequestDTO.builder()
+                .gameIds(List.of(20L, 21L))
+                .from(LocalDate.of(2025, 8, 11))
+                .to(LocalDate.of(2025, 8, 12))
+                .dayStart(LocalTime.of(18, 0))
+                .dayEnd(LocalTime.of(20, 0))
+                .build();
+
+        // When
+        ReschedulePlanDTO plan = rescheduleService.plan(request);
+
+        // Then
+        assertThat(plan.getUnplacedGameIds()).isEmpty();
+        assertThat(plan.getMinDaysBetweenGames()).isEqualTo(1);
+        assertThat(plan.getMoves())
+                .extracting(ReschedulePlanDTO.Move::getGameId, ReschedulePlanDTO.Move::getGameDate, ReschedulePlanDTO.Move::getGameTime)
+                .containsExactly(
+                        tuple(21L, LocalDate.of(2025, 8, 11), LocalTime.of(18, 0)),
+                        tuple(20L, LocalDate.of(2025, 8, 12), LocalTime.of(19, 0)));
+    }
+
+    @Test
+    void apply_ShouldMoveGamesThatAreStillFree() {
+        // Given
+        Game rainedOut = game(20L, RAINED_OUT, LocalTime.of(18, 0), 1L, 3L);
+        when(gameRepository.findByIdForUpdate(20L)).thenReturn(Optional.of(rainedOut));
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(List.of(slot(rainedOut)));
+        when(gameRepository.saveAll(List.of(rainedOut))).thenReturn(List.of(rainedOut));
+
+        // When
+        rescheduleService.apply(plan(move(20L, LocalDate.of(2025, 8, 11), "Community Center")));
+
+        // Then
+        assertThat(rainedOut.getGameDate()).isEqualTo(LocalDate.of(2025, 8, 11));
+        verify(seasonRepository).findByIdForUpdate(1L);
+    }
+
+    @Test
+    void apply_WhenATeamNowPlaysThatDay_ShouldRejectThePlan() {
+        // Given
+        Game rainedOut = game(20L, RAINED_OUT, LocalTime.of(18, 0), 1L, 3L);
+        // Booked since the plan was made: team 1 plays later that evening on another court
+        Game booked = game(22L, LocalDate.of(2025, 8, 11), LocalTime.of(20, 0), 1L, 4L);
+        booked.setCourtNumber("2");
+        when(gameRepository.findByIdForUpdate(20L)).thenReturn(Optional.of(rainedOut));
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(List.of(slot(rainedOut), slot(booked)));
+
+        // When / Then
+        assertThatThrownBy(() -> rescheduleService.apply(plan(move(20L, LocalDate.of(2025, 8, 11), "Community Center"))))
+                .hasMessageContaining("within 1 day(s)");
+        assertThat(rainedOut.getGameDate()).isEqualTo(RAINED_OUT);
+        verify(gameRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void apply_ShouldUseTheRestRuleThePlanWasBuiltWith() {
+        // Given
+        Game rainedOut = game(20L, RAINED_OUT, LocalTime.of(18, 0), 1L, 3L);
+        Game booked = game(22L, LocalDate.of(2025, 8, 13), LocalTime.of(18, 0), 1L, 4L);
+        when(gameRepository.findByIdForUpdate(20L)).thenReturn(Optional.of(rainedOut));
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(List.of(slot(rainedOut), slot(booked)));
+        ReschedulePlanDTO plan = plan(move(20L, LocalDate.of(2025, 8, 11), "Community Center"));
+        plan.setMinDaysBetweenGames(3);
+
+        // When / Then
+        assertThatThrownBy(() -> rescheduleService.apply(plan)).hasMessageContaining("within 3 day(s)");
+    }
+
+    @Test
+    void apply_WithoutALocation_ShouldBeRejectedBeforeLoadingGames() {
+        assertThatThrownBy(() -> rescheduleService.apply(plan(move(20L, LocalDate.of(2025, 8, 11), null))))
+                .hasMessageContaining("no new location");
+        verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    void apply_WithTheSameGameTwice_ShouldBeRejectedBeforeLoadingGames() {
+        ReschedulePlanDTO plan = plan(
+                move(20L, LocalDate.of(2025, 8, 11), "Community Center"),
+                move(20L, LocalDate.of(2025, 8, 12), "Community Center"));
+
+        assertThatThrownBy(() -> rescheduleService.apply(plan)).hasMessageContaining("more than once");
+        verifyNoInteractions(gameRepository);
+    }
+
+    private static ReschedulePlanDTO plan(ReschedulePlanDTO.Move... moves) {
+        return ReschedulePlanDTO.builder().moves(List.of(moves)).build();
+    }
+
+    private static ReschedulePlanDTO.Move move(Long gameId, LocalDate date, String location) {
+        return ReschedulePlanDTO.Move.builder()
+                .gameId(gameId)
+                .gameDate(date)
+                .gameTime(LocalTime.of(18, 0))
+                .location(location)
+                .courtNumber("1")
+                .build();
+    }
+
+    private Game game(Long id, LocalDate date, LocalTime time, Long homeTeamId, Long awayTeamId) {
+        return Game.builder()
+                .id(id)
+                .season(season)
+                .homeTeam(team(homeTeamId))
+                .awayTeam(team(awayTeamId))
+                .gameDate(date)
+                .gameTime(time)
+                .location("Community Center")
+                .courtNumber("1")
+                .isCompleted(false)
+                .build();
+    }
+
+    private GameSlotDTO slot(Game game) {
+        return new GameSlotDTO(game.getId(), game.getGameDate(), game.getGameTime(), game.getLocation(),
+                game.getCourtNumber(), game.getHomeTeam().getId(), game.getAwayTeam().getId());
+    }
+
+    private Team team(Long id) {
+        Team team = Team.builder().name("Team " + id).season(season).build();
+        team.setId(id);
+        return team;
+    }
+}
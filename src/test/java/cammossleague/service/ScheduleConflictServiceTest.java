@@ -0,0 +1,215 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameSlotDTO;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.SeasonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleConflictServiceTest {
+
+    private static final LocalDate AUGUST_10 = LocalDate.of(2025, 8, 10);
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduleConflictService scheduleConflictService;
+
+    private Season season;
+
+    @BeforeEach
+    void setUp() {
+        scheduleConflictService = new ScheduleConflictService(gameRepository, seasonRepository, transactionManager);
+        ReflectionTestUtils.setField(scheduleConflictService, "gameMinutes", 60);
+
+        season = Season.builder().name("Summer").year(2025).build();
+        season.setId(1L);
+    }
+
+    @Test
+    void validate_OverlappingGameOnTheSameCourt_ShouldBeRejected() {
+        // Given
+        stubNearby(slot(1L, AUGUST_10, LocalTime.of(18, 0), "Gym", "1", 100L, 101L));
+
+        // When / Then
+        assertThatThrownBy(() -> scheduleConflictService.validate(
+                game(null, LocalTime.of(18, 30), "Gym", "1", 102L, 103L)))
+                .hasMessageContaining("already booked");
+        verify(seasonRepository).findByIdForUpdate(1L);
+        verify(gameRepository).findSlotsBySeasonIdAndGameDateBetween(1L, AUGUST_10.minusDays(1), AUGUST_10.plusDays(1));
+    }
+
+    @Test
+    void validate_BackToBackGamesOnTheSameCourt_ShouldBeAllowed() {
+        // Given
+        stubNearby(slot(1L, AUGUST_10, LocalTime.of(18, 0), "Gym", "1", 100L, 101L));
+
+        // When / Then
+        assertThatCode(() -> scheduleConflictService.validate(game(null, LocalTime.of(19, 0), "gym ", "1", 102L, 103L)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void validate_TeamBookedOnAnotherCourt_ShouldBeRejected() {
+        // Given
+        stubNearby(slot(1L, AUGUST_10, LocalTime.of(18, 0), "Gym", "1", 100L, 101L));
+
+        // When / Then
+        assertThatThrownBy(() -> scheduleConflictService.validate(
+                game(null, LocalTime.of(18, 30), "Gym", "2", 102L, 101L)))
+                .hasMessageContaining("Team 101 already has a game");
+    }
+
+    @Test
+    void validate_MovingAGame_ShouldIgnoreItsOwnBooking() {
+        // Given
+        stubNearby(slot(1L, AUGUST_10, LocalTime.of(18, 0), "Gym", "1", 100L, 101L));
+
+        // When / Then
+        assertThatCode(() -> scheduleConflictService.validate(game(1L, LocalTime.of(18, 30), "Gym", "1", 100L, 101L)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void validate_LateGame_ShouldConflictWithAGameJustAfterMidnight() {
+        // Given
+        stubNearby(slot(1L, AUGUST_10.plusDays(1), LocalTime.of(0, 15), "Park", null, 100L, 105L));
+
+        // When / Then
+        assertThatThrownBy(() -> scheduleConflictService.validate(
+                game(null, LocalTime.of(23, 30), "Gym", "1", 100L, 101L)))
+                .hasMessageContaining("Team 100 already has a game");
+    }
+
+    @Test
+    void validate_ShouldNeverCacheTheGameBeingChecked() {
+        // Given
+        stubNearby();
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(List.of());
+
+        // When: the create passes the check, then its transaction rolls back
+        scheduleConflictService.validate(game(null, LocalTime.of(18, 0), "Gym", "1", 100L, 101L));
+        List<ScheduleConflictService.FreeSlot> slots = scheduleConflictService.findFreeSlots(1L, AUGUST_10, AUGUST_10,
+                "Gym", "1", List.of(100L), LocalTime.of(18, 0), LocalTime.of(19, 0), 10);
+
+        // Then
+        assertThat(slots).extracting(ScheduleConflictService.FreeSlot::getStartsAt)
+                .containsExactly(LocalDateTime.of(AUGUST_10, LocalTime.of(18, 0)));
+    }
+
+    @Test
+    void findFreeSlots_ShouldSkipBookedCourtsAndTeams() {
+        // Given
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(List.of(
+                slot(1L, AUGUST_10, LocalTime.of(18, 0), "Gym", "1", 100L, 101L),
+                slot(2L, AUGUST_10, LocalTime.of(20, 0), "Park", null, 102L, 103L)));
+
+        // When
+        List<ScheduleConflictService.FreeSlot> slots = scheduleConflictService.findFreeSlots(1L, AUGUST_10, AUGUST_10,
+                null, null, List.of(102L), LocalTime.of(18, 0), LocalTime.of(21, 0), 10);
+
+        // Then: both courts the season uses, minus their bookings and team 102's game
+        assertThat(slots).extracting(slot -> slot.getStartsAt().toLocalTime() + " " + slot.getLocation())
+                .containsExactly("18:00 Park", "19:00 Gym", "19:00 Park");
+    }
+
+    @Test
+    void getIndex_ShouldLoadCommittedGamesOnceInItsOwnReadOnlyTransaction() {
+        // Given
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(List.of());
+
+        // When
+        scheduleConflictService.getIndex(1L);
+        scheduleConflictService.getIndex(1L);
+
+        // Then
+        verify(gameRepository, times(1)).findSlotsBySeasonId(1L);
+        verify(transactionManager).getTransaction(argThat((TransactionDefinition definition) -> definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void onGameUpdated_ShouldDropTheCachedIndex() {
+        // Given
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(
+                List.of(),
+                List.of(slot(1L, AUGUST_10, LocalTime.of(18, 0), "Gym", "1", 100L, 101L)));
+        scheduleConflictService.getIndex(1L);
+
+        // When
+        scheduleConflictService.onGameUpdated(new GameUpdatedEvent(1L, 1L));
+
+        // Then
+        assertThat(scheduleConflictService.getIndex(1L).getSlot(1L)).isNotNull();
+    }
+
+    @Test
+    void getIndex_WhenAGameCommitsWhileLoading_ShouldNotKeepTheResult() {
+        // Given
+        when(gameRepository.findSlotsBySeasonId(1L)).thenAnswer(invocation -> {
+            scheduleConflictService.onGameUpdated(new GameUpdatedEvent(1L, 1L));
+            return List.of();
+        });
+
+        // When
+        scheduleConflictService.getIndex(1L);
+        scheduleConflictService.getIndex(1L);
+
+        // Then
+        verify(gameRepository, times(2)).findSlotsBySeasonId(1L);
+    }
+
+    private void stubNearby(GameSlotDTO... slots) {
+        when(gameRepository.findSlotsBySeasonIdAndGameDateBetween(eq(1L), any(), any())).thenReturn(List.of(slots));
+    }
+
+    private Game game(Long id, LocalTime time, String location, String courtNumber, Long homeTeamId, Long awayTeamId) {
+        return Game.builder()
+                .id(id)
+                .season(season)
+                .homeTeam(team(homeTeamId))
+                .awayTeam(team(awayTeamId))
+                .gameDate(AUGUST_10)
+                .gameTime(time)
+                .location(location)
+                .courtNumber(courtNumber)
+                .build();
+    }
+
+    private Team team(Long id) {
+        Team team = Team.builder().name("Team " + id).season(season).build();
+        team.setId(id);
+        return team;
+    }
+
+    private static GameSlotDTO slot(Long gameId, LocalDate date, LocalTime time, String location, String courtNumber,
+                                    Long homeTeamId, Long awayTeamId) {
+        return new GameSlotDTO(gameId, date, time, location, courtNumber, homeTeamId, awayTeamId);
+    }
+}
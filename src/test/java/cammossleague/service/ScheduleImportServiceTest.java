@@ -0,0 +1,228 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameSlotDTO;
+import cammossleague.event.GameMovedEvent;
+import cammossleague.event.SchedulePostedEvent;
+import cammossleague.model.Game;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRefereeRepository;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.RefereeRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleImportServiceTest {
+
+    private static final LocalDate AUGUST_10 = LocalDate.of(2025, 8, 10);
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private RefereeRepository refereeRepository;
+
+    @Mock
+    private GameRefereeRepository gameRefereeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduleImportService scheduleImportService;
+
+    private Season season;
+    private Team lakers;
+    private Team hawks;
+    private Team bulls;
+    private Team nets;
+
+    @BeforeEach
+    void setUp() {
+        ScheduleConflictService scheduleConflictService = new ScheduleConflictService(gameRepository, seasonRepository, transactionManager);
+        ReflectionTestUtils.setField(scheduleConflictService, "gameMinutes", 60);
+        scheduleImportService = new ScheduleImportService(gameRepository, teamRepository, seasonRepository,
+                refereeRepository, gameRefereeRepository, scheduleConflictService, eventPublisher, transactionManager);
+        ReflectionTestUtils.setField(scheduleImportService, "batchSize", 100);
+
+        season = Season.builder().name("Summer").year(2025).build();
+        season.setId(1L);
+        lakers = team(10L, "PA Lakers");
+        hawks = team(11L, "Hawks");
+        bulls = team(12L, "Bulls");
+        nets = team(13L, "Nets");
+    }
+
+    @Test
+    void parseSectionDate_ShouldReadMonthAndDayAndFallBackToSeasonYear() {
+        assertThat(ScheduleImportService.parseSectionDate("Sunday August 10th Schedule", season)).isEqualTo(AUGUST_10);
+        assertThat(ScheduleImportService.parseSectionDate("march 3, 2026", season)).isEqualTo(LocalDate.of(2026, 3, 3));
+        assertThat(ScheduleImportService.parseSectionDate("Playoff Matchups", season)).isNull();
+        assertThat(ScheduleImportService.parseSectionDate("February 30th", season)).isNull();
+    }
+
+    @Test
+    void parseSectionDate_ShouldPreferSeasonStartYear() {
+        season.setStartDate(LocalDate.of(2024, 6, 1));
+
+        assertThat(ScheduleImportService.parseSectionDate("August 10", season)).isEqualTo(LocalDate.of(2024, 8, 10));
+    }
+
+    @Test
+    void parseGameTime_ShouldReadBareTimesAsEveningGames() {
+        assertThat(ScheduleImportService.parseGameTime("6:00")).isEqualTo(LocalTime.of(18, 0));
+        assertThat(ScheduleImportService.parseGameTime("7")).isEqualTo(LocalTime.of(19, 0));
+        assertThat(ScheduleImportService.parseGameTime("12:15")).isEqualTo(LocalTime.of(12, 15));
+        assertThat(ScheduleImportService.parseGameTime("20:30")).isEqualTo(LocalTime.of(20, 30));
+        assertThat(ScheduleImportService.parseGameTime("9:30 am")).isEqualTo(LocalTime.of(9, 30));
+        assertThat(ScheduleImportService.parseGameTime("12 a.m.")).isEqualTo(LocalTime.MIDNIGHT);
+        assertThat(ScheduleImportService.parseGameTime("8PM")).isEqualTo(LocalTime.of(20, 0));
+    }
+
+    @Test
+    void parseGameTime_ShouldRejectInvalidTimes() {
+        assertThatThrownBy(() -> ScheduleImportService.parseGameTime(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScheduleImportService.parseGameTime("tbd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScheduleImportService.parseGameTime("25:00")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScheduleImportService.parseGameTime("6:75")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScheduleImportService.parseGameTime("13 pm")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importSchedule_ReimportingTheSameFile_ShouldChangeNothing() {
+        // Given
+        String file = "{\"Sunday August 10th Schedule\": [{\"time\": \"6:00\", \"team1\": \"PALakers\", \"team2\": \"Hawks\"}]}";
+        stubSeason(List.of());
+        ScheduleImportService.ImportReport first = scheduleImportService.importSchedule(1L, json(file));
+        ArgumentCaptor<List<Game>> saved = ArgumentCaptor.forClass(List.class);
+        verify(gameRepository).saveAll(saved.capture());
+        Game created = saved.getValue().get(0);
+        created.setId(100L);
+        stubSeason(List.of(created));
+
+        // When
+        ScheduleImportService.ImportReport second = scheduleImportService.importSchedule(1L, json(file));
+
+        // Then
+        assertThat(first.getGamesCreated()).isEqualTo(1);
+        assertThat(created.getGameTime()).isEqualTo(LocalTime.of(18, 0));
+        assertThat(second.getGamesCreated()).isZero();
+        assertThat(second.getGamesUpdated()).isZero();
+        assertThat(second.getGamesUnchanged()).isEqualTo(1);
+        verify(gameRepository, times(1)).saveAll(any());
+        verify(gameRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(any(SchedulePostedEvent.class));
+    }
+
+    @Test
+    void importSchedule_WithCorrectedTipOff_ShouldMoveTheExistingGame() {
+        // Given
+        Game existing = game(100L, lakers, hawks, LocalTime.of(18, 0), "Gym", "1");
+        stubSeason(List.of(existing));
+        String file = "{\"August 10th\": [{\"time\": \"7:00\", \"team1\": \"Hawks\", \"team2\": \"PA Lakers\", \"court\": \"2\"}]}";
+
+        // When
+        ScheduleImportService.ImportReport report = scheduleImportService.importSchedule(1L, json(file));
+
+        // Then
+        assertThat(report.getGamesCreated()).isZero();
+        assertThat(report.getGamesUpdated()).isEqualTo(1);
+        assertThat(existing.getGameTime()).isEqualTo(LocalTime.of(19, 0));
+        assertThat(existing.getLocation()).isEqualTo("Gym");
+        assertThat(existing.getCourtNumber()).isEqualTo("2");
+        verify(gameRepository).save(existing);
+        verify(gameRepository, never()).saveAll(any());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof GameMovedEvent moved
+                && LocalTime.of(18, 0).equals(moved.getPreviousTime())));
+    }
+
+    @Test
+    void importSchedule_ShouldRejectCourtAndTeamConflictsIncludingGamesEarlierInTheFile() {
+        // Given
+        stubSeason(List.of(game(100L, lakers, hawks, LocalTime.of(18, 0), "Gym", "1")));
+        String file = "{\"August 10th\": ["
+                + "{\"time\": \"6:30\", \"team1\": \"Bulls\", \"team2\": \"Nets\", \"location\": \"Gym\", \"court\": \"1\"},"
+                + "{\"time\": \"6:30\", \"team1\": \"PA Lakers\", \"team2\": \"Bulls\"},"
+                + "{\"time\": \"9:00\", \"team1\": \"Bulls\", \"team2\": \"Nets\", \"location\": \"Gym\", \"court\": \"1\"},"
+                + "{\"time\": \"9:30\", \"team1\": \"Hawks\", \"team2\": \"Nets\"}"
+                + "]}";
+
+        // When
+        ScheduleImportService.ImportReport report = scheduleImportService.importSchedule(1L, json(file));
+
+        // Then
+        assertThat(report.getGamesCreated()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(ScheduleImportService.EntryError::getEntry).containsExactly(1, 2, 4);
+        assertThat(report.getErrors().get(0).getMessage()).contains("already booked");
+    }
+
+    private void stubSeason(List<Game> games) {
+        when(seasonRepository.findById(1L)).thenReturn(Optional.of(season));
+        when(teamRepository.findBySeasonId(1L)).thenReturn(List.of(lakers, hawks, bulls, nets));
+        when(gameRepository.findBySeasonId(1L)).thenReturn(games);
+        when(gameRefereeRepository.findBySeasonId(1L)).thenReturn(List.of());
+        when(refereeRepository.findAll()).thenReturn(List.of());
+        List<GameSlotDTO> slots = new ArrayList<>();
+        for (Game game : games) {
+            slots.add(new GameSlotDTO(game.getId(), game.getGameDate(), game.getGameTime(), game.getLocation(),
+                    game.getCourtNumber(), game.getHomeTeam().getId(), game.getAwayTeam().getId()));
+        }
+        when(gameRepository.findSlotsBySeasonId(1L)).thenReturn(slots);
+    }
+
+    private Game game(Long id, Team home, Team away, LocalTime time, String location, String courtNumber) {
+        return Game.builder()
+                .id(id)
+                .season(season)
+                .homeTeam(home)
+                .awayTeam(away)
+                .gameDate(AUGUST_10)
+                .gameTime(time)
+                .location(location)
+                .courtNumber(courtNumber)
+                .gameType(Game.GameType.REGULAR)
+                .isCompleted(false)
+                .build();
+    }
+
+    private Team team(Long id, String name) {
+        Team team = Team.builder().name(name).season(season).build();
+        team.setId(id);
+        return team;
+    }
+
+    private static ByteArrayInputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
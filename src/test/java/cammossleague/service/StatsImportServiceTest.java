@@ -0,0 +1,216 @@
+package cammossleague.service;
+
+import cammossleague.event.PlayerStatsChangedEvent;
+import cammossleague.repository.PlayerGameStatsRepository;
+import cammossleague.service.StatsImportService.Format;
+import cammossleague.service.StatsImportService.ImportReport;
+import cammossleague.service.StatsImportService.RowError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PlayerGameStatsRepository playerGameStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private StatsImportService importService;
+
+    private final List<Object[]> upserted = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new StatsImportService(jdbcTemplate, transactionManager, playerGameStatsRepository,
+                eventPublisher);
+        ReflectionTestUtils.setField(importService, "batchSize", 1000);
+
+        // Game 7 (season 3) is Lakers (10) vs Hawks (20); game 8 is in season 4
+        givenRows("SELECT id, season_id, home_team_id", new long[] { 7, 3, 10, 20 }, new long[] { 8, 4, 30, 40 });
+        // Player 3 is registered for season 3 but on no roster
+        givenRows("SELECT id, season_id FROM players", new long[] { 1, 3 }, new long[] { 2, 3 }, new long[] { 3, 3 });
+        givenRows("SELECT player_id, team_id", new long[] { 1, 10 }, new long[] { 2, 20 });
+
+        // The service clears its batch after each flush, so copy the rows as they arrive
+        lenient().doAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            upserted.addAll(batch);
+            batchSizes.add(batch.size());
+            return new int[batch.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void splitCsvLine_ShouldHonourQuotesEmbeddedCommasAndEscapedQuotes() {
+        assertThat(StatsImportService.splitCsvLine("7, 1 ,12")).containsExactly("7", "1", "12");
+        assertThat(StatsImportService.splitCsvLine("\"Smith, Jr.\",5")).containsExactly("Smith, Jr.", "5");
+        assertThat(StatsImportService.splitCsvLine("\"He said \"\"go\"\"\",3"))
+                .containsExactly("He said \"go\"", "3");
+        assertThat(StatsImportService.splitCsvLine("\"\",,")).containsExactly("", "", "");
+        assertThat(StatsImportService.splitCsvLine("")).containsExactly("");
+    }
+
+    @Test
+    void importStats_FromCsv_ShouldUpsertValidRowsAndReportTheRest() {
+        // Given
+        String csv = String.join("\n",
+                "\"Game ID\",Player,PTS,REB,AST",
+                "7,1,\"12\",4,3",
+                "7,2,8,,1",
+                "99,1,5,5,5",
+                "7,42,5,5,5",
+                "8,1,5,5,5",
+                "7,1,-2,0,0",
+                "",
+                "7,3,1,1,1");
+
+        // When
+        ImportReport report = importService.importStats(stream(csv), Format.CSV);
+
+        // Then
+        assertThat(report.getRowsRead()).isEqualTo(7);
+        assertThat(report.getRowsImported()).isEqualTo(2);
+        assertThat(report.getRowsRejected()).isEqualTo(5);
+        assertThat(report.isErrorsTruncated()).isFalse();
+        assertThat(report.getErrors()).extracting(RowError::getRow, RowError::getMessage).containsExactly(
+                tuple(4L, "Unknown game id 99"),
+                tuple(5L, "Unknown player id 42"),
+                tuple(6L, "Player 1 is not registered for game 8's season"),
+                tuple(7L, "points cannot be negative"),
+                tuple(9L, "Player 3 is not on either roster for game 7"));
+        // Team comes from whichever side the player is rostered on
+        assertThat(upserted).containsExactly(
+                new Object[] { 7L, 1L, 10L, 12, 4, 3 },
+                new Object[] { 7L, 2L, 20L, 8, 0, 1 });
+        verify(playerGameStatsRepository).rebuildPlayerTotals();
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof PlayerStatsChangedEvent changed
+                && changed.getSeasonId() == null));
+    }
+
+    @Test
+    void importStats_FromJsonArray_ShouldReadAliasesAndSkipNestedValues() {
+        // Given
+        String json = "[" +
+                "{\"game_id\": 7, \"player_id\": 2, \"team_id\": 20, \"points\": 30, " +
+                "\"meta\": {\"source\": \"app\", \"tags\": [1, 2]}, \"rebounds\": null, \"assists\": 6}," +
+                "{\"gameId\": \"7\", \"playerId\": 1, \"teamId\": 30, \"pts\": 1}," +
+                "{\"game\": 7}" +
+                "]";
+
+        // When
+        ImportReport report = importService.importStats(stream(json), Format.JSON);
+
+        // Then
+        assertThat(report.getRowsRead()).isEqualTo(3);
+        assertThat(report.getRowsImported()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(RowError::getRow, RowError::getMessage).containsExactly(
+                tuple(2L, "Team 30 did not play in game 7"),
+                tuple(3L, "Missing player_id"));
+        assertThat(upserted).containsExactly(new Object[] { 7L, 2L, 20L, 30, 0, 6 });
+    }
+
+    @Test
+    void importStats_FromNewlineDelimitedJson_ShouldImportEachObject() {
+        // Given
+        String ndjson = "{\"game\": 7, \"player\": 1}\n{\"game\": 7, \"player\": 2, \"ast\": \"4\"}\n";
+
+        // When
+        ImportReport report = importService.importStats(stream(ndjson), Format.JSON);
+
+        // Then
+        assertThat(report.getRowsImported()).isEqualTo(2);
+        assertThat(upserted).containsExactly(
+                new Object[] { 7L, 1L, 10L, 0, 0, 0 },
+                new Object[] { 7L, 2L, 20L, 0, 0, 4 });
+    }
+
+    @Test
+    void importStats_ShouldFlushInBatchesAndCountEveryUpsert() {
+        // Given
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        String csv = "game_id,player_id,points\n7,1,1\n7,2,2\n7,1,3\n";
+
+        // When
+        ImportReport report = importService.importStats(stream(csv), Format.CSV);
+
+        // Then
+        assertThat(batchSizes).containsExactly(2, 1);
+        assertThat(report.getRowsImported()).isEqualTo(3);
+        assertThat(report.getRowsRejected()).isZero();
+    }
+
+    @Test
+    void importStats_WhenNothingImports_ShouldNotRebuildTotals() {
+        // Given
+        String csv = "game_id,player_id\n99,1\n";
+
+        // When
+        ImportReport report = importService.importStats(stream(csv), Format.CSV);
+
+        // Then
+        assertThat(report.getRowsRejected()).isEqualTo(1);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(playerGameStatsRepository, eventPublisher);
+    }
+
+    @Test
+    void importStats_WhenCsvHeaderLacksIds_ShouldFail() {
+        // Given
+        String csv = "game_id,points\n7,12\n";
+
+        // When / Then
+        assertThatThrownBy(() -> importService.importStats(stream(csv), Format.CSV))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("CSV header must include game_id and player_id columns");
+        verifyNoInteractions(playerGameStatsRepository, eventPublisher);
+    }
+
+    private void givenRows(String sqlPrefix, long[]... rows) {
+        lenient().doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                for (int i = 0; i < row.length; i++) {
+                    when(rs.getLong(i + 1)).thenReturn(row[i]);
+                }
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith(sqlPrefix), any(RowCallbackHandler.class));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
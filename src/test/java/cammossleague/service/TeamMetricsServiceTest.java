@@ -0,0 +1,161 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameResultDTO;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.event.TeamCreatedEvent;
+import cammossleague.model.Team;
+import cammossleague.model.TeamMetrics;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamMetricsRepository;
+import cammossleague.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamMetricsServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private TeamMetricsRepository teamMetricsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TeamMetricsService teamMetricsService;
+
+    @BeforeEach
+    void setUp() {
+        teamMetricsService = new TeamMetricsService(gameRepository, teamRepository, seasonRepository,
+                teamMetricsRepository, transactionManager);
+        ReflectionTestUtils.setField(teamMetricsService, "pythagoreanExponent", 13.91);
+        lenient().when(teamMetricsRepository.saveAll(anyList())).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @Test
+    void refreshSeason_ShouldDeriveRecordsSplitsAndStrengthOfSchedule() {
+        // Given: A beats B at home by 20, B beats C away by 3, C and A tie
+        when(teamRepository.findBySeasonId(1L)).thenReturn(List.of(team(1L), team(2L), team(3L)));
+        when(gameRepository.findCompletedResultsBySeasonId(1L)).thenReturn(List.of(
+                result(1L, 2L, 70, 50),
+                result(3L, 2L, 60, 63),
+                result(3L, 1L, 55, 55)));
+
+        // When
+        Map<Long, TeamMetrics> metrics = teamMetricsService.refreshSeason(1L).stream()
+                .collect(Collectors.toMap(TeamMetrics::getTeamId, Function.identity()));
+
+        // Then
+        TeamMetrics a = metrics.get(1L);
+        assertThat(a.getWins()).isEqualTo(1);
+        assertThat(a.getTies()).isEqualTo(1);
+        assertThat(a.getHomeWins()).isEqualTo(1);
+        assertThat(a.getBlowoutWins()).isEqualTo(1);
+        assertThat(a.getAverageMargin()).isEqualTo(10.0);
+
+        TeamMetrics b = metrics.get(2L);
+        assertThat(b.getAwayWins()).isEqualTo(1);
+        assertThat(b.getCloseWins()).isEqualTo(1);
+        assertThat(b.getBlowoutLosses()).isEqualTo(1);
+
+        // A's opponents without their game against A: B went 1-0, C went 0-1
+        assertThat(a.getOpponentsWinPct()).isEqualTo(0.5);
+        assertThat(metrics.values()).allMatch(TeamMetrics::isNew);
+        verify(teamMetricsRepository).deleteBySeasonId(1L);
+    }
+
+    @Test
+    void getSeasonMetrics_ForSeasonWithoutTeams_ShouldComputeOnlyOnce() {
+        // Given
+        when(teamMetricsRepository.existsBySeasonId(1L)).thenReturn(false);
+        when(teamRepository.findBySeasonId(1L)).thenReturn(List.of());
+        when(gameRepository.findCompletedResultsBySeasonId(1L)).thenReturn(List.of());
+
+        // When
+        List<TeamMetrics> first = teamMetricsService.getSeasonMetrics(1L);
+        List<TeamMetrics> second = teamMetricsService.getSeasonMetrics(1L);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(teamRepository, times(1)).findBySeasonId(1L);
+    }
+
+    @Test
+    void onTeamCreated_ForSeasonRememberedAsEmpty_ShouldComputeItsMetrics() {
+        // Given
+        when(teamMetricsRepository.existsBySeasonId(1L)).thenReturn(false);
+        when(teamRepository.findBySeasonId(1L)).thenReturn(List.of(), List.of(team(1L)));
+        when(gameRepository.findCompletedResultsBySeasonId(1L)).thenReturn(List.of());
+        assertThat(teamMetricsService.getSeasonMetrics(1L)).isEmpty();
+
+        // When
+        teamMetricsService.onTeamCreated(new TeamCreatedEvent(1L, 1L));
+
+        // Then
+        assertThat(teamMetricsService.refreshSeason(1L)).extracting(TeamMetrics::getTeamId).containsExactly(1L);
+        verify(teamRepository, times(3)).findBySeasonId(1L);
+    }
+
+    @Test
+    void onRosterChanged_ShouldForgetThatTheSeasonWasEmpty() {
+        // Given
+        when(teamMetricsRepository.existsBySeasonId(1L)).thenReturn(false);
+        when(teamRepository.findBySeasonId(1L)).thenReturn(List.of());
+        when(gameRepository.findCompletedResultsBySeasonId(1L)).thenReturn(List.of());
+        teamMetricsService.getSeasonMetrics(1L);
+
+        // When
+        teamMetricsService.onRosterChanged(new RosterChangedEvent(1L, 1L, 5L, 9L));
+        teamMetricsService.getSeasonMetrics(1L);
+
+        // Then: the second read looked again instead of answering from the empty marker
+        verify(teamRepository, times(2)).findBySeasonId(1L);
+    }
+
+    @Test
+    void markPersisted_ShouldStopTreatingLoadedRowsAsNew() {
+        // Given
+        TeamMetrics metrics = TeamMetrics.builder().teamId(1L).build();
+
+        // When
+        metrics.markPersisted();
+
+        // Then
+        assertThat(metrics.getId()).isEqualTo(1L);
+        assertThat(metrics.isNew()).isFalse();
+    }
+
+    private static Team team(Long id) {
+        Team team = Team.builder().name("Team " + id).build();
+        team.setId(id);
+        return team;
+    }
+
+    private static GameResultDTO result(Long homeId, Long awayId, int homeScore, int awayScore) {
+        return new GameResultDTO(null, 1L, LocalDate.of(2025, 6, 1), homeId, awayId, homeScore, awayScore);
+    }
+}
@@ -0,0 +1,171 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameResultDTO;
+import cammossleague.model.Game;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import cammossleague.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamRatingServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TeamRatingService teamRatingService;
+
+    @BeforeEach
+    void setUp() {
+        teamRatingService = new TeamRatingService(gameRepository, teamRepository, transactionManager);
+        ReflectionTestUtils.setField(teamRatingService, "initialRating", 1500.0);
+        ReflectionTestUtils.setField(teamRatingService, "kFactor", 32.0);
+        ReflectionTestUtils.setField(teamRatingService, "homeAdvantage", 0.0);
+        ReflectionTestUtils.setField(teamRatingService, "seasonCarryOver", 0.75);
+    }
+
+    @Test
+    void recordResult_BetweenEvenTeams_ShouldMoveRatingsByMarginScaledK() {
+        // Given
+        Game game = game(team(1L, "Hawks"), team(2L, "Owls"), 60, 50);
+
+        // When
+        teamRatingService.recordResult(game);
+
+        // Then: expected score 0.5, multiplier ln(11)
+        double delta = 32 * Math.log(11) * 0.5;
+        assertThat(teamRatingService.getRating(1L)).isCloseTo(1500 + delta, within(1e-9));
+        assertThat(teamRatingService.getRating(2L)).isCloseTo(1500 - delta, within(1e-9));
+    }
+
+    @Test
+    void recordResult_WhenUnderdogWins_ShouldMoveMoreThanWhenFavouriteWins() {
+        // Given
+        Team strong = team(1L, "Hawks");
+        Team weak = team(2L, "Owls");
+        teamRatingService.recordResult(game(strong, weak, 70, 40));
+        double favourite = teamRatingService.getRating(1L);
+
+        // When
+        teamRatingService.recordResult(game(strong, weak, 40, 70));
+
+        // Then
+        double favouriteGain = favourite - 1500;
+        double upsetLoss = favourite - teamRatingService.getRating(1L);
+        assertThat(upsetLoss).isGreaterThan(favouriteGain);
+    }
+
+    @Test
+    void recordResult_WithoutScores_ShouldLeaveRatingsUnchanged() {
+        // Given
+        Game game = game(team(1L, "Hawks"), team(2L, "Owls"), 60, 50);
+        game.setAwayScore(null);
+
+        // When
+        teamRatingService.recordResult(game);
+
+        // Then
+        assertThat(teamRatingService.getRating(1L)).isEqualTo(1500.0);
+    }
+
+    @Test
+    void rebuild_ShouldCarryRegressedRatingIntoNextSeasonTeamWithSameName() {
+        // Given
+        when(teamRepository.findTeamLineageRows()).thenReturn(List.of(
+                new Object[] {1L, "Hawks", null},
+                new Object[] {2L, "Owls", null},
+                new Object[] {3L, "HAWKS", null}));
+        when(gameRepository.streamCompletedResults()).thenReturn(Stream.of(
+                new GameResultDTO(10L, 1L, LocalDate.of(2024, 6, 1), 1L, 2L, 60, 50)));
+
+        // When
+        teamRatingService.rebuild();
+
+        // Then
+        double lastSeason = teamRatingService.getRating(1L);
+        double inherited = 1500 + 0.75 * (lastSeason - 1500);
+        assertThat(lastSeason).isGreaterThan(1500.0);
+        // Seeding and power rankings see the carried-over rating before the new team plays
+        assertThat(teamRatingService.getRatings(List.of(3L)).get(3L)).isCloseTo(inherited, within(1e-9));
+
+        // A first game for the new team starts from the inherited rating
+        teamRatingService.recordResult(game(team(3L, "HAWKS"), team(4L, "Bats"), 50, 50));
+        assertThat(teamRatingService.getRating(3L)).isLessThan(inherited).isGreaterThan(1500.0);
+    }
+
+    @Test
+    void getRating_ForTeamCreatedAfterRebuild_ShouldInheritFromItsPredecessor() {
+        // Given
+        when(teamRepository.findTeamLineageRows()).thenReturn(List.of(
+                new Object[] {1L, "Hawks", null},
+                new Object[] {2L, "Owls", null}));
+        when(gameRepository.streamCompletedResults()).thenReturn(Stream.of(
+                new GameResultDTO(10L, 1L, LocalDate.of(2024, 6, 1), 1L, 2L, 60, 50)));
+        teamRatingService.rebuild();
+        double lastSeason = teamRatingService.getRating(1L);
+        when(teamRepository.findById(5L)).thenReturn(Optional.of(team(5L, "Hawks")));
+
+        // When
+        double rating = teamRatingService.getRating(5L);
+
+        // Then
+        assertThat(rating).isCloseTo(1500 + 0.75 * (lastSeason - 1500), within(1e-9));
+        assertThat(teamRatingService.getRating(5L)).isEqualTo(rating);
+        verify(teamRepository, times(1)).findById(5L);
+    }
+
+    @Test
+    void recordResult_ForGameTheRebuildAlreadyRated_ShouldNotApplyItTwice() {
+        // Given: the game committed while a rebuild was streaming, so the rebuild saw it
+        when(teamRepository.findTeamLineageRows()).thenReturn(List.of(
+                new Object[] {1L, "Hawks", null},
+                new Object[] {2L, "Owls", null}));
+        when(gameRepository.streamCompletedResults()).thenReturn(Stream.of(
+                new GameResultDTO(10L, 1L, LocalDate.of(2024, 6, 1), 1L, 2L, 60, 50)));
+        teamRatingService.rebuild();
+        double rebuilt = teamRatingService.getRating(1L);
+        Game game = game(team(1L, "Hawks"), team(2L, "Owls"), 60, 50);
+        game.setId(10L);
+
+        // When: its after-commit update runs against the rebuilt table
+        teamRatingService.recordResult(game);
+
+        // Then
+        assertThat(teamRatingService.getRating(1L)).isEqualTo(rebuilt);
+    }
+
+    private static Team team(Long id, String name) {
+        Team team = Team.builder().name(name).build();
+        team.setId(id);
+        return team;
+    }
+
+    private static Game game(Team home, Team away, int homeScore, int awayScore) {
+        return Game.builder()
+                .homeTeam(home)
+                .awayTeam(away)
+                .homeScore(homeScore)
+                .awayScore(awayScore)
+                .build();
+    }
+}
@@ -0,0 +1,277 @@
+package cammossleague.service;
+
+import cammossleague.dto.RosterEntryDTO;
+import cammossleague.dto.TeamDTO;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.event.TeamRenamedEvent;
+import cammossleague.model.Player;
+import cammossleague.model.PlayerTeam;
+import cammossleague.model.Season;
+import cammossleague.model.Team;
+import cammossleague.model.User;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
+import cammossleague.repository.SeasonRepository;
+import cammossleague.repository.TeamRepository;
+import cammossleague.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamServiceTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private SeasonRepository seasonRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TiebreakerService tiebreakerService;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private PlayerTeamRepository playerTeamRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TeamService teamService;
+
+    private Season season;
+
+    @BeforeEach
+    void setUp() {
+        teamService = new TeamService(teamRepository, seasonRepository, userRepository, tiebreakerService,
+                playerRepository, playerTeamRepository, eventPublisher);
+        season = new Season();
+        season.setId(3L);
+    }
+
+    @Test
+    void addPlayerToTeam_ShouldSaveActiveMembershipAndPublishRosterChange() {
+        // Given
+        Team team = team(10L, "Lakers");
+        when(teamRepository.findById(10L)).thenReturn(Optional.of(team));
+        when(playerRepository.findById(2L)).thenReturn(Optional.of(player(2L, season)));
+        when(playerTeamRepository.findByPlayerIdAndSeasonIdAndIsActiveTrue(2L, 3L)).thenReturn(List.of());
+
+        // When
+        teamService.addPlayerToTeam(10L, 2L);
+
+        // Then
+        ArgumentCaptor<PlayerTeam> saved = ArgumentCaptor.forClass(PlayerTeam.class);
+        verify(playerTeamRepository).save(saved.capture());
+        assertThat(saved.getValue().getTeam()).isSameAs(team);
+        assertThat(saved.getValue().getStatus()).isEqualTo(PlayerTeam.Status.ACTIVE);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof RosterChangedEvent changed
+                && changed.getTeamId().equals(10L) && changed.getUserId().equals(9L)));
+    }
+
+    @Test
+    void addPlayerToTeam_WhenAlreadyActiveOnATeamThisSeason_ShouldRejectAndNotSave() {
+        // Given
+        Player player = player(2L, season);
+        when(teamRepository.findById(10L)).thenReturn(Optional.of(team(10L, "Lakers")));
+        when(playerRepository.findById(2L)).thenReturn(Optional.of(player));
+        when(playerTeamRepository.findByPlayerIdAndSeasonIdAndIsActiveTrue(2L, 3L))
+                .thenReturn(List.of(membership(player, team(20L, "Hawks"))));
+
+        // When / Then
+        assertThatThrownBy(() -> teamService.addPlayerToTeam(10L, 2L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Player is already on a team this season");
+        verify(playerTeamRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void addPlayerToTeam_WhenPlayerRegisteredForAnotherSeason_ShouldReject() {
+        // Given
+        Season otherSeason = new Season();
+        otherSeason.setId(4L);
+        when(teamRepository.findById(10L)).thenReturn(Optional.of(team(10L, "Lakers")));
+        when(playerRepository.findById(2L)).thenReturn(Optional.of(player(2L, otherSeason)));
+
+        // When / Then
+        assertThatThrownBy(() -> teamService.addPlayerToTeam(10L, 2L))
+                .hasMessage("Player is not registered for this team's season");
+        verify(playerTeamRepository, never()).save(any());
+    }
+
+    @Test
+    void removePlayerFromTeam_ShouldReleaseMembershipAndPublishRosterChange() {
+        // Given
+        PlayerTeam membership = membership(player(2L, season), team(10L, "Lakers"));
+        when(playerTeamRepository.findByPlayerIdAndTeamIdAndIsActiveTrue(2L, 10L)).thenReturn(List.of(membership));
+
+        // When
+        teamService.removePlayerFromTeam(10L, 2L);
+
+        // Then
+        assertThat(membership.getStatus()).isEqualTo(PlayerTeam.Status.RELEASED);
+        verify(playerTeamRepository).saveAll(List.of(membership));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof RosterChangedEvent changed
+                && changed.getSeasonId().equals(3L) && changed.getPlayerId().equals(2L)));
+    }
+
+    @Test
+    void removePlayerFromTeam_WhenPlayerNotOnTeam_ShouldRejectAndNotSave() {
+        // Given
+        when(playerTeamRepository.findByPlayerIdAndTeamIdAndIsActiveTrue(2L, 10L)).thenReturn(List.of());
+
+        // When / Then
+        assertThatThrownBy(() -> teamService.removePlayerFromTeam(10L, 2L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Player is not on this team");
+        verify(playerTeamRepository, never()).saveAll(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateTeam_WhenCityChanges_ShouldPublishTeamRenamed() {
+        // Given
+        Team team = team(10L, "Lakers");
+        team.setCity("Springfield");
+        when(teamRepository.findById(10L)).thenReturn(Optional.of(team));
+        when(teamRepository.save(team)).thenReturn(team);
+        TeamDTO update = new TeamDTO();
+        update.setCity("Shelbyville");
+
+        // When
+        teamService.updateTeam(10L, update);
+
+        // Then
+        assertThat(team.getCity()).isEqualTo("Shelbyville");
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TeamRenamedEvent renamed
+                && renamed.getTeamId().equals(10L) && renamed.getSeasonId().equals(3L)));
+        verify(eventPublisher, never()).publishEvent(any(GameUpdatedEvent.class));
+    }
+
+    @Test
+    void getRoster_ShouldMapEntriesFromOneQuery() {
+        // Given
+        when(playerRepository.findRostersByTeamIdIn(List.of(10L)))
+                .thenReturn(List.of(rosterEntry(10L, 2L, "Ann", "Lee", 8, 80)));
+
+        // When
+        List<RosterEntryDTO> roster = teamService.getRoster(10L);
+
+        // Then
+        assertThat(roster).singleElement().satisfies(entry -> {
+            assertThat(entry.getId()).isEqualTo(2L);
+            assertThat(entry.getDisplayName()).isEqualTo("Ann Lee");
+            assertThat(entry.getUser().getUsername()).isEqualTo("ann");
+            assertThat(entry.getUser().getFullName()).isEqualTo("Ann Lee");
+            assertThat(entry.getPointsPerGame()).isEqualTo(10.0);
+        });
+        verify(playerRepository, times(1)).findRostersByTeamIdIn(anyCollection());
+        verifyNoMoreInteractions(playerRepository);
+    }
+
+    @Test
+    void getRosters_ShouldGroupByTeamInRequestedOrderWithOneQuery() {
+        // Given
+        List<Long> teamIds = List.of(20L, 10L, 30L);
+        when(playerRepository.findRostersByTeamIdIn(teamIds)).thenReturn(List.of(
+                rosterEntry(10L, 2L, "Ann", "Lee", 8, 80),
+                rosterEntry(10L, 3L, "Bo", "Kim", 8, 40),
+                rosterEntry(20L, 4L, "Cy", "Ray", 0, 0)));
+
+        // When
+        Map<Long, List<RosterEntryDTO>> rosters = teamService.getRosters(teamIds);
+
+        // Then
+        assertThat(rosters).containsOnlyKeys(20L, 10L, 30L);
+        assertThat(rosters.keySet()).containsExactly(20L, 10L, 30L);
+        assertThat(rosters.get(10L)).extracting(RosterEntryDTO::getId).containsExactly(2L, 3L);
+        assertThat(rosters.get(20L)).singleElement()
+                .satisfies(entry -> assertThat(entry.getPointsPerGame()).isZero());
+        assertThat(rosters.get(30L)).isEmpty();
+        verify(playerRepository, times(1)).findRostersByTeamIdIn(anyCollection());
+        verifyNoMoreInteractions(playerRepository);
+    }
+
+    @Test
+    void getRosters_WithNoTeams_ShouldNotQuery() {
+        // When
+        Map<Long, List<RosterEntryDTO>> rosters = teamService.getRosters(List.of());
+
+        // Then
+        assertThat(rosters).isEmpty();
+        verifyNoInteractions(playerRepository);
+    }
+
+    @Test
+    void getSeasonRosters_ShouldKeyEveryActiveTeamWithOneRosterQuery() {
+        // Given
+        when(teamRepository.findBySeasonIdAndIsActiveTrue(3L))
+                .thenReturn(List.of(team(10L, "Lakers"), team(20L, "Hawks")));
+        when(playerRepository.findRostersBySeasonId(3L)).thenReturn(List.of(
+                rosterEntry(10L, 2L, "Ann", "Lee", 8, 80),
+                // Roster line of an inactive team is left out
+                rosterEntry(99L, 5L, "Di", "Fox", 1, 1)));
+
+        // When
+        Map<Long, List<RosterEntryDTO>> rosters = teamService.getSeasonRosters(3L);
+
+        // Then
+        assertThat(rosters.keySet()).containsExactly(10L, 20L);
+        assertThat(rosters.get(10L)).extracting(RosterEntryDTO::getDisplayName).containsExactly("Ann Lee");
+        assertThat(rosters.get(20L)).isEmpty();
+        verify(teamRepository, times(1)).findBySeasonIdAndIsActiveTrue(3L);
+        verify(playerRepository, times(1)).findRostersBySeasonId(3L);
+        verifyNoMoreInteractions(playerRepository, teamRepository);
+    }
+
+    private Team team(Long id, String name) {
+        Team team = Team.builder().name(name).season(season).build();
+        team.setId(id);
+        return team;
+    }
+
+    private Player player(Long id, Season playerSeason) {
+        Player player = Player.builder()
+                .user(User.builder().id(9L).build())
+                .season(playerSeason)
+                .build();
+        player.setId(id);
+        return player;
+    }
+
+    private PlayerTeam membership(Player player, Team team) {
+        return PlayerTeam.builder()
+                .player(player)
+                .team(team)
+                .status(PlayerTeam.Status.ACTIVE)
+                .build();
+    }
+
+    private RosterEntryDTO rosterEntry(Long teamId, Long playerId, String firstName, String lastName,
+                                       int gamesPlayed, int points) {
+        return new RosterEntryDTO(teamId, playerId, playerId + 100, firstName.toLowerCase(), firstName, lastName,
+                null, null, 4, Player.Position.PG, gamesPlayed, points, 0, 0);
+    }
+}
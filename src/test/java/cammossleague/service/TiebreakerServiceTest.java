@@ -0,0 +1,99 @@
+package cammossleague.service;
+
+import cammossleague.dto.GameResultDTO;
+import cammossleague.event.GameUpdatedEvent;
+import cammossleague.model.Team;
+import cammossleague.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TiebreakerServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private TiebreakerService tiebreakerService;
+
+    @BeforeEach
+    void setUp() {
+        tiebreakerService = new TiebreakerService(gameRepository,
+                List.of("head-to-head", "head-to-head-differential", "point-differential", "coin-flip"));
+    }
+
+    @Test
+    void rank_WhenTwoTeamsTied_ShouldUseHeadToHeadBeforePointDifferential() {
+        // Given
+        Team leader = team(1L, 3, 0, 150, 100);
+        Team strongDifferential = team(2L, 2, 1, 160, 100);
+        Team headToHeadWinner = team(3L, 2, 1, 120, 110);
+
+        when(gameRepository.findCompletedResultsBySeasonId(1L)).thenReturn(List.of(
+                result(3L, 2L, 40, 38)));
+
+        // When
+        List<Team> standings = tiebreakerService.rank(1L, List.of(strongDifferential, headToHeadWinner, leader));
+
+        // Then
+        assertThat(standings).containsExactly(leader, headToHeadWinner, strongDifferential);
+    }
+
+    @Test
+    void rank_WhenThreeWayTieIsCircular_ShouldFallBackToHeadToHeadDifferential() {
+        // Given
+        Team teamA = team(1L, 1, 1, 100, 100);
+        Team teamB = team(2L, 1, 1, 200, 100);
+        Team teamC = team(3L, 1, 1, 100, 100);
+
+        when(gameRepository.findCompletedResultsBySeasonId(1L)).thenReturn(List.of(
+                result(1L, 2L, 10, 5),
+                result(2L, 3L, 10, 8),
+                result(3L, 1L, 10, 9)));
+
+        // When
+        List<Team> standings = tiebreakerService.rank(1L, List.of(teamB, teamC, teamA));
+
+        // Then
+        assertThat(standings).containsExactly(teamA, teamC, teamB);
+    }
+
+    @Test
+    void getMatrix_ShouldBeCachedUntilGameUpdated() {
+        // Given
+        when(gameRepository.findCompletedResultsBySeasonId(1L)).thenReturn(List.of(result(1L, 2L, 10, 5)));
+
+        // When
+        tiebreakerService.getMatrix(1L);
+        tiebreakerService.getMatrix(1L);
+        tiebreakerService.onGameUpdated(new GameUpdatedEvent(10L, 1L));
+        tiebreakerService.getMatrix(1L);
+
+        // Then
+        verify(gameRepository, times(2)).findCompletedResultsBySeasonId(1L);
+    }
+
+    private Team team(Long id, int wins, int losses, int pointsFor, int pointsAgainst) {
+        Team team = Team.builder()
+                .name("Team " + id)
+                .wins(wins)
+                .losses(losses)
+                .pointsFor(pointsFor)
+                .pointsAgainst(pointsAgainst)
+                .build();
+        team.setId(id);
+        return team;
+    }
+
+    private GameResultDTO result(Long homeTeamId, Long awayTeamId, int homeScore, int awayScore) {
+        return new GameResultDTO(null, 1L, LocalDate.of(2025, 6, 1), homeTeamId, awayTeamId, homeScore, awayScore);
+    }
+}
@@ -0,0 +1,155 @@
+package cammossleague.service;
+
+import cammossleague.event.RosterChangedEvent;
+import cammossleague.model.PlayerTeam;
+import cammossleague.repository.PlayerRepository;
+import cammossleague.repository.PlayerTeamRepository;
+import cammossleague.repository.TeamRepository;
+import cammossleague.repository.UserRepository;
+import cammossleague.security.TokenPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private PlayerTeamRepository playerTeamRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @InjectMocks
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userService, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(userService, "maxEntries", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void accessChecks_ShouldLoadScopeOnceAcrossRequests() {
+        // Given
+        stubScope(7L, 3L, List.of(70L), List.of(70L, 71L));
+
+        // When
+        authenticate(7L, "PLAYER");
+        boolean ownTeam = userService.hasAccessToTeam(3L);
+        boolean teammate = userService.hasAccessToPlayer(71L);
+        authenticate(7L, "PLAYER");
+        boolean otherTeam = userService.hasAccessToTeam(4L);
+        boolean stranger = userService.hasAccessToPlayer(99L);
+
+        // Then
+        assertThat(ownTeam).isTrue();
+        assertThat(teammate).isTrue();
+        assertThat(otherTeam).isFalse();
+        assertThat(stranger).isFalse();
+        verify(playerTeamRepository, times(1)).findCurrentSeasonTeamIdsByUserIdAndStatus(7L, PlayerTeam.Status.ACTIVE);
+        verify(playerRepository, times(1)).findIdsByUserId(7L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void accessChecks_ForAdmin_ShouldNotQuery() {
+        // Given
+        authenticate(1L, "ADMIN");
+
+        // When / Then
+        assertThat(userService.isAdmin()).isTrue();
+        assertThat(userService.hasAccessToTeam(3L)).isTrue();
+        assertThat(userService.hasAccessToPlayer(71L)).isTrue();
+        verifyNoInteractions(userRepository, playerRepository, playerTeamRepository, teamRepository);
+    }
+
+    @Test
+    void onRosterChanged_ShouldEvictTeammatesOfTheTeam() {
+        // Given
+        stubScope(7L, 3L, List.of(70L), List.of(70L, 71L));
+        stubScope(8L, 3L, List.of(71L), List.of(70L, 71L));
+        stubScope(9L, 4L, List.of(90L), List.of(90L));
+        for (long userId : new long[] {7L, 8L, 9L}) {
+            authenticate(userId, "PLAYER");
+            userService.hasAccessToPlayer(70L);
+        }
+
+        // When
+        userService.onRosterChanged(new RosterChangedEvent(3L, 1L, 72L, 12L));
+
+        // Then
+        assertThat(userService.cachedScopes()).isEqualTo(1);
+        authenticate(7L, "PLAYER");
+        userService.hasAccessToPlayer(72L);
+        verify(playerRepository, times(2)).findIdsByUserId(7L);
+    }
+
+    @Test
+    void accessChecks_ShouldExpireScopeAfterTtl() {
+        // Given
+        ReflectionTestUtils.setField(userService, "ttlSeconds", 0L);
+        stubScope(7L, 3L, List.of(70L), List.of(70L));
+
+        // When
+        authenticate(7L, "PLAYER");
+        userService.hasAccessToTeam(3L);
+        authenticate(7L, "PLAYER");
+        userService.hasAccessToTeam(3L);
+
+        // Then
+        verify(playerRepository, times(2)).findIdsByUserId(7L);
+    }
+
+    @Test
+    void accessChecks_WithoutAuthentication_ShouldDeny() {
+        // When / Then
+        assertThat(userService.isAdmin()).isFalse();
+        assertThat(userService.hasAccessToTeam(3L)).isFalse();
+        assertThat(userService.getCurrentUserTeam()).isEmpty();
+    }
+
+    private void stubScope(Long userId, Long teamId, List<Long> ownPlayerIds, List<Long> rosterPlayerIds) {
+        lenient().when(playerTeamRepository.findCurrentSeasonTeamIdsByUserIdAndStatus(userId, PlayerTeam.Status.ACTIVE))
+                .thenReturn(List.of(teamId));
+        lenient().when(playerRepository.findIdsByUserId(userId)).thenReturn(ownPlayerIds);
+        lenient().when(playerTeamRepository.findPlayerIdsByTeamIdAndStatus(teamId, PlayerTeam.Status.ACTIVE))
+                .thenReturn(rosterPlayerIds);
+    }
+
+    // Each call starts a fresh request, as the JWT filter would
+    private static void authenticate(Long userId, String role) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new TokenPrincipal("user" + userId, userId, role), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+}